@@ -166,6 +166,7 @@ public interface BpmnXMLConstants {
   public static final String ATTRIBUTE_MULTIINSTANCE_COLLECTION = "collection";
   public static final String ATTRIBUTE_MULTIINSTANCE_VARIABLE = "elementVariable";
   public static final String ATTRIBUTE_MULTIINSTANCE_INDEX_VARIABLE = "elementIndexVariable";
+  public static final String ATTRIBUTE_MULTIINSTANCE_MAX_CONCURRENT_INSTANCES = "maxConcurrentInstances";
 
   public static final String ATTRIBUTE_TASK_IMPLEMENTATION = "implementation";
   public static final String ATTRIBUTE_TASK_OPERATION_REF = "operationRef";
@@ -12,16 +12,20 @@
  */
 package org.activiti.bpmn.converter;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.xml.XMLConstants;
 import javax.xml.stream.XMLInputFactory;
@@ -107,6 +111,9 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     protected static final String BPMN_XSD = "org/activiti/impl/bpmn/parser/BPMN20.xsd";
     protected static final String DEFAULT_ENCODING = "UTF-8";
 
+    // BPMN schema per class loader the XSD is loaded from, without keeping the class loaders from being garbage collected
+    protected static final Map<ClassLoader, Schema> schemaCache = new WeakHashMap<ClassLoader, Schema>();
+
     protected static Map<String, BaseBpmnXMLConverter> convertersToBpmnMap = new HashMap<String, BaseBpmnXMLConverter>();
     protected static Map<Class<? extends BaseElement>, BaseBpmnXMLConverter> convertersToXMLMap = new HashMap<Class<? extends BaseElement>, BaseBpmnXMLConverter>();
 
@@ -221,21 +228,36 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
         validator.validate(new StAXSource(xmlStreamReader));
     }
 
+    /**
+     * Returns the BPMN schema. Compiling the XSD is expensive, so the {@link Schema} (which is thread-safe) 
+     * is only created once for every class loader the XSD is loaded from and shared between converter instances.
+     */
     protected Schema createSchema() throws SAXException {
-        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-        Schema schema = null;
+        ClassLoader xsdClassloader = null;
+        URL xsdUrl = null;
         if (classloader != null) {
-            schema = factory.newSchema(classloader.getResource(BPMN_XSD));
+            xsdClassloader = classloader;
+            xsdUrl = classloader.getResource(BPMN_XSD);
         }
 
-        if (schema == null) {
-            schema = factory.newSchema(BpmnXMLConverter.class.getClassLoader().getResource(BPMN_XSD));
+        if (xsdUrl == null) {
+            xsdClassloader = BpmnXMLConverter.class.getClassLoader();
+            xsdUrl = xsdClassloader.getResource(BPMN_XSD);
         }
 
-        if (schema == null) {
+        if (xsdUrl == null) {
             throw new XMLException("BPMN XSD could not be found");
         }
-        return schema;
+
+        synchronized (schemaCache) {
+            Schema schema = schemaCache.get(xsdClassloader);
+            if (schema == null) {
+                SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                schema = factory.newSchema(xsdUrl);
+                schemaCache.put(xsdClassloader, schema);
+            }
+            return schema;
+        }
     }
 
     public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml) {
@@ -243,6 +265,12 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
     }
 
     public BpmnModel convertToBpmnModel(InputStreamProvider inputStreamProvider, boolean validateSchema, boolean enableSafeBpmnXml, String encoding) {
+        if (validateSchema) {
+            // Validation and conversion each need their own stream: buffer the resource 
+            // so it is only read (and possibly decompressed) once
+            inputStreamProvider = bufferInputStream(inputStreamProvider);
+        }
+
         XMLInputFactory xif = XMLInputFactory.newInstance();
 
         if (xif.isPropertySupported(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES)) {
@@ -297,6 +325,33 @@ public class BpmnXMLConverter implements BpmnXMLConstants {
         }
     }
 
+    protected InputStreamProvider bufferInputStream(InputStreamProvider inputStreamProvider) {
+        InputStream inputStream = inputStreamProvider.getInputStream();
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+            final byte[] bytes = outputStream.toByteArray();
+            return new InputStreamProvider() {
+                public InputStream getInputStream() {
+                    return new ByteArrayInputStream(bytes);
+                }
+            };
+
+        } catch (IOException e) {
+            throw new XMLException("Error while reading the BPMN 2.0 XML", e);
+        } finally {
+            try {
+                inputStream.close();
+            } catch (IOException e) {
+                LOGGER.debug("Problem closing BPMN input stream", e);
+            }
+        }
+    }
+
     public BpmnModel convertToBpmnModel(XMLStreamReader xtr) {
         BpmnModel model = new BpmnModel();
         model.setStartEventFormTypes(startEventFormTypes);
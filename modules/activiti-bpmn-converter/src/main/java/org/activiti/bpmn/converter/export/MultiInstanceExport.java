@@ -36,6 +36,9 @@ public class MultiInstanceExport implements BpmnXMLConstants {
         if (StringUtils.isNotEmpty(multiInstanceObject.getElementVariable())) {
           BpmnXMLUtil.writeQualifiedAttribute(ATTRIBUTE_MULTIINSTANCE_VARIABLE, multiInstanceObject.getElementVariable(), xtw);
         }
+        if (StringUtils.isNotEmpty(multiInstanceObject.getMaxConcurrentInstances())) {
+          BpmnXMLUtil.writeQualifiedAttribute(ATTRIBUTE_MULTIINSTANCE_MAX_CONCURRENT_INSTANCES, multiInstanceObject.getMaxConcurrentInstances(), xtw);
+        }
         if (StringUtils.isNotEmpty(multiInstanceObject.getLoopCardinality())) {
           xtw.writeStartElement(ELEMENT_MULTIINSTANCE_CARDINALITY);
           xtw.writeCharacters(multiInstanceObject.getLoopCardinality());
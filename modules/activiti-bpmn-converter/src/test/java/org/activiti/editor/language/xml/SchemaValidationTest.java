@@ -0,0 +1,58 @@
+package org.activiti.editor.language.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.activiti.bpmn.converter.BpmnXMLConverter;
+import org.activiti.bpmn.converter.util.InputStreamProvider;
+import org.activiti.bpmn.exceptions.XMLException;
+import org.activiti.bpmn.model.BpmnModel;
+import org.junit.Test;
+
+public class SchemaValidationTest {
+
+  @Test
+  public void validateWithCachedSchema() {
+    // The first validation compiles the schema, the next ones use the cached schema
+    for (int i = 0; i < 2; i++) {
+      for (boolean enableSafeBpmnXml : new boolean[] { false, true }) {
+        BpmnModel bpmnModel = new BpmnXMLConverter().convertToBpmnModel(createInputStreamProvider("simplemodel.bpmn"), true, enableSafeBpmnXml);
+        assertEquals("simpleProcess", bpmnModel.getMainProcess().getId());
+
+        assertInvalid(new BpmnXMLConverter(), enableSafeBpmnXml);
+      }
+    }
+  }
+
+  @Test
+  public void validateWithCachedSchemaOfClassLoader() {
+    BpmnXMLConverter converter = new BpmnXMLConverter();
+    converter.setClassloader(new URLClassLoader(new URL[0], getClass().getClassLoader()));
+    for (int i = 0; i < 2; i++) {
+      assertInvalid(converter, false);
+    }
+  }
+
+  protected void assertInvalid(BpmnXMLConverter converter, boolean enableSafeBpmnXml) {
+    try {
+      converter.convertToBpmnModel(createInputStreamProvider("invalidschemamodel.bpmn"), true, enableSafeBpmnXml);
+      fail("Expected xml exception");
+    } catch (XMLException e) {
+      // exception expected
+    }
+  }
+
+  protected InputStreamProvider createInputStreamProvider(final String resource) {
+    return new InputStreamProvider() {
+
+      @Override
+      public InputStream getInputStream() {
+        return SchemaValidationTest.class.getClassLoader().getResourceAsStream(resource);
+      }
+    };
+  }
+}
@@ -23,6 +23,7 @@ public class MultiInstanceLoopCharacteristics extends BaseElement {
   protected String elementVariable;
   protected String elementIndexVariable;
   protected boolean sequential;
+  protected String maxConcurrentInstances;
 
   public String getInputDataItem() {
     return inputDataItem;
@@ -72,6 +73,14 @@ public class MultiInstanceLoopCharacteristics extends BaseElement {
     this.sequential = sequential;
   }
 
+  public String getMaxConcurrentInstances() {
+    return maxConcurrentInstances;
+  }
+
+  public void setMaxConcurrentInstances(String maxConcurrentInstances) {
+    this.maxConcurrentInstances = maxConcurrentInstances;
+  }
+
   public MultiInstanceLoopCharacteristics clone() {
     MultiInstanceLoopCharacteristics clone = new MultiInstanceLoopCharacteristics();
     clone.setValues(this);
@@ -85,5 +94,6 @@ public class MultiInstanceLoopCharacteristics extends BaseElement {
     setElementVariable(otherLoopCharacteristics.getElementVariable());
     setElementIndexVariable(otherLoopCharacteristics.getElementIndexVariable());
     setSequential(otherLoopCharacteristics.isSequential());
+    setMaxConcurrentInstances(otherLoopCharacteristics.getMaxConcurrentInstances());
   }
 }
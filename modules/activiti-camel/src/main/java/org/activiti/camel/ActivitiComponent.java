@@ -17,6 +17,7 @@ import java.util.Map;
 import org.activiti.engine.IdentityService;
 import org.activiti.engine.RepositoryService;
 import org.activiti.engine.RuntimeService;
+import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.impl.DefaultComponent;
@@ -42,6 +43,8 @@ public class ActivitiComponent extends DefaultComponent {
   protected boolean copyVariablesToBodyAsMap;
 
   protected boolean copyCamelBodyToBody;
+  
+  protected WaitStateRendezvous waitStateRendezvous;
 
   public ActivitiComponent() {
   }
@@ -52,6 +55,27 @@ public class ActivitiComponent extends DefaultComponent {
     identityService = getByType(context, IdentityService.class);
     runtimeService = getByType(context, RuntimeService.class);
     repositoryService = getByType(context, RepositoryService.class);
+    
+    if (runtimeService != null) {
+      waitStateRendezvous = new WaitStateRendezvous();
+    }
+  }
+  
+  @Override
+  protected void doStart() throws Exception {
+    super.doStart();
+    if (waitStateRendezvous != null) {
+      // Lets producers wait for executions to arrive in their activity, instead of polling for them
+      runtimeService.addEventListener(waitStateRendezvous, ActivitiEventType.ACTIVITY_STARTED);
+    }
+  }
+  
+  @Override
+  protected void doStop() throws Exception {
+    if (waitStateRendezvous != null) {
+      runtimeService.removeEventListener(waitStateRendezvous);
+    }
+    super.doStop();
   }
 
   private <T> T getByType(CamelContext ctx, Class<T> kls) {
@@ -69,6 +93,7 @@ public class ActivitiComponent extends DefaultComponent {
     ae.setIdentityService(identityService);
     ae.setRuntimeService(runtimeService);
     ae.setRepositoryService(repositoryService);
+    ae.setWaitStateRendezvous(waitStateRendezvous);
 
     ae.setCopyVariablesToProperties(this.copyVariablesToProperties);
     ae.setCopyVariablesToBodyAsMap(this.copyVariablesToBodyAsMap);
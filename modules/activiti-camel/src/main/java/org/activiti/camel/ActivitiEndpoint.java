@@ -65,6 +65,8 @@ public class ActivitiEndpoint extends DefaultEndpoint {
   protected long timeout = 5000;
   
   protected int timeResolution = 100;
+  
+  protected WaitStateRendezvous waitStateRendezvous;
 
   public ActivitiEndpoint(String uri, CamelContext camelContext) {
     super();
@@ -84,6 +86,7 @@ public class ActivitiEndpoint extends DefaultEndpoint {
     producer.setRuntimeService(runtimeService);
     producer.setIdentityService(identityService);
     producer.setRepositoryService(repositoryService);
+    producer.setWaitStateRendezvous(waitStateRendezvous);
     return producer;
   }
 
@@ -117,6 +120,14 @@ public class ActivitiEndpoint extends DefaultEndpoint {
   public void setRepositoryService(RepositoryService repositoryService) {
     this.repositoryService = repositoryService;
   }
+  
+  public WaitStateRendezvous getWaitStateRendezvous() {
+    return waitStateRendezvous;
+  }
+
+  public void setWaitStateRendezvous(WaitStateRendezvous waitStateRendezvous) {
+    this.waitStateRendezvous = waitStateRendezvous;
+  }
 
   public boolean isCopyVariablesToProperties() {
     return copyVariablesToProperties;
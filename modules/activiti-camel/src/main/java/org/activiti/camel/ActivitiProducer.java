@@ -39,6 +39,8 @@ public class ActivitiProducer extends DefaultProducer {
   protected RuntimeService runtimeService;
   
   protected RepositoryService repositoryService;
+  
+  protected WaitStateRendezvous waitStateRendezvous;
 
   public static final String PROCESS_KEY_PROPERTY = "PROCESS_KEY_PROPERTY";
 
@@ -107,6 +109,60 @@ public class ActivitiProducer extends DefaultProducer {
     String processInstanceId = findProcessInstanceId(exchange);
     String executionId = exchange.getProperty(EXECUTION_ID_PROPERTY, String.class);
     
+    String waitingExecutionId = null;
+    if (waitStateRendezvous != null) {
+      waitingExecutionId = waitForExecution(processInstanceId, executionId);
+    } else {
+      waitingExecutionId = pollForExecution(processInstanceId, executionId);
+    }
+    
+    if (waitingExecutionId == null) {
+      throw new ActivitiException("Couldn't find activity "+activity+" for processId " + processInstanceId + " in defined timeout.");
+    }
+
+    // Setting the variables and triggering the execution is done in one transaction
+    runtimeService.trigger(waitingExecutionId, ExchangeUtils.prepareVariables(exchange, getActivitiEndpoint()));
+  }
+  
+  /**
+   * Waits until the process instance arrives in the activity, using the {@link WaitStateRendezvous} of the component.
+   * The event of the activity wakes up the producer right away. As executions arriving on another engine (or handled by 
+   * the Activiti 5 engine) don't send that event, the execution is still queried after every time resolution interval.
+   */
+  protected String waitForExecution(String processInstanceId, String executionId) {
+    WaitStateRendezvous.Waiter waiter = waitStateRendezvous.register(activity, processInstanceId, executionId);
+    try {
+      Execution execution = findExecution(processInstanceId, executionId);
+      if (execution != null) {
+        return execution.getId();
+      }
+      
+      long deadline = System.currentTimeMillis() + timeout;
+      long remaining = timeout;
+      while (remaining > 0) {
+        String arrivedExecutionId = waiter.await(timeResolution > 0 ? Math.min(timeResolution, remaining) : remaining);
+        if (arrivedExecutionId != null) {
+          return arrivedExecutionId;
+        }
+        
+        execution = findExecution(processInstanceId, executionId);
+        if (execution != null) {
+          return execution.getId();
+        }
+        remaining = deadline - System.currentTimeMillis();
+      }
+      return null;
+      
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ActivitiException("error occured while waiting for activiti=" + activity + " for processInstanceId=" + processInstanceId);
+      
+    } finally {
+      waitStateRendezvous.unregister(waiter);
+    }
+  }
+  
+  protected String pollForExecution(String processInstanceId, String executionId) {
     boolean firstTime = true; 
     long initialTime  = System.currentTimeMillis();
    
@@ -119,30 +175,28 @@ public class ActivitiProducer extends DefaultProducer {
       }
       firstTime = false;
       
-      if (executionId != null) {
-        execution = runtimeService.createExecutionQuery()
-            .executionId(executionId)
-            .activityId(activity)
-            .singleResult();
-        
-      } else {
-        execution = runtimeService.createExecutionQuery()
-            .processDefinitionKey(processKey)
-            .processInstanceId(processInstanceId)
-            .activityId(activity)
-            .singleResult();
-      }
-       
+      execution = findExecution(processInstanceId, executionId);
       if (execution != null) {
-        break;
+        return execution.getId();
       }
     }
-    if (execution == null) {
-      throw new ActivitiException("Couldn't find activity "+activity+" for processId " + processInstanceId + " in defined timeout.");
+    return null;
+  }
+  
+  protected Execution findExecution(String processInstanceId, String executionId) {
+    if (executionId != null) {
+      return runtimeService.createExecutionQuery()
+          .executionId(executionId)
+          .activityId(activity)
+          .singleResult();
+      
+    } else {
+      return runtimeService.createExecutionQuery()
+          .processDefinitionKey(processKey)
+          .processInstanceId(processInstanceId)
+          .activityId(activity)
+          .singleResult();
     }
-
-    runtimeService.setVariables(execution.getId(), ExchangeUtils.prepareVariables(exchange, getActivitiEndpoint()));
-    runtimeService.trigger(execution.getId());
   }
 
   protected String findProcessInstanceId(Exchange exchange) {
@@ -202,4 +256,8 @@ public class ActivitiProducer extends DefaultProducer {
   public void setRepositoryService(RepositoryService repositoryService) {
     this.repositoryService = repositoryService;
   }
+  
+  public void setWaitStateRendezvous(WaitStateRendezvous waitStateRendezvous) {
+    this.waitStateRendezvous = waitStateRendezvous;
+  }
 }
@@ -0,0 +1,144 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.camel;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.delegate.event.ActivitiActivityEvent;
+import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventListener;
+import org.activiti.engine.impl.cfg.TransactionContext;
+import org.activiti.engine.impl.cfg.TransactionListener;
+import org.activiti.engine.impl.cfg.TransactionState;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+
+/**
+ * Lets an {@link ActivitiProducer} be woken up as soon as a process instance arrives in an activity, instead of only finding
+ * the execution by its next query. It's registered as event listener for activity started events, and releases the waiting producers when the
+ * transaction in which the activity started has committed, so the execution can be triggered right away.
+ * 
+ * Only activities started by the process engine this listener is registered with are seen. Executions that arrive in the activity
+ * on another engine (or in an Activiti 5 process) are found by the query the producer keeps doing every time resolution interval.
+ */
+public class WaitStateRendezvous implements ActivitiEventListener {
+
+  protected ConcurrentMap<String, List<Waiter>> waitersByActivityId = new ConcurrentHashMap<String, List<Waiter>>();
+
+  /**
+   * Registers a wait for the given activity. When an execution id is given, only that execution is waited for,
+   * otherwise any execution of the process instance. Call {@link #unregister(Waiter)} when done waiting.
+   */
+  public Waiter register(String activityId, String processInstanceId, String executionId) {
+    Waiter waiter = new Waiter(activityId, processInstanceId, executionId);
+    List<Waiter> waiters = waitersByActivityId.get(activityId);
+    if (waiters == null) {
+      List<Waiter> newWaiters = new CopyOnWriteArrayList<Waiter>();
+      waiters = waitersByActivityId.putIfAbsent(activityId, newWaiters);
+      if (waiters == null) {
+        waiters = newWaiters;
+      }
+    }
+    waiters.add(waiter);
+    return waiter;
+  }
+
+  public void unregister(Waiter waiter) {
+    List<Waiter> waiters = waitersByActivityId.get(waiter.getActivityId());
+    if (waiters != null) {
+      waiters.remove(waiter);
+    }
+  }
+
+  public void onEvent(ActivitiEvent event) {
+    if (!(event instanceof ActivitiActivityEvent) || waitersByActivityId.isEmpty()) {
+      return;
+    }
+
+    ActivitiActivityEvent activityEvent = (ActivitiActivityEvent) event;
+    List<Waiter> waiters = waitersByActivityId.get(activityEvent.getActivityId());
+    if (waiters == null || waiters.isEmpty()) {
+      return;
+    }
+
+    for (final Waiter waiter : waiters) {
+      if (waiter.matches(activityEvent)) {
+        final String executionId = activityEvent.getExecutionId();
+        TransactionContext transactionContext = Context.getTransactionContext();
+        if (transactionContext != null) {
+          transactionContext.addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+            public void execute(CommandContext commandContext) {
+              waiter.arrived(executionId);
+            }
+          });
+        } else {
+          waiter.arrived(executionId);
+        }
+      }
+    }
+  }
+
+  public boolean isFailOnException() {
+    return false;
+  }
+
+  public static class Waiter {
+
+    protected final String activityId;
+    protected final String processInstanceId;
+    protected final String executionId;
+    protected final CountDownLatch latch = new CountDownLatch(1);
+    protected volatile String arrivedExecutionId;
+
+    public Waiter(String activityId, String processInstanceId, String executionId) {
+      this.activityId = activityId;
+      this.processInstanceId = processInstanceId;
+      this.executionId = executionId;
+    }
+
+    protected boolean matches(ActivitiActivityEvent event) {
+      if (executionId != null) {
+        return executionId.equals(event.getExecutionId());
+      }
+      return processInstanceId != null && processInstanceId.equals(event.getProcessInstanceId());
+    }
+
+    protected void arrived(String executionId) {
+      if (arrivedExecutionId == null) {
+        arrivedExecutionId = executionId;
+      }
+      latch.countDown();
+    }
+
+    /**
+     * Waits until an execution arrived in the activity, and returns its id, or null when it didn't arrive in time.
+     */
+    public String await(long timeoutInMillis) throws InterruptedException {
+      if (latch.await(timeoutInMillis, TimeUnit.MILLISECONDS)) {
+        return arrivedExecutionId;
+      }
+      return null;
+    }
+
+    public String getActivityId() {
+      return activityId;
+    }
+
+  }
+
+}
@@ -0,0 +1,209 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.camel;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.runtime.Execution;
+import org.activiti.engine.test.Deployment;
+import org.activiti.spring.impl.test.SpringActivitiTestCase;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Tests how the {@link ActivitiProducer} finds the execution to trigger through the {@link WaitStateRendezvous}.
+ */
+@ContextConfiguration("classpath:generic-camel-activiti-context.xml")
+public class WaitStateRendezvousTest extends SpringActivitiTestCase {
+
+  protected static final String ENDPOINT_URI = "activiti:waitStateProcess:waitState";
+
+  @Autowired
+  protected CamelContext camelContext;
+
+  @Deployment(resources = { "process/waitState.bpmn20.xml" })
+  public void testExecutionWaitingBeforeRegistration() throws Exception {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("waitStateProcess").getId();
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+    assertEquals(1, runtimeService.createExecutionQuery().processInstanceId(processInstanceId).activityId("waitState").count());
+
+    // The execution is found by the query done right after registering
+    QueryCountingProducer producer = createProducer(20000L, 100L);
+    long start = System.currentTimeMillis();
+    producer.process(createExchange(processInstanceId));
+    assertTrue(System.currentTimeMillis() - start < 10000L);
+    assertEquals(1, producer.queryCount.get());
+
+    assertProcessEnded(processInstanceId);
+    assertNoWaiters();
+  }
+
+  @Deployment(resources = { "process/waitState.bpmn20.xml" })
+  public void testExecutionArrivingAfterRegistration() throws Exception {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("waitStateProcess").getId();
+
+    AtomicReference<Exception> producerException = new AtomicReference<Exception>();
+    // No polling before the timeout, so only the event can release the producer in time
+    QueryCountingProducer producer = createProducer(20000L, 20000L);
+    long start = System.currentTimeMillis();
+    Thread producerThread = startProducerThread(producer, createExchange(processInstanceId), producerException);
+    waitForFirstQuery(producer);
+
+    // The producer is released by the activity started event, long before its timeout
+    taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+    producerThread.join(20000L);
+    assertFalse(producerThread.isAlive());
+    assertNull(producerException.get());
+    assertTrue(System.currentTimeMillis() - start < 10000L);
+    assertEquals(1, producer.queryCount.get());
+
+    assertProcessEnded(processInstanceId);
+    assertNoWaiters();
+  }
+
+  @Deployment(resources = { "process/waitState.bpmn20.xml" })
+  public void testExecutionFoundByPolling() throws Exception {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("waitStateProcess").getId();
+
+    // Without the event, like for an execution arriving on another engine, the execution is found by the next poll
+    WaitStateRendezvous waitStateRendezvous = getEndpoint().getWaitStateRendezvous();
+    runtimeService.removeEventListener(waitStateRendezvous);
+    try {
+      AtomicReference<Exception> producerException = new AtomicReference<Exception>();
+      QueryCountingProducer producer = createProducer(20000L, 100L);
+      long start = System.currentTimeMillis();
+      Thread producerThread = startProducerThread(producer, createExchange(processInstanceId), producerException);
+      waitForFirstQuery(producer);
+
+      taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+      producerThread.join(20000L);
+      assertFalse(producerThread.isAlive());
+      assertNull(producerException.get());
+      assertTrue(System.currentTimeMillis() - start < 10000L);
+      assertTrue(producer.queryCount.get() >= 2);
+
+    } finally {
+      runtimeService.addEventListener(waitStateRendezvous, ActivitiEventType.ACTIVITY_STARTED);
+    }
+
+    assertProcessEnded(processInstanceId);
+    assertNoWaiters();
+  }
+
+  @Deployment(resources = { "process/waitState.bpmn20.xml" })
+  public void testExecutionFoundByQueryAfterTimeout() throws Exception {
+    String processInstanceId = runtimeService.startProcessInstanceByKey("waitStateProcess").getId();
+
+    // Without the event and with a time resolution as long as the timeout, the execution is found by the query at the timeout
+    WaitStateRendezvous waitStateRendezvous = getEndpoint().getWaitStateRendezvous();
+    runtimeService.removeEventListener(waitStateRendezvous);
+    try {
+      AtomicReference<Exception> producerException = new AtomicReference<Exception>();
+      QueryCountingProducer producer = createProducer(1000L, 1000L);
+      long start = System.currentTimeMillis();
+      Thread producerThread = startProducerThread(producer, createExchange(processInstanceId), producerException);
+      waitForFirstQuery(producer);
+
+      taskService.complete(taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId());
+      producerThread.join(20000L);
+      assertFalse(producerThread.isAlive());
+      assertNull(producerException.get());
+      assertTrue(System.currentTimeMillis() - start >= 1000L);
+      assertEquals(2, producer.queryCount.get());
+
+    } finally {
+      runtimeService.addEventListener(waitStateRendezvous, ActivitiEventType.ACTIVITY_STARTED);
+    }
+
+    assertProcessEnded(processInstanceId);
+    assertNoWaiters();
+  }
+
+  protected ActivitiEndpoint getEndpoint() {
+    return camelContext.getEndpoint(ENDPOINT_URI, ActivitiEndpoint.class);
+  }
+
+  protected QueryCountingProducer createProducer(long timeout, long timeResolution) {
+    ActivitiEndpoint endpoint = getEndpoint();
+    QueryCountingProducer producer = new QueryCountingProducer(endpoint, timeout, timeResolution);
+    producer.setRuntimeService(runtimeService);
+    producer.setIdentityService(identityService);
+    producer.setRepositoryService(repositoryService);
+    producer.setWaitStateRendezvous(endpoint.getWaitStateRendezvous());
+    return producer;
+  }
+
+  protected Exchange createExchange(String processInstanceId) {
+    Exchange exchange = getEndpoint().createExchange();
+    exchange.setProperty(ActivitiProducer.PROCESS_ID_PROPERTY, processInstanceId);
+    return exchange;
+  }
+
+  protected Thread startProducerThread(final ActivitiProducer producer, final Exchange exchange, final AtomicReference<Exception> producerException) {
+    Thread producerThread = new Thread(new Runnable() {
+      public void run() {
+        try {
+          producer.process(exchange);
+        } catch (Exception e) {
+          producerException.set(e);
+        }
+      }
+    });
+    producerThread.start();
+    return producerThread;
+  }
+
+  /**
+   * Waits until the producer registered and did its first query, so the execution arrives while the producer waits.
+   */
+  protected void waitForFirstQuery(QueryCountingProducer producer) throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (producer.queryCount.get() == 0) {
+      if (System.currentTimeMillis() - start > 10000L) {
+        fail("Producer didn't look for the wait state");
+      }
+      Thread.sleep(10);
+    }
+  }
+
+  protected boolean hasWaiters() {
+    List<WaitStateRendezvous.Waiter> waiters = getEndpoint().getWaitStateRendezvous().waitersByActivityId.get("waitState");
+    return waiters != null && !waiters.isEmpty();
+  }
+
+  protected void assertNoWaiters() {
+    assertFalse(hasWaiters());
+  }
+
+  protected static class QueryCountingProducer extends ActivitiProducer {
+
+    protected AtomicInteger queryCount = new AtomicInteger();
+
+    public QueryCountingProducer(ActivitiEndpoint endpoint, long timeout, long timeResolution) {
+      super(endpoint, timeout, timeResolution);
+    }
+
+    @Override
+    protected Execution findExecution(String processInstanceId, String executionId) {
+      Execution execution = super.findExecution(processInstanceId, executionId);
+      queryCount.incrementAndGet();
+      return execution;
+    }
+  }
+
+}
@@ -329,6 +329,12 @@ public class DmnEngineConfiguration {
   protected DeploymentManager deploymentManager;
 
   protected int decisionCacheLimit = -1; // By default, no limit
+  
+  /**
+   * Decision tables with at least this number of rules get an index on their simple input entries (equality and range tests) when they are cached,
+   * so only the rules that can match the input variables are evaluated. Set to -1 to disable the index.
+   */
+  protected int decisionTableIndexThreshold = 100;
   protected DeploymentCache<DecisionTableCacheEntry> decisionCache;
 
   protected IdGenerator idGenerator;
@@ -1162,6 +1168,15 @@ public class DmnEngineConfiguration {
     return this;
   }
 
+  public int getDecisionTableIndexThreshold() {
+    return decisionTableIndexThreshold;
+  }
+
+  public DmnEngineConfiguration setDecisionTableIndexThreshold(int decisionTableIndexThreshold) {
+    this.decisionTableIndexThreshold = decisionTableIndexThreshold;
+    return this;
+  }
+
   public DeploymentCache<DecisionTableCacheEntry> getDecisionCache() {
     return decisionCache;
   }
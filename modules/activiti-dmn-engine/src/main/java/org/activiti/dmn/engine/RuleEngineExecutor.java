@@ -16,6 +16,7 @@ import java.lang.reflect.Method;
 import java.util.Map;
 
 import org.activiti.dmn.api.RuleEngineExecutionResult;
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
 import org.activiti.dmn.model.Decision;
 import org.mvel2.integration.PropertyHandler;
 
@@ -26,4 +27,8 @@ public interface RuleEngineExecutor {
 
   RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
       Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers);
+
+  RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
+      Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers, 
+      MvelCompiledExpressions compiledExpressions);
 }
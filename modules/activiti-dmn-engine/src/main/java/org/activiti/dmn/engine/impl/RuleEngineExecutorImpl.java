@@ -14,6 +14,7 @@ package org.activiti.dmn.engine.impl;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,9 +24,11 @@ import org.activiti.dmn.engine.ActivitiDmnException;
 import org.activiti.dmn.engine.ActivitiDmnExpressionException;
 import org.activiti.dmn.engine.RuleEngineExecutor;
 import org.activiti.dmn.engine.impl.mvel.ExecutionVariableFactory;
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
 import org.activiti.dmn.engine.impl.mvel.MvelExecutionContext;
 import org.activiti.dmn.engine.impl.mvel.MvelExecutionContextBuilder;
 import org.activiti.dmn.engine.impl.mvel.MvelExpressionExecutor;
+import org.activiti.dmn.engine.impl.mvel.index.DecisionTableIndex;
 import org.activiti.dmn.model.Decision;
 import org.activiti.dmn.model.DecisionRule;
 import org.activiti.dmn.model.DecisionTable;
@@ -34,6 +37,7 @@ import org.activiti.dmn.model.HitPolicy;
 import org.activiti.dmn.model.LiteralExpression;
 import org.activiti.dmn.model.RuleInputClauseContainer;
 import org.activiti.dmn.model.RuleOutputClauseContainer;
+import org.activiti.dmn.model.UnaryTests;
 import org.apache.commons.lang3.StringUtils;
 import org.mvel2.integration.PropertyHandler;
 import org.slf4j.Logger;
@@ -58,6 +62,25 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
   @Override
   public RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
       Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers) {
+    
+    return execute(decision, input, customExpressionFunctions, propertyHandlers, null);
+  }
+
+  /**
+   * Executes the given decision table with the expressions that were compiled when the decision table was cached
+   *
+   * @param decision
+   *          the DMN decision 
+   * @param input
+   *          map with input variables
+   * @param compiledExpressions
+   *          pre-compiled expressions of the decision, can be null
+   * @return updated execution variables map
+   */
+  @Override
+  public RuleEngineExecutionResult execute(Decision decision, Map<String, Object> input,
+      Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers, 
+      MvelCompiledExpressions compiledExpressions) {
 
     if (decision  == null) {
       throw new IllegalArgumentException("no decision provided");
@@ -71,7 +94,7 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
 
     // create execution context and audit trail
     MvelExecutionContext executionContext = MvelExecutionContextBuilder.build(decision, input, 
-        customExpressionFunctions, propertyHandlers);
+        customExpressionFunctions, propertyHandlers, compiledExpressions);
 
     // evaluate decision table
     Map<String, Object> resultVariables = evaluateDecisionTable(currentDecisionTable, executionContext);
@@ -104,11 +127,24 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     // currently this is the only way to identify the rules
     int ruleRowCounter = 0;
 
+    // rules that can't match according to the decision table index are not evaluated
+    DecisionTableIndex decisionTableIndex = null;
+    BitSet candidateRules = null;
+    if (executionContext.getCompiledExpressions() != null && executionContext.getCompiledExpressions().getDecisionTableIndex() != null) {
+      decisionTableIndex = executionContext.getCompiledExpressions().getDecisionTableIndex();
+      candidateRules = decisionTableIndex.findCandidateRules(executionContext.getStackVariables());
+    }
+
     try {
       // evaluate rule conditions
       for (DecisionRule rule : decisionTable.getRules()) {
 
-        Boolean ruleResult = executeRule(ruleRowCounter, rule, executionContext, validConclusionsStack);
+        Boolean ruleResult = null;
+        if (candidateRules != null && !candidateRules.get(ruleRowCounter)) {
+          ruleResult = skipRule(ruleRowCounter, decisionTableIndex, executionContext);
+        } else {
+          ruleResult = executeRule(ruleRowCounter, rule, executionContext, validConclusionsStack);
+        }
 
         if (shouldContinueEvaluating(decisionTable.getHitPolicy(), ruleResult) == false) {
           break;
@@ -215,6 +251,22 @@ public class RuleEngineExecutorImpl implements RuleEngineExecutor {
     return conditionResult;
   }
 
+  protected Boolean skipRule(int ruleRowIndex, DecisionTableIndex decisionTableIndex, MvelExecutionContext executionContext) {
+
+    // add audit entry with the input entry that excluded the rule
+    executionContext.getAuditContainer().addRuleEntry();
+
+    UnaryTests excludingInputEntry = decisionTableIndex.findExcludingInputEntry(ruleRowIndex, executionContext.getStackVariables());
+    if (excludingInputEntry != null) {
+      executionContext.getAuditContainer().addInputEntry(ruleRowIndex, excludingInputEntry.getId(), Boolean.FALSE);
+    }
+
+    executionContext.getAuditContainer().markRuleEnd(ruleRowIndex);
+
+    logger.debug("Skipped rule evaluation of rule {} through decision table index", ruleRowIndex);
+    return Boolean.FALSE;
+  }
+
   protected Boolean executeInputExpressionEvaluation(RuleInputClauseContainer ruleContainer, MvelExecutionContext executionContext) {
 
     return MvelExpressionExecutor.executeInputExpression(ruleContainer.getInputClause(), ruleContainer.getInputEntry(), executionContext);
@@ -22,6 +22,8 @@ import org.activiti.dmn.engine.ActivitiDmnObjectNotFoundException;
 import org.activiti.dmn.engine.DmnEngineConfiguration;
 import org.activiti.dmn.engine.impl.interceptor.Command;
 import org.activiti.dmn.engine.impl.interceptor.CommandContext;
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
+import org.activiti.dmn.engine.impl.mvel.MvelExpressionCompiler;
 import org.activiti.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.activiti.dmn.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.dmn.model.Decision;
@@ -96,9 +98,17 @@ public class ExecuteDecisionCmd implements Command<RuleEngineExecutionResult>, S
 
     DecisionTableCacheEntry decisionTableCacheEntry = deploymentManager.resolveDecisionTable(decisionTable);
     Decision decision = decisionTableCacheEntry.getDecision();
+    
+    MvelCompiledExpressions compiledExpressions = decisionTableCacheEntry.getCompiledExpressions();
+    if (compiledExpressions == null) {
+      compiledExpressions = MvelExpressionCompiler.compile(decision, dmnEngineConfiguration.getCustomExpressionFunctions(), 
+          dmnEngineConfiguration.getDecisionTableIndexThreshold());
+      decisionTableCacheEntry.setCompiledExpressions(compiledExpressions);
+    }
 
     RuleEngineExecutionResult executionResult = dmnEngineConfiguration.getRuleEngineExecutor().execute(decision, variables, 
-        dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getCustomPropertyHandlers());
+        dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getCustomPropertyHandlers(), 
+        compiledExpressions);
 
     if (executionResult != null && executionResult.getAuditTrail() != null) {
       executionResult.getAuditTrail().setDmnDeploymentId(decisionTable.getDeploymentId());
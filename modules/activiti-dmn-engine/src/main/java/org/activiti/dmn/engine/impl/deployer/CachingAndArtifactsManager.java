@@ -14,6 +14,8 @@ package org.activiti.dmn.engine.impl.deployer;
 
 import org.activiti.dmn.engine.DmnEngineConfiguration;
 import org.activiti.dmn.engine.impl.context.Context;
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
+import org.activiti.dmn.engine.impl.mvel.MvelExpressionCompiler;
 import org.activiti.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.activiti.dmn.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.dmn.engine.impl.persistence.entity.DecisionTableEntity;
@@ -29,6 +31,7 @@ public class CachingAndArtifactsManager {
   /**
    * Ensures that the decision table is cached in the appropriate places, including the
    * deployment's collection of deployed artifacts and the deployment manager's cache.
+   * The input and output entries are compiled here, so every execution can reuse them.
    */
   public void updateCachingAndArtifacts(ParsedDeployment parsedDeployment) {
     final DmnEngineConfiguration dmnEngineConfiguration = Context.getDmnEngineConfiguration();
@@ -38,7 +41,9 @@ public class CachingAndArtifactsManager {
     for (DecisionTableEntity decisionTable : parsedDeployment.getAllDecisionTables()) {
       DmnDefinition dmnDefinition = parsedDeployment.getDmnDefinitionForDecisionTable(decisionTable);
       Decision decision = parsedDeployment.getDecisionForDecisionTable(decisionTable);
-      DecisionTableCacheEntry cacheEntry = new DecisionTableCacheEntry(decisionTable, dmnDefinition, decision);
+      MvelCompiledExpressions compiledExpressions = MvelExpressionCompiler.compile(decision, 
+          dmnEngineConfiguration.getCustomExpressionFunctions(), dmnEngineConfiguration.getDecisionTableIndexThreshold());
+      DecisionTableCacheEntry cacheEntry = new DecisionTableCacheEntry(decisionTable, dmnDefinition, decision, compiledExpressions);
       decisionTableCache.add(decisionTable.getId(), cacheEntry);
     
       // Add to deployment for further usage
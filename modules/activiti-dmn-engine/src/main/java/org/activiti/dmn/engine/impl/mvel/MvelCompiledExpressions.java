@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl.mvel;
+
+import java.io.Serializable;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.activiti.dmn.engine.impl.mvel.index.DecisionTableIndex;
+import org.activiti.dmn.model.LiteralExpression;
+import org.activiti.dmn.model.UnaryTests;
+
+/**
+ * Holds the MVEL expressions of a decision table that were compiled when the decision table was put in the deployment cache.
+ * 
+ * Entries are keyed by the model element instance, so they can only be used together with the {@link org.activiti.dmn.model.Decision}
+ * they were compiled from. Entries that could not be compiled upfront are absent and get compiled at execution time.
+ */
+public class MvelCompiledExpressions {
+
+    protected Map<UnaryTests, Serializable> inputEntryExpressions = new IdentityHashMap<UnaryTests, Serializable>();
+    protected Map<LiteralExpression, Serializable> outputEntryExpressions = new IdentityHashMap<LiteralExpression, Serializable>();
+    protected DecisionTableIndex decisionTableIndex;
+
+    public Serializable getInputEntryExpression(UnaryTests inputEntry) {
+        return inputEntryExpressions.get(inputEntry);
+    }
+
+    public void addInputEntryExpression(UnaryTests inputEntry, Serializable compiledExpression) {
+        inputEntryExpressions.put(inputEntry, compiledExpression);
+    }
+
+    public Serializable getOutputEntryExpression(LiteralExpression outputEntry) {
+        return outputEntryExpressions.get(outputEntry);
+    }
+
+    public void addOutputEntryExpression(LiteralExpression outputEntry, Serializable compiledExpression) {
+        outputEntryExpressions.put(outputEntry, compiledExpression);
+    }
+
+    public DecisionTableIndex getDecisionTableIndex() {
+        return decisionTableIndex;
+    }
+
+    public void setDecisionTableIndex(DecisionTableIndex decisionTableIndex) {
+        this.decisionTableIndex = decisionTableIndex;
+    }
+}
@@ -31,6 +31,7 @@ public class MvelExecutionContext {
     protected ParserContext parserContext = null;
     protected Map<Class<?>, PropertyHandler> propertyHandlers = new HashMap<Class<?>, PropertyHandler>();
     protected DecisionExecutionAuditContainer auditContainer = null;
+    protected MvelCompiledExpressions compiledExpressions = null;
 
     public void checkExecutionContext(String variableId) {
 
@@ -92,4 +93,12 @@ public class MvelExecutionContext {
     public void setAuditContainer(DecisionExecutionAuditContainer auditContainer) {
         this.auditContainer = auditContainer;
     }
+
+    public MvelCompiledExpressions getCompiledExpressions() {
+        return compiledExpressions;
+    }
+
+    public void setCompiledExpressions(MvelCompiledExpressions compiledExpressions) {
+        this.compiledExpressions = compiledExpressions;
+    }
 }
\ No newline at end of file
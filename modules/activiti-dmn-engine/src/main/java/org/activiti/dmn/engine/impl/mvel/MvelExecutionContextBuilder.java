@@ -25,6 +25,7 @@ import org.activiti.dmn.model.InputClause;
 import org.activiti.dmn.model.OutputClause;
 import org.mvel2.ParserContext;
 import org.mvel2.integration.PropertyHandler;
+import org.mvel2.integration.PropertyHandlerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,25 +39,27 @@ public class MvelExecutionContextBuilder {
   public static MvelExecutionContext build(Decision decision, Map<String, Object> inputVariables,
       Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers) {
 
+    return build(decision, inputVariables, customExpressionFunctions, propertyHandlers, null);
+  }
+
+  public static MvelExecutionContext build(Decision decision, Map<String, Object> inputVariables,
+      Map<String, Method> customExpressionFunctions, Map<Class<?>, PropertyHandler> propertyHandlers, 
+      MvelCompiledExpressions compiledExpressions) {
+
     MvelExecutionContext executionContext = new MvelExecutionContext();
 
     // initialize audit trail
     executionContext.setAuditContainer(DecisionExecutionAuditUtil.initializeRuleExecutionAudit(decision, inputVariables));
 
-    ParserContext parserContext = new ParserContext();
-
-    // add custom functions to context
-    if (customExpressionFunctions != null && !customExpressionFunctions.isEmpty()) {
-      for (Map.Entry<String, Method> config : customExpressionFunctions.entrySet()) {
-        parserContext.addImport(config.getKey(), config.getValue());
-      }
-    }
-
-    executionContext.setParserContext(parserContext);
+    executionContext.setParserContext(createParserContext(customExpressionFunctions));
+    executionContext.setCompiledExpressions(compiledExpressions);
 
     if (propertyHandlers != null) {
       for (Class<?> variableClass : propertyHandlers.keySet()) {
         executionContext.addPropertyHandler(variableClass, propertyHandlers.get(variableClass));
+        
+        // register once per execution instead of for every input entry
+        PropertyHandlerFactory.registerPropertyHandler(variableClass, propertyHandlers.get(variableClass));
       }
     }
     
@@ -71,6 +74,19 @@ public class MvelExecutionContextBuilder {
     return executionContext;
   }
 
+  public static ParserContext createParserContext(Map<String, Method> customExpressionFunctions) {
+    ParserContext parserContext = new ParserContext();
+
+    // add custom functions to context
+    if (customExpressionFunctions != null && !customExpressionFunctions.isEmpty()) {
+      for (Map.Entry<String, Method> config : customExpressionFunctions.entrySet()) {
+        parserContext.addImport(config.getKey(), config.getValue());
+      }
+    }
+    
+    return parserContext;
+  }
+
   protected static void preProcessInputVariables(DecisionTable decisionTable, Map<String, Object> inputVariables) {
 
     if (inputVariables == null) {
@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl.mvel;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.activiti.dmn.engine.impl.mvel.index.DecisionTableIndex;
+import org.activiti.dmn.engine.impl.mvel.index.DecisionTableIndexBuilder;
+import org.activiti.dmn.model.Decision;
+import org.activiti.dmn.model.DecisionRule;
+import org.activiti.dmn.model.DecisionTable;
+import org.activiti.dmn.model.RuleInputClauseContainer;
+import org.activiti.dmn.model.RuleOutputClauseContainer;
+import org.apache.commons.lang3.StringUtils;
+import org.mvel2.ParserContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles all input and output entries of a decision table once, so they can be reused for every execution.
+ */
+public class MvelExpressionCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MvelExpressionCompiler.class);
+
+    public static MvelCompiledExpressions compile(Decision decision, Map<String, Method> customExpressionFunctions) {
+        return compile(decision, customExpressionFunctions, -1);
+    }
+
+    /**
+     * @param indexThreshold
+     *          minimum number of rules for which a {@link DecisionTableIndex} is built, -1 to never build one
+     */
+    public static MvelCompiledExpressions compile(Decision decision, Map<String, Method> customExpressionFunctions, int indexThreshold) {
+
+        MvelCompiledExpressions compiledExpressions = new MvelCompiledExpressions();
+
+        if (decision == null || !(decision.getExpression() instanceof DecisionTable)) {
+            return compiledExpressions;
+        }
+
+        DecisionTable decisionTable = (DecisionTable) decision.getExpression();
+        ParserContext parserContext = MvelExecutionContextBuilder.createParserContext(customExpressionFunctions);
+        boolean allInputEntriesCompiled = true;
+
+        for (DecisionRule rule : decisionTable.getRules()) {
+
+            for (RuleInputClauseContainer conditionContainer : rule.getInputEntries()) {
+                if (conditionContainer.getInputEntry() == null || StringUtils.isEmpty(conditionContainer.getInputEntry().getText())
+                        || conditionContainer.getInputClause() == null || conditionContainer.getInputClause().getInputExpression() == null) {
+                    continue;
+                }
+
+                // entries that fail to compile are left out, the failure is reported in the audit trail at execution time
+                try {
+                    compiledExpressions.addInputEntryExpression(conditionContainer.getInputEntry(),
+                        MvelExpressionExecutor.compileInputExpression(conditionContainer.getInputClause(), conditionContainer.getInputEntry(), parserContext));
+                } catch (Exception e) {
+                    logger.debug("Could not pre-compile input entry {}", conditionContainer.getInputEntry().getId(), e);
+                    allInputEntriesCompiled = false;
+                }
+            }
+
+            for (RuleOutputClauseContainer conclusionContainer : rule.getOutputEntries()) {
+                if (conclusionContainer.getOutputEntry() == null || StringUtils.isEmpty(conclusionContainer.getOutputEntry().getText())) {
+                    continue;
+                }
+
+                try {
+                    compiledExpressions.addOutputEntryExpression(conclusionContainer.getOutputEntry(),
+                        MvelExpressionExecutor.compileOutputExpression(conclusionContainer.getOutputEntry(), parserContext));
+                } catch (Exception e) {
+                    logger.debug("Could not pre-compile output entry {}", conclusionContainer.getOutputEntry().getId(), e);
+                }
+            }
+        }
+
+        // a compile failure aborts the execution when the entry is reached, rules can't be skipped through the index then
+        if (indexThreshold >= 0 && decisionTable.getRules().size() >= indexThreshold && allInputEntriesCompiled) {
+            compiledExpressions.setDecisionTableIndex(DecisionTableIndexBuilder.build(decisionTable));
+        }
+
+        logger.debug("Compiled expressions for decision table {}", decisionTable.getId());
+
+        return compiledExpressions;
+    }
+}
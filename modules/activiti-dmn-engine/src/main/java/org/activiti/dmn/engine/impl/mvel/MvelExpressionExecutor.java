@@ -20,7 +20,7 @@ import org.activiti.dmn.model.LiteralExpression;
 import org.activiti.dmn.model.OutputClause;
 import org.activiti.dmn.model.UnaryTests;
 import org.mvel2.MVEL;
-import org.mvel2.integration.PropertyHandlerFactory;
+import org.mvel2.ParserContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,18 +43,17 @@ public class MvelExpressionExecutor {
             throw new IllegalArgumentException("input entry is required");
         }
         
-        for (Class<?> variableClass : executionContext.getPropertyHandlers().keySet()) {
-            PropertyHandlerFactory.registerPropertyHandler(variableClass, executionContext.getPropertyHandlers().get(variableClass));
-        }
-
         // check if variable is present MVEL execution context
         executionContext.checkExecutionContext(inputClause.getInputExpression().getText());
 
-        // pre parse expression
-        String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText());
-
-        // compile MVEL expression
-        Serializable compiledExpression = MVEL.compileExpression(parsedExpression, executionContext.getParserContext());
+        // use the expression compiled when the decision table was cached, compile it otherwise
+        Serializable compiledExpression = null;
+        if (executionContext.getCompiledExpressions() != null) {
+            compiledExpression = executionContext.getCompiledExpressions().getInputEntryExpression(inputEntry);
+        }
+        if (compiledExpression == null) {
+            compiledExpression = compileInputExpression(inputClause, inputEntry, executionContext.getParserContext());
+        }
 
         // execute MVEL expression
         Boolean result;
@@ -62,6 +61,7 @@ public class MvelExpressionExecutor {
         try {
             result = MVEL.executeExpression(compiledExpression, executionContext.getStackVariables(), Boolean.class);
         } catch (Exception ex) {
+            String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText());
             logger.warn("Error while executing input entry: {}", parsedExpression, ex);
             throw new ActivitiDmnExpressionException("error while executing input entry", parsedExpression, ex);
         }
@@ -78,8 +78,14 @@ public class MvelExpressionExecutor {
             throw new IllegalArgumentException("output entry is required");
         }
 
-        // compile MVEL expression
-        Serializable compiledExpression = MVEL.compileExpression(outputEntry.getText(), executionContext.getParserContext());
+        // use the expression compiled when the decision table was cached, compile it otherwise
+        Serializable compiledExpression = null;
+        if (executionContext.getCompiledExpressions() != null) {
+            compiledExpression = executionContext.getCompiledExpressions().getOutputEntryExpression(outputEntry);
+        }
+        if (compiledExpression == null) {
+            compiledExpression = compileOutputExpression(outputEntry, executionContext.getParserContext());
+        }
 
         // execute MVEL expression
         Object result = null;
@@ -93,4 +99,19 @@ public class MvelExpressionExecutor {
 
         return result;
     }
+
+    public static Serializable compileInputExpression(InputClause inputClause, UnaryTests inputEntry, ParserContext parserContext) {
+
+        // pre parse expression
+        String parsedExpression = MvelConditionExpressionPreParser.parse(inputEntry.getText(), inputClause.getInputExpression().getText());
+
+        // compile MVEL expression
+        return MVEL.compileExpression(parsedExpression, parserContext);
+    }
+
+    public static Serializable compileOutputExpression(LiteralExpression outputEntry, ParserContext parserContext) {
+
+        // compile MVEL expression
+        return MVEL.compileExpression(outputEntry.getText(), parserContext);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl.mvel.index;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.dmn.model.UnaryTests;
+
+/**
+ * Per-column indexes of a decision table, used to find the rules that could match the input variables
+ * before any MVEL expression is executed. Only the returned candidate rules need a full evaluation.
+ */
+public class DecisionTableIndex {
+
+    protected int ruleCount;
+    protected List<String> inputExpressions;
+    protected List<InputColumnIndex> columnIndexes;
+
+    public DecisionTableIndex(int ruleCount, List<String> inputExpressions, List<InputColumnIndex> columnIndexes) {
+        this.ruleCount = ruleCount;
+        this.inputExpressions = inputExpressions;
+        this.columnIndexes = columnIndexes;
+    }
+
+    /**
+     * @return the rules that could match the given variables, or null when the index can't be used
+     *         and all rules have to be evaluated
+     */
+    public BitSet findCandidateRules(Map<String, Object> stackVariables) {
+        if (!isApplicable(stackVariables)) {
+            return null;
+        }
+
+        BitSet candidateRules = new BitSet(ruleCount);
+        candidateRules.set(0, ruleCount);
+
+        for (InputColumnIndex columnIndex : columnIndexes) {
+            candidateRules.and(columnIndex.findCandidateRules(stackVariables.get(columnIndex.getVariableName())));
+            if (candidateRules.isEmpty()) {
+                break;
+            }
+        }
+
+        return candidateRules;
+    }
+
+    /**
+     * @return the indexed input entry that excluded the given rule from the candidate rules
+     */
+    public UnaryTests findExcludingInputEntry(int ruleIndex, Map<String, Object> stackVariables) {
+        for (InputColumnIndex columnIndex : columnIndexes) {
+            IndexedInputEntry indexedEntry = columnIndex.getIndexedEntry(ruleIndex);
+            if (indexedEntry != null && !indexedEntry.mightMatch(stackVariables.get(columnIndex.getVariableName()))) {
+                return indexedEntry.getInputEntry();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A missing input variable fails the complete decision table execution, which is only detected
+     * when all rules are evaluated.
+     */
+    protected boolean isApplicable(Map<String, Object> stackVariables) {
+        if (stackVariables == null || stackVariables.isEmpty()) {
+            return false;
+        }
+
+        for (String inputExpression : inputExpressions) {
+            String rootVariable = inputExpression;
+            if (inputExpression.contains(".")) {
+                rootVariable = inputExpression.substring(0, inputExpression.indexOf("."));
+            }
+            if (!stackVariables.containsKey(rootVariable)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public List<InputColumnIndex> getColumnIndexes() {
+        return columnIndexes;
+    }
+}
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl.mvel.index;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.activiti.dmn.model.DecisionRule;
+import org.activiti.dmn.model.DecisionTable;
+import org.activiti.dmn.model.InputClause;
+import org.activiti.dmn.model.OutputClause;
+import org.activiti.dmn.model.RuleInputClauseContainer;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Builds the {@link DecisionTableIndex} of a decision table.
+ * 
+ * Only input clauses that refer to a plain variable are indexed. Input clauses that refer to an output variable are skipped,
+ * because the conclusions of matching rules update that variable during the evaluation.
+ */
+public class DecisionTableIndexBuilder {
+
+    protected static final Pattern VARIABLE_PATTERN = Pattern.compile("^[A-Za-z_$][A-Za-z0-9_$]*$");
+
+    /**
+     * @return the index or null when none of the input clauses could be indexed
+     */
+    public static DecisionTableIndex build(DecisionTable decisionTable) {
+        if (decisionTable == null || decisionTable.getRules().isEmpty()) {
+            return null;
+        }
+
+        int ruleCount = decisionTable.getRules().size();
+
+        Set<String> outputNames = new HashSet<String>();
+        for (OutputClause outputClause : decisionTable.getOutputs()) {
+            outputNames.add(outputClause.getName());
+        }
+
+        Map<InputClause, InputColumnIndex> columnIndexes = new IdentityHashMap<InputClause, InputColumnIndex>();
+        List<InputColumnIndex> orderedColumnIndexes = new ArrayList<InputColumnIndex>();
+        for (InputClause inputClause : decisionTable.getInputs()) {
+            if (inputClause.getInputExpression() == null || inputClause.getInputExpression().getText() == null) {
+                continue;
+            }
+
+            String variableName = inputClause.getInputExpression().getText().trim();
+            if (VARIABLE_PATTERN.matcher(variableName).matches() && !outputNames.contains(variableName)) {
+                InputColumnIndex columnIndex = new InputColumnIndex(variableName, ruleCount);
+                columnIndexes.put(inputClause, columnIndex);
+                orderedColumnIndexes.add(columnIndex);
+            }
+        }
+
+        Set<String> inputExpressions = new LinkedHashSet<String>();
+        int ruleIndex = 0;
+        for (DecisionRule rule : decisionTable.getRules()) {
+            for (RuleInputClauseContainer conditionContainer : rule.getInputEntries()) {
+
+                // empty entries are always evaluated true
+                if (conditionContainer.getInputEntry() == null || StringUtils.isEmpty(conditionContainer.getInputEntry().getText())) {
+                    continue;
+                }
+
+                if (conditionContainer.getInputClause() != null && conditionContainer.getInputClause().getInputExpression() != null) {
+                    inputExpressions.add(conditionContainer.getInputClause().getInputExpression().getText());
+                }
+
+                InputColumnIndex columnIndex = columnIndexes.get(conditionContainer.getInputClause());
+                if (columnIndex == null) {
+                    continue;
+                }
+
+                IndexedInputEntry indexedEntry = IndexedInputEntry.parse(conditionContainer.getInputEntry());
+                if (indexedEntry != null) {
+                    columnIndex.addEntry(ruleIndex, indexedEntry);
+                }
+            }
+            ruleIndex++;
+        }
+
+        List<InputColumnIndex> usedColumnIndexes = new ArrayList<InputColumnIndex>();
+        for (InputColumnIndex columnIndex : orderedColumnIndexes) {
+            if (columnIndex.hasIndexedEntries()) {
+                columnIndex.build();
+                usedColumnIndexes.add(columnIndex);
+            }
+        }
+
+        if (usedColumnIndexes.isEmpty()) {
+            return null;
+        }
+
+        return new DecisionTableIndex(ruleCount, new ArrayList<String>(inputExpressions), usedColumnIndexes);
+    }
+}
@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl.mvel.index;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.activiti.dmn.model.UnaryTests;
+
+/**
+ * An input entry that is a simple comparison of the input variable with a literal, like <code>== 'gold'</code>, <code>== 5</code> or
+ * <code>&gt;= 100</code>, and can therefore be resolved through an {@link InputColumnIndex} instead of an MVEL expression.
+ */
+public class IndexedInputEntry {
+
+    public enum Operator {
+        EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL
+    }
+
+    protected static final Pattern ENTRY_PATTERN = Pattern.compile("^(==|<=|>=|<|>)\\s*(.+)$");
+    protected static final Pattern STRING_PATTERN = Pattern.compile("^'([^'\\\\\"]*)'$|^\"([^'\\\\\"]*)\"$");
+    // limited number of digits, so the literal is exactly representable as a double
+    protected static final Pattern NUMBER_PATTERN = Pattern.compile("^-?(0|[1-9]\\d{0,14})(\\.\\d{1,15})?$");
+
+    protected static final long MAX_EXACT_LONG = 1L << 53;
+
+    protected UnaryTests inputEntry;
+    protected Operator operator;
+    protected Object value;
+
+    public IndexedInputEntry(UnaryTests inputEntry, Operator operator, Object value) {
+        this.inputEntry = inputEntry;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    /**
+     * @return the indexed form of the input entry or null when the entry can only be evaluated as an MVEL expression
+     */
+    public static IndexedInputEntry parse(UnaryTests inputEntry) {
+        if (inputEntry == null || inputEntry.getText() == null) {
+            return null;
+        }
+
+        Matcher entryMatcher = ENTRY_PATTERN.matcher(inputEntry.getText().trim());
+        if (!entryMatcher.matches()) {
+            return null;
+        }
+
+        Operator operator = parseOperator(entryMatcher.group(1));
+        String literal = entryMatcher.group(2).trim();
+
+        if (NUMBER_PATTERN.matcher(literal).matches()) {
+            return new IndexedInputEntry(inputEntry, operator, normalize(Double.valueOf(literal)));
+        }
+
+        // only numbers can be used for range comparisons
+        if (operator != Operator.EQUAL) {
+            return null;
+        }
+
+        Matcher stringMatcher = STRING_PATTERN.matcher(literal);
+        if (stringMatcher.matches()) {
+            return new IndexedInputEntry(inputEntry, operator, stringMatcher.group(1) != null ? stringMatcher.group(1) : stringMatcher.group(2));
+        }
+
+        if ("true".equals(literal) || "false".equals(literal)) {
+            return new IndexedInputEntry(inputEntry, operator, Boolean.valueOf(literal));
+        }
+
+        return null;
+    }
+
+    protected static Operator parseOperator(String operator) {
+        if ("==".equals(operator)) {
+            return Operator.EQUAL;
+        } else if ("<".equals(operator)) {
+            return Operator.LESS_THAN;
+        } else if ("<=".equals(operator)) {
+            return Operator.LESS_THAN_OR_EQUAL;
+        } else if (">".equals(operator)) {
+            return Operator.GREATER_THAN;
+        } else {
+            return Operator.GREATER_THAN_OR_EQUAL;
+        }
+    }
+
+    /**
+     * Converts an input value to the double used as index key. Returns null for values that MVEL
+     * could compare differently than by their exact double value.
+     */
+    public static Double toIndexableNumber(Object inputValue) {
+        if (inputValue instanceof Integer || inputValue instanceof Short || inputValue instanceof Byte) {
+            return normalize(((Number) inputValue).doubleValue());
+
+        } else if (inputValue instanceof Long) {
+            long longValue = (Long) inputValue;
+            if (longValue <= MAX_EXACT_LONG && longValue >= -MAX_EXACT_LONG) {
+                return normalize((double) longValue);
+            }
+
+        } else if (inputValue instanceof Double && !((Double) inputValue).isNaN()) {
+            return normalize((Double) inputValue);
+        }
+
+        return null;
+    }
+
+    protected static Double normalize(double value) {
+        // turns -0.0 into 0.0
+        return value + 0.0;
+    }
+
+    /**
+     * @return false when the entry is certainly evaluated false for the input value, true when it is or could be evaluated true
+     */
+    public boolean mightMatch(Object inputValue) {
+        if (inputValue == null) {
+            return true;
+        }
+
+        if (value instanceof Double) {
+            Double number = toIndexableNumber(inputValue);
+            if (number == null) {
+                return true;
+            }
+            return compare(number, (Double) value);
+
+        } else if (value instanceof String) {
+            return !(inputValue instanceof String) || value.equals(inputValue);
+
+        } else {
+            return !(inputValue instanceof Boolean) || value.equals(inputValue);
+        }
+    }
+
+    protected boolean compare(double inputValue, double bound) {
+        switch (operator) {
+        case EQUAL:
+            return inputValue == bound;
+        case LESS_THAN:
+            return inputValue < bound;
+        case LESS_THAN_OR_EQUAL:
+            return inputValue <= bound;
+        case GREATER_THAN:
+            return inputValue > bound;
+        default:
+            return inputValue >= bound;
+        }
+    }
+
+    public UnaryTests getInputEntry() {
+        return inputEntry;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,255 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.impl.mvel.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.dmn.engine.impl.mvel.index.IndexedInputEntry.Operator;
+
+/**
+ * Index over the entries of one input clause of a decision table: hash lookups for equality entries and
+ * sorted bounds for range entries. Rules that don't have an indexed entry in this column are always candidates.
+ */
+public class InputColumnIndex {
+
+    protected String variableName;
+    protected int ruleCount;
+    protected IndexedInputEntry[] indexedEntries;
+    protected BitSet unindexedRules;
+
+    protected Map<String, BitSet> stringEntries = new HashMap<String, BitSet>();
+    protected Map<Double, BitSet> numberEntries = new HashMap<Double, BitSet>();
+    protected Map<Boolean, BitSet> booleanEntries = new HashMap<Boolean, BitSet>();
+
+    protected BitSet stringEntryRules;
+    protected BitSet numberEntryRules;
+    protected BitSet booleanEntryRules;
+    protected BitSet rangeEntryRules;
+
+    protected Map<Operator, List<IndexedRule>> rangeEntries = new EnumMap<Operator, List<IndexedRule>>(Operator.class);
+    protected Map<Operator, SortedBounds> sortedRangeEntries = new EnumMap<Operator, SortedBounds>(Operator.class);
+
+    public InputColumnIndex(String variableName, int ruleCount) {
+        this.variableName = variableName;
+        this.ruleCount = ruleCount;
+        this.indexedEntries = new IndexedInputEntry[ruleCount];
+        this.unindexedRules = new BitSet(ruleCount);
+        this.unindexedRules.set(0, ruleCount);
+        this.stringEntryRules = new BitSet(ruleCount);
+        this.numberEntryRules = new BitSet(ruleCount);
+        this.booleanEntryRules = new BitSet(ruleCount);
+        this.rangeEntryRules = new BitSet(ruleCount);
+    }
+
+    public void addEntry(int ruleIndex, IndexedInputEntry indexedEntry) {
+        indexedEntries[ruleIndex] = indexedEntry;
+        unindexedRules.clear(ruleIndex);
+
+        Object value = indexedEntry.getValue();
+        if (indexedEntry.getOperator() != Operator.EQUAL) {
+            List<IndexedRule> rules = rangeEntries.get(indexedEntry.getOperator());
+            if (rules == null) {
+                rules = new ArrayList<IndexedRule>();
+                rangeEntries.put(indexedEntry.getOperator(), rules);
+            }
+            rules.add(new IndexedRule((Double) value, ruleIndex));
+            rangeEntryRules.set(ruleIndex);
+
+        } else if (value instanceof String) {
+            getRuleSet(stringEntries, (String) value).set(ruleIndex);
+            stringEntryRules.set(ruleIndex);
+
+        } else if (value instanceof Double) {
+            getRuleSet(numberEntries, (Double) value).set(ruleIndex);
+            numberEntryRules.set(ruleIndex);
+
+        } else {
+            getRuleSet(booleanEntries, (Boolean) value).set(ruleIndex);
+            booleanEntryRules.set(ruleIndex);
+        }
+    }
+
+    protected <T> BitSet getRuleSet(Map<T, BitSet> entries, T value) {
+        BitSet rules = entries.get(value);
+        if (rules == null) {
+            rules = new BitSet(ruleCount);
+            entries.put(value, rules);
+        }
+        return rules;
+    }
+
+    /**
+     * Sorts the range entries, must be called after all entries are added.
+     */
+    public void build() {
+        for (Map.Entry<Operator, List<IndexedRule>> entry : rangeEntries.entrySet()) {
+            List<IndexedRule> rules = entry.getValue();
+            Collections.sort(rules, new Comparator<IndexedRule>() {
+                public int compare(IndexedRule rule1, IndexedRule rule2) {
+                    return Double.compare(rule1.bound, rule2.bound);
+                }
+            });
+
+            double[] bounds = new double[rules.size()];
+            int[] ruleIndexes = new int[rules.size()];
+            for (int i = 0; i < rules.size(); i++) {
+                bounds[i] = rules.get(i).bound;
+                ruleIndexes[i] = rules.get(i).ruleIndex;
+            }
+            sortedRangeEntries.put(entry.getKey(), new SortedBounds(bounds, ruleIndexes));
+        }
+        rangeEntries.clear();
+    }
+
+    public boolean hasIndexedEntries() {
+        return unindexedRules.cardinality() < ruleCount;
+    }
+
+    /**
+     * @return the rules of which the entry in this column could be evaluated true for the given input value
+     */
+    public BitSet findCandidateRules(Object inputValue) {
+        BitSet candidateRules = (BitSet) unindexedRules.clone();
+
+        if (inputValue == null) {
+            candidateRules.set(0, ruleCount);
+            return candidateRules;
+        }
+
+        // MVEL coerces values of different types when comparing, so entries of another type stay candidates
+        if (inputValue instanceof String) {
+            addRules(candidateRules, stringEntries.get(inputValue));
+        } else {
+            candidateRules.or(stringEntryRules);
+        }
+
+        if (inputValue instanceof Boolean) {
+            addRules(candidateRules, booleanEntries.get(inputValue));
+        } else {
+            candidateRules.or(booleanEntryRules);
+        }
+
+        Double number = IndexedInputEntry.toIndexableNumber(inputValue);
+        if (number != null) {
+            addRules(candidateRules, numberEntries.get(number));
+            for (Map.Entry<Operator, SortedBounds> entry : sortedRangeEntries.entrySet()) {
+                entry.getValue().addMatchingRules(entry.getKey(), number, candidateRules);
+            }
+        } else {
+            candidateRules.or(numberEntryRules);
+            candidateRules.or(rangeEntryRules);
+        }
+
+        return candidateRules;
+    }
+
+    protected void addRules(BitSet candidateRules, BitSet rules) {
+        if (rules != null) {
+            candidateRules.or(rules);
+        }
+    }
+
+    public IndexedInputEntry getIndexedEntry(int ruleIndex) {
+        return indexedEntries[ruleIndex];
+    }
+
+    public String getVariableName() {
+        return variableName;
+    }
+
+    protected static class IndexedRule {
+
+        protected double bound;
+        protected int ruleIndex;
+
+        public IndexedRule(double bound, int ruleIndex) {
+            this.bound = bound;
+            this.ruleIndex = ruleIndex;
+        }
+    }
+
+    protected static class SortedBounds {
+
+        protected double[] bounds;
+        protected int[] ruleIndexes;
+
+        public SortedBounds(double[] bounds, int[] ruleIndexes) {
+            this.bounds = bounds;
+            this.ruleIndexes = ruleIndexes;
+        }
+
+        public void addMatchingRules(Operator operator, double value, BitSet candidateRules) {
+            switch (operator) {
+            case LESS_THAN:
+                // value < bound
+                addRules(firstGreaterThan(value), bounds.length, candidateRules);
+                break;
+            case LESS_THAN_OR_EQUAL:
+                // value <= bound
+                addRules(firstGreaterThanOrEqual(value), bounds.length, candidateRules);
+                break;
+            case GREATER_THAN:
+                // value > bound
+                addRules(0, firstGreaterThanOrEqual(value), candidateRules);
+                break;
+            case GREATER_THAN_OR_EQUAL:
+                // value >= bound
+                addRules(0, firstGreaterThan(value), candidateRules);
+                break;
+            default:
+                break;
+            }
+        }
+
+        protected void addRules(int from, int to, BitSet candidateRules) {
+            for (int i = from; i < to; i++) {
+                candidateRules.set(ruleIndexes[i]);
+            }
+        }
+
+        protected int firstGreaterThan(double value) {
+            int low = 0;
+            int high = bounds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (bounds[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        protected int firstGreaterThanOrEqual(double value) {
+            int low = 0;
+            int high = bounds.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (bounds[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
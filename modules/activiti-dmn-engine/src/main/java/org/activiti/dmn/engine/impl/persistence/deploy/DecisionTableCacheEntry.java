@@ -14,6 +14,7 @@ package org.activiti.dmn.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
 
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
 import org.activiti.dmn.engine.impl.persistence.entity.DecisionTableEntity;
 import org.activiti.dmn.model.Decision;
 import org.activiti.dmn.model.DmnDefinition;
@@ -28,6 +29,8 @@ public class DecisionTableCacheEntry implements Serializable {
     protected DecisionTableEntity decisionTableEntity;
     protected DmnDefinition dmnDefinition;
     protected Decision decision;
+    // compiled MVEL expressions are not serializable, they are compiled again when the entry is used after deserialization
+    protected transient volatile MvelCompiledExpressions compiledExpressions;
 
     public DecisionTableCacheEntry(DecisionTableEntity decisionTableEntity, DmnDefinition dmnDefinition, Decision decision) {
         this.decisionTableEntity = decisionTableEntity;
@@ -35,6 +38,12 @@ public class DecisionTableCacheEntry implements Serializable {
         this.decision = decision;
     }
 
+    public DecisionTableCacheEntry(DecisionTableEntity decisionTableEntity, DmnDefinition dmnDefinition, Decision decision, 
+            MvelCompiledExpressions compiledExpressions) {
+        this(decisionTableEntity, dmnDefinition, decision);
+        this.compiledExpressions = compiledExpressions;
+    }
+
     public DecisionTableEntity getDecisionTableEntity() {
         return decisionTableEntity;
     }
@@ -58,4 +67,12 @@ public class DecisionTableCacheEntry implements Serializable {
     public void setDecision(Decision decision) {
         this.decision = decision;
     }
+
+    public MvelCompiledExpressions getCompiledExpressions() {
+        return compiledExpressions;
+    }
+
+    public void setCompiledExpressions(MvelCompiledExpressions compiledExpressions) {
+        this.compiledExpressions = compiledExpressions;
+    }
 }
@@ -13,14 +13,19 @@
 
 package org.activiti.dmn.engine.test.runtime;
 
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
 import org.activiti.dmn.api.DmnRuleService;
 import org.activiti.dmn.api.RuleEngineExecutionResult;
 import org.activiti.dmn.engine.DmnEngine;
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
+import org.activiti.dmn.engine.impl.persistence.deploy.DecisionTableCacheEntry;
 import org.activiti.dmn.engine.test.ActivitiDmnRule;
 import org.activiti.dmn.engine.test.DmnDeploymentAnnotation;
+import org.activiti.dmn.model.LiteralExpression;
+import org.activiti.dmn.model.UnaryTests;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -48,4 +53,94 @@ public class DecisionRuntimeTest {
       Assert.assertEquals("result2", result.getResultVariables().get("outputVariable2"));
       }
 
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/runtime/DecisionRuntimeTest.ruleUsageExample.dmn")
+    public void repeatedExecutionWithCompiledExpressions() {
+      DmnEngine dmnEngine = activitiDmnRule.getDmnEngine();
+      DmnRuleService dmnRuleService = dmnEngine.getDmnRuleService();
+      
+      for (int i = 0; i < 3; i++) {
+        Map<String, Object> inputMap = new HashMap<>();
+        inputMap.put("inputVariable1", 5);
+        inputMap.put("inputVariable2", "inputval1");
+        
+        RuleEngineExecutionResult result = dmnRuleService.executeDecisionByKey("decision1", inputMap);
+        Assert.assertEquals("outputval1", result.getResultVariables().get("outputVariable1"));
+        Assert.assertEquals("result1", result.getResultVariables().get("outputVariable2"));
+        
+        inputMap = new HashMap<>();
+        inputMap.put("inputVariable1", 2);
+        inputMap.put("inputVariable2", "inputval2");
+        
+        result = dmnRuleService.executeDecisionByKey("decision1", inputMap);
+        Assert.assertEquals("outputval2", result.getResultVariables().get("outputVariable1"));
+        Assert.assertEquals("result2", result.getResultVariables().get("outputVariable2"));
+      }
+    }
+
+    @Test
+    @DmnDeploymentAnnotation(resources = "org/activiti/dmn/engine/test/runtime/DecisionRuntimeTest.ruleUsageExample.dmn")
+    public void executionUsesPrecompiledExpressions() {
+      DmnEngine dmnEngine = activitiDmnRule.getDmnEngine();
+      DmnRuleService dmnRuleService = dmnEngine.getDmnRuleService();
+      
+      String decisionTableId = dmnEngine.getDmnRepositoryService().createDecisionTableQuery()
+          .decisionTableKey("decision1").latestVersion().singleResult().getId();
+      
+      // make sure the decision table is in the cache
+      Map<String, Object> inputMap = new HashMap<>();
+      inputMap.put("inputVariable1", 2);
+      inputMap.put("inputVariable2", "inputval2");
+      dmnRuleService.executeDecisionByKey("decision1", inputMap);
+      
+      DecisionTableCacheEntry cacheEntry = dmnEngine.getDmnEngineConfiguration().getDeploymentManager()
+          .getDecisionCache().get(decisionTableId);
+      Assert.assertNotNull(cacheEntry.getCompiledExpressions());
+      
+      CountingCompiledExpressions countingExpressions = new CountingCompiledExpressions(cacheEntry.getCompiledExpressions());
+      cacheEntry.setCompiledExpressions(countingExpressions);
+      
+      RuleEngineExecutionResult result = dmnRuleService.executeDecisionByKey("decision1", inputMap);
+      Assert.assertEquals("outputval2", result.getResultVariables().get("outputVariable1"));
+      Assert.assertEquals("result2", result.getResultVariables().get("outputVariable2"));
+      Assert.assertTrue(countingExpressions.inputEntryHits > 0);
+      Assert.assertTrue(countingExpressions.outputEntryHits > 0);
+      
+      // compiled expressions are not serialized with the cache entry and must be rebuilt when missing
+      cacheEntry.setCompiledExpressions(null);
+      result = dmnRuleService.executeDecisionByKey("decision1", inputMap);
+      Assert.assertEquals("outputval2", result.getResultVariables().get("outputVariable1"));
+      Assert.assertNotNull(cacheEntry.getCompiledExpressions());
+    }
+    
+    protected static class CountingCompiledExpressions extends MvelCompiledExpressions {
+      
+      protected MvelCompiledExpressions delegate;
+      protected int inputEntryHits;
+      protected int outputEntryHits;
+      
+      public CountingCompiledExpressions(MvelCompiledExpressions delegate) {
+        this.delegate = delegate;
+        this.decisionTableIndex = delegate.getDecisionTableIndex();
+      }
+      
+      @Override
+      public Serializable getInputEntryExpression(UnaryTests inputEntry) {
+        Serializable compiledExpression = delegate.getInputEntryExpression(inputEntry);
+        if (compiledExpression != null) {
+          inputEntryHits++;
+        }
+        return compiledExpression;
+      }
+      
+      @Override
+      public Serializable getOutputEntryExpression(LiteralExpression outputEntry) {
+        Serializable compiledExpression = delegate.getOutputEntryExpression(outputEntry);
+        if (compiledExpression != null) {
+          outputEntryHits++;
+        }
+        return compiledExpression;
+      }
+    }
+
 }
@@ -0,0 +1,147 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.dmn.engine.test.runtime;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.dmn.api.RuleEngineExecutionResult;
+import org.activiti.dmn.engine.impl.RuleEngineExecutorImpl;
+import org.activiti.dmn.engine.impl.mvel.MvelCompiledExpressions;
+import org.activiti.dmn.engine.impl.mvel.MvelExpressionCompiler;
+import org.activiti.dmn.model.Decision;
+import org.activiti.dmn.model.DecisionRule;
+import org.activiti.dmn.model.DecisionTable;
+import org.activiti.dmn.model.HitPolicy;
+import org.activiti.dmn.model.InputClause;
+import org.activiti.dmn.model.LiteralExpression;
+import org.activiti.dmn.model.OutputClause;
+import org.activiti.dmn.model.RuleInputClauseContainer;
+import org.activiti.dmn.model.RuleOutputClauseContainer;
+import org.activiti.dmn.model.UnaryTests;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mvel2.integration.PropertyHandler;
+
+public class IndexedDecisionTableTest {
+
+  protected static final String[] CATEGORIES = { "gold", "silver", "bronze" };
+
+  @Test
+  public void indexedEvaluationMatchesFullEvaluation() {
+    for (HitPolicy hitPolicy : new HitPolicy[] { HitPolicy.FIRST, HitPolicy.UNIQUE, HitPolicy.ANY }) {
+      Decision decision = createDecision(hitPolicy, 200);
+
+      MvelCompiledExpressions indexedExpressions = MvelExpressionCompiler.compile(decision, null, 0);
+      Assert.assertNotNull(indexedExpressions.getDecisionTableIndex());
+      
+      MvelCompiledExpressions compiledExpressions = MvelExpressionCompiler.compile(decision, null, -1);
+      Assert.assertNull(compiledExpressions.getDecisionTableIndex());
+
+      for (String category : new String[] { "gold", "silver", "bronze", "none" }) {
+        for (Object amount : new Object[] { 0, 5, 17, 50, 99.5, 150L, 1000, "17" }) {
+          RuleEngineExecutionResult indexedResult = execute(decision, category, amount, indexedExpressions);
+          RuleEngineExecutionResult fullResult = execute(decision, category, amount, null);
+
+          Assert.assertEquals(fullResult.getResultVariables(), indexedResult.getResultVariables());
+          Assert.assertEquals(fullResult.getAuditTrail().getRuleExecutions().size(), indexedResult.getAuditTrail().getRuleExecutions().size());
+        }
+      }
+    }
+  }
+
+  protected RuleEngineExecutionResult execute(Decision decision, String category, Object amount, MvelCompiledExpressions compiledExpressions) {
+    Map<String, Object> inputVariables = new HashMap<String, Object>();
+    inputVariables.put("category", category);
+    inputVariables.put("amount", amount);
+    inputVariables.put("active", Boolean.TRUE);
+
+    return new RuleEngineExecutorImpl().execute(decision, inputVariables, new HashMap<String, Method>(), 
+        new HashMap<Class<?>, PropertyHandler>(), compiledExpressions);
+  }
+
+  protected Decision createDecision(HitPolicy hitPolicy, int numberOfRules) {
+    DecisionTable decisionTable = new DecisionTable();
+    decisionTable.setId("decisionTable");
+    decisionTable.setHitPolicy(hitPolicy);
+
+    InputClause categoryInput = createInputClause("category", "string");
+    InputClause amountInput = createInputClause("amount", "number");
+    InputClause activeInput = createInputClause("active", "boolean");
+    decisionTable.addInput(categoryInput);
+    decisionTable.addInput(amountInput);
+    decisionTable.addInput(activeInput);
+
+    OutputClause outputClause = new OutputClause();
+    outputClause.setName("outcome");
+    outputClause.setTypeRef("string");
+    decisionTable.addOutput(outputClause);
+
+    for (int i = 0; i < numberOfRules; i++) {
+      DecisionRule rule = new DecisionRule();
+      rule.addInputEntry(createInputEntry(categoryInput, i % 7 == 0 ? "" : "== '" + CATEGORIES[i % CATEGORIES.length] + "'", i));
+      
+      String amountEntry = null;
+      switch (i % 5) {
+      case 0:
+        amountEntry = "== " + (i % 20);
+        break;
+      case 1:
+        amountEntry = "< " + (i % 100);
+        break;
+      case 2:
+        amountEntry = ">= " + (i % 100);
+        break;
+      case 3:
+        amountEntry = "> 10 && amount < " + i;
+        break;
+      default:
+        amountEntry = "<= " + (i % 100) + ".5";
+      }
+      rule.addInputEntry(createInputEntry(amountInput, amountEntry, i));
+      rule.addInputEntry(createInputEntry(activeInput, i % 3 == 0 ? "== false" : "== true", i));
+
+      LiteralExpression outputEntry = new LiteralExpression();
+      outputEntry.setId("outputEntry_" + i);
+      outputEntry.setText("'rule" + i + "'");
+      rule.addOutputEntry(new RuleOutputClauseContainer(outputClause, outputEntry));
+
+      decisionTable.addRule(rule);
+    }
+
+    Decision decision = new Decision();
+    decision.setId("decision");
+    decision.setName("Indexed decision");
+    decision.setExpression(decisionTable);
+    return decision;
+  }
+
+  protected InputClause createInputClause(String variableName, String typeRef) {
+    LiteralExpression inputExpression = new LiteralExpression();
+    inputExpression.setText(variableName);
+    inputExpression.setTypeRef(typeRef);
+
+    InputClause inputClause = new InputClause();
+    inputClause.setInputExpression(inputExpression);
+    return inputClause;
+  }
+
+  protected RuleInputClauseContainer createInputEntry(InputClause inputClause, String text, int ruleIndex) {
+    UnaryTests inputEntry = new UnaryTests();
+    inputEntry.setId("inputEntry_" + inputClause.getInputExpression().getText() + "_" + ruleIndex);
+    inputEntry.setText(text);
+    return new RuleInputClauseContainer(inputClause, inputEntry);
+  }
+}
@@ -14,6 +14,7 @@
 
 package org.activiti.engine;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.history.HistoricActivityInstance;
@@ -90,6 +91,33 @@ public interface HistoryService {
    */
   void deleteHistoricProcessInstance(String processInstanceId);
 
+  /**
+   * Deletes the history of all process instances that finished before the given date, including their sub process instances and all their
+   * historic activities, tasks, details, variables, identity links, comments and attachments. The history is deleted with set-based statements,
+   * in batches of at most batchSize process instances with a transaction per batch. No entity events are dispatched for the deleted data.
+   * 
+   * @param finishedBefore
+   *          only process instances that ended before this date are deleted.
+   * @param processDefinitionKey
+   *          if not null, only process instances of process definitions with this key are deleted.
+   * @param tenantId
+   *          if not null, only process instances of this tenant are deleted.
+   * @param batchSize
+   *          the maximum number of (root) process instances deleted per transaction.
+   * @return the number of deleted historic process instances.
+   */
+  long deleteHistoricProcessInstancesFinishedBefore(Date finishedBefore, String processDefinitionKey, String tenantId, int batchSize);
+
+  /**
+   * Schedules a background purge that deletes the same history as {@link #deleteHistoricProcessInstancesFinishedBefore(Date, String, String, int)},
+   * one batch per job execution, waiting delayBetweenBatchesInMillis between batches to limit the load on the database. The purge starts
+   * as soon as the async executor picks up the returned timer job. Progress is logged, and the number of process instances deleted so far is
+   * part of the job handler configuration of the timer scheduled for the next batch.
+   * 
+   * @return the id of the timer job of the first batch.
+   */
+  String scheduleHistoricProcessInstancePurge(Date finishedBefore, String processDefinitionKey, String tenantId, int batchSize, long delayBetweenBatchesInMillis);
+
   /**
    * creates a native query to search for {@link HistoricProcessInstance}s via SQL
    */
@@ -52,7 +52,7 @@ public interface ActivitiEventDispatcher {
    *          event to dispatch.
    */
   void dispatchEvent(ActivitiEvent event);
-
+  
   /**
    * @param enabled
    *          true, if event dispatching should be enabled.
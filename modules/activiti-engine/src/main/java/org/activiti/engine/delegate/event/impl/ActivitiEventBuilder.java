@@ -24,6 +24,7 @@ import org.activiti.engine.delegate.event.ActivitiEntityEvent;
 import org.activiti.engine.delegate.event.ActivitiEntityWithVariablesEvent;
 import org.activiti.engine.delegate.event.ActivitiErrorEvent;
 import org.activiti.engine.delegate.event.ActivitiEvent;
+import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
 import org.activiti.engine.delegate.event.ActivitiEventType;
 import org.activiti.engine.delegate.event.ActivitiExceptionEvent;
 import org.activiti.engine.delegate.event.ActivitiMembershipEvent;
@@ -306,6 +307,43 @@ public class ActivitiEventBuilder {
     return newEvent;
   }
 
+  /**
+   * Returns false when the dispatcher is known to have no listener for events of the given type, so creating the event can be skipped.
+   * Only the {@link ActivitiEventDispatcherImpl} can tell; for other dispatchers the event is always created.
+   */
+  public static boolean hasListeners(ActivitiEventDispatcher eventDispatcher, ActivitiEventType type, String processDefinitionId) {
+    if (eventDispatcher instanceof ActivitiEventDispatcherImpl) {
+      return ((ActivitiEventDispatcherImpl) eventDispatcher).hasListeners(type, processDefinitionId);
+    }
+    return true;
+  }
+
+  /**
+   * Returns the process definition id an entity event for the given entity will have, 
+   * see {@link #populateEventWithCurrentContext(ActivitiEventImpl)}.
+   */
+  public static String getProcessDefinitionId(Object entity) {
+    if (entity instanceof Job) {
+      return ((Job) entity).getProcessDefinitionId();
+    } else if (entity instanceof DelegateExecution) {
+      return ((DelegateExecution) entity).getProcessDefinitionId();
+    } else if (entity instanceof IdentityLinkEntity) {
+      IdentityLinkEntity idLink = (IdentityLinkEntity) entity;
+      if (idLink.getProcessDefinitionId() != null) {
+        return idLink.getProcessDefId();
+      } else if (idLink.getProcessInstance() != null) {
+        return idLink.getProcessInstance().getProcessDefinitionId();
+      } else if (idLink.getTask() != null) {
+        return idLink.getTask().getProcessDefinitionId();
+      }
+    } else if (entity instanceof Task) {
+      return ((Task) entity).getProcessDefinitionId();
+    } else if (entity instanceof ProcessDefinition) {
+      return ((ProcessDefinition) entity).getId();
+    }
+    return null;
+  }
+
   protected static void populateEventWithCurrentContext(ActivitiEventImpl event) {
     if (event instanceof ActivitiEntityEvent) {
       Object persistedObject = ((ActivitiEntityEvent) event).getEntity();
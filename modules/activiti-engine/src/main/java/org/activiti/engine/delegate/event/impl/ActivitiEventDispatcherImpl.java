@@ -60,6 +60,26 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
     eventSupport.removeEventListener(listenerToRemove);
   }
 
+  /**
+   * Returns true if an event of the given type would be dispatched to at least one listener, registered either on this dispatcher
+   * or on the process definition with the given id. Allows skipping the creation of events no listener is interested in.
+   * Use {@link ActivitiEventBuilder#hasListeners(ActivitiEventDispatcher, ActivitiEventType, String)} when the dispatcher can be a custom one.
+   */
+  public boolean hasListeners(ActivitiEventType type, String processDefinitionId) {
+    if (enabled && eventSupport.hasListeners(type)) {
+      return true;
+    }
+    
+    // Same conditions as for dispatching to the listeners of the process definition
+    if (processDefinitionId != null && Context.getCommandContext() != null) {
+      BpmnModel bpmnModel = extractBpmnModel(processDefinitionId);
+      if (bpmnModel != null && bpmnModel.getEventSupport() != null) {
+        return ((ActivitiEventSupport) bpmnModel.getEventSupport()).hasListeners(type);
+      }
+    }
+    return false;
+  }
+
   @Override
   public void dispatchEvent(ActivitiEvent event) {
     if (enabled) {
@@ -99,13 +119,18 @@ public class ActivitiEventDispatcherImpl implements ActivitiEventDispatcher {
     BpmnModel result = null;
     
     if (result == null && event.getProcessDefinitionId() != null) {
-      ProcessDefinition processDefinition = ProcessDefinitionUtil.getProcessDefinition(event.getProcessDefinitionId(), true);
-      if (processDefinition != null) {
-        result = Context.getProcessEngineConfiguration().getDeploymentManager().resolveProcessDefinition(processDefinition).getBpmnModel();
-      }
+      result = extractBpmnModel(event.getProcessDefinitionId());
     }
     
     return result;
   }
+  
+  protected BpmnModel extractBpmnModel(String processDefinitionId) {
+    ProcessDefinition processDefinition = ProcessDefinitionUtil.getProcessDefinition(processDefinitionId, true);
+    if (processDefinition != null) {
+      return Context.getProcessEngineConfiguration().getDeploymentManager().resolveProcessDefinition(processDefinition).getBpmnModel();
+    }
+    return null;
+  }
 
 }
@@ -12,9 +12,11 @@
  */
 package org.activiti.engine.delegate.event.impl;
 
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.activiti.engine.ActivitiException;
@@ -35,11 +37,21 @@ public class ActivitiEventSupport {
   private static final Logger LOG = LoggerFactory.getLogger(ActivitiEventSupport.class);
 
   protected List<ActivitiEventListener> eventListeners;
-  protected Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
+  
+  /**
+   * Never changed once assigned: a new map is assigned when a type is added, so it can be read without locking.
+   */
+  protected volatile Map<ActivitiEventType, List<ActivitiEventListener>> typedListeners;
+  
+  /**
+   * The types for which at least one typed listener is registered. Recalculated when listeners are added or removed.
+   */
+  protected volatile Set<ActivitiEventType> subscribedTypes;
 
   public ActivitiEventSupport() {
     eventListeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-    typedListeners = new HashMap<ActivitiEventType, List<ActivitiEventListener>>();
+    typedListeners = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(ActivitiEventType.class);
+    subscribedTypes = EnumSet.noneOf(ActivitiEventType.class);
   }
 
   public synchronized void addEventListener(ActivitiEventListener listenerToAdd) {
@@ -66,12 +78,21 @@ public class ActivitiEventSupport {
     }
   }
 
-  public void removeEventListener(ActivitiEventListener listenerToRemove) {
+  public synchronized void removeEventListener(ActivitiEventListener listenerToRemove) {
     eventListeners.remove(listenerToRemove);
 
     for (List<ActivitiEventListener> listeners : typedListeners.values()) {
       listeners.remove(listenerToRemove);
     }
+    updateSubscribedTypes();
+  }
+  
+  /**
+   * Returns true if an event of the given type would be dispatched to at least one listener,
+   * so callers can skip creating events no listener is interested in.
+   */
+  public boolean hasListeners(ActivitiEventType type) {
+    return !eventListeners.isEmpty() || subscribedTypes.contains(type);
   }
 
   public void dispatchEvent(ActivitiEvent event) {
@@ -118,11 +139,25 @@ public class ActivitiEventSupport {
     if (listeners == null) {
       // Add an empty list of listeners for this type
       listeners = new CopyOnWriteArrayList<ActivitiEventListener>();
-      typedListeners.put(type, listeners);
+      Map<ActivitiEventType, List<ActivitiEventListener>> newTypedListeners 
+          = new EnumMap<ActivitiEventType, List<ActivitiEventListener>>(typedListeners);
+      newTypedListeners.put(type, listeners);
+      typedListeners = newTypedListeners;
     }
 
     if (!listeners.contains(listener)) {
       listeners.add(listener);
     }
+    updateSubscribedTypes();
+  }
+  
+  protected void updateSubscribedTypes() {
+    Set<ActivitiEventType> types = EnumSet.noneOf(ActivitiEventType.class);
+    for (Map.Entry<ActivitiEventType, List<ActivitiEventListener>> entry : typedListeners.entrySet()) {
+      if (!entry.getValue().isEmpty()) {
+        types.add(entry.getKey());
+      }
+    }
+    subscribedTypes = types;
   }
 }
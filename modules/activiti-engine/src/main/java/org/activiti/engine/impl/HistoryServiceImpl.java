@@ -14,6 +14,7 @@
 
 package org.activiti.engine.impl;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.HistoryService;
@@ -31,8 +32,10 @@ import org.activiti.engine.history.NativeHistoricVariableInstanceQuery;
 import org.activiti.engine.history.ProcessInstanceHistoryLogQuery;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstanceCmd;
+import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstancesFinishedBeforeCmd;
 import org.activiti.engine.impl.cmd.DeleteHistoricTaskInstanceCmd;
 import org.activiti.engine.impl.cmd.GetHistoricIdentityLinksForTaskCmd;
+import org.activiti.engine.impl.cmd.ScheduleHistoricProcessInstancePurgeCmd;
 
 /**
  * @author Tom Baeyens
@@ -87,6 +90,20 @@ public class HistoryServiceImpl extends ServiceImpl implements HistoryService {
     commandExecutor.execute(new DeleteHistoricProcessInstanceCmd(processInstanceId));
   }
 
+  public long deleteHistoricProcessInstancesFinishedBefore(Date finishedBefore, String processDefinitionKey, String tenantId, int batchSize) {
+    long deletedCount = 0;
+    int deleted;
+    do {
+      deleted = commandExecutor.execute(new DeleteHistoricProcessInstancesFinishedBeforeCmd(finishedBefore, processDefinitionKey, tenantId, batchSize));
+      deletedCount += deleted;
+    } while (deleted > 0);
+    return deletedCount;
+  }
+
+  public String scheduleHistoricProcessInstancePurge(Date finishedBefore, String processDefinitionKey, String tenantId, int batchSize, long delayBetweenBatchesInMillis) {
+    return commandExecutor.execute(new ScheduleHistoricProcessInstancePurgeCmd(finishedBefore, processDefinitionKey, tenantId, batchSize, delayBetweenBatchesInMillis));
+  }
+
   public NativeHistoricProcessInstanceQuery createNativeHistoricProcessInstanceQuery() {
     return new NativeHistoricProcessInstanceQueryImpl(commandExecutor);
   }
@@ -89,6 +89,10 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.registerProcessEngine(this);
 
+    if (processEngineConfiguration.getAsyncEventLogWriter() != null) {
+      processEngineConfiguration.getAsyncEventLogWriter().start();
+    }
+
     if (asyncExecutor != null && asyncExecutor.isAutoActivate()) {
       asyncExecutor.start();
     }
@@ -106,6 +110,10 @@ public class ProcessEngineImpl implements ProcessEngine {
       asyncExecutor.shutdown();
     }
 
+    if (processEngineConfiguration.getAsyncEventLogWriter() != null) {
+      processEngineConfiguration.getAsyncEventLogWriter().shutdown();
+    }
+
     commandExecutor.execute(processEngineConfiguration.getSchemaCommandConfig(), new SchemaOperationProcessEngineClose());
 
     if (processEngineConfiguration.getProcessEngineLifecycleListener() != null) {
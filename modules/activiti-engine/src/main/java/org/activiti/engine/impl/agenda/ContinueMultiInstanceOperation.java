@@ -29,8 +29,15 @@ public class ContinueMultiInstanceOperation extends AbstractOperation {
 
   private static Logger logger = LoggerFactory.getLogger(ContinueMultiInstanceOperation.class);
 
+  protected boolean forceSynchronousOperation;
+
   public ContinueMultiInstanceOperation(CommandContext commandContext, ExecutionEntity execution) {
+    this(commandContext, execution, false);
+  }
+
+  public ContinueMultiInstanceOperation(CommandContext commandContext, ExecutionEntity execution, boolean forceSynchronousOperation) {
     super(commandContext, execution);
+    this.forceSynchronousOperation = forceSynchronousOperation;
   }
 
   @Override
@@ -44,7 +51,7 @@ public class ContinueMultiInstanceOperation extends AbstractOperation {
   }
   
   protected void continueThroughMultiInstanceFlowNode(FlowNode flowNode) {
-    if (!flowNode.isAsynchronous()) {
+    if (forceSynchronousOperation || !flowNode.isAsynchronous()) {
       executeSynchronous(flowNode);
     } else {
       executeAsynchronous(flowNode);
@@ -65,7 +72,8 @@ public class ContinueMultiInstanceOperation extends AbstractOperation {
     if (activityBehavior != null) {
       logger.debug("Executing activityBehavior {} on activity '{}' with execution {}", activityBehavior.getClass(), flowNode.getId(), execution.getId());
       
-      if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+      if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+          && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.ACTIVITY_STARTED, execution.getProcessDefinitionId())) {
         Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
             ActivitiEventBuilder.createActivityEvent(ActivitiEventType.ACTIVITY_STARTED, flowNode.getId(), flowNode.getName(), execution.getId(),
                 execution.getProcessInstanceId(), execution.getProcessDefinitionId(), flowNode));
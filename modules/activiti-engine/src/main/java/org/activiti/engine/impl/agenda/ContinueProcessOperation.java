@@ -170,7 +170,8 @@ public class ContinueProcessOperation extends AbstractOperation {
   protected void executeActivityBehavior(ActivityBehavior activityBehavior, FlowNode flowNode) {
     logger.debug("Executing activityBehavior {} on activity '{}' with execution {}", activityBehavior.getClass(), flowNode.getId(), execution.getId());
 
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.ACTIVITY_STARTED, execution.getProcessDefinitionId())) {
       Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
           ActivitiEventBuilder.createActivityEvent(ActivitiEventType.ACTIVITY_STARTED, flowNode.getId(), flowNode.getName(), execution.getId(),
               execution.getProcessInstanceId(), execution.getProcessDefinitionId(), flowNode));
@@ -196,7 +197,8 @@ public class ContinueProcessOperation extends AbstractOperation {
     }
 
     // Firing event that transition is being taken
-    if(Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if(Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.SEQUENCEFLOW_TAKEN, execution.getProcessDefinitionId())) {
       FlowElement sourceFlowElement = sequenceFlow.getSourceFlowElement();
       FlowElement targetFlowElement = sequenceFlow.getTargetFlowElement();
       Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
@@ -91,7 +91,8 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
 
       commandContext.getHistoryManager().recordActivityEnd(execution, null);
 
-      if (!(execution.getCurrentFlowElement() instanceof SubProcess)) {
+      if (!(execution.getCurrentFlowElement() instanceof SubProcess)
+          && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.ACTIVITY_COMPLETED, execution.getProcessDefinitionId())) {
         Context.getProcessEngineConfiguration().getEventDispatcher().dispatchEvent(
             ActivitiEventBuilder.createActivityEvent(ActivitiEventType.ACTIVITY_COMPLETED, flowNode.getId(), flowNode.getName(),
                 execution.getId(), execution.getProcessInstanceId(), execution.getProcessDefinitionId(), flowNode));
@@ -114,6 +115,9 @@ public class TakeOutgoingSequenceFlowsOperation extends AbstractOperation {
     }
 
     // Determine which sequence flows can be used for leaving
+    if (evaluateConditions) {
+      ConditionUtil.prefetchConditionVariables(flowNode.getOutgoingFlows(), execution);
+    }
     List<SequenceFlow> outgoingSequenceFlows = new ArrayList<SequenceFlow>();
     for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
 
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
@@ -36,6 +37,8 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
   protected long millisToWait;
+  
+  protected AdaptiveAcquisitionController acquisitionController;
 
   public AcquireAsyncJobsDueRunnable(AsyncExecutor asyncExecutor) {
     this.asyncExecutor = asyncExecutor;
@@ -50,31 +53,17 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
-        AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
-
-        boolean allJobsSuccessfullyOffered = true; 
-        for (JobEntity job : acquiredJobs.getJobs()) {
-          boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
-          if (!jobSuccessFullyOffered) {
-            allJobsSuccessfullyOffered = false;
-          }
-        }
-        
-        // If all jobs are executed, we check if we got back the amount we expected
-        // If not, we will wait, as to not query the database needlessly. 
-        // Otherwise, we set the wait time to 0, as to query again immediately.
-        millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
-          millisToWait = 0; 
-        }
-        
-        // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
-        if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
-          millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+        if (acquisitionController != null) {
+          millisToWait = acquireJobsAdaptively(commandExecutor);
+          
+        } else {
+          millisToWait = acquireJobs(commandExecutor);
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        if (acquisitionController != null) {
+          millisToWait = acquisitionController.acquisitionFailed();
+        }
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during async job acquisition. If you have multiple async executors running against the same database, "
               + "this exception means that this thread tried to acquire a due async job, which already was acquired by another async executor acquisition thread."
@@ -115,6 +104,63 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected long acquireJobs(CommandExecutor commandExecutor) {
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+
+    boolean allJobsSuccessfullyOffered = true; 
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      boolean jobSuccessFullyOffered = asyncExecutor.executeAsyncJob(job);
+      if (!jobSuccessFullyOffered) {
+        allJobsSuccessfullyOffered = false;
+      }
+    }
+    
+    // If all jobs are executed, we check if we got back the amount we expected
+    // If not, we will wait, as to not query the database needlessly. 
+    // Otherwise, we set the wait time to 0, as to query again immediately.
+    long millisToWait = asyncExecutor.getDefaultAsyncJobAcquireWaitTimeInMillis();
+    int jobsAcquired = acquiredJobs.size();
+    if (jobsAcquired >= asyncExecutor.getMaxAsyncJobsDuePerAcquisition()) {
+      millisToWait = 0; 
+    }
+    
+    // If the queue was full, we wait too (even if we got enough jobs back), as not overload the queue
+    if (millisToWait == 0 && !allJobsSuccessfullyOffered) {
+      millisToWait = asyncExecutor.getDefaultQueueSizeFullWaitTimeInMillis();
+    }
+    
+    return millisToWait;
+  }
+
+  protected long acquireJobsAdaptively(CommandExecutor commandExecutor) {
+    int batchSize = acquisitionController.determineBatchSize(getRemainingQueueCapacity());
+    if (batchSize == 0) {
+      return acquisitionController.queueFull();
+    }
+    
+    AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor, batchSize));
+    
+    int jobsRejected = 0;
+    for (JobEntity job : acquiredJobs.getJobs()) {
+      if (!asyncExecutor.executeAsyncJob(job)) {
+        jobsRejected++;
+      }
+    }
+    
+    return acquisitionController.jobsAcquired(batchSize, acquiredJobs.size(), jobsRejected);
+  }
+  
+  protected int getRemainingQueueCapacity() {
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      BlockingQueue<Runnable> threadPoolQueue = ((DefaultAsyncJobExecutor) asyncExecutor).getThreadPoolQueue();
+      if (threadPoolQueue != null) {
+        return threadPoolQueue.remainingCapacity();
+      }
+    }
+    // The queue is not known, fall back to the configured number of jobs per acquisition
+    return asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -131,4 +177,12 @@ public class AcquireAsyncJobsDueRunnable implements Runnable {
   public void setMillisToWait(long millisToWait) {
     this.millisToWait = millisToWait;
   }
+
+  public AdaptiveAcquisitionController getAcquisitionController() {
+    return acquisitionController;
+  }
+
+  public void setAcquisitionController(AdaptiveAcquisitionController acquisitionController) {
+    this.acquisitionController = acquisitionController;
+  }
 }
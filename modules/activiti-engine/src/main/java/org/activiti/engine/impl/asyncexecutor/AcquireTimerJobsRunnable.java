@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.asyncexecutor;
 
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.activiti.engine.ActivitiOptimisticLockingException;
@@ -39,6 +40,8 @@ public class AcquireTimerJobsRunnable implements Runnable {
   protected final AtomicBoolean isWaiting = new AtomicBoolean(false);
 
   protected long millisToWait;
+  
+  protected AdaptiveAcquisitionController acquisitionController;
 
   public AcquireTimerJobsRunnable(AsyncExecutor asyncExecutor, JobManager jobManager) {
     this.asyncExecutor = asyncExecutor;
@@ -54,27 +57,17 @@ public class AcquireTimerJobsRunnable implements Runnable {
     while (!isInterrupted) {
 
       try {
-        final AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
-
-        commandExecutor.execute(new Command<Void>() {
-
-          @Override
-          public Void execute(CommandContext commandContext) {
-            for (TimerJobEntity job : acquiredJobs.getJobs()) {
-              jobManager.moveTimerJobToExecutableJob(job);
-            }
-            return null;
-          }
-        });
-        
-        // if all jobs were executed
-        millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
-        int jobsAcquired = acquiredJobs.size();
-        if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
-          millisToWait = 0; 
+        if (acquisitionController != null) {
+          millisToWait = acquireJobsAdaptively(commandExecutor);
+          
+        } else {
+          millisToWait = acquireJobs(commandExecutor);
         }
 
       } catch (ActivitiOptimisticLockingException optimisticLockingException) {
+        if (acquisitionController != null) {
+          millisToWait = acquisitionController.acquisitionFailed();
+        }
         if (log.isDebugEnabled()) {
           log.debug("Optimistic locking exception during timer job acquisition. If you have multiple timer executors running against the same database, "
               + "this exception means that this thread tried to acquire a timer job, which already was acquired by another timer executor acquisition thread."
@@ -115,6 +108,55 @@ public class AcquireTimerJobsRunnable implements Runnable {
     log.info("{} stopped async job due acquisition");
   }
 
+  protected long acquireJobs(CommandExecutor commandExecutor) {
+    AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor));
+    moveToExecutableJobs(commandExecutor, acquiredJobs);
+    
+    // if all jobs were executed
+    long millisToWait = asyncExecutor.getDefaultTimerJobAcquireWaitTimeInMillis();
+    int jobsAcquired = acquiredJobs.size();
+    if (jobsAcquired >= asyncExecutor.getMaxTimerJobsPerAcquisition()) {
+      millisToWait = 0; 
+    }
+    return millisToWait;
+  }
+
+  protected long acquireJobsAdaptively(CommandExecutor commandExecutor) {
+    // Due timers are moved to executable jobs, which are handed to the executor queue
+    int batchSize = acquisitionController.determineBatchSize(getRemainingQueueCapacity());
+    if (batchSize == 0) {
+      return acquisitionController.queueFull();
+    }
+    
+    AcquiredTimerJobEntities acquiredJobs = commandExecutor.execute(new AcquireTimerJobsCmd(asyncExecutor, batchSize));
+    moveToExecutableJobs(commandExecutor, acquiredJobs);
+    return acquisitionController.jobsAcquired(batchSize, acquiredJobs.size(), 0);
+  }
+
+  protected void moveToExecutableJobs(CommandExecutor commandExecutor, final AcquiredTimerJobEntities acquiredJobs) {
+    commandExecutor.execute(new Command<Void>() {
+
+      @Override
+      public Void execute(CommandContext commandContext) {
+        for (TimerJobEntity job : acquiredJobs.getJobs()) {
+          jobManager.moveTimerJobToExecutableJob(job);
+        }
+        return null;
+      }
+    });
+  }
+  
+  protected int getRemainingQueueCapacity() {
+    if (asyncExecutor instanceof DefaultAsyncJobExecutor) {
+      BlockingQueue<Runnable> threadPoolQueue = ((DefaultAsyncJobExecutor) asyncExecutor).getThreadPoolQueue();
+      if (threadPoolQueue != null) {
+        return threadPoolQueue.remainingCapacity();
+      }
+    }
+    // The queue is not known, fall back to the configured number of jobs per acquisition
+    return asyncExecutor.getMaxTimerJobsPerAcquisition();
+  }
+
   public void stop() {
     synchronized (MONITOR) {
       isInterrupted = true;
@@ -131,4 +173,12 @@ public class AcquireTimerJobsRunnable implements Runnable {
   public void setMillisToWait(long millisToWait) {
     this.millisToWait = millisToWait;
   }
+
+  public AdaptiveAcquisitionController getAcquisitionController() {
+    return acquisitionController;
+  }
+
+  public void setAcquisitionController(AdaptiveAcquisitionController acquisitionController) {
+    this.acquisitionController = acquisitionController;
+  }
 }
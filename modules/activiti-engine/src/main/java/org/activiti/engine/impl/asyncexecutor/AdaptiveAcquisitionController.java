@@ -0,0 +1,168 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.asyncexecutor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Determines how many jobs an acquisition thread acquires at once and how long it waits before the next acquisition,
+ * based on the outcome of the previous acquisitions.
+ *
+ * The number of jobs acquired is the free capacity of the executor queue, optionally bounded by a maximum batch size,
+ * so jobs are not acquired (and locked) when they can't be executed anyway. When all requested jobs were acquired, there's a backlog and
+ * the next acquisition happens immediately. When no jobs were found, when the executor queue was full or when the
+ * acquisition failed due to concurrent acquisitions, the wait time is doubled, starting from the minimum wait time
+ * up to the maximum wait time.
+ *
+ * Instances are used by one acquisition thread, the counters can be read from any thread.
+ */
+public class AdaptiveAcquisitionController {
+
+  protected final long minWaitTimeInMillis;
+  protected final long maxWaitTimeInMillis;
+  protected final int maxBatchSize;
+
+  protected volatile int currentBatchSize;
+  protected volatile long currentWaitTimeInMillis;
+
+  protected final AtomicLong acquisitionCount = new AtomicLong();
+  protected final AtomicLong emptyAcquisitionCount = new AtomicLong();
+  protected final AtomicLong failedAcquisitionCount = new AtomicLong();
+  protected final AtomicLong queueFullCount = new AtomicLong();
+  protected final AtomicLong acquiredJobCount = new AtomicLong();
+  protected final AtomicLong rejectedJobCount = new AtomicLong();
+
+  public AdaptiveAcquisitionController(long minWaitTimeInMillis, long maxWaitTimeInMillis) {
+    this(minWaitTimeInMillis, maxWaitTimeInMillis, -1);
+  }
+
+  /**
+   * @param maxBatchSize the maximum number of jobs acquired at once, a value of 0 or less means the batch size
+   *          is only limited by the remaining capacity of the executor queue.
+   */
+  public AdaptiveAcquisitionController(long minWaitTimeInMillis, long maxWaitTimeInMillis, int maxBatchSize) {
+    this.minWaitTimeInMillis = Math.max(1, minWaitTimeInMillis);
+    this.maxWaitTimeInMillis = Math.max(this.minWaitTimeInMillis, maxWaitTimeInMillis);
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Returns the number of jobs to acquire next: the remaining capacity of the executor queue,
+   * limited by the maximum batch size when one is set. Returns 0 when the queue is full.
+   */
+  public int determineBatchSize(int remainingCapacity) {
+    int batchSize = remainingCapacity;
+    if (maxBatchSize > 0) {
+      batchSize = Math.min(maxBatchSize, batchSize);
+    }
+    currentBatchSize = Math.max(0, batchSize);
+    return currentBatchSize;
+  }
+
+  /**
+   * Returns the time to wait after an acquisition which requested batchSize jobs and got jobsAcquired jobs back,
+   * of which jobsRejected jobs could not be handed to the executor.
+   */
+  public long jobsAcquired(int batchSize, int jobsAcquired, int jobsRejected) {
+    acquisitionCount.incrementAndGet();
+    acquiredJobCount.addAndGet(jobsAcquired);
+
+    if (jobsRejected > 0) {
+      rejectedJobCount.addAndGet(jobsRejected);
+      return backOff();
+
+    } else if (jobsAcquired == 0) {
+      emptyAcquisitionCount.incrementAndGet();
+      return backOff();
+
+    } else if (jobsAcquired >= batchSize) {
+      // There are more jobs waiting
+      currentWaitTimeInMillis = 0;
+
+    } else {
+      // The backlog is processed, check again soon
+      currentWaitTimeInMillis = minWaitTimeInMillis;
+    }
+    return currentWaitTimeInMillis;
+  }
+
+  /**
+   * Returns the time to wait when no jobs were acquired because the executor queue is full.
+   */
+  public long queueFull() {
+    queueFullCount.incrementAndGet();
+    return backOff();
+  }
+
+  /**
+   * Returns the time to wait after an acquisition failed, for example because another executor acquired the same jobs.
+   */
+  public long acquisitionFailed() {
+    failedAcquisitionCount.incrementAndGet();
+    return backOff();
+  }
+
+  protected long backOff() {
+    if (currentWaitTimeInMillis < minWaitTimeInMillis) {
+      currentWaitTimeInMillis = minWaitTimeInMillis;
+    } else {
+      currentWaitTimeInMillis = Math.min(currentWaitTimeInMillis * 2, maxWaitTimeInMillis);
+    }
+    return currentWaitTimeInMillis;
+  }
+
+  public long getMinWaitTimeInMillis() {
+    return minWaitTimeInMillis;
+  }
+
+  public long getMaxWaitTimeInMillis() {
+    return maxWaitTimeInMillis;
+  }
+
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public int getCurrentBatchSize() {
+    return currentBatchSize;
+  }
+
+  public long getCurrentWaitTimeInMillis() {
+    return currentWaitTimeInMillis;
+  }
+
+  public long getAcquisitionCount() {
+    return acquisitionCount.get();
+  }
+
+  public long getEmptyAcquisitionCount() {
+    return emptyAcquisitionCount.get();
+  }
+
+  public long getFailedAcquisitionCount() {
+    return failedAcquisitionCount.get();
+  }
+
+  public long getQueueFullCount() {
+    return queueFullCount.get();
+  }
+
+  public long getAcquiredJobCount() {
+    return acquiredJobCount.get();
+  }
+
+  public long getRejectedJobCount() {
+    return rejectedJobCount.get();
+  }
+
+}
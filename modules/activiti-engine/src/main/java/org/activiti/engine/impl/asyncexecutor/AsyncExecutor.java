@@ -94,4 +94,8 @@ public interface AsyncExecutor {
   
   void setResetExpiredJobsPageSize(int resetExpiredJobsPageSize);
   
+  boolean isBulkJobLockingEnabled();
+  
+  void setBulkJobLockingEnabled(boolean bulkJobLockingEnabled);
+  
 }
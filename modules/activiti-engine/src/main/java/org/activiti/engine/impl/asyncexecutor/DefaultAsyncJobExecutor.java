@@ -96,6 +96,12 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   protected int resetExpiredJobsInterval = 60 * 1000;
   protected int resetExpiredJobsPageSize = 3;
   
+  protected boolean bulkJobLockingEnabled;
+  
+  protected boolean adaptiveAcquisitionEnabled;
+  protected int adaptiveAcquisitionMinWaitTimeInMillis = 100;
+  protected int adaptiveAcquisitionMaxBatchSize = -1;
+  
   // Job queue used when async executor is not yet started and jobs are already added.
   // This is mainly used for testing purpose.
   protected LinkedList<Job> temporaryJobQueue = new LinkedList<Job>();
@@ -180,6 +186,10 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
       asyncJobsDueRunnable = new AcquireAsyncJobsDueRunnable(this);
     }
     
+    if (adaptiveAcquisitionEnabled) {
+      initAdaptiveAcquisition();
+    }
+    
     if (!isMessageQueueMode) {
       initAsyncJobExecutionThreadPool();
       startJobAcquisitionThread();
@@ -193,6 +203,21 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
     executeTemporaryJobs();
   }
 
+  /**
+   * Without an explicit maximum batch size, the max jobs per acquisition settings bound the batch size,
+   * as every acquired job is locked in the acquiring transaction.
+   */
+  protected void initAdaptiveAcquisition() {
+    if (timerJobRunnable.getAcquisitionController() == null) {
+      timerJobRunnable.setAcquisitionController(new AdaptiveAcquisitionController(adaptiveAcquisitionMinWaitTimeInMillis, 
+          defaultTimerJobAcquireWaitTimeInMillis, adaptiveAcquisitionMaxBatchSize > 0 ? adaptiveAcquisitionMaxBatchSize : maxTimerJobsPerAcquisition));
+    }
+    if (asyncJobsDueRunnable != null && asyncJobsDueRunnable.getAcquisitionController() == null) {
+      asyncJobsDueRunnable.setAcquisitionController(new AdaptiveAcquisitionController(adaptiveAcquisitionMinWaitTimeInMillis, 
+          defaultAsyncJobAcquireWaitTimeInMillis, adaptiveAcquisitionMaxBatchSize > 0 ? adaptiveAcquisitionMaxBatchSize : maxAsyncJobsDuePerAcquisition));
+    }
+  }
+
   protected void executeTemporaryJobs() {
     while (temporaryJobQueue.isEmpty() == false) {
       Job job = temporaryJobQueue.pop();
@@ -531,6 +556,53 @@ public class DefaultAsyncJobExecutor implements AsyncExecutor {
   public void setResetExpiredJobsPageSize(int resetExpiredJobsPageSize) {
     this.resetExpiredJobsPageSize = resetExpiredJobsPageSize;
   }
+  
+  public boolean isAdaptiveAcquisitionEnabled() {
+    return adaptiveAcquisitionEnabled;
+  }
+
+  public void setAdaptiveAcquisitionEnabled(boolean adaptiveAcquisitionEnabled) {
+    this.adaptiveAcquisitionEnabled = adaptiveAcquisitionEnabled;
+  }
+
+  public int getAdaptiveAcquisitionMinWaitTimeInMillis() {
+    return adaptiveAcquisitionMinWaitTimeInMillis;
+  }
+
+  public void setAdaptiveAcquisitionMinWaitTimeInMillis(int adaptiveAcquisitionMinWaitTimeInMillis) {
+    this.adaptiveAcquisitionMinWaitTimeInMillis = adaptiveAcquisitionMinWaitTimeInMillis;
+  }
+
+  public int getAdaptiveAcquisitionMaxBatchSize() {
+    return adaptiveAcquisitionMaxBatchSize;
+  }
+
+  public void setAdaptiveAcquisitionMaxBatchSize(int adaptiveAcquisitionMaxBatchSize) {
+    this.adaptiveAcquisitionMaxBatchSize = adaptiveAcquisitionMaxBatchSize;
+  }
+
+  /**
+   * Returns the controller of the async job acquisition, which exposes the current batch size, wait time 
+   * and acquisition counters. Only available when adaptive acquisition is enabled and the executor is started.
+   */
+  public AdaptiveAcquisitionController getAsyncJobAcquisitionController() {
+    return asyncJobsDueRunnable != null ? asyncJobsDueRunnable.getAcquisitionController() : null;
+  }
+
+  /**
+   * Same as {@link #getAsyncJobAcquisitionController()}, for the timer job acquisition.
+   */
+  public AdaptiveAcquisitionController getTimerJobAcquisitionController() {
+    return timerJobRunnable != null ? timerJobRunnable.getAcquisitionController() : null;
+  }
+
+  public boolean isBulkJobLockingEnabled() {
+    return bulkJobLockingEnabled;
+  }
+
+  public void setBulkJobLockingEnabled(boolean bulkJobLockingEnabled) {
+    this.bulkJobLockingEnabled = bulkJobLockingEnabled;
+  }
 
   public ExecuteAsyncRunnableFactory getExecuteAsyncRunnableFactory() {
     return executeAsyncRunnableFactory;
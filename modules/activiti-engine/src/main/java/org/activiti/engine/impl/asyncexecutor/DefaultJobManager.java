@@ -49,6 +49,8 @@ public class DefaultJobManager implements JobManager {
   
   private static Logger logger = LoggerFactory.getLogger(DefaultJobManager.class);
   
+  protected static final String ASYNC_JOB_ADDED_NOTIFICATION = "asyncJobAddedNotification";
+  
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
   
   public DefaultJobManager() {
@@ -403,8 +405,16 @@ public class DefaultJobManager implements JobManager {
   }
   
   protected void hintAsyncExecutor(JobEntity job) {
-    AsyncJobAddedNotification jobAddedNotification = new AsyncJobAddedNotification(job, getAsyncExecutor());
-    getCommandContext().addCloseListener(jobAddedNotification);
+    // One notification per command context, so all jobs are handed over together after the commit
+    CommandContext commandContext = getCommandContext();
+    AsyncJobAddedNotification jobAddedNotification = (AsyncJobAddedNotification) commandContext.getAttribute(ASYNC_JOB_ADDED_NOTIFICATION);
+    if (jobAddedNotification == null) {
+      jobAddedNotification = new AsyncJobAddedNotification(job, getAsyncExecutor());
+      commandContext.addAttribute(ASYNC_JOB_ADDED_NOTIFICATION, jobAddedNotification);
+      commandContext.addCloseListener(jobAddedNotification);
+    } else {
+      jobAddedNotification.addJob(job);
+    }
   }
   
   protected JobEntity internalCreateAsyncJob(ExecutionEntity execution, boolean exclusive) {
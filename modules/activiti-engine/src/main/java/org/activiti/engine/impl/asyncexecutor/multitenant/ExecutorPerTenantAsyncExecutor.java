@@ -255,5 +255,17 @@ public class ExecutorPerTenantAsyncExecutor implements TenantAwareAsyncExecutor
       asyncExecutor.setResetExpiredJobsPageSize(resetExpiredJobsPageSize);
     }    
   }
+  
+  @Override
+  public boolean isBulkJobLockingEnabled() {
+    return determineAsyncExecutor().isBulkJobLockingEnabled();
+  }
+  
+  @Override
+  public void setBulkJobLockingEnabled(boolean bulkJobLockingEnabled) {
+    for (AsyncExecutor asyncExecutor : tenantExecutors.values()) {
+      asyncExecutor.setBulkJobLockingEnabled(bulkJobLockingEnabled);
+    }
+  }
 
 }
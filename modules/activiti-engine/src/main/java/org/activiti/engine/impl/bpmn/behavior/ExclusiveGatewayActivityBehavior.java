@@ -66,6 +66,7 @@ public class ExclusiveGatewayActivityBehavior extends GatewayActivityBehavior {
     String defaultSequenceFlowId = exclusiveGateway.getDefaultFlow();
 
     // Determine sequence flow to take
+    ConditionUtil.prefetchConditionVariables(exclusiveGateway.getOutgoingFlows(), execution);
     Iterator<SequenceFlow> sequenceFlowIterator = exclusiveGateway.getOutgoingFlows().iterator();
     while (outgoingSequenceFlow == null && sequenceFlowIterator.hasNext()) {
       SequenceFlow sequenceFlow = sequenceFlowIterator.next();
@@ -19,6 +19,7 @@ import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
 import org.activiti.engine.impl.util.ExecutionGraphUtil;
+import org.activiti.engine.impl.util.FlowNodeReachabilityIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,12 +65,20 @@ public class InclusiveGatewayActivityBehavior extends GatewayActivityBehavior im
     lockFirstParentScope(execution);
 
     Collection<ExecutionEntity> allExecutions = executionEntityManager.findChildExecutionsByProcessInstanceId(execution.getProcessInstanceId());
+    FlowNodeReachabilityIndex reachabilityIndex = null;
     Iterator<ExecutionEntity> executionIterator = allExecutions.iterator();
     boolean oneExecutionCanReachGateway = false;
     while (!oneExecutionCanReachGateway && executionIterator.hasNext()) {
       ExecutionEntity executionEntity = executionIterator.next();
       if (!executionEntity.getActivityId().equals(execution.getCurrentActivityId())) {
-        boolean canReachGateway = ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), executionEntity.getActivityId(), execution.getCurrentActivityId());
+        if (reachabilityIndex == null) {
+          reachabilityIndex = ExecutionGraphUtil.getReachabilityIndex(execution.getProcessDefinitionId());
+        }
+        Boolean canReachGateway = reachabilityIndex.isReachable(executionEntity.getActivityId(), execution.getCurrentActivityId());
+        if (canReachGateway == null) {
+          // Not an element of the process definition, this throws the appropriate exception
+          canReachGateway = ExecutionGraphUtil.isReachable(execution.getProcessDefinitionId(), executionEntity.getActivityId(), execution.getCurrentActivityId());
+        }
         if (canReachGateway) {
           oneExecutionCanReachGateway = true;
         }
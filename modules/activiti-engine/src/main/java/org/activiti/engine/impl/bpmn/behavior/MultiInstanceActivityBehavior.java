@@ -189,23 +189,37 @@ public abstract class MultiInstanceActivityBehavior extends FlowNodeActivityBeha
     }
   }
 
-  @SuppressWarnings("rawtypes")
   protected void executeOriginalBehavior(DelegateExecution execution, int loopCounter) {
+    setCollectionElementVariable(execution, loopCounter);
+
+    execution.setCurrentFlowElement(activity);
+    Context.getAgenda().planContinueMultiInstanceOperation((ExecutionEntity) execution);
+  }
+
+  @SuppressWarnings("rawtypes")
+  protected void setCollectionElementVariable(DelegateExecution execution, int loopCounter) {
     if (usesCollection() && collectionElementVariable != null) {
       Collection collection = (Collection) resolveCollection(execution);
+      setLoopVariable(execution, collectionElementVariable, getCollectionElement(collection, loopCounter));
+    }
+  }
 
-      Object value = null;
-      int index = 0;
-      Iterator it = collection.iterator();
-      while (index <= loopCounter) {
-        value = it.next();
-        index++;
-      }
-      setLoopVariable(execution, collectionElementVariable, value);
+  /**
+   * Returns the element at the given index. Lists are accessed by index, so starting all instances
+   * doesn't walk the collection once per instance.
+   */
+  @SuppressWarnings("rawtypes")
+  protected Object getCollectionElement(Collection collection, int index) {
+    if (collection instanceof List) {
+      return ((List) collection).get(index);
     }
 
-    execution.setCurrentFlowElement(activity);
-    Context.getAgenda().planContinueMultiInstanceOperation((ExecutionEntity) execution);
+    Object value = null;
+    Iterator it = collection.iterator();
+    for (int i = 0; i <= index; i++) {
+      value = it.next();
+    }
+    return value;
   }
 
   @SuppressWarnings("rawtypes")
@@ -25,12 +25,16 @@ import org.activiti.bpmn.model.SubProcess;
 import org.activiti.bpmn.model.Transaction;
 import org.activiti.engine.ActivitiIllegalArgumentException;
 import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.Expression;
+import org.activiti.engine.impl.asyncexecutor.JobManager;
 import org.activiti.engine.impl.bpmn.helper.ScopeUtil;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.delegate.ActivityBehavior;
 import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.AsyncContinueMultiInstanceJobHandler;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityManager;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.activiti.engine.impl.util.CollectionUtil;
 import org.apache.commons.lang3.StringUtils;
 
@@ -42,12 +46,17 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
 
   private static final long serialVersionUID = 1L;
 
+  protected Expression maxConcurrentInstancesExpression;
+
   public ParallelMultiInstanceBehavior(Activity activity, AbstractBpmnActivityBehavior originalActivityBehavior) {
     super(activity, originalActivityBehavior);
   }
 
   /**
    * Handles the parallel case of spawning the instances. Will create child executions accordingly for every instance needed.
+   * 
+   * When the number of concurrent instances is limited, only that many child executions are created here.
+   * Every time an instance completes, the next one is started in its place (see {@link #leave(DelegateExecution)}).
    */
   protected int createInstances(DelegateExecution execution) {
     int nrOfInstances = resolveNrOfInstances(execution);
@@ -55,14 +64,22 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
       throw new ActivitiIllegalArgumentException("Invalid number of instances: must be non-negative integer value" + ", but was " + nrOfInstances);
     }
 
+    int nrOfActiveInstances = nrOfInstances;
+    if (maxConcurrentInstancesExpression != null) {
+      int maxConcurrentInstances = resolveMaxConcurrentInstances(execution);
+      if (maxConcurrentInstances > 0 && maxConcurrentInstances < nrOfInstances) {
+        nrOfActiveInstances = maxConcurrentInstances;
+      }
+    }
+
     execution.setMultiInstanceRoot(true);
 
     setLoopVariable(execution, NUMBER_OF_INSTANCES, nrOfInstances);
     setLoopVariable(execution, NUMBER_OF_COMPLETED_INSTANCES, 0);
-    setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfInstances);
+    setLoopVariable(execution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances);
 
     List<DelegateExecution> concurrentExecutions = new ArrayList<DelegateExecution>();
-    for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
+    for (int loopCounter = 0; loopCounter < nrOfActiveInstances; loopCounter++) {
       DelegateExecution concurrentExecution = Context.getCommandContext().getExecutionEntityManager()
           .createChildExecution((ExecutionEntity) execution);
       concurrentExecution.setCurrentFlowElement(activity);
@@ -70,13 +87,13 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
       concurrentExecution.setScope(false);
 
       concurrentExecutions.add(concurrentExecution);
-      logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfInstances, nrOfInstances);
+      logLoopDetails(concurrentExecution, "initialized", loopCounter, 0, nrOfActiveInstances, nrOfInstances);
     }
 
     // Before the activities are executed, all executions MUST be created up front
     // Do not try to merge this loop with the previous one, as it will lead
     // to bugs, due to possible child execution pruning.
-    for (int loopCounter = 0; loopCounter < nrOfInstances; loopCounter++) {
+    for (int loopCounter = 0; loopCounter < nrOfActiveInstances; loopCounter++) {
       DelegateExecution concurrentExecution = concurrentExecutions.get(loopCounter);
       // executions can be inactive, if instances are all automatics
       // (no-waitstate) and completionCondition has been met in the meantime
@@ -211,6 +228,18 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
         executionToUse.setScope(false);
         executionToUse.setMultiInstanceRoot(false);
         Context.getAgenda().planTakeOutgoingSequenceFlowsOperation(executionToUse, true);
+
+      } else if (nrOfCompletedInstances + nrOfActiveInstances < nrOfInstances) {
+        // Only possible when the number of concurrent instances is limited: start the next instance in place of this one
+        ExecutionEntity multiInstanceRootExecution = executionEntity.getParent();
+        startNextInstance(multiInstanceRootExecution, nrOfCompletedInstances + nrOfActiveInstances, nrOfCompletedInstances, nrOfInstances);
+        setLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES, nrOfActiveInstances + 1);
+
+        // Completed instances are not kept around until all instances are done, as that would still mean as many executions
+        // as there are instances. An embedded subprocess instance is a scope, which is destroyed by the end operation itself.
+        if (!(execution.getCurrentFlowElement() instanceof SubProcess)) {
+          deleteChildExecutions(executionEntity, true, Context.getCommandContext());
+        }
       }
 
     } else {
@@ -220,6 +249,42 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     }
   }
 
+  /**
+   * Creates the execution for the instance with the given loop counter and continues it asynchronously,
+   * so every instance started after the first ones is executed (and committed) in its own transaction.
+   * The job continues the execution as an instance of the multi instance (see {@link AsyncContinueMultiInstanceJobHandler}):
+   * the boundary events of the activity belong to the multi instance root execution and must not be created again.
+   */
+  protected void startNextInstance(ExecutionEntity multiInstanceRootExecution, int loopCounter, int nrOfCompletedInstances, int nrOfInstances) {
+    CommandContext commandContext = Context.getCommandContext();
+    ExecutionEntity concurrentExecution = commandContext.getExecutionEntityManager().createChildExecution(multiInstanceRootExecution);
+    concurrentExecution.setCurrentFlowElement(activity);
+    concurrentExecution.setActive(true);
+    concurrentExecution.setScope(false);
+
+    setLoopVariable(concurrentExecution, getCollectionElementIndexVariable(), loopCounter);
+    setCollectionElementVariable(concurrentExecution, loopCounter);
+    logLoopDetails(concurrentExecution, "initialized", loopCounter, nrOfCompletedInstances, getLoopVariable(multiInstanceRootExecution, NUMBER_OF_ACTIVE_INSTANCES) + 1, nrOfInstances);
+
+    JobManager jobManager = commandContext.getJobManager();
+    JobEntity job = jobManager.createAsyncJob(concurrentExecution, activity.isExclusive());
+    job.setJobHandlerType(AsyncContinueMultiInstanceJobHandler.TYPE);
+    jobManager.scheduleAsyncJob(job);
+  }
+
+  protected int resolveMaxConcurrentInstances(DelegateExecution execution) {
+    Object value = maxConcurrentInstancesExpression.getValue(execution);
+    if (value instanceof Number) {
+      return ((Number) value).intValue();
+
+    } else if (value instanceof String) {
+      return Integer.valueOf((String) value);
+
+    } else {
+      throw new ActivitiIllegalArgumentException("Could not resolve maxConcurrentInstances expression '" + maxConcurrentInstancesExpression.getExpressionText() + "': not a number nor number String");
+    }
+  }
+
   protected void lockFirstParentScope(DelegateExecution execution) {
 
     ExecutionEntityManager executionEntityManager = Context.getCommandContext().getExecutionEntityManager();
@@ -254,4 +319,12 @@ public class ParallelMultiInstanceBehavior extends MultiInstanceActivityBehavior
     }
   }
 
+  public Expression getMaxConcurrentInstancesExpression() {
+    return maxConcurrentInstancesExpression;
+  }
+
+  public void setMaxConcurrentInstancesExpression(Expression maxConcurrentInstancesExpression) {
+    this.maxConcurrentInstancesExpression = maxConcurrentInstancesExpression;
+  }
+
 }
@@ -16,6 +16,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.InclusiveGateway;
 import org.activiti.bpmn.model.Process;
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
@@ -52,14 +53,28 @@ public class CachingAndArtifactsManager {
       BpmnModel bpmnModel = parsedDeployment.getBpmnModelForProcessDefinition(processDefinition);
       Process process = parsedDeployment.getProcessModelForProcessDefinition(processDefinition);
       ProcessDefinitionCacheEntry cacheEntry = new ProcessDefinitionCacheEntry(processDefinition, bpmnModel, process);
+      if (!process.findFlowElementsOfType(InclusiveGateway.class).isEmpty()) {
+        // Inclusive gateway joins check reachability every time an execution arrives
+        cacheEntry.getReachabilityIndex();
+      }
       processDefinitionCache.add(processDefinition.getId(), cacheEntry);
       addDefinitionInfoToCache(processDefinition, processEngineConfiguration, commandContext);
+      removeCompiledScripts(processDefinition, processEngineConfiguration);
     
       // Add to deployment for further usage
       deployment.addDeployedArtifact(processDefinition);
     }
   }
 
+  /**
+   * Compiled scripts of a process definition that is cached again (for example after a cache eviction) are compiled again.
+   */
+  protected void removeCompiledScripts(ProcessDefinitionEntity processDefinition, ProcessEngineConfigurationImpl processEngineConfiguration) {
+    if (processEngineConfiguration.getScriptingEngines() != null && processEngineConfiguration.getScriptingEngines().getCompiledScriptCache() != null) {
+      processEngineConfiguration.getScriptingEngines().getCompiledScriptCache().removeProcessDefinition(processDefinition.getId());
+    }
+  }
+
   protected void addDefinitionInfoToCache(ProcessDefinitionEntity processDefinition, 
       ProcessEngineConfigurationImpl processEngineConfiguration, CommandContext commandContext) {
     
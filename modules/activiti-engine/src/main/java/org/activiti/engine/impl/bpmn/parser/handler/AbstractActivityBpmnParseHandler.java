@@ -18,6 +18,7 @@ import org.activiti.bpmn.model.FlowNode;
 import org.activiti.bpmn.model.MultiInstanceLoopCharacteristics;
 import org.activiti.engine.impl.bpmn.behavior.AbstractBpmnActivityBehavior;
 import org.activiti.engine.impl.bpmn.behavior.MultiInstanceActivityBehavior;
+import org.activiti.engine.impl.bpmn.behavior.ParallelMultiInstanceBehavior;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
 import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.el.ExpressionManager;
@@ -83,5 +84,11 @@ public abstract class AbstractActivityBpmnParseHandler<T extends FlowNode> exten
       miActivityBehavior.setCollectionElementIndexVariable(loopCharacteristics.getElementIndexVariable());
     }
 
+    // activiti:maxConcurrentInstances
+    if (StringUtils.isNotEmpty(loopCharacteristics.getMaxConcurrentInstances()) && miActivityBehavior instanceof ParallelMultiInstanceBehavior) {
+      ((ParallelMultiInstanceBehavior) miActivityBehavior).setMaxConcurrentInstancesExpression(
+          expressionManager.createExpression(loopCharacteristics.getMaxConcurrentInstances()));
+    }
+
   }
 }
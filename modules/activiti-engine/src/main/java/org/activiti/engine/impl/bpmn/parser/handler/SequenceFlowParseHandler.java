@@ -15,6 +15,8 @@ package org.activiti.engine.impl.bpmn.parser.handler;
 import org.activiti.bpmn.model.BaseElement;
 import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.engine.impl.bpmn.parser.BpmnParse;
+import org.activiti.engine.impl.el.ExpressionVariableNames;
+import org.apache.commons.lang3.StringUtils;
 
 /**
  * @author Joram Barrez
@@ -32,6 +34,11 @@ public class SequenceFlowParseHandler extends AbstractBpmnParseHandler<SequenceF
     org.activiti.bpmn.model.Process process = bpmnParse.getCurrentProcess();
     sequenceFlow.setSourceFlowElement(process.getFlowElement(sequenceFlow.getSourceRef(), true));
     sequenceFlow.setTargetFlowElement(process.getFlowElement(sequenceFlow.getTargetRef(), true));
+
+    if (StringUtils.isNotEmpty(sequenceFlow.getConditionExpression())) {
+      // Determines the variables the condition reads once, so they can be prefetched when the condition is evaluated
+      ExpressionVariableNames.getVariableNames(sequenceFlow.getConditionExpression());
+    }
   }
 
 }
@@ -49,6 +49,15 @@ public class PerformanceSettings {
    * localization is completely disabled, which gives a small performance gain.
    */
   protected boolean enableLocalization = true;
+  
+  /**
+   * Experimental setting: before the conditions on the outgoing sequence flows of an activity are evaluated,
+   * the variables these conditions refer to are fetched for the execution and all its parent executions in one query.
+   * 
+   * Evaluating a condition then no longer fetches all variables of these executions (including
+   * the byte array values of serializable and json variables), which can be a lot for process instances with many variables.
+   */
+  protected boolean enableConditionVariablePrefetching;
 
   public boolean isEnableEagerExecutionTreeFetching() {
     return enableEagerExecutionTreeFetching;
@@ -82,4 +91,12 @@ public class PerformanceSettings {
     this.enableLocalization = enableLocalization;
   }
 
+  public boolean isEnableConditionVariablePrefetching() {
+    return enableConditionVariablePrefetching;
+  }
+
+  public void setEnableConditionVariablePrefetching(boolean enableConditionVariablePrefetching) {
+    this.enableConditionVariablePrefetching = enableConditionVariablePrefetching;
+  }
+
 }
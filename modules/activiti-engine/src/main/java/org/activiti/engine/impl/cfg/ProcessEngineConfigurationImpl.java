@@ -49,6 +49,7 @@ import org.activiti.engine.impl.event.CompensationEventHandler;
 import org.activiti.engine.impl.event.EventHandler;
 import org.activiti.engine.impl.event.MessageEventHandler;
 import org.activiti.engine.impl.event.SignalEventHandler;
+import org.activiti.engine.impl.event.logger.AsyncEventLogWriter;
 import org.activiti.engine.impl.event.logger.EventLogger;
 import org.activiti.engine.impl.form.*;
 import org.activiti.engine.impl.history.DefaultHistoryManager;
@@ -73,6 +74,7 @@ import org.activiti.engine.parse.BpmnParseHandler;
 import org.activiti.engine.runtime.Clock;
 import org.activiti.form.api.FormRepositoryService;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
+import org.activiti.image.impl.ProcessDiagramCache;
 import org.activiti.validation.ProcessValidator;
 import org.activiti.validation.ProcessValidatorFactory;
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
@@ -273,6 +275,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected int knowledgeBaseCacheLimit = -1;
   protected DeploymentCache<Object> knowledgeBaseCache;
 
+  /**
+   * When enabled, the process definition, process definition info and knowledge base caches are {@link ConcurrentDeploymentCache}s, 
+   * which can be read without locking. The cache limits are applied as before, unless a {@link #processDefinitionCacheMaxWeight} 
+   * is set: the process definition cache then evicts based on the estimated size of the cached process definitions instead.
+   */
+  protected boolean enableConcurrentDeploymentCache;
+  protected long processDefinitionCacheMaxWeight = -1;
+
+  /**
+   * When set, the default process diagram generator caches the diagrams of cached process definitions without highlights,
+   * up to this number of bytes of image memory, and only draws the highlights (eg the active activities) per generated diagram.
+   */
+  protected long processDiagramCacheMaxSizeInBytes = -1;
+
   // JOB EXECUTOR /////////////////////////////////////////////////////////////
 
   protected List<JobHandler> customJobHandlers;
@@ -464,6 +480,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected int asyncExecutorResetExpiredJobsPageSize = 3;
 
+  /**
+   * When true, the async executor locks all jobs of one acquisition with a single update statement.
+   * Jobs that were locked by another executor in the meantime are skipped, instead of causing an 
+   * optimistic locking exception for the whole acquisition. This makes it possible to use a higher
+   * {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} when multiple executors run against the same database.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorBulkJobLockingEnabled;
+
+  /**
+   * When true, the acquisition threads of the async executor determine the number of jobs to acquire
+   * from the free capacity of the executor queue, and adapt the time between acquisitions: no wait while 
+   * there's a backlog, an exponentially growing wait (from {@link #asyncExecutorAdaptiveAcquisitionMinWaitTime}
+   * up to the default acquire wait times) when nothing is found, the queue is full or the acquisition fails.
+   *
+   * (This property is only applicable when using the
+   * {@link DefaultAsyncJobExecutor}).
+   */
+  protected boolean asyncExecutorAdaptiveAcquisitionEnabled;
+
+  /**
+   * The smallest time (in milliseconds) an acquisition thread waits when adaptive acquisition is enabled.
+   */
+  protected int asyncExecutorAdaptiveAcquisitionMinWaitTime = 100;
+
+  /**
+   * The maximum number of jobs acquired at once when adaptive acquisition is enabled. By default (-1) the
+   * {@link #asyncExecutorMaxAsyncJobsDuePerAcquisition} and {@link #asyncExecutorMaxTimerJobsPerAcquisition} settings are used.
+   * The number of jobs acquired is never more than the free capacity of the executor queue.
+   */
+  protected int asyncExecutorAdaptiveAcquisitionMaxBatchSize = -1;
+
   /**
    * Experimental!
    *
@@ -491,6 +541,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected IdGenerator idGenerator;
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
+  
+  /**
+   * The maximum size of the id blocks reserved by the {@link DbIdGenerator}. When set higher than the idBlockSize, 
+   * the block size grows (up to this value) when ids are consumed fast, so the database is hit less often.
+   * Default -1: the block size is always the idBlockSize.
+   */
+  protected int maxIdBlockSize = -1;
 
   // BPMN PARSER //////////////////////////////////////////////////////////////
 
@@ -536,6 +593,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected ScriptingEngines scriptingEngines;
   protected List<ResolverFactory> resolverFactories;
 
+  /**
+   * When enabled, compiled scripts are cached per process definition, for script engines that support compilation.
+   * Scripts evaluated outside of a process definition are not cached. The compiled scripts of a process definition
+   * are removed together with the process definition from the process definition cache.
+   * The limit is the maximum number of compiled scripts per process definition,
+   * the process definition limit is the maximum number of process definitions that keep compiled scripts.
+   */
+  protected boolean enableCompiledScriptCache;
+  protected int compiledScriptCacheLimit = 100;
+  protected int compiledScriptCacheProcessDefinitionLimit = 100;
+
   protected BusinessCalendarManager businessCalendarManager;
 
   protected int executionQueryLimit = 20000;
@@ -583,6 +651,17 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   // Event logging to database
   protected boolean enableDatabaseEventLogging;
 
+  /**
+   * When true (and database event logging is enabled), the event log entries are not inserted in the transaction
+   * of the command, but handed to the {@link #asyncEventLogWriter}, which writes them in batches in a background thread.
+   */
+  protected boolean enableAsyncDatabaseEventLogging;
+
+  /**
+   * The writer used for asynchronous database event logging. A default one is created when none is set.
+   */
+  protected AsyncEventLogWriter asyncEventLogWriter;
+
   /**
    * Using field injection together with a delegate expression for a service
    * task / execution listener / task listener is not thread-sade , see user
@@ -607,6 +686,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    */
   protected boolean isBulkInsertEnabled = true;
 
+  /**
+   * If set to true, updates and deletes of entities are sent to the database as JDBC batches, 
+   * while the update count of every row is still checked for optimistic locking.
+   * Default false. Requires a JDBC driver that returns the update count of every batched statement, 
+   * like the H2, HSQLDB, PostgreSQL, MySQL (without rewriteBatchedStatements), SQL Server and DB2 drivers. Ignored for Oracle, 
+   * of which the drivers before 12c return {@link java.sql.Statement#SUCCESS_NO_INFO}. When another driver returns 
+   * no update counts, the transaction fails and batching is disabled from then on.
+   */
+  protected boolean isBatchUpdateAndDeleteEnabled = false;
+
   /**
    * Some databases have a limit of how many parameters one sql insert can have (eg SQL Server, 2000 params (!= insert statements) ).
    * Tweak this parameter in case of exceptions indicating too much is being put into one bulk insert,
@@ -1342,6 +1431,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     dbSqlSessionFactory.setDatabaseCatalog(databaseCatalog);
     dbSqlSessionFactory.setDatabaseSchema(databaseSchema);
     dbSqlSessionFactory.setBulkInsertEnabled(isBulkInsertEnabled, databaseType);
+    dbSqlSessionFactory.setBatchUpdateAndDeleteEnabled(isBatchUpdateAndDeleteEnabled, databaseType);
     dbSqlSessionFactory.setMaxNrOfStatementsInBulkInsert(maxNrOfStatementsInBulkInsert);
     addSessionFactory(dbSqlSessionFactory);
   }
@@ -1432,17 +1522,39 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDefinitionCache() {
     if (processDefinitionCache == null) {
-      if (processDefinitionCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        if (processDefinitionCacheMaxWeight > 0) {
+          processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheMaxWeight, new ProcessDefinitionCacheEntryWeigher());
+        } else {
+          processDefinitionCache = new ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
+        }
+      } else if (processDefinitionCacheLimit <= 0) {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>();
       } else {
         processDefinitionCache = new DefaultDeploymentCache<ProcessDefinitionCacheEntry>(processDefinitionCacheLimit);
       }
+      initCompiledScriptCacheEviction();
+    }
+  }
+
+  protected void initCompiledScriptCacheEviction() {
+    if (scriptingEngines == null || scriptingEngines.getCompiledScriptCache() == null) {
+      return;
+    }
+    CompiledScriptCacheEvictionListener evictionListener = new CompiledScriptCacheEvictionListener(scriptingEngines.getCompiledScriptCache());
+    if (processDefinitionCache instanceof ConcurrentDeploymentCache) {
+      ((ConcurrentDeploymentCache<ProcessDefinitionCacheEntry>) processDefinitionCache).setEvictionListener(evictionListener);
+    } else if (processDefinitionCache instanceof DefaultDeploymentCache) {
+      ((DefaultDeploymentCache<ProcessDefinitionCacheEntry>) processDefinitionCache).setEvictionListener(evictionListener);
     }
   }
 
   public void initProcessDefinitionInfoCache() {
     if (processDefinitionInfoCache == null) {
-      if (processDefinitionInfoCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, 
+            new ConcurrentDeploymentCache<ProcessDefinitionInfoCacheObject>(processDefinitionInfoCacheLimit));
+      } else if (processDefinitionInfoCacheLimit <= 0) {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor);
       } else {
         processDefinitionInfoCache = new ProcessDefinitionInfoCache(commandExecutor, processDefinitionInfoCacheLimit);
@@ -1452,7 +1564,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initKnowledgeBaseCache() {
     if (knowledgeBaseCache == null) {
-      if (knowledgeBaseCacheLimit <= 0) {
+      if (enableConcurrentDeploymentCache) {
+        knowledgeBaseCache = new ConcurrentDeploymentCache<Object>(knowledgeBaseCacheLimit);
+      } else if (knowledgeBaseCacheLimit <= 0) {
         knowledgeBaseCache = new DefaultDeploymentCache<Object>();
       } else {
         knowledgeBaseCache = new DefaultDeploymentCache<Object>(knowledgeBaseCacheLimit);
@@ -1664,7 +1778,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public void initProcessDiagramGenerator() {
     if (processDiagramGenerator == null) {
-      processDiagramGenerator = new DefaultProcessDiagramGenerator();
+      DefaultProcessDiagramGenerator defaultProcessDiagramGenerator = new DefaultProcessDiagramGenerator();
+      if (processDiagramCacheMaxSizeInBytes > 0) {
+        defaultProcessDiagramGenerator.setDiagramCache(new ProcessDiagramCache(processDiagramCacheMaxSizeInBytes));
+      }
+      processDiagramGenerator = defaultProcessDiagramGenerator;
     }
   }
 
@@ -1680,6 +1798,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     AsyncContinuationJobHandler asyncContinuationJobHandler = new AsyncContinuationJobHandler();
     jobHandlers.put(asyncContinuationJobHandler.getType(), asyncContinuationJobHandler);
 
+    AsyncContinueMultiInstanceJobHandler asyncContinueMultiInstanceJobHandler = new AsyncContinueMultiInstanceJobHandler();
+    jobHandlers.put(asyncContinueMultiInstanceJobHandler.getType(), asyncContinueMultiInstanceJobHandler);
+
     TriggerTimerEventJobHandler triggerTimerEventJobHandler = new TriggerTimerEventJobHandler();
     jobHandlers.put(triggerTimerEventJobHandler.getType(), triggerTimerEventJobHandler);
 
@@ -1695,6 +1816,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     ProcessEventJobHandler processEventJobHandler = new ProcessEventJobHandler();
     jobHandlers.put(processEventJobHandler.getType(), processEventJobHandler);
 
+    HistoricProcessInstancePurgeJobHandler historicProcessInstancePurgeJobHandler = new HistoricProcessInstancePurgeJobHandler();
+    jobHandlers.put(historicProcessInstancePurgeJobHandler.getType(), historicProcessInstancePurgeJobHandler);
+
     // if we have custom job handlers, register them
     if (getCustomJobHandlers() != null) {
       for (JobHandler customJobHandler : getCustomJobHandlers()) {
@@ -1724,9 +1848,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       }
       defaultAsyncExecutor.setQueueSize(asyncExecutorThreadPoolQueueSize);
 
+      // Acquisition size
+      defaultAsyncExecutor.setMaxTimerJobsPerAcquisition(asyncExecutorMaxTimerJobsPerAcquisition);
+      defaultAsyncExecutor.setMaxAsyncJobsDuePerAcquisition(asyncExecutorMaxAsyncJobsDuePerAcquisition);
+
       // Acquisition wait time
       defaultAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(asyncExecutorDefaultTimerJobAcquireWaitTime);
       defaultAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(asyncExecutorDefaultAsyncJobAcquireWaitTime);
+      defaultAsyncExecutor.setAdaptiveAcquisitionEnabled(asyncExecutorAdaptiveAcquisitionEnabled);
+      defaultAsyncExecutor.setAdaptiveAcquisitionMinWaitTimeInMillis(asyncExecutorAdaptiveAcquisitionMinWaitTime);
+      defaultAsyncExecutor.setAdaptiveAcquisitionMaxBatchSize(asyncExecutorAdaptiveAcquisitionMaxBatchSize);
 
       // Queue full wait time
       defaultAsyncExecutor.setDefaultQueueSizeFullWaitTimeInMillis(asyncExecutorDefaultQueueSizeFullWaitTime);
@@ -1734,6 +1865,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       // Job locking
       defaultAsyncExecutor.setTimerLockTimeInMillis(asyncExecutorTimerLockTimeInMillis);
       defaultAsyncExecutor.setAsyncJobLockTimeInMillis(asyncExecutorAsyncJobLockTimeInMillis);
+      defaultAsyncExecutor.setBulkJobLockingEnabled(asyncExecutorBulkJobLockingEnabled);
       if (asyncExecutorLockOwner != null) {
         defaultAsyncExecutor.setLockOwner(asyncExecutorLockOwner);
       }
@@ -1785,6 +1917,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       DbIdGenerator dbIdGenerator = new DbIdGenerator();
       dbIdGenerator.setIdBlockSize(idBlockSize);
+      dbIdGenerator.setMaxIdBlockSize(maxIdBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       dbIdGenerator.setCommandConfig(getDefaultCommandConfig().transactionRequiresNew());
       idGenerator = dbIdGenerator;
@@ -1902,6 +2035,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (scriptingEngines == null) {
       scriptingEngines = new ScriptingEngines(new ScriptBindingsFactory(this, resolverFactories));
     }
+    if (enableCompiledScriptCache && scriptingEngines.getCompiledScriptCache() == null) {
+      scriptingEngines.setCompiledScriptCache(new CompiledScriptCache(compiledScriptCacheLimit, compiledScriptCacheProcessDefinitionLimit));
+    }
   }
 
   public void initExpressionManager() {
@@ -2021,7 +2157,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     if (enableDatabaseEventLogging) {
       // Database event logging uses the default logging mechanism and adds
       // a specific event listener to the list of event listeners
-      getEventDispatcher().addEventListener(new EventLogger(clock, objectMapper));
+      EventLogger eventLogger = new EventLogger(clock, objectMapper);
+      if (enableAsyncDatabaseEventLogging) {
+        if (asyncEventLogWriter == null) {
+          asyncEventLogWriter = new AsyncEventLogWriter();
+        }
+        if (asyncEventLogWriter.getCommandExecutor() == null) {
+          asyncEventLogWriter.setCommandExecutor(commandExecutor);
+        }
+        if (asyncEventLogWriter.getObjectMapper() == null) {
+          asyncEventLogWriter.setObjectMapper(objectMapper);
+        }
+        eventLogger.setAsyncEventLogWriter(asyncEventLogWriter);
+      }
+      getEventDispatcher().addEventListener(eventLogger);
     }
   }
 
@@ -2433,6 +2582,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableCompiledScriptCache() {
+    return enableCompiledScriptCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableCompiledScriptCache(boolean enableCompiledScriptCache) {
+    this.enableCompiledScriptCache = enableCompiledScriptCache;
+    return this;
+  }
+
+  public int getCompiledScriptCacheLimit() {
+    return compiledScriptCacheLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheLimit(int compiledScriptCacheLimit) {
+    this.compiledScriptCacheLimit = compiledScriptCacheLimit;
+    return this;
+  }
+
+  public int getCompiledScriptCacheProcessDefinitionLimit() {
+    return compiledScriptCacheProcessDefinitionLimit;
+  }
+
+  public ProcessEngineConfigurationImpl setCompiledScriptCacheProcessDefinitionLimit(int compiledScriptCacheProcessDefinitionLimit) {
+    this.compiledScriptCacheProcessDefinitionLimit = compiledScriptCacheProcessDefinitionLimit;
+    return this;
+  }
+
   public VariableTypes getVariableTypes() {
     return variableTypes;
   }
@@ -2796,6 +2972,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+    return this;
+  }
+
   public int getBatchSizeProcessInstances() {
     return batchSizeProcessInstances;
   }
@@ -2841,6 +3026,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableConcurrentDeploymentCache() {
+    return enableConcurrentDeploymentCache;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableConcurrentDeploymentCache(boolean enableConcurrentDeploymentCache) {
+    this.enableConcurrentDeploymentCache = enableConcurrentDeploymentCache;
+    return this;
+  }
+
+  public long getProcessDefinitionCacheMaxWeight() {
+    return processDefinitionCacheMaxWeight;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDefinitionCacheMaxWeight(long processDefinitionCacheMaxWeight) {
+    this.processDefinitionCacheMaxWeight = processDefinitionCacheMaxWeight;
+    return this;
+  }
+
+  public long getProcessDiagramCacheMaxSizeInBytes() {
+    return processDiagramCacheMaxSizeInBytes;
+  }
+
+  public ProcessEngineConfigurationImpl setProcessDiagramCacheMaxSizeInBytes(long processDiagramCacheMaxSizeInBytes) {
+    this.processDiagramCacheMaxSizeInBytes = processDiagramCacheMaxSizeInBytes;
+    return this;
+  }
+
   public DeploymentCache<Object> getKnowledgeBaseCache() {
     return knowledgeBaseCache;
   }
@@ -2913,6 +3125,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isEnableAsyncDatabaseEventLogging() {
+    return enableAsyncDatabaseEventLogging;
+  }
+
+  public ProcessEngineConfigurationImpl setEnableAsyncDatabaseEventLogging(boolean enableAsyncDatabaseEventLogging) {
+    this.enableAsyncDatabaseEventLogging = enableAsyncDatabaseEventLogging;
+    return this;
+  }
+
+  public AsyncEventLogWriter getAsyncEventLogWriter() {
+    return asyncEventLogWriter;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncEventLogWriter(AsyncEventLogWriter asyncEventLogWriter) {
+    this.asyncEventLogWriter = asyncEventLogWriter;
+    return this;
+  }
+
   public int getMaxLengthStringVariableType() {
     return maxLengthStringVariableType;
   }
@@ -2931,6 +3161,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isBatchUpdateAndDeleteEnabled() {
+    return isBatchUpdateAndDeleteEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchUpdateAndDeleteEnabled(boolean isBatchUpdateAndDeleteEnabled) {
+    this.isBatchUpdateAndDeleteEnabled = isBatchUpdateAndDeleteEnabled;
+    return this;
+  }
+
   public int getMaxNrOfStatementsInBulkInsert() {
     return maxNrOfStatementsInBulkInsert;
   }
@@ -2981,6 +3220,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public ProcessEngineConfigurationImpl setEnableConditionVariablePrefetching(boolean enableConditionVariablePrefetching) {
+    this.performanceSettings.setEnableConditionVariablePrefetching(enableConditionVariablePrefetching);
+    return this;
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
@@ -3828,6 +4072,42 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isAsyncExecutorBulkJobLockingEnabled() {
+    return asyncExecutorBulkJobLockingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorBulkJobLockingEnabled(boolean asyncExecutorBulkJobLockingEnabled) {
+    this.asyncExecutorBulkJobLockingEnabled = asyncExecutorBulkJobLockingEnabled;
+    return this;
+  }
+
+  public boolean isAsyncExecutorAdaptiveAcquisitionEnabled() {
+    return asyncExecutorAdaptiveAcquisitionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisitionEnabled(boolean asyncExecutorAdaptiveAcquisitionEnabled) {
+    this.asyncExecutorAdaptiveAcquisitionEnabled = asyncExecutorAdaptiveAcquisitionEnabled;
+    return this;
+  }
+
+  public int getAsyncExecutorAdaptiveAcquisitionMinWaitTime() {
+    return asyncExecutorAdaptiveAcquisitionMinWaitTime;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisitionMinWaitTime(int asyncExecutorAdaptiveAcquisitionMinWaitTime) {
+    this.asyncExecutorAdaptiveAcquisitionMinWaitTime = asyncExecutorAdaptiveAcquisitionMinWaitTime;
+    return this;
+  }
+
+  public int getAsyncExecutorAdaptiveAcquisitionMaxBatchSize() {
+    return asyncExecutorAdaptiveAcquisitionMaxBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setAsyncExecutorAdaptiveAcquisitionMaxBatchSize(int asyncExecutorAdaptiveAcquisitionMaxBatchSize) {
+    this.asyncExecutorAdaptiveAcquisitionMaxBatchSize = asyncExecutorAdaptiveAcquisitionMaxBatchSize;
+    return this;
+  }
+
   public boolean isAsyncExecutorIsMessageQueueMode() {
     return asyncExecutorMessageQueueMode;
   }
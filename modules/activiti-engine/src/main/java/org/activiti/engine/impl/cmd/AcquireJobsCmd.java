@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -29,14 +30,33 @@ import org.activiti.engine.impl.persistence.entity.JobEntity;
 public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final int maxJobs;
 
   public AcquireJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+  }
+
+  public AcquireJobsCmd(AsyncExecutor asyncExecutor, int maxJobs) {
     this.asyncExecutor = asyncExecutor;
+    this.maxJobs = maxJobs;
   }
 
   public AcquiredJobEntities execute(CommandContext commandContext) {
     AcquiredJobEntities acquiredJobs = new AcquiredJobEntities();
-    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+    Page page = new Page(0, maxJobs);
+
+    if (asyncExecutor.isBulkJobLockingEnabled()) {
+      // The jobs are locked with one update statement: jobs locked concurrently by another executor are skipped 
+      // instead of failing the whole acquisition with an optimistic locking exception
+      List<JobEntity> lockedJobs = commandContext.getJobEntityManager().findAndLockJobsToExecute(page, 
+          asyncExecutor.getLockOwner(), getLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis()));
+      for (JobEntity job : lockedJobs) {
+        acquiredJobs.addJob(job);
+      }
+      return acquiredJobs;
+    }
+
+    List<JobEntity> jobs = commandContext.getJobEntityManager().findJobsToExecute(page);
 
     for (JobEntity job : jobs) {
       lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
@@ -47,10 +67,14 @@ public class AcquireJobsCmd implements Command<AcquiredJobEntities> {
   }
 
   protected void lockJob(CommandContext commandContext, JobEntity job, int lockTimeInMillis) {
+    job.setLockOwner(asyncExecutor.getLockOwner());
+    job.setLockExpirationTime(getLockExpirationTime(commandContext, lockTimeInMillis));
+  }
+
+  protected Date getLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-    job.setLockOwner(asyncExecutor.getLockOwner());
-    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return gregorianCalendar.getTime();
   }
 }
\ No newline at end of file
@@ -13,6 +13,7 @@
 package org.activiti.engine.impl.cmd;
 
 import java.util.Calendar;
+import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 
@@ -29,15 +30,31 @@ import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
 public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
 
   private final AsyncExecutor asyncExecutor;
+  private final int maxJobs;
 
   public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor) {
+    this(asyncExecutor, asyncExecutor.getMaxAsyncJobsDuePerAcquisition());
+  }
+
+  public AcquireTimerJobsCmd(AsyncExecutor asyncExecutor, int maxJobs) {
     this.asyncExecutor = asyncExecutor;
+    this.maxJobs = maxJobs;
   }
 
   public AcquiredTimerJobEntities execute(CommandContext commandContext) {
     AcquiredTimerJobEntities acquiredJobs = new AcquiredTimerJobEntities();
-    List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager()
-        .findTimerJobsToExecute(new Page(0, asyncExecutor.getMaxAsyncJobsDuePerAcquisition()));
+    Page page = new Page(0, maxJobs);
+
+    if (asyncExecutor.isBulkJobLockingEnabled()) {
+      List<TimerJobEntity> lockedTimerJobs = commandContext.getTimerJobEntityManager().findAndLockTimerJobsToExecute(page, 
+          asyncExecutor.getLockOwner(), getLockExpirationTime(commandContext, asyncExecutor.getAsyncJobLockTimeInMillis()));
+      for (TimerJobEntity job : lockedTimerJobs) {
+        acquiredJobs.addJob(job);
+      }
+      return acquiredJobs;
+    }
+
+    List<TimerJobEntity> timerJobs = commandContext.getTimerJobEntityManager().findTimerJobsToExecute(page);
 
     for (TimerJobEntity job : timerJobs) {
       lockJob(commandContext, job, asyncExecutor.getAsyncJobLockTimeInMillis());
@@ -52,10 +69,14 @@ public class AcquireTimerJobsCmd implements Command<AcquiredTimerJobEntities> {
     // This will trigger an optimistic locking exception when two concurrent executors 
     // try to lock, as the revision will not match.
     
+    job.setLockOwner(asyncExecutor.getLockOwner());
+    job.setLockExpirationTime(getLockExpirationTime(commandContext, lockTimeInMillis));
+  }
+
+  protected Date getLockExpirationTime(CommandContext commandContext, int lockTimeInMillis) {
     GregorianCalendar gregorianCalendar = new GregorianCalendar();
     gregorianCalendar.setTime(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime());
     gregorianCalendar.add(Calendar.MILLISECOND, lockTimeInMillis);
-    job.setLockOwner(asyncExecutor.getLockOwner());
-    job.setLockExpirationTime(gregorianCalendar.getTime());
+    return gregorianCalendar.getTime();
   }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntityManager;
+
+/**
+ * Deletes one batch of historic process instances that finished before a given date, together with their sub process instances
+ * and all their historic data. Returns the number of deleted historic process instances, 0 when there was nothing left to delete.
+ */
+public class DeleteHistoricProcessInstancesFinishedBeforeCmd implements Command<Integer>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /** Keeps the in-lists of the delete statements below the limits of all supported databases */
+  protected static final int MAX_IDS_PER_STATEMENT = 500;
+
+  protected Date finishedBefore;
+  protected String processDefinitionKey;
+  protected String tenantId;
+  protected int batchSize;
+
+  public DeleteHistoricProcessInstancesFinishedBeforeCmd(Date finishedBefore, String processDefinitionKey, String tenantId, int batchSize) {
+    this.finishedBefore = finishedBefore;
+    this.processDefinitionKey = processDefinitionKey;
+    this.tenantId = tenantId;
+    this.batchSize = batchSize;
+  }
+
+  public Integer execute(CommandContext commandContext) {
+    if (finishedBefore == null) {
+      throw new ActivitiIllegalArgumentException("finishedBefore is null");
+    }
+    if (batchSize <= 0) {
+      throw new ActivitiIllegalArgumentException("batchSize must be a positive number");
+    }
+    if (!commandContext.getHistoryManager().isHistoryEnabled()) {
+      return 0;
+    }
+
+    HistoricProcessInstanceEntityManager historicProcessInstanceEntityManager = commandContext.getHistoricProcessInstanceEntityManager();
+    List<String> processInstanceIds = new ArrayList<String>(historicProcessInstanceEntityManager.findFinishedHistoricProcessInstanceIds(
+        finishedBefore, processDefinitionKey, tenantId, batchSize));
+
+    // Sub process instances are deleted together with their root process instance, level by level
+    List<String> superProcessInstanceIds = processInstanceIds;
+    while (!superProcessInstanceIds.isEmpty()) {
+      List<String> subProcessInstanceIds = new ArrayList<String>();
+      for (List<String> ids : partition(superProcessInstanceIds)) {
+        subProcessInstanceIds.addAll(historicProcessInstanceEntityManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(ids));
+      }
+      processInstanceIds.addAll(subProcessInstanceIds);
+      superProcessInstanceIds = subProcessInstanceIds;
+    }
+
+    for (List<String> ids : partition(processInstanceIds)) {
+      historicProcessInstanceEntityManager.deleteHistoricProcessInstancesByIds(ids);
+    }
+
+    return processInstanceIds.size();
+  }
+
+  protected List<List<String>> partition(List<String> ids) {
+    List<List<String>> partitions = new ArrayList<List<String>>();
+    for (int i = 0; i < ids.size(); i += MAX_IDS_PER_STATEMENT) {
+      partitions.add(new ArrayList<String>(ids.subList(i, Math.min(i + MAX_IDS_PER_STATEMENT, ids.size()))));
+    }
+    return partitions;
+  }
+
+}
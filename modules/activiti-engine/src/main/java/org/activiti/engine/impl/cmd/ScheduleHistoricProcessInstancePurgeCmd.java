@@ -0,0 +1,54 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.cmd;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.activiti.engine.ActivitiIllegalArgumentException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.jobexecutor.HistoricProcessInstancePurgeJobHandler;
+
+public class ScheduleHistoricProcessInstancePurgeCmd implements Command<String>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected Date finishedBefore;
+  protected String processDefinitionKey;
+  protected String tenantId;
+  protected int batchSize;
+  protected long delayBetweenBatchesInMillis;
+
+  public ScheduleHistoricProcessInstancePurgeCmd(Date finishedBefore, String processDefinitionKey, String tenantId, int batchSize, long delayBetweenBatchesInMillis) {
+    this.finishedBefore = finishedBefore;
+    this.processDefinitionKey = processDefinitionKey;
+    this.tenantId = tenantId;
+    this.batchSize = batchSize;
+    this.delayBetweenBatchesInMillis = delayBetweenBatchesInMillis;
+  }
+
+  public String execute(CommandContext commandContext) {
+    if (finishedBefore == null) {
+      throw new ActivitiIllegalArgumentException("finishedBefore is null");
+    }
+    if (batchSize <= 0) {
+      throw new ActivitiIllegalArgumentException("batchSize must be a positive number");
+    }
+    if (delayBetweenBatchesInMillis < 0) {
+      throw new ActivitiIllegalArgumentException("delayBetweenBatchesInMillis can't be negative");
+    }
+    return HistoricProcessInstancePurgeJobHandler.schedulePurge(commandContext, finishedBefore, processDefinitionKey, tenantId, batchSize, delayBetweenBatchesInMillis);
+  }
+
+}
@@ -13,35 +13,141 @@
 
 package org.activiti.engine.impl.db;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.activiti.engine.impl.cfg.IdGenerator;
 import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
 import org.activiti.engine.impl.interceptor.CommandConfig;
 import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Hands out ids from blocks of ids that are reserved in the database.
+ * 
+ * Ids are taken from the current block with an atomic counter, so no lock is needed to get an id.
+ * When the current block is mostly used, the thread that takes the id at the prefetch threshold 
+ * reserves the next block, while other threads keep on taking ids from the current block.
+ * Only when a block is used up before the next one is available, threads wait for a new block.
+ * 
+ * When a maximum block size is set, the block size is doubled (up to that maximum) when a block 
+ * is used up faster than the target block duration, and halved (down to the configured block size)
+ * when a block lasts much longer. This way, the database is hit less often under high load.
+ * 
  * @author Tom Baeyens
  */
 public class DbIdGenerator implements IdGenerator {
+  
+  private static final Logger log = LoggerFactory.getLogger(DbIdGenerator.class);
 
   protected int idBlockSize;
-  protected long nextId;
-  protected long lastId = -1;
+  protected int maxIdBlockSize = -1;
+  protected long targetIdBlockDurationInMillis = 10000L;
+  
+  /** The percentage of the block that is used when the next block is reserved. */
+  protected int prefetchPercentage = 75;
 
   protected CommandExecutor commandExecutor;
   protected CommandConfig commandConfig;
+  
+  protected volatile ActiveIdBlock currentIdBlock;
+  protected final AtomicReference<IdBlock> prefetchedIdBlock = new AtomicReference<IdBlock>();
+  protected final AtomicBoolean prefetching = new AtomicBoolean(false);
+  protected final Object newBlockLock = new Object();
+  protected final Object fetchLock = new Object();
+  
+  protected volatile int currentIdBlockSize;
+  protected long lastIdBlockFetchTime;
 
-  public synchronized String getNextId() {
-    if (lastId < nextId) {
-      getNewBlock();
+  public String getNextId() {
+    while (true) {
+      ActiveIdBlock idBlock = currentIdBlock;
+      if (idBlock != null) {
+        long nextId = idBlock.nextId.getAndIncrement();
+        if (nextId <= idBlock.lastId) {
+          if (nextId == idBlock.prefetchId) {
+            prefetchNewBlock();
+          }
+          return Long.toString(nextId);
+        }
+      }
+      getNewBlock(idBlock);
     }
-    long _nextId = nextId++;
-    return Long.toString(_nextId);
   }
 
-  protected synchronized void getNewBlock() {
-    IdBlock idBlock = commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(idBlockSize));
-    this.nextId = idBlock.getNextId();
-    this.lastId = idBlock.getLastId();
+  /**
+   * Replaces the given used up block with a new one, unless another thread already did so.
+   */
+  protected void getNewBlock(ActiveIdBlock usedIdBlock) {
+    synchronized (newBlockLock) {
+      if (currentIdBlock != usedIdBlock) {
+        return;
+      }
+      
+      currentIdBlock = new ActiveIdBlock(takeNewBlock(), prefetchPercentage);
+    }
+  }
+  
+  protected IdBlock takeNewBlock() {
+    IdBlock idBlock = prefetchedIdBlock.getAndSet(null);
+    if (idBlock == null) {
+      synchronized (fetchLock) {
+        // A prefetch could have finished while waiting for the lock
+        idBlock = prefetchedIdBlock.getAndSet(null);
+        if (idBlock == null) {
+          idBlock = fetchNewBlock();
+        }
+      }
+    }
+    return idBlock;
+  }
+  
+  /**
+   * Reserves the next block in the database, without blocking the threads that take ids from the current block.
+   * A failure is only logged: the next block will then be fetched when the current one is used up. 
+   */
+  protected void prefetchNewBlock() {
+    if (prefetchedIdBlock.get() == null && prefetching.compareAndSet(false, true)) {
+      try {
+        synchronized (fetchLock) {
+          if (prefetchedIdBlock.get() == null) {
+            prefetchedIdBlock.set(fetchNewBlock());
+          }
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not prefetch the next id block, it will be fetched when the current block is used up", e);
+      } finally {
+        prefetching.set(false);
+      }
+    }
+  }
+  
+  /**
+   * Reserves a new block in the database. Only called when holding the fetch lock.
+   */
+  protected IdBlock fetchNewBlock() {
+    return commandExecutor.execute(commandConfig, new GetNextIdBlockCmd(determineIdBlockSize()));
+  }
+  
+  protected int determineIdBlockSize() {
+    if (currentIdBlockSize < idBlockSize) {
+      currentIdBlockSize = idBlockSize;
+    }
+    
+    long now = System.currentTimeMillis();
+    if (maxIdBlockSize > idBlockSize && lastIdBlockFetchTime > 0) {
+      long blockDuration = now - lastIdBlockFetchTime;
+      if (blockDuration < targetIdBlockDurationInMillis) {
+        currentIdBlockSize = (int) Math.min((long) currentIdBlockSize * 2, maxIdBlockSize);
+      } else if (blockDuration > 2 * targetIdBlockDurationInMillis) {
+        currentIdBlockSize = Math.max(currentIdBlockSize / 2, idBlockSize);
+      }
+    }
+    lastIdBlockFetchTime = now;
+    
+    return currentIdBlockSize;
   }
 
   public int getIdBlockSize() {
@@ -51,6 +157,34 @@ public class DbIdGenerator implements IdGenerator {
   public void setIdBlockSize(int idBlockSize) {
     this.idBlockSize = idBlockSize;
   }
+  
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetIdBlockDurationInMillis() {
+    return targetIdBlockDurationInMillis;
+  }
+
+  public void setTargetIdBlockDurationInMillis(long targetIdBlockDurationInMillis) {
+    this.targetIdBlockDurationInMillis = targetIdBlockDurationInMillis;
+  }
+
+  public int getPrefetchPercentage() {
+    return prefetchPercentage;
+  }
+
+  public void setPrefetchPercentage(int prefetchPercentage) {
+    this.prefetchPercentage = prefetchPercentage;
+  }
+  
+  public int getCurrentIdBlockSize() {
+    return currentIdBlockSize;
+  }
 
   public CommandExecutor getCommandExecutor() {
     return commandExecutor;
@@ -67,4 +201,21 @@ public class DbIdGenerator implements IdGenerator {
   public void setCommandConfig(CommandConfig commandConfig) {
     this.commandConfig = commandConfig;
   }
+  
+  /**
+   * An {@link IdBlock} from which ids are being taken.
+   */
+  protected static class ActiveIdBlock {
+    
+    protected final AtomicLong nextId;
+    protected final long lastId;
+    protected final long prefetchId;
+    
+    public ActiveIdBlock(IdBlock idBlock, int prefetchPercentage) {
+      this.nextId = new AtomicLong(idBlock.getNextId());
+      this.lastId = idBlock.getLastId();
+      this.prefetchId = idBlock.getNextId() + ((idBlock.getLastId() - idBlock.getNextId()) * prefetchPercentage / 100);
+    }
+    
+  }
 }
@@ -66,6 +66,8 @@ import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.PropertyEntity;
 import org.activiti.engine.impl.util.IoUtil;
 import org.activiti.engine.impl.util.ReflectUtil;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -155,6 +157,10 @@ public class DbSqlSession implements Session {
   protected Map<Class<? extends Entity>, List<BulkDeleteOperation>> bulkDeleteOperations
     = new HashMap<Class<? extends Entity>, List<BulkDeleteOperation>>();
   protected List<Entity> updatedObjects = new ArrayList<Entity>();
+  
+  /** Session on the same connection used for JDBC batched updates and deletes, created when first needed. */
+  protected SqlSession batchSqlSession;
+  protected boolean batchStatementsExecuted;
  
   protected String connectionMetadataDefaultCatalog;
   protected String connectionMetadataDefaultSchema;
@@ -698,6 +704,11 @@ public class DbSqlSession implements Session {
 
 
   protected void flushUpdates() {
+    if (updatedObjects.size() > 1 && dbSqlSessionFactory.isBatchUpdateAndDeleteEnabled()) {
+      flushBatchUpdates();
+      return;
+    }
+    
     for (Entity updatedObject : updatedObjects) {
       String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
       updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
@@ -720,6 +731,81 @@ public class DbSqlSession implements Session {
     }
     updatedObjects.clear();
   }
+  
+  /**
+   * Same as the regular update flush, but all updates are sent to the database as JDBC batches. 
+   * The updated objects are grouped per entity type (see {@link #determineUpdatedObjects()}),
+   * so consecutive updates share the same statement. The update count of every row is still checked 
+   * for optimistic locking.
+   */
+  protected void flushBatchUpdates() {
+    SqlSession batchSqlSession = getBatchSqlSession();
+    for (Entity updatedObject : updatedObjects) {
+      String updateStatement = dbSqlSessionFactory.getUpdateStatement(updatedObject);
+      updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
+
+      if (updateStatement == null) {
+        throw new ActivitiException("no update statement for " + updatedObject.getClass() + " in the ibatis mapping files");
+      }
+
+      log.debug("updating (batch): {}", updatedObject);
+      batchSqlSession.update(updateStatement, updatedObject);
+    }
+    
+    executeBatch(batchSqlSession, false);
+
+    for (Entity updatedObject : updatedObjects) {
+      if (updatedObject instanceof HasRevision) {
+        ((HasRevision) updatedObject).setRevision(((HasRevision) updatedObject).getRevisionNext());
+      }
+    }
+    updatedObjects.clear();
+  }
+  
+  /**
+   * Executes the statements gathered in the batch session and checks the number of affected rows 
+   * of every update, and of every delete that was executed for an entity with a revision.
+   * 
+   * A driver that doesn't report the number of affected rows per batched statement ({@link Statement#SUCCESS_NO_INFO}, 
+   * eg Oracle before 12c or MySQL with rewriteBatchedStatements) makes optimistic locking failures undetectable. 
+   * The flush then fails, and batching is disabled so the next transactions use regular statements.
+   */
+  protected void executeBatch(SqlSession batchSqlSession, boolean isDelete) {
+    List<BatchResult> batchResults = batchSqlSession.flushStatements();
+    for (BatchResult batchResult : batchResults) {
+      int[] updateCounts = batchResult.getUpdateCounts();
+      List<Object> parameterObjects = batchResult.getParameterObjects();
+      for (int i = 0; i < updateCounts.length; i++) {
+        Object parameterObject = parameterObjects.get(i);
+        if (isDelete && !(parameterObject instanceof HasRevision)) {
+          continue;
+        }
+        
+        if (updateCounts[i] == 0) {
+          throw new ActivitiOptimisticLockingException(parameterObject + " was updated by another transaction concurrently");
+          
+        } else if (updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+          dbSqlSessionFactory.setBatchUpdateAndDeleteEnabled(false, dbSqlSessionFactory.getDatabaseType());
+          log.warn("The JDBC driver doesn't return the number of affected rows of batched statements, " 
+              + "batched updates and deletes are disabled");
+          throw new ActivitiException("Could not check whether " + parameterObject + " was updated by another transaction concurrently: " 
+              + "the JDBC driver doesn't return the number of affected rows of batched statements");
+        }
+      }
+    }
+  }
+  
+  /**
+   * Returns a {@link SqlSession} using the {@link ExecutorType#BATCH} executor on the same connection,
+   * so the batched statements take part in the same transaction.
+   */
+  protected SqlSession getBatchSqlSession() {
+    if (batchSqlSession == null) {
+      batchSqlSession = dbSqlSessionFactory.getSqlSessionFactory().openSession(ExecutorType.BATCH, sqlSession.getConnection());
+    }
+    batchStatementsExecuted = true;
+    return batchSqlSession;
+  }
 
   protected void flushDeletes() {
     
@@ -757,6 +843,11 @@ public class DbSqlSession implements Session {
   }
 
   protected void flushDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+    if (entitiesToDelete.size() > 1 && dbSqlSessionFactory.isBatchUpdateAndDeleteEnabled()) {
+      flushBatchDeleteEntities(entityClass, entitiesToDelete);
+      return;
+    }
+    
     for (Entity entity : entitiesToDelete) {
       String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
       deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
@@ -776,17 +867,36 @@ public class DbSqlSession implements Session {
       }
     }
   }
+  
+  protected void flushBatchDeleteEntities(Class<? extends Entity> entityClass, Collection<Entity> entitiesToDelete) {
+    SqlSession batchSqlSession = getBatchSqlSession();
+    for (Entity entity : entitiesToDelete) {
+      String deleteStatement = dbSqlSessionFactory.getDeleteStatement(entity.getClass());
+      deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
+      if (deleteStatement == null) {
+        throw new ActivitiException("no delete statement for " + entity.getClass() + " in the ibatis mapping files");
+      }
+      batchSqlSession.delete(deleteStatement, entity);
+    }
+    
+    // Executed right away: the deletes of the next entity type (or the bulk deletes) 
+    // must only be executed after these, as they are sent through another session
+    executeBatch(batchSqlSession, true);
+  }
 
   public void close() {
+    // The batch session shares the connection of the regular session, so it must not be closed itself
+    batchSqlSession = null;
     sqlSession.close();
   }
 
   public void commit() {
-    sqlSession.commit();
+    // The session is not marked as dirty when all changes went through the batch session, hence the forced commit
+    sqlSession.commit(batchStatementsExecuted);
   }
 
   public void rollback() {
-    sqlSession.rollback();
+    sqlSession.rollback(batchStatementsExecuted);
   }
 
   // schema operations
@@ -39,6 +39,7 @@ public class DbSqlSessionFactory implements SessionFactory {
    * A map {class, boolean}, to indicate whether or not a certain {@link Entity} class can be bulk inserted.
    */
   protected static Map<Class<? extends Entity>, Boolean> bulkInsertableMap;
+  protected boolean isBatchUpdateAndDeleteEnabled;
   
   protected String databaseType;
   protected String databaseTablePrefix = "";
@@ -187,6 +188,16 @@ public class DbSqlSessionFactory implements SessionFactory {
 		}
   }
   
+  public void setBatchUpdateAndDeleteEnabled(boolean isBatchUpdateAndDeleteEnabled, String databaseType) {
+    // The Oracle driver returns SUCCESS_NO_INFO as update count for batched statements,
+    // which makes it impossible to detect optimistic locking failures
+    this.isBatchUpdateAndDeleteEnabled = isBatchUpdateAndDeleteEnabled && !"oracle".equals(databaseType);
+  }
+  
+  public boolean isBatchUpdateAndDeleteEnabled() {
+    return isBatchUpdateAndDeleteEnabled;
+  }
+  
   public Boolean isBulkInsertable(Class<? extends Entity> entityClass) {
   	return bulkInsertableMap != null && bulkInsertableMap.containsKey(entityClass) && bulkInsertableMap.get(entityClass) == true;
   }
@@ -21,6 +21,7 @@ public class ListQueryParameterObject {
   protected int maxResults = Integer.MAX_VALUE;
   protected int firstResult;
   protected Object parameter;
+  protected String orderBy;
   protected String databaseType;
 
   public ListQueryParameterObject() {
@@ -68,9 +69,16 @@ public class ListQueryParameterObject {
   }
 
   public String getOrderBy() {
+    if (orderBy != null) {
+      return orderBy;
+    }
     // the default order column
     return "RES.ID_ asc";
   }
+
+  public void setOrderBy(String orderBy) {
+    this.orderBy = orderBy;
+  }
   
   public String getOrderByColumns() {
       return getOrderBy();
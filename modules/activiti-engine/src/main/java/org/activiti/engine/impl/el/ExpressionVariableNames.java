@@ -0,0 +1,74 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.el;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.el.ELException;
+
+import de.odysseus.el.tree.IdentifierNode;
+import de.odysseus.el.tree.Tree;
+import de.odysseus.el.tree.impl.Builder;
+
+/**
+ * Determines which variables an expression can read: the top-level identifiers of the expression,
+ * without the identifiers that are resolved by the {@link VariableScopeElResolver} itself.
+ * 
+ * In '${order.amount > limit}' these are 'order' and 'limit'. Identifiers that turn out to be beans
+ * simply don't match any variable. The names are cached per expression text.
+ */
+public class ExpressionVariableNames {
+
+  protected static final int MAX_CACHED_EXPRESSIONS = 10000;
+
+  protected static final ConcurrentMap<String, Set<String>> variableNamesCache = new ConcurrentHashMap<String, Set<String>>();
+
+  protected static final Builder builder = new Builder(Builder.Feature.METHOD_INVOCATIONS, Builder.Feature.VARARGS);
+
+  public static Set<String> getVariableNames(String expressionText) {
+    Set<String> variableNames = variableNamesCache.get(expressionText);
+    if (variableNames == null) {
+      variableNames = parseVariableNames(expressionText);
+      if (variableNamesCache.size() >= MAX_CACHED_EXPRESSIONS) {
+        variableNamesCache.clear();
+      }
+      variableNamesCache.put(expressionText, variableNames);
+    }
+    return variableNames;
+  }
+
+  protected static Set<String> parseVariableNames(String expressionText) {
+    Tree tree = null;
+    try {
+      tree = builder.build(expressionText);
+    } catch (ELException e) {
+      // The expression will fail when it's evaluated, there's nothing to prefetch
+      return Collections.emptySet();
+    }
+
+    Set<String> variableNames = new LinkedHashSet<String>();
+    for (IdentifierNode identifierNode : tree.getIdentifierNodes()) {
+      String name = identifierNode.getName();
+      if (!VariableScopeElResolver.EXECUTION_KEY.equals(name) && !VariableScopeElResolver.TASK_KEY.equals(name)
+          && !VariableScopeElResolver.LOGGED_IN_USER_KEY.equals(name)) {
+        variableNames.add(name);
+      }
+    }
+    return Collections.unmodifiableSet(variableNames);
+  }
+
+}
@@ -0,0 +1,80 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.event.logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.activiti.engine.impl.event.logger.handler.EventLoggerEventHandler;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EventFlusher} that hands the event log entries to an {@link AsyncEventLogWriter} instead of inserting them
+ * in the transaction of the command.
+ *
+ * The entries are still generated when the command context is closing, as the event handlers need the command context
+ * and the authenticated user of the current thread. They are only passed to the writer once the transaction has been
+ * committed, so no entries are written for commands that failed.
+ */
+public class AsyncEventFlusher extends AbstractEventFlusher {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncEventFlusher.class);
+
+  protected AsyncEventLogWriter asyncEventLogWriter;
+  protected List<EventLogEntryEntity> eventLogEntries;
+
+  public AsyncEventFlusher(AsyncEventLogWriter asyncEventLogWriter) {
+    this.asyncEventLogWriter = asyncEventLogWriter;
+  }
+
+  @Override
+  public void closing(CommandContext commandContext) {
+
+    if (commandContext.getException() != null) {
+      return; // Not interested in events about exceptions
+    }
+
+    eventLogEntries = new ArrayList<EventLogEntryEntity>(eventHandlers.size());
+    for (EventLoggerEventHandler eventHandler : eventHandlers) {
+      try {
+        eventLogEntries.add(eventHandler.generateEventLogEntry(commandContext));
+      } catch (Exception e) {
+        logger.warn("Could not create event log", e);
+      }
+    }
+  }
+
+  public void afterSessionsFlush(CommandContext commandContext) {
+
+  }
+
+  @Override
+  public void closed(CommandContext commandContext) {
+    if (eventLogEntries != null) {
+      asyncEventLogWriter.addEventLogEntries(eventLogEntries);
+      eventLogEntries = null;
+    }
+  }
+
+  public void closeFailure(CommandContext commandContext) {
+    eventLogEntries = null;
+  }
+
+  public AsyncEventLogWriter getAsyncEventLogWriter() {
+    return asyncEventLogWriter;
+  }
+
+}
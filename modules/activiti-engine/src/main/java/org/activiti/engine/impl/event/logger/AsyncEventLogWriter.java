@@ -0,0 +1,369 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.event.logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityManager;
+import org.activiti.engine.impl.util.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes event log entries to the database in a background thread, so commands don't pay for the inserts.
+ *
+ * Entries are kept in a bounded buffer: a lock-free queue of which the capacity is guarded by an atomic counter.
+ * The writer thread drains the buffer in batches of at most batchSize entries and inserts every batch in its own
+ * transaction, which the bulk insert of the {@link org.activiti.engine.impl.db.DbSqlSession} turns into multi-row
+ * insert statements. When the buffer is full, the {@link EventLogOverflowPolicy} determines what happens with
+ * new entries. Batches that can't be written are spilled to the spill file when the policy is SPILL, and are
+ * dropped otherwise.
+ *
+ * On {@link #shutdown()}, all buffered entries are written before the writer thread stops.
+ */
+public class AsyncEventLogWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncEventLogWriter.class);
+
+  protected CommandExecutor commandExecutor;
+  protected CommandConfig commandConfig;
+  protected ObjectMapper objectMapper;
+
+  protected int bufferSize = 4096;
+  protected int batchSize = 100;
+  protected long flushIntervalInMillis = 100L;
+  protected EventLogOverflowPolicy overflowPolicy = EventLogOverflowPolicy.BLOCK;
+  protected File spillFile;
+
+  protected final Queue<EventLogEntryEntity> buffer = new ConcurrentLinkedQueue<EventLogEntryEntity>();
+  protected final AtomicInteger bufferedCount = new AtomicInteger();
+
+  // Not the writer monitor: the writer thread spills failed batches while shutdown() waits for it holding that monitor
+  protected final Object spillLock = new Object();
+
+  protected volatile boolean active;
+  protected volatile Thread writerThread;
+
+  protected final AtomicLong writtenCount = new AtomicLong();
+  protected final AtomicLong droppedCount = new AtomicLong();
+  protected final AtomicLong spilledCount = new AtomicLong();
+  protected final AtomicLong failedCount = new AtomicLong();
+
+  public AsyncEventLogWriter() {
+  }
+
+  public AsyncEventLogWriter(CommandExecutor commandExecutor, ObjectMapper objectMapper) {
+    this.commandExecutor = commandExecutor;
+    this.objectMapper = objectMapper;
+  }
+
+  public synchronized void start() {
+    if (active) {
+      return;
+    }
+    if (overflowPolicy == EventLogOverflowPolicy.SPILL && spillFile == null) {
+      throw new ActivitiException("A spill file is required when the overflow policy of the event log writer is " + EventLogOverflowPolicy.SPILL);
+    }
+    if (commandConfig == null) {
+      commandConfig = commandExecutor.getDefaultConfig().transactionRequiresNew();
+    }
+
+    active = true;
+    writerThread = new Thread(new Runnable() {
+      public void run() {
+        writeBufferedEntries();
+      }
+    }, "activiti-event-log-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    logger.info("Started asynchronous event log writer");
+  }
+
+  public synchronized void shutdown() {
+    if (!active) {
+      return;
+    }
+    active = false;
+    LockSupport.unpark(writerThread);
+    try {
+      writerThread.join();
+    } catch (InterruptedException e) {
+      logger.warn("Interrupted while waiting for the event log writer to stop", e);
+      Thread.currentThread().interrupt();
+    }
+    writerThread = null;
+
+    // Entries added while the writer thread was stopping
+    List<EventLogEntryEntity> batch = pollBatch();
+    while (!batch.isEmpty()) {
+      writeBatch(batch);
+      batch = pollBatch();
+    }
+    logger.info("Stopped asynchronous event log writer");
+  }
+
+  public void addEventLogEntries(List<EventLogEntryEntity> eventLogEntries) {
+    for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+      addEventLogEntry(eventLogEntry);
+    }
+  }
+
+  /**
+   * Adds the entry to the buffer, applying the overflow policy when the buffer is full.
+   * Returns whether the entry was buffered.
+   */
+  public boolean addEventLogEntry(EventLogEntryEntity eventLogEntry) {
+    while (!reserveBufferSlot()) {
+      if (overflowPolicy == EventLogOverflowPolicy.DROP) {
+        droppedCount.incrementAndGet();
+        return false;
+
+      } else if (overflowPolicy == EventLogOverflowPolicy.SPILL) {
+        List<EventLogEntryEntity> entries = new ArrayList<EventLogEntryEntity>(1);
+        entries.add(eventLogEntry);
+        spill(entries);
+        return false;
+
+      } else if (!active) {
+        // Nobody is going to free up space, waiting would block forever
+        logger.warn("Event log buffer is full and the writer is not running, dropping event log entry");
+        droppedCount.incrementAndGet();
+        return false;
+      }
+
+      LockSupport.unpark(writerThread);
+      LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(1L));
+    }
+
+    buffer.offer(eventLogEntry);
+    if (bufferedCount.get() >= batchSize) {
+      LockSupport.unpark(writerThread); // no-op when the writer isn't running
+    }
+    return true;
+  }
+
+  protected boolean reserveBufferSlot() {
+    int count = bufferedCount.get();
+    while (count < bufferSize) {
+      if (bufferedCount.compareAndSet(count, count + 1)) {
+        return true;
+      }
+      count = bufferedCount.get();
+    }
+    return false;
+  }
+
+  protected void writeBufferedEntries() {
+    while (active) {
+      List<EventLogEntryEntity> batch = pollBatch();
+      if (batch.isEmpty()) {
+        LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(flushIntervalInMillis));
+      } else {
+        writeBatch(batch);
+      }
+    }
+  }
+
+  protected List<EventLogEntryEntity> pollBatch() {
+    List<EventLogEntryEntity> batch = new ArrayList<EventLogEntryEntity>();
+    EventLogEntryEntity eventLogEntry = null;
+    while (batch.size() < batchSize && (eventLogEntry = buffer.poll()) != null) {
+      batch.add(eventLogEntry);
+    }
+    if (!batch.isEmpty()) {
+      bufferedCount.addAndGet(-batch.size());
+    }
+    return batch;
+  }
+
+  protected void writeBatch(final List<EventLogEntryEntity> batch) {
+    try {
+      commandExecutor.execute(commandConfig, new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          EventLogEntryEntityManager eventLogEntryEntityManager = commandContext.getEventLogEntryEntityManager();
+          for (EventLogEntryEntity eventLogEntry : batch) {
+            eventLogEntryEntityManager.insert(eventLogEntry, false);
+          }
+          return null;
+        }
+      });
+      writtenCount.addAndGet(batch.size());
+
+    } catch (Exception e) {
+      logger.warn("Could not write " + batch.size() + " event log entries", e);
+      failedCount.addAndGet(batch.size());
+      if (overflowPolicy == EventLogOverflowPolicy.SPILL) {
+        spill(batch);
+      } else {
+        droppedCount.addAndGet(batch.size());
+      }
+    }
+  }
+
+  /**
+   * Appends the entries as one JSON object per line to the spill file.
+   */
+  protected void spill(List<EventLogEntryEntity> eventLogEntries) {
+    if (spillFile == null) {
+      logger.warn("No spill file configured, dropping " + eventLogEntries.size() + " event log entries");
+      droppedCount.addAndGet(eventLogEntries.size());
+      return;
+    }
+
+    synchronized (spillLock) {
+      OutputStream outputStream = null;
+      try {
+        outputStream = new FileOutputStream(spillFile, true);
+        for (EventLogEntryEntity eventLogEntry : eventLogEntries) {
+          outputStream.write(objectMapper.writeValueAsBytes(toJson(eventLogEntry)));
+          outputStream.write('\n');
+        }
+        spilledCount.addAndGet(eventLogEntries.size());
+
+      } catch (IOException e) {
+        logger.error("Could not spill " + eventLogEntries.size() + " event log entries to " + spillFile, e);
+        droppedCount.addAndGet(eventLogEntries.size());
+
+      } finally {
+        IoUtil.closeSilently(outputStream);
+      }
+    }
+  }
+
+  protected ObjectNode toJson(EventLogEntryEntity eventLogEntry) {
+    ObjectNode objectNode = objectMapper.createObjectNode();
+    objectNode.put("type", eventLogEntry.getType());
+    objectNode.put("processDefinitionId", eventLogEntry.getProcessDefinitionId());
+    objectNode.put("processInstanceId", eventLogEntry.getProcessInstanceId());
+    objectNode.put("executionId", eventLogEntry.getExecutionId());
+    objectNode.put("taskId", eventLogEntry.getTaskId());
+    if (eventLogEntry.getTimeStamp() != null) {
+      objectNode.put("timeStamp", eventLogEntry.getTimeStamp().getTime());
+    }
+    objectNode.put("userId", eventLogEntry.getUserId());
+    objectNode.put("data", eventLogEntry.getData());
+    return objectNode;
+  }
+
+  // getters and setters
+  // //////////////////////////////////////////////////////
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public int getBufferedCount() {
+    return bufferedCount.get();
+  }
+
+  public long getWrittenCount() {
+    return writtenCount.get();
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  public long getSpilledCount() {
+    return spilledCount.get();
+  }
+
+  public long getFailedCount() {
+    return failedCount.get();
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public CommandConfig getCommandConfig() {
+    return commandConfig;
+  }
+
+  public void setCommandConfig(CommandConfig commandConfig) {
+    this.commandConfig = commandConfig;
+  }
+
+  public ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  public void setObjectMapper(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
+  public void setBufferSize(int bufferSize) {
+    this.bufferSize = bufferSize;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  public long getFlushIntervalInMillis() {
+    return flushIntervalInMillis;
+  }
+
+  public void setFlushIntervalInMillis(long flushIntervalInMillis) {
+    this.flushIntervalInMillis = flushIntervalInMillis;
+  }
+
+  public EventLogOverflowPolicy getOverflowPolicy() {
+    return overflowPolicy;
+  }
+
+  public void setOverflowPolicy(EventLogOverflowPolicy overflowPolicy) {
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  public File getSpillFile() {
+    return spillFile;
+  }
+
+  public void setSpillFile(File spillFile) {
+    this.spillFile = spillFile;
+  }
+
+}
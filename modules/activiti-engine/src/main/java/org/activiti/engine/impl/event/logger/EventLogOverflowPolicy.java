@@ -0,0 +1,35 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.event.logger;
+
+/**
+ * What the {@link AsyncEventLogWriter} does with event log entries that don't fit in its buffer anymore.
+ */
+public enum EventLogOverflowPolicy {
+
+  /**
+   * The entries are discarded. Commands are never slowed down, but audit data can get lost under load.
+   */
+  DROP,
+
+  /**
+   * The committing thread waits until the writer has freed up space in the buffer.
+   */
+  BLOCK,
+
+  /**
+   * The entries are appended as JSON lines to the spill file of the writer, so they can be imported later on.
+   */
+  SPILL
+
+}
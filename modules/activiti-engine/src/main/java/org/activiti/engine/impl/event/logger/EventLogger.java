@@ -54,6 +54,9 @@ public class EventLogger implements ActivitiEventListener {
 	// Listeners for new events
 	protected List<EventLoggerListener> listeners;
 	
+	// When set, entries are written by this writer instead of in the transaction of the command
+	protected AsyncEventLogWriter asyncEventLogWriter;
+	
 	public EventLogger() {
 		initializeDefaultHandlers();
 	}
@@ -198,6 +201,9 @@ public class EventLogger implements ActivitiEventListener {
 	 * Subclasses that want something else than the database flusher should override this method
 	 */
 	protected EventFlusher createEventFlusher() {
+		if (asyncEventLogWriter != null) {
+			return new AsyncEventFlusher(asyncEventLogWriter);
+		}
 		return null;
 	}
 
@@ -224,5 +230,13 @@ public class EventLogger implements ActivitiEventListener {
 	public void setListeners(List<EventLoggerListener> listeners) {
 		this.listeners = listeners;
 	}
+
+	public AsyncEventLogWriter getAsyncEventLogWriter() {
+		return asyncEventLogWriter;
+	}
+
+	public void setAsyncEventLogWriter(AsyncEventLogWriter asyncEventLogWriter) {
+		this.asyncEventLogWriter = asyncEventLogWriter;
+	}
 	
 }
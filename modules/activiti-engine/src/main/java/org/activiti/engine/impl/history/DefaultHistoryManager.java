@@ -107,7 +107,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()
+            && ActivitiEventBuilder.hasListeners(activitiEventDispatcher, ActivitiEventType.HISTORIC_PROCESS_INSTANCE_ENDED, ActivitiEventBuilder.getProcessDefinitionId(historicProcessInstance))) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_ENDED, historicProcessInstance));
         }
@@ -143,7 +144,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
       
       // Fire event
       ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()
+          && ActivitiEventBuilder.hasListeners(activitiEventDispatcher, ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, ActivitiEventBuilder.getProcessDefinitionId(historicProcessInstance))) {
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
@@ -171,7 +173,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
       
       // Fire event
       ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+      if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()
+          && ActivitiEventBuilder.hasListeners(activitiEventDispatcher, ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, ActivitiEventBuilder.getProcessDefinitionId(historicProcessInstance))) {
         activitiEventDispatcher.dispatchEvent(
             ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_PROCESS_INSTANCE_CREATED, historicProcessInstance));
       }
@@ -210,7 +213,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()
+            && ActivitiEventBuilder.hasListeners(activitiEventDispatcher, ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED, ActivitiEventBuilder.getProcessDefinitionId(historicActivityInstanceEntity))) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_CREATED, historicActivityInstanceEntity));
         }
@@ -233,7 +237,8 @@ public class DefaultHistoryManager extends AbstractManager implements HistoryMan
         
         // Fire event
         ActivitiEventDispatcher activitiEventDispatcher = getEventDispatcher();
-        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()) {
+        if (activitiEventDispatcher != null && activitiEventDispatcher.isEnabled()
+            && ActivitiEventBuilder.hasListeners(activitiEventDispatcher, ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, ActivitiEventBuilder.getProcessDefinitionId(historicActivityInstance))) {
           activitiEventDispatcher.dispatchEvent(
               ActivitiEventBuilder.createEntityEvent(ActivitiEventType.HISTORIC_ACTIVITY_INSTANCE_ENDED, historicActivityInstance));
         }
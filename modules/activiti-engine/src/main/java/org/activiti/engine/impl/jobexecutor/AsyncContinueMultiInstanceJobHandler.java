@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import org.activiti.engine.impl.agenda.ContinueMultiInstanceOperation;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+
+/**
+ * Continues the execution of one instance of a multi instance activity, for instances that are started
+ * asynchronously by the multi instance behavior itself.
+ */
+public class AsyncContinueMultiInstanceJobHandler implements JobHandler {
+
+  public final static String TYPE = "async-continue-multi-instance";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    // The job itself is the asynchronous continuation, so the instance is continued synchronously
+    Context.getAgenda().planOperation(new ContinueMultiInstanceOperation(commandContext, execution, true));
+  }
+
+}
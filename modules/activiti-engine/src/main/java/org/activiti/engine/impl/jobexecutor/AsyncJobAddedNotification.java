@@ -12,6 +12,9 @@
  */
 package org.activiti.engine.impl.jobexecutor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.cfg.TransactionPropagation;
 import org.activiti.engine.impl.interceptor.Command;
@@ -24,33 +27,73 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Hands the async jobs created in a transaction to the {@link AsyncExecutor} once that transaction 
+ * has been committed, so they don't need to be picked up by the acquisition thread first.
+ * 
+ * All jobs of one {@link CommandContext} are handed over by a single notification. When the
+ * executor can't take more jobs, the remaining jobs are unacquired so they can be acquired later on.
+ * Every job is unacquired in its own transaction, so a job that can't be unacquired doesn't keep
+ * the other jobs locked until their lock expires.
+ * 
  * @author Joram Barrez
  */
 public class AsyncJobAddedNotification implements CommandContextCloseListener {
 
   private static Logger log = LoggerFactory.getLogger(AsyncJobAddedNotification.class);
 
-  protected JobEntity job;
+  protected List<JobEntity> jobs = new ArrayList<JobEntity>(1);
   protected AsyncExecutor asyncExecutor;
+  protected int offeredJobCount;
 
   public AsyncJobAddedNotification(JobEntity job, AsyncExecutor asyncExecutor) {
-    this.job = job;
+    this.jobs.add(job);
     this.asyncExecutor = asyncExecutor;
   }
   
+  public void addJob(JobEntity job) {
+    jobs.add(job);
+  }
+  
   @Override
   public void closed(CommandContext commandContext) {
     CommandExecutor commandExecutor = commandContext.getProcessEngineConfiguration().getCommandExecutor(); 
     CommandConfig commandConfig = new CommandConfig(false, TransactionPropagation.REQUIRES_NEW); 
-    commandExecutor.execute(commandConfig, new Command<Void>() {
-      public Void execute(CommandContext commandContext) {
-        if (log.isTraceEnabled()) {
-          log.trace("notifying job executor of new job");
+    
+    if (log.isTraceEnabled()) {
+      log.trace("notifying job executor of {} new job(s)", jobs.size());
+    }
+    
+    try {
+      commandExecutor.execute(commandConfig, new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          // A job rejected by the executor is unacquired by the executor itself
+          boolean jobOffered = true;
+          while (jobOffered && offeredJobCount < jobs.size()) {
+            jobOffered = asyncExecutor.executeAsyncJob(jobs.get(offeredJobCount++));
+          }
+          return null;
         }
-        asyncExecutor.executeAsyncJob(job);
-        return null;
+      });
+      
+    } catch (Throwable e) {
+      log.error("Could not hand over new job(s) to the async executor, a job that isn't executed will be picked up again once its lock expires", e);
+    }
+    
+    // The executor queue is full: no need to try the other jobs,
+    // they will be picked up by the acquisition thread instead
+    for (final JobEntity job : jobs.subList(offeredJobCount, jobs.size())) {
+      try {
+        commandExecutor.execute(commandConfig, new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            commandContext.getJobManager().unacquire(job);
+            return null;
+          }
+        });
+        
+      } catch (Throwable e) {
+        log.error("Could not unacquire job {}, it will be picked up again once its lock expires", job.getId(), e);
       }
-    });
+    }
   }
 
   @Override
@@ -65,4 +108,8 @@ public class AsyncJobAddedNotification implements CommandContextCloseListener {
   public void closeFailure(CommandContext commandContext) {
   }
   
+  public List<JobEntity> getJobs() {
+    return jobs;
+  }
+  
 }
@@ -0,0 +1,107 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.jobexecutor;
+
+import java.util.Date;
+
+import org.activiti.engine.impl.cmd.DeleteHistoricProcessInstancesFinishedBeforeCmd;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.TimerJobEntity;
+import org.activiti.engine.impl.util.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Purges the history of finished process instances in the background: every run deletes one batch and, as long as
+ * there was something to delete, schedules a timer for the next batch after the configured delay. The number of
+ * deleted process instances so far is kept in the job handler configuration of that timer.
+ */
+public class HistoricProcessInstancePurgeJobHandler implements JobHandler {
+
+  private static final Logger log = LoggerFactory.getLogger(HistoricProcessInstancePurgeJobHandler.class);
+
+  public static final String TYPE = "purge-historic-process-instances";
+
+  protected static final String CFG_FINISHED_BEFORE = "finishedBefore";
+  protected static final String CFG_PROCESS_DEFINITION_KEY = "processDefinitionKey";
+  protected static final String CFG_TENANT_ID = "tenantId";
+  protected static final String CFG_BATCH_SIZE = "batchSize";
+  protected static final String CFG_DELAY = "delayBetweenBatches";
+  protected static final String CFG_DELETED_COUNT = "deletedCount";
+
+  public String getType() {
+    return TYPE;
+  }
+
+  public void execute(JobEntity job, String configuration, ExecutionEntity execution, CommandContext commandContext) {
+    JSONObject cfgJson = new JSONObject(configuration);
+    Date finishedBefore = new Date(cfgJson.getLong(CFG_FINISHED_BEFORE));
+    String processDefinitionKey = cfgJson.optString(CFG_PROCESS_DEFINITION_KEY, null);
+    String tenantId = cfgJson.optString(CFG_TENANT_ID, null);
+    int batchSize = cfgJson.getInt(CFG_BATCH_SIZE);
+
+    int deleted = new DeleteHistoricProcessInstancesFinishedBeforeCmd(finishedBefore, processDefinitionKey, tenantId, batchSize).execute(commandContext);
+    long deletedCount = cfgJson.optLong(CFG_DELETED_COUNT) + deleted;
+
+    if (deleted > 0) {
+      log.info("Purged {} historic process instances finished before {} ({} so far), scheduling the next batch", deleted, finishedBefore, deletedCount);
+      cfgJson.put(CFG_DELETED_COUNT, deletedCount);
+      Date duedate = new Date(commandContext.getProcessEngineConfiguration().getClock().getCurrentTime().getTime() + cfgJson.getLong(CFG_DELAY));
+      schedule(commandContext, duedate, cfgJson.toString(), job.getTenantId());
+
+    } else {
+      log.info("Purge of historic process instances finished before {} completed, {} deleted", finishedBefore, deletedCount);
+    }
+  }
+
+  /**
+   * Schedules the first run of a purge and returns the id of its timer job.
+   */
+  public static String schedulePurge(CommandContext commandContext, Date finishedBefore, String processDefinitionKey, String tenantId,
+      int batchSize, long delayBetweenBatchesInMillis) {
+
+    JSONObject cfgJson = new JSONObject();
+    cfgJson.put(CFG_FINISHED_BEFORE, finishedBefore.getTime());
+    cfgJson.put(CFG_PROCESS_DEFINITION_KEY, processDefinitionKey);
+    cfgJson.put(CFG_TENANT_ID, tenantId);
+    cfgJson.put(CFG_BATCH_SIZE, batchSize);
+    cfgJson.put(CFG_DELAY, delayBetweenBatchesInMillis);
+    cfgJson.put(CFG_DELETED_COUNT, 0L);
+
+    Date duedate = commandContext.getProcessEngineConfiguration().getClock().getCurrentTime();
+    return schedule(commandContext, duedate, cfgJson.toString(), tenantId).getId();
+  }
+
+  /**
+   * Returns the number of historic process instances deleted so far by the purge the given configuration belongs to.
+   */
+  public static long getDeletedCount(String configuration) {
+    return new JSONObject(configuration).optLong(CFG_DELETED_COUNT);
+  }
+
+  protected static TimerJobEntity schedule(CommandContext commandContext, Date duedate, String configuration, String tenantId) {
+    TimerJobEntity timer = commandContext.getTimerJobEntityManager().create();
+    timer.setJobType(JobEntity.JOB_TYPE_TIMER);
+    timer.setJobHandlerType(TYPE);
+    timer.setJobHandlerConfiguration(configuration);
+    timer.setDuedate(duedate);
+    if (tenantId != null) {
+      timer.setTenantId(tenantId);
+    }
+    commandContext.getJobManager().scheduleTimerJob(timer);
+    return timer;
+  }
+
+}
@@ -0,0 +1,31 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.cache;
+
+import org.activiti.engine.impl.persistence.entity.Entity;
+
+/**
+ * Determines the value under which an {@link Entity} is indexed in the {@link EntityCache},
+ * so cached entities can be looked up by that value instead of checking all cached entities of a type.
+ * 
+ * The value can be null at first (for example the process instance id of a process instance is only set after 
+ * it has been inserted), but once it's set it should not change anymore: entities are not moved
+ * to another value in the index afterwards.
+ * 
+ * Indexes are identified by their instance, so the same instance should be used for every lookup.
+ */
+public interface CachedEntityIndex<EntityImpl> {
+
+  String getIndexValue(EntityImpl entity);
+
+}
@@ -62,6 +62,13 @@ public interface EntityCache extends Session {
    */
   <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass);
   
+  /**
+   * Returns the {@link CachedEntity} instances for the given type for which the given {@link CachedEntityIndex} 
+   * returns the given value. Only these instances are looked at, instead of all the instances of the type.
+   * Returns an empty collection if no such instances exist.
+   */
+  <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass, CachedEntityIndex<? super T> index, String indexValue);
+  
   /**
    * Removes the {@link Entity} of the given type with the given id from the cache. 
    */
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -26,48 +27,79 @@ import org.activiti.engine.impl.persistence.entity.Entity;
  */
 public class EntityCacheImpl implements EntityCache {
   
+  /**
+   * Lookups are often done with an interface (eg ExecutionEntity) or an abstract class (eg EventSubscriptionEntityImpl)
+   * instead of the implementation classes that are used as key in the cache. The cached implementation classes
+   * found for such a type are remembered until an entity of a new class is put in the cache. 
+   */
+  protected Map<Class<?>, List<Class<?>>> resolvedEntityClasses = new HashMap<Class<?>, List<Class<?>>>();
+  
   protected Map<Class<?>, Map<String, CachedEntity>> cachedObjects = new HashMap<Class<?>, Map<String,CachedEntity>>();
   
+  /**
+   * Indexes per entity class, only created when the index is used for the first time.
+   */
+  protected Map<Class<?>, Map<CachedEntityIndex<?>, IndexedCachedEntities>> indexes 
+    = new HashMap<Class<?>, Map<CachedEntityIndex<?>, IndexedCachedEntities>>();
+  
   @Override
   public CachedEntity put(Entity entity, boolean storeState) {
     Map<String, CachedEntity> classCache = cachedObjects.get(entity.getClass());
     if (classCache == null) {
       classCache = new HashMap<String, CachedEntity>();
       cachedObjects.put(entity.getClass(), classCache);
+      resolvedEntityClasses.clear();
     }
     CachedEntity cachedObject = new CachedEntity(entity, storeState);
     classCache.put(entity.getId(), cachedObject);
+    
+    Map<CachedEntityIndex<?>, IndexedCachedEntities> classIndexes = indexes.get(entity.getClass());
+    if (classIndexes != null) {
+      for (IndexedCachedEntities indexedCachedEntities : classIndexes.values()) {
+        indexedCachedEntities.add(cachedObject);
+      }
+    }
+    
     return cachedObject;
   }
   
   @Override
   @SuppressWarnings("unchecked")
   public <T> T findInCache(Class<T> entityClass, String id) {
-    CachedEntity cachedObject = null;
-    Map<String, CachedEntity> classCache = cachedObjects.get(entityClass);
-    
-    if (classCache == null) {
-      classCache = findClassCacheByCheckingSubclasses(entityClass);
+    for (Class<?> cachedClass : resolveCachedClasses(entityClass)) {
+      CachedEntity cachedObject = cachedObjects.get(cachedClass).get(id);
+      if (cachedObject != null) {
+        return (T) cachedObject.getEntity();
+      }
     }
-    
-    if (classCache != null) {
-      cachedObject = classCache.get(id);
+    return null;
+  }
+  
+  /**
+   * Returns the classes used as key in the cache for the given class (which can be an interface
+   * or an abstract class), or an empty list if no entities of that type are cached.
+   */
+  protected List<Class<?>> resolveCachedClasses(Class<?> entityClass) {
+    if (cachedObjects.containsKey(entityClass)) {
+      return Collections.<Class<?>>singletonList(entityClass);
     }
     
-    if (cachedObject != null) {
-      return (T) cachedObject.getEntity();
+    List<Class<?>> resolvedClasses = resolvedEntityClasses.get(entityClass);
+    if (resolvedClasses == null) {
+      resolvedClasses = findSubclasses(entityClass);
+      resolvedEntityClasses.put(entityClass, resolvedClasses);
     }
-    
-    return null;
+    return resolvedClasses;
   }
   
-  protected Map<String, CachedEntity> findClassCacheByCheckingSubclasses(Class<?> entityClass) {
+  protected List<Class<?>> findSubclasses(Class<?> entityClass) {
+    List<Class<?>> subClasses = new ArrayList<Class<?>>(1);
     for (Class<?> clazz : cachedObjects.keySet()) {
       if (entityClass.isAssignableFrom(clazz)) {
-        return cachedObjects.get(clazz);
+        subClasses.add(clazz);
       }
     }
-    return null;
+    return subClasses;
   }
 
   @Override
@@ -77,6 +109,7 @@ public class EntityCacheImpl implements EntityCache {
       return;
     }
     classCache.remove(entityId);
+    // The indexes are cleaned up lazily, when they are used
   }
   
   @Override
@@ -87,25 +120,62 @@ public class EntityCacheImpl implements EntityCache {
     }
     return null;
   }
+  
+  @Override
+  public <T> Collection<CachedEntity> findInCacheAsCachedObjects(Class<T> entityClass, CachedEntityIndex<? super T> index, String indexValue) {
+    if (indexValue == null) {
+      return Collections.emptyList();
+    }
+    
+    List<Class<?>> cachedClasses = resolveCachedClasses(entityClass);
+    if (cachedClasses.size() == 1) {
+      return findIndexedCachedObjects(cachedClasses.get(0), index, indexValue);
+    }
+    
+    List<CachedEntity> cachedEntities = new ArrayList<CachedEntity>();
+    for (Class<?> cachedClass : cachedClasses) {
+      cachedEntities.addAll(findIndexedCachedObjects(cachedClass, index, indexValue));
+    }
+    return cachedEntities;
+  }
+  
+  protected Collection<CachedEntity> findIndexedCachedObjects(Class<?> cachedClass, CachedEntityIndex<?> index, String indexValue) {
+    Map<String, CachedEntity> classCache = cachedObjects.get(cachedClass);
+    Map<CachedEntityIndex<?>, IndexedCachedEntities> classIndexes = indexes.get(cachedClass);
+    if (classIndexes == null) {
+      classIndexes = new HashMap<CachedEntityIndex<?>, IndexedCachedEntities>();
+      indexes.put(cachedClass, classIndexes);
+    }
+    
+    IndexedCachedEntities indexedCachedEntities = classIndexes.get(index);
+    if (indexedCachedEntities == null) {
+      indexedCachedEntities = new IndexedCachedEntities(index);
+      for (CachedEntity cachedObject : classCache.values()) {
+        indexedCachedEntities.add(cachedObject);
+      }
+      classIndexes.put(index, indexedCachedEntities);
+    } else {
+      indexedCachedEntities.indexUnresolvedEntities(classCache);
+    }
+    
+    return indexedCachedEntities.get(indexValue, classCache);
+  }
 
   @Override
   @SuppressWarnings("unchecked")
   public <T> List<T> findInCache(Class<T> entityClass) {
-    Map<String, CachedEntity> classCache = cachedObjects.get(entityClass);
-    
-    if (classCache == null) {
-      classCache = findClassCacheByCheckingSubclasses(entityClass);
+    List<Class<?>> cachedClasses = resolveCachedClasses(entityClass);
+    if (cachedClasses.isEmpty()) {
+      return Collections.emptyList();
     }
     
-    if (classCache != null) {
-      List<T> entities = new ArrayList<T>(classCache.size());
-      for (CachedEntity cachedObject : classCache.values()) {
+    List<T> entities = new ArrayList<T>();
+    for (Class<?> cachedClass : cachedClasses) {
+      for (CachedEntity cachedObject : cachedObjects.get(cachedClass).values()) {
         entities.add((T) cachedObject.getEntity());
       }
-      return entities;
     }
-    
-    return Collections.emptyList();
+    return entities;
   }
   
   public Map<Class<?>, Map<String, CachedEntity>> getAllCachedEntities() {
@@ -122,4 +192,68 @@ public class EntityCacheImpl implements EntityCache {
     
   }
   
+  /**
+   * The cached entities of one type, grouped by the value of a {@link CachedEntityIndex}.
+   * 
+   * Entities for which the index value wasn't known yet are checked again on every lookup.
+   * Entities that were removed from the cache (or replaced by another instance) are removed 
+   * from the index when they are encountered during a lookup.
+   */
+  protected static class IndexedCachedEntities {
+    
+    protected CachedEntityIndex<Object> index;
+    protected Map<String, List<CachedEntity>> cachedEntitiesByValue = new HashMap<String, List<CachedEntity>>();
+    protected List<CachedEntity> unresolvedCachedEntities = new ArrayList<CachedEntity>();
+    
+    @SuppressWarnings("unchecked")
+    public IndexedCachedEntities(CachedEntityIndex<?> index) {
+      this.index = (CachedEntityIndex<Object>) index;
+    }
+    
+    public void add(CachedEntity cachedEntity) {
+      String value = index.getIndexValue(cachedEntity.getEntity());
+      if (value != null) {
+        List<CachedEntity> cachedEntities = cachedEntitiesByValue.get(value);
+        if (cachedEntities == null) {
+          cachedEntities = new ArrayList<CachedEntity>();
+          cachedEntitiesByValue.put(value, cachedEntities);
+        }
+        cachedEntities.add(cachedEntity);
+      } else {
+        unresolvedCachedEntities.add(cachedEntity);
+      }
+    }
+    
+    public void indexUnresolvedEntities(Map<String, CachedEntity> classCache) {
+      if (unresolvedCachedEntities.isEmpty()) {
+        return;
+      }
+      
+      List<CachedEntity> cachedEntities = unresolvedCachedEntities;
+      unresolvedCachedEntities = new ArrayList<CachedEntity>();
+      for (CachedEntity cachedEntity : cachedEntities) {
+        if (classCache.get(cachedEntity.getEntity().getId()) == cachedEntity) {
+          add(cachedEntity);
+        }
+      }
+    }
+    
+    public Collection<CachedEntity> get(String value, Map<String, CachedEntity> classCache) {
+      List<CachedEntity> cachedEntities = cachedEntitiesByValue.get(value);
+      if (cachedEntities == null) {
+        return Collections.emptyList();
+      }
+      
+      Iterator<CachedEntity> cachedEntityIterator = cachedEntities.iterator();
+      while (cachedEntityIterator.hasNext()) {
+        CachedEntity cachedEntity = cachedEntityIterator.next();
+        if (classCache.get(cachedEntity.getEntity().getId()) != cachedEntity) {
+          cachedEntityIterator.remove();
+        }
+      }
+      return new ArrayList<CachedEntity>(cachedEntities);
+    }
+    
+  }
+  
 }
@@ -0,0 +1,233 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache that can be read concurrently without locking. 
+ * 
+ * When a maximum weight is set, objects are evicted as soon as the total weight of the cached objects exceeds it. The weight
+ * of an object is calculated by a {@link DeploymentCacheWeigher}, by default every object has weight 1 so the maximum weight
+ * is the maximum number of cached objects. Only writes take a lock, and only when eviction is needed.
+ * 
+ * Eviction approximates least recently used with the 'second chance' algorithm: the cached objects are kept in insertion order,
+ * and an object that was read since it was last considered for eviction is moved to the back instead of being evicted.
+ * Reads only set a flag, and evicting an object doesn't require looking at (let alone sorting) all the cached objects.
+ */
+public class ConcurrentDeploymentCache<T> implements DeploymentCache<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentDeploymentCache.class);
+
+  protected final ConcurrentMap<String, CacheEntry<T>> cache;
+  protected final Queue<CacheEntry<T>> evictionQueue = new ConcurrentLinkedQueue<CacheEntry<T>>();
+  protected final long maxWeight;
+  protected final DeploymentCacheWeigher<T> weigher;
+  protected final ReentrantLock evictionLock = new ReentrantLock();
+  protected DeploymentCacheEvictionListener<T> evictionListener;
+
+  protected final AtomicLong totalWeight = new AtomicLong();
+  protected final AtomicLong hitCount = new AtomicLong();
+  protected final AtomicLong missCount = new AtomicLong();
+  protected final AtomicLong evictionCount = new AtomicLong();
+
+  /** Cache with no limit */
+  public ConcurrentDeploymentCache() {
+    this(-1, null);
+  }
+
+  /** Cache which holds at most 'limit' objects */
+  public ConcurrentDeploymentCache(long limit) {
+    this(limit, null);
+  }
+
+  /** Cache of which the total weight of the cached objects stays below 'maxWeight' */
+  public ConcurrentDeploymentCache(long maxWeight, DeploymentCacheWeigher<T> weigher) {
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+    this.cache = new ConcurrentHashMap<String, CacheEntry<T>>();
+  }
+
+  public T get(String id) {
+    CacheEntry<T> cacheEntry = cache.get(id);
+    if (cacheEntry == null) {
+      missCount.incrementAndGet();
+      return null;
+    }
+
+    hitCount.incrementAndGet();
+    if (maxWeight > 0 && !cacheEntry.accessed) {
+      // only write the flag when it isn't set yet, to avoid contention on frequently read entries
+      cacheEntry.accessed = true;
+    }
+    return cacheEntry.value;
+  }
+
+  public boolean contains(String id) {
+    return cache.containsKey(id);
+  }
+
+  public void add(String id, T object) {
+    CacheEntry<T> cacheEntry = new CacheEntry<T>(id, object, weigh(object));
+    CacheEntry<T> previousEntry = cache.put(id, cacheEntry);
+
+    long weightDifference = cacheEntry.weight;
+    if (previousEntry != null) {
+      weightDifference -= previousEntry.weight;
+    }
+
+    if (maxWeight > 0) {
+      if (previousEntry != null) {
+        evictionQueue.remove(previousEntry);
+      }
+      evictionQueue.offer(cacheEntry);
+    }
+
+    if (totalWeight.addAndGet(weightDifference) > maxWeight && maxWeight > 0) {
+      evict(id);
+    }
+  }
+
+  public void remove(String id) {
+    CacheEntry<T> cacheEntry = cache.remove(id);
+    if (cacheEntry != null) {
+      totalWeight.addAndGet(-cacheEntry.weight);
+      if (maxWeight > 0) {
+        evictionQueue.remove(cacheEntry);
+      }
+    }
+  }
+
+  public void clear() {
+    for (String id : cache.keySet()) {
+      CacheEntry<T> cacheEntry = cache.remove(id);
+      if (cacheEntry != null) {
+        totalWeight.addAndGet(-cacheEntry.weight);
+      }
+    }
+
+    // entries that were added concurrently stay queued
+    Iterator<CacheEntry<T>> iterator = evictionQueue.iterator();
+    while (iterator.hasNext()) {
+      CacheEntry<T> cacheEntry = iterator.next();
+      if (cache.get(cacheEntry.id) != cacheEntry) {
+        iterator.remove();
+      }
+    }
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  protected int weigh(T object) {
+    if (weigher == null) {
+      return 1;
+    }
+    return Math.max(1, weigher.weigh(object));
+  }
+
+  /**
+   * Evicts objects in insertion order until the total weight is below the maximum again, skipping the objects that were read
+   * since they were last considered. The object that was just added is never evicted, else it would not be available for the
+   * caller that added it.
+   */
+  protected void evict(String addedId) {
+    evictionLock.lock();
+    try {
+      // every entry can be given a second chance once, after that one of them is evicted for sure
+      int candidates = 2 * cache.size() + 1;
+      while (totalWeight.get() > maxWeight && candidates > 0) {
+        CacheEntry<T> cacheEntry = evictionQueue.poll();
+        if (cacheEntry == null) {
+          break;
+        }
+
+        if (cache.get(cacheEntry.id) != cacheEntry) {
+          continue; // removed or replaced concurrently
+        }
+
+        candidates--;
+        if (cacheEntry.accessed || cacheEntry.id.equals(addedId)) {
+          cacheEntry.accessed = false;
+          evictionQueue.offer(cacheEntry);
+
+        } else if (cache.remove(cacheEntry.id, cacheEntry)) {
+          totalWeight.addAndGet(-cacheEntry.weight);
+          evictionCount.incrementAndGet();
+          if (logger.isTraceEnabled()) {
+            logger.trace("Cache limit is reached, {} will be evicted", cacheEntry.id);
+          }
+          if (evictionListener != null) {
+            evictionListener.evicted(cacheEntry.id, cacheEntry.value);
+          }
+        }
+      }
+
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  public long getTotalWeight() {
+    return totalWeight.get();
+  }
+
+  public long getMaxWeight() {
+    return maxWeight;
+  }
+
+  public DeploymentCacheEvictionListener<T> getEvictionListener() {
+    return evictionListener;
+  }
+
+  public void setEvictionListener(DeploymentCacheEvictionListener<T> evictionListener) {
+    this.evictionListener = evictionListener;
+  }
+
+  protected static class CacheEntry<T> {
+
+    protected final String id;
+    protected final T value;
+    protected final int weight;
+    protected volatile boolean accessed;
+
+    public CacheEntry(String id, T value, int weight) {
+      this.id = id;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+}
@@ -30,6 +30,7 @@ public class DefaultDeploymentCache<T> implements DeploymentCache<T> {
   private static final Logger logger = LoggerFactory.getLogger(DefaultDeploymentCache.class);
 
   protected Map<String, T> cache;
+  protected DeploymentCacheEvictionListener<T> evictionListener;
 
   /** Cache with no limit */
   public DefaultDeploymentCache() {
@@ -50,6 +51,9 @@ public class DefaultDeploymentCache<T> implements DeploymentCache<T> {
             if (removeEldest && logger.isTraceEnabled()) {
               logger.trace("Cache limit is reached, {} will be evicted", eldest.getKey());
             }
+            if (removeEldest && evictionListener != null) {
+              evictionListener.evicted(eldest.getKey(), eldest.getValue());
+            }
             return removeEldest;
           }
 
@@ -77,7 +81,15 @@ public class DefaultDeploymentCache<T> implements DeploymentCache<T> {
     cache.clear();
   }
 
-  // For testing purposes only
+  public DeploymentCacheEvictionListener<T> getEvictionListener() {
+    return evictionListener;
+  }
+
+  public void setEvictionListener(DeploymentCacheEvictionListener<T> evictionListener) {
+    this.evictionListener = evictionListener;
+  }
+
+  @Override
   public int size() {
     return cache.size();
   }
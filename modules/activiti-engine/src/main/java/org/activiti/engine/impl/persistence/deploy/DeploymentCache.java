@@ -29,4 +29,6 @@ public interface DeploymentCache<T> {
 
   void clear();
 
+  int size();
+
 }
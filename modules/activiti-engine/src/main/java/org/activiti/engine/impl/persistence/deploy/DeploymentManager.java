@@ -32,6 +32,7 @@ import org.activiti.engine.impl.persistence.entity.DeploymentEntity;
 import org.activiti.engine.impl.persistence.entity.DeploymentEntityManager;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntityManager;
+import org.activiti.engine.impl.scripting.CompiledScriptCache;
 import org.activiti.engine.impl.util.Activiti5Util;
 import org.activiti.engine.repository.ProcessDefinition;
 
@@ -172,8 +173,14 @@ public class DeploymentManager {
       eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, deployment));
     }
 
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getScriptingEngines() != null ? 
+        processEngineConfiguration.getScriptingEngines().getCompiledScriptCache() : null;
+    
     for (ProcessDefinition processDefinition : processDefinitions) {
       processDefinitionCache.remove(processDefinition.getId());
+      if (compiledScriptCache != null) {
+        compiledScriptCache.removeProcessDefinition(processDefinition.getId());
+      }
     }
   }
 
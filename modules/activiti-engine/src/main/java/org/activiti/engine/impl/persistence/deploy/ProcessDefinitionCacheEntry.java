@@ -16,6 +16,7 @@ import java.io.Serializable;
 
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.bpmn.model.Process;
+import org.activiti.engine.impl.util.FlowNodeReachabilityIndex;
 import org.activiti.engine.repository.ProcessDefinition;
 
 /**
@@ -28,6 +29,7 @@ public class ProcessDefinitionCacheEntry implements Serializable {
   protected ProcessDefinition processDefinition;
   protected BpmnModel bpmnModel;
   protected Process process;
+  protected transient volatile FlowNodeReachabilityIndex reachabilityIndex;
 
   public ProcessDefinitionCacheEntry(ProcessDefinition processDefinition, BpmnModel bpmnModel, Process process) {
     this.processDefinition = processDefinition;
@@ -57,6 +59,24 @@ public class ProcessDefinitionCacheEntry implements Serializable {
 
   public void setProcess(Process process) {
     this.process = process;
+    this.reachabilityIndex = null;
+  }
+
+  /**
+   * Returns the reachability index of the process, which is created the first time it is needed.
+   */
+  public FlowNodeReachabilityIndex getReachabilityIndex() {
+    FlowNodeReachabilityIndex index = reachabilityIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = reachabilityIndex;
+        if (index == null) {
+          index = new FlowNodeReachabilityIndex(process);
+          reachabilityIndex = index;
+        }
+      }
+    }
+    return index;
   }
 
 }
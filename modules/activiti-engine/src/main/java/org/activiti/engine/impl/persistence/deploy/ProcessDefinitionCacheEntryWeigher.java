@@ -0,0 +1,59 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.deploy;
+
+import java.util.Collection;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.Process;
+
+/**
+ * Estimates the size of a cached process definition as the number of elements in its {@link BpmnModel}: 
+ * flow elements (including those of sub processes), artifacts and diagram interchange information.
+ */
+public class ProcessDefinitionCacheEntryWeigher implements DeploymentCacheWeigher<ProcessDefinitionCacheEntry> {
+
+  @Override
+  public int weigh(ProcessDefinitionCacheEntry cacheEntry) {
+    int weight = 1;
+
+    BpmnModel bpmnModel = cacheEntry.getBpmnModel();
+    if (bpmnModel != null) {
+      for (Process process : bpmnModel.getProcesses()) {
+        weight += weighContainer(process);
+      }
+      weight += bpmnModel.getLocationMap().size();
+      weight += bpmnModel.getFlowLocationMap().size();
+      weight += bpmnModel.getLabelLocationMap().size();
+
+    } else if (cacheEntry.getProcess() != null) {
+      weight += weighContainer(cacheEntry.getProcess());
+    }
+
+    return weight;
+  }
+
+  protected int weighContainer(FlowElementsContainer container) {
+    Collection<FlowElement> flowElements = container.getFlowElements();
+    int weight = flowElements.size() + container.getArtifacts().size();
+    for (FlowElement flowElement : flowElements) {
+      if (flowElement instanceof FlowElementsContainer) {
+        weight += weighContainer((FlowElementsContainer) flowElement);
+      }
+    }
+    return weight;
+  }
+
+}
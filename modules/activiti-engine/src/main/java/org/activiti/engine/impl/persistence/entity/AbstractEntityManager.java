@@ -55,8 +55,13 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity> extends A
 
     ActivitiEventDispatcher eventDispatcher = getEventDispatcher();
     if (fireCreateEvent && eventDispatcher.isEnabled()) {
-      eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, entity));
-      eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, entity));
+      String processDefinitionId = ActivitiEventBuilder.getProcessDefinitionId(entity);
+      if (ActivitiEventBuilder.hasListeners(eventDispatcher, ActivitiEventType.ENTITY_CREATED, processDefinitionId)) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, entity));
+      }
+      if (ActivitiEventBuilder.hasListeners(eventDispatcher, ActivitiEventType.ENTITY_INITIALIZED, processDefinitionId)) {
+        eventDispatcher.dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, entity));
+      }
     }
   }
   
@@ -69,7 +74,7 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity> extends A
   public EntityImpl update(EntityImpl entity, boolean fireUpdateEvent) {
     EntityImpl updatedEntity = getDataManager().update(entity);
     
-    if (fireUpdateEvent && getEventDispatcher().isEnabled()) {
+    if (fireUpdateEvent && getEventDispatcher().isEnabled() && hasEntityEventListeners(ActivitiEventType.ENTITY_UPDATED, entity)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_UPDATED, entity));
     }
     
@@ -91,11 +96,18 @@ public abstract class AbstractEntityManager<EntityImpl extends Entity> extends A
   public void delete(EntityImpl entity, boolean fireDeleteEvent) {
     getDataManager().delete(entity);
 
-    if (fireDeleteEvent && getEventDispatcher().isEnabled()) {
+    if (fireDeleteEvent && getEventDispatcher().isEnabled() && hasEntityEventListeners(ActivitiEventType.ENTITY_DELETED, entity)) {
       getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_DELETED, entity));
     }
   }
   
+  /**
+   * Returns true if an entity event of the given type for the given entity would be dispatched to a listener.
+   */
+  protected boolean hasEntityEventListeners(ActivitiEventType type, EntityImpl entity) {
+    return ActivitiEventBuilder.hasListeners(getEventDispatcher(), type, ActivitiEventBuilder.getProcessDefinitionId(entity));
+  }
+  
   protected abstract DataManager<EntityImpl> getDataManager();
   
   /* Execution related entity count methods */
@@ -25,4 +25,6 @@ public interface AttachmentEntityManager extends EntityManager<AttachmentEntity>
 
   void deleteAttachmentsByTaskId(String taskId);
 
-}
\ No newline at end of file
+  void deleteAttachmentsByProcessInstanceIds(List<String> processInstanceIds);
+
+}
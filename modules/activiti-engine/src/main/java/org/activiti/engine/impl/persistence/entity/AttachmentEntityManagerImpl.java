@@ -96,6 +96,11 @@ public class AttachmentEntityManagerImpl extends AbstractEntityManager<Attachmen
     }
   }
 
+  @Override
+  public void deleteAttachmentsByProcessInstanceIds(List<String> processInstanceIds) {
+    attachmentDataManager.deleteAttachmentsByProcessInstanceIds(processInstanceIds);
+  }
+
   public AttachmentDataManager getAttachmentDataManager() {
     return attachmentDataManager;
   }
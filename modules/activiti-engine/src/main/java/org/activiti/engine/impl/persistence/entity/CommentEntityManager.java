@@ -44,4 +44,6 @@ public interface CommentEntityManager extends EntityManager<CommentEntity> {
 
   Event findEvent(String commentId);
 
-}
\ No newline at end of file
+  void deleteCommentsByProcessInstanceIds(List<String> processInstanceIds);
+
+}
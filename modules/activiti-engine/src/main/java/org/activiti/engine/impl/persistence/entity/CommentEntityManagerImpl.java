@@ -160,6 +160,11 @@ public class CommentEntityManagerImpl extends AbstractEntityManager<CommentEntit
     }
   }
 
+  @Override
+  public void deleteCommentsByProcessInstanceIds(List<String> processInstanceIds) {
+    commentDataManager.deleteCommentsByProcessInstanceIds(processInstanceIds);
+  }
+
   public CommentDataManager getCommentDataManager() {
     return commentDataManager;
   }
@@ -13,6 +13,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -131,4 +132,10 @@ public interface ExecutionEntity extends DelegateExecution, Execution, ProcessIn
 
   void setStartTime(Date startTime);
   
+  /**
+   * Fetches the variables with the given names of this execution and all its parent executions in one query,
+   * so reading these variables doesn't fetch all variables of these executions.
+   */
+  void prefetchVariables(Collection<String> variableNames);
+  
 }
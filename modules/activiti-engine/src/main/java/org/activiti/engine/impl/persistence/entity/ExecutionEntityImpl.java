@@ -15,10 +15,13 @@ package org.activiti.engine.impl.persistence.entity;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.activiti.bpmn.model.ActivitiListener;
 import org.activiti.bpmn.model.FlowElement;
@@ -534,7 +537,8 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_CREATED, getProcessDefinitionId())) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -550,7 +554,8 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_UPDATED, getProcessDefinitionId())) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -581,6 +586,59 @@ public class ExecutionEntityImpl extends VariableScopeImpl implements ExecutionE
     return commandContext.getVariableInstanceEntityManager().findVariableInstancesByExecutionAndNames(id, variableNames);
   }
 
+  public void prefetchVariables(Collection<String> variableNames) {
+    if (variableNames.isEmpty()) {
+      return;
+    }
+
+    // Only executions of which not all variables are fetched yet, and only the names that aren't known yet
+    Map<String, ExecutionEntityImpl> executionsToFetch = new HashMap<String, ExecutionEntityImpl>();
+    Set<String> variableNamesToFetch = new HashSet<String>();
+    ExecutionEntityImpl execution = this;
+    while (execution != null) {
+      if (execution.variableInstances == null) {
+        for (String variableName : variableNames) {
+          if (!execution.usedVariablesCache.containsKey(variableName) && !execution.isVariablePrefetched(variableName)) {
+            variableNamesToFetch.add(variableName);
+            executionsToFetch.put(execution.getId(), execution);
+          }
+        }
+      }
+      execution = execution.getParent();
+    }
+
+    if (executionsToFetch.isEmpty()) {
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (commandContext == null) {
+      throw new ActivitiException("lazy loading outside command context");
+    }
+    List<VariableInstanceEntity> variables = commandContext.getVariableInstanceEntityManager()
+        .findVariableInstancesByExecutionIdsAndNames(executionsToFetch.keySet(), variableNamesToFetch);
+
+    Map<String, List<VariableInstanceEntity>> variablesByExecutionId = new HashMap<String, List<VariableInstanceEntity>>();
+    for (VariableInstanceEntity variable : variables) {
+      if (!variable.isDeleted()) {
+        List<VariableInstanceEntity> executionVariables = variablesByExecutionId.get(variable.getExecutionId());
+        if (executionVariables == null) {
+          executionVariables = new ArrayList<VariableInstanceEntity>();
+          variablesByExecutionId.put(variable.getExecutionId(), executionVariables);
+        }
+        executionVariables.add(variable);
+      }
+    }
+
+    for (ExecutionEntityImpl executionToFetch : executionsToFetch.values()) {
+      List<VariableInstanceEntity> executionVariables = variablesByExecutionId.get(executionToFetch.getId());
+      if (executionVariables == null) {
+        executionVariables = Collections.emptyList();
+      }
+      executionToFetch.addPrefetchedVariables(variableNamesToFetch, executionVariables);
+    }
+  }
+
   // event subscription support //////////////////////////////////////////////
 
   public List<EventSubscriptionEntity> getEventSubscriptions() {
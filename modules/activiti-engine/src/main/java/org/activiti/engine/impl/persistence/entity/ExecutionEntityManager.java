@@ -54,6 +54,12 @@ public interface ExecutionEntityManager extends EntityManager<ExecutionEntity> {
 
   long findProcessInstanceCountByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
+  /**
+   * Returns the number of running process instances per process definition id, fetched with one grouped query.
+   * Process definitions without running instances are not part of the result.
+   */
+  Map<String, Long> findProcessInstanceCountsByProcessDefinition();
+
   List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
   
   List<ProcessInstance> findProcessInstanceAndVariablesByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
@@ -112,6 +112,11 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     return executionDataManager.findProcessInstanceCountByQueryCriteria(executionQuery);
   }
 
+  @Override
+  public Map<String, Long> findProcessInstanceCountsByProcessDefinition() {
+    return executionDataManager.findProcessInstanceCountsByProcessDefinition();
+  }
+
   @Override
   public List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
     return executionDataManager.findProcessInstanceByQueryCriteria(executionQuery);
@@ -277,8 +282,12 @@ public class ExecutionEntityManagerImpl extends AbstractEntityManager<ExecutionE
     }
 
     if (getEventDispatcher().isEnabled()) {
-      getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, childExecution));
-      getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, childExecution));
+      if (hasEntityEventListeners(ActivitiEventType.ENTITY_CREATED, childExecution)) {
+        getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_CREATED, childExecution));
+      }
+      if (hasEntityEventListeners(ActivitiEventType.ENTITY_INITIALIZED, childExecution)) {
+        getEventDispatcher().dispatchEvent(ActivitiEventBuilder.createEntityEvent(ActivitiEventType.ENTITY_INITIALIZED, childExecution));
+      }
     }
 
     return childExecution;
@@ -38,4 +38,6 @@ public interface HistoricActivityInstanceEntityManager extends EntityManager<His
   
   void deleteHistoricActivityInstancesByProcessInstanceId(String historicProcessInstanceId);
 
-}
\ No newline at end of file
+  void deleteHistoricActivityInstancesByProcessInstanceIds(List<String> processInstanceIds);
+
+}
@@ -80,6 +80,11 @@ public class HistoricActivityInstanceEntityManagerImpl extends AbstractEntityMan
     return historicActivityInstanceDataManager.findHistoricActivityInstanceCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public void deleteHistoricActivityInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    historicActivityInstanceDataManager.deleteHistoricActivityInstancesByProcessInstanceIds(processInstanceIds);
+  }
+
   public HistoricActivityInstanceDataManager getHistoricActivityInstanceDataManager() {
     return historicActivityInstanceDataManager;
   }
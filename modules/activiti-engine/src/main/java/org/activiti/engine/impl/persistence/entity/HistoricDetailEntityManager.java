@@ -42,4 +42,6 @@ public interface HistoricDetailEntityManager extends EntityManager<HistoricDetai
 
   void deleteHistoricDetailsByProcessInstanceId(String historicProcessInstanceId);
 
-}
\ No newline at end of file
+  void deleteHistoricDetailsByProcessInstanceIds(List<String> processInstanceIds);
+
+}
@@ -139,6 +139,11 @@ public class HistoricDetailEntityManagerImpl extends AbstractEntityManager<Histo
     return historicDetailDataManager.findHistoricDetailCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public void deleteHistoricDetailsByProcessInstanceIds(List<String> processInstanceIds) {
+    historicDetailDataManager.deleteHistoricDetailsByProcessInstanceIds(processInstanceIds);
+  }
+
   public HistoricDetailDataManager getHistoricDetailDataManager() {
     return historicDetailDataManager;
   }
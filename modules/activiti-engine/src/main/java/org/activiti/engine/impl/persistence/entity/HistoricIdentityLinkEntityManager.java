@@ -27,4 +27,6 @@ public interface HistoricIdentityLinkEntityManager extends EntityManager<Histori
 
   void deleteHistoricIdentityLinksByProcInstance(String processInstanceId);
 
-}
\ No newline at end of file
+  void deleteHistoricIdentityLinksByProcessInstanceIds(List<String> processInstanceIds);
+
+}
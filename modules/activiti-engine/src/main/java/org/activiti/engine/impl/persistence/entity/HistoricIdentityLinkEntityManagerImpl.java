@@ -68,6 +68,11 @@ public class HistoricIdentityLinkEntityManagerImpl extends AbstractEntityManager
 
   }
 
+  @Override
+  public void deleteHistoricIdentityLinksByProcessInstanceIds(List<String> processInstanceIds) {
+    historicIdentityLinkDataManager.deleteHistoricIdentityLinksByProcessInstanceIds(processInstanceIds);
+  }
+
   public HistoricIdentityLinkDataManager getHistoricIdentityLinkDataManager() {
     return historicIdentityLinkDataManager;
   }
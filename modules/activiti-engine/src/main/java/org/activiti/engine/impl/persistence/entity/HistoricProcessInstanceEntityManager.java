@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -27,6 +28,12 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
 
   long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
+  /**
+   * Returns the number of finished historic process instances per process definition id, fetched with one grouped query.
+   * Process definitions without finished instances are not part of the result.
+   */
+  Map<String, Long> findFinishedHistoricProcessInstanceCountsByProcessDefinition();
+
   List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
   List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
@@ -37,4 +44,21 @@ public interface HistoricProcessInstanceEntityManager extends EntityManager<Hist
   
   void deleteHistoricProcessInstanceByProcessDefinitionId(String processDefinitionId);
 
+  /**
+   * Returns the ids of at most maxResults historic process instances without a super process instance
+   * that finished before the given date, optionally limited to a process definition key and/or tenant.
+   */
+  List<String> findFinishedHistoricProcessInstanceIds(Date finishedBefore, String processDefinitionKey, String tenantId, int maxResults);
+
+  List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds);
+
+  /**
+   * Deletes the given historic process instances and all their historic data (details, variables, activities,
+   * tasks, identity links, comments, attachments and the byte arrays they reference) with one statement per table,
+   * instead of deleting every instance and its data separately as {@link #delete(String)} does.
+   * 
+   * Sub process instances are not included and no entity events are dispatched.
+   */
+  void deleteHistoricProcessInstancesByIds(List<String> historicProcessInstanceIds);
+
 }
\ No newline at end of file
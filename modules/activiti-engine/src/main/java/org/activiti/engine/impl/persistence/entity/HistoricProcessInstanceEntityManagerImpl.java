@@ -14,6 +14,7 @@
 package org.activiti.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -87,6 +88,14 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
     return 0;
   }
 
+  @Override
+  public Map<String, Long> findFinishedHistoricProcessInstanceCountsByProcessDefinition() {
+    if (getHistoryManager().isHistoryEnabled()) {
+      return historicProcessInstanceDataManager.findFinishedHistoricProcessInstanceCountsByProcessDefinition();
+    }
+    return Collections.emptyMap();
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
@@ -115,6 +124,34 @@ public class HistoricProcessInstanceEntityManagerImpl extends AbstractEntityMana
     return historicProcessInstanceDataManager.findHistoricProcessInstanceCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public List<String> findFinishedHistoricProcessInstanceIds(Date finishedBefore, String processDefinitionKey, String tenantId, int maxResults) {
+    return historicProcessInstanceDataManager.findFinishedHistoricProcessInstanceIds(finishedBefore, processDefinitionKey, tenantId, maxResults);
+  }
+
+  @Override
+  public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds) {
+    return historicProcessInstanceDataManager.findHistoricProcessInstanceIdsBySuperProcessInstanceIds(superProcessInstanceIds);
+  }
+
+  @Override
+  public void deleteHistoricProcessInstancesByIds(List<String> historicProcessInstanceIds) {
+    if (getHistoryManager().isHistoryEnabled() && !historicProcessInstanceIds.isEmpty()) {
+
+      // The statements are flushed in entity dependency order: the ones for identity links, comments and attachments
+      // select the task ids from the historic task instances, which are deleted after them
+      getHistoricDetailEntityManager().deleteHistoricDetailsByProcessInstanceIds(historicProcessInstanceIds);
+      getHistoricVariableInstanceEntityManager().deleteHistoricVariableInstancesByProcessInstanceIds(historicProcessInstanceIds);
+      getHistoricActivityInstanceEntityManager().deleteHistoricActivityInstancesByProcessInstanceIds(historicProcessInstanceIds);
+      getHistoricIdentityLinkEntityManager().deleteHistoricIdentityLinksByProcessInstanceIds(historicProcessInstanceIds);
+      getCommentEntityManager().deleteCommentsByProcessInstanceIds(historicProcessInstanceIds);
+      getAttachmentEntityManager().deleteAttachmentsByProcessInstanceIds(historicProcessInstanceIds);
+      getHistoricTaskInstanceEntityManager().deleteHistoricTaskInstancesByProcessInstanceIds(historicProcessInstanceIds);
+
+      historicProcessInstanceDataManager.deleteHistoricProcessInstancesByIds(historicProcessInstanceIds);
+    }
+  }
+
   public HistoricProcessInstanceDataManager getHistoricProcessInstanceDataManager() {
     return historicProcessInstanceDataManager;
   }
@@ -37,4 +37,6 @@ public interface HistoricTaskInstanceEntityManager extends EntityManager<Histori
   
   void deleteHistoricTaskInstancesByProcessInstanceId(String processInstanceId);
 
-}
\ No newline at end of file
+  void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds);
+
+}
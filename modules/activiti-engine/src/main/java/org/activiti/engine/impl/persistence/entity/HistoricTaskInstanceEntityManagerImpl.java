@@ -124,6 +124,11 @@ public class HistoricTaskInstanceEntityManagerImpl extends AbstractEntityManager
     return historicTaskInstanceDataManager.findHistoricTaskInstanceCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    historicTaskInstanceDataManager.deleteHistoricTaskInstancesByProcessInstanceIds(processInstanceIds);
+  }
+
   public HistoricTaskInstanceDataManager getHistoricTaskInstanceDataManager() {
     return historicTaskInstanceDataManager;
   }
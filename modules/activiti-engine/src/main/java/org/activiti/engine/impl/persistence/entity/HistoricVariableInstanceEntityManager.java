@@ -42,4 +42,6 @@ public interface HistoricVariableInstanceEntityManager extends EntityManager<His
   
   void deleteHistoricVariableInstanceByProcessInstanceId(String historicProcessInstanceId);
 
-}
\ No newline at end of file
+  void deleteHistoricVariableInstancesByProcessInstanceIds(List<String> processInstanceIds);
+
+}
@@ -134,6 +134,10 @@ public class HistoricVariableInstanceEntityManagerImpl extends AbstractEntityMan
     return historicVariableInstanceDataManager.findHistoricVariableInstanceCountByNativeQuery(parameterMap);
   }
 
+  @Override
+  public void deleteHistoricVariableInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    historicVariableInstanceDataManager.deleteHistoricVariableInstancesByProcessInstanceIds(processInstanceIds);
+  }
 
   public HistoricVariableInstanceDataManager getHistoricVariableInstanceDataManager() {
     return historicVariableInstanceDataManager;
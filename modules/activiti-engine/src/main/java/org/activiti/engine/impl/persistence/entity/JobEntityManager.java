@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -43,6 +44,13 @@ public interface JobEntityManager extends EntityManager<JobEntity> {
    */
   List<JobEntity> findJobsToExecute(Page page);
 
+  /**
+   * Same as {@link #findJobsToExecute(Page)}, but also locks the found jobs for the given lock owner
+   * using one update statement, instead of one optimistic locked update per job when the session is flushed.
+   * Jobs that were locked by another lock owner in the meantime are not returned.
+   */
+  List<JobEntity> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime);
+
   /**
    * Returns all {@link JobEntity} instances related to on {@link ExecutionEntity}. 
    */
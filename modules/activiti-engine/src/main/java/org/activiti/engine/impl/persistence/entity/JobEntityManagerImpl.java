@@ -13,6 +13,7 @@
 
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.delegate.event.ActivitiEventType;
@@ -88,6 +89,11 @@ public class JobEntityManagerImpl extends AbstractEntityManager<JobEntity> imple
     return jobDataManager.findJobsToExecute(page); 
   }
 
+  @Override
+  public List<JobEntity> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+    return jobDataManager.findAndLockJobsToExecute(page, lockOwner, lockExpirationTime);
+  }
+
   @Override
   public List<JobEntity> findJobsByExecutionId(String executionId) {
     return jobDataManager.findJobsByExecutionId(executionId);
@@ -172,7 +172,8 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
     VariableInstanceEntity result = super.createVariableInstance(variableName, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_CREATED, getProcessDefinitionId())) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -188,7 +189,8 @@ public class TaskEntityImpl extends VariableScopeImpl implements TaskEntity, Ser
     super.updateVariableInstance(variableInstance, value, sourceActivityExecution);
 
     // Dispatch event, if needed
-    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()) {
+    if (Context.getProcessEngineConfiguration() != null && Context.getProcessEngineConfiguration().getEventDispatcher().isEnabled()
+        && ActivitiEventBuilder.hasListeners(Context.getProcessEngineConfiguration().getEventDispatcher(), ActivitiEventType.VARIABLE_UPDATED, getProcessDefinitionId())) {
       Context
           .getProcessEngineConfiguration()
           .getEventDispatcher()
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.delegate.VariableScope;
@@ -42,6 +43,12 @@ public interface TimerJobEntityManager extends EntityManager<TimerJobEntity> {
    */
   List<TimerJobEntity> findTimerJobsToExecute(Page page);
 
+  /**
+   * Same as {@link #findTimerJobsToExecute(Page)}, but also locks the found timer jobs for the given lock owner
+   * using one update statement. Timer jobs that were locked by another lock owner in the meantime are not returned.
+   */
+  List<TimerJobEntity> findAndLockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime);
+
   /**
    * Returns the {@link TimerJobEntity} for a given process definition.
    * 
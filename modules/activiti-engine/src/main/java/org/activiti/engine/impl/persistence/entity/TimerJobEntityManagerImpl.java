@@ -70,6 +70,11 @@ public class TimerJobEntityManagerImpl extends AbstractEntityManager<TimerJobEnt
     return jobDataManager.findTimerJobsToExecute(page);
   }
 
+  @Override
+  public List<TimerJobEntity> findAndLockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+    return jobDataManager.findAndLockTimerJobsToExecute(page, lockOwner, lockExpirationTime);
+  }
+
   @Override
   public List<TimerJobEntity> findJobsByTypeAndProcessDefinitionId(String jobHandlerType, String processDefinitionId) {
     return jobDataManager.findJobsByTypeAndProcessDefinitionId(jobHandlerType, processDefinitionId);
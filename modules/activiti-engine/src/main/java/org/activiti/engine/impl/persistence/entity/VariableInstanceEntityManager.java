@@ -37,6 +37,11 @@ public interface VariableInstanceEntityManager extends EntityManager<VariableIns
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
 
+  /**
+   * Returns the variables with the given names of all the given executions (not the task local ones), fetched with one query.
+   */
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names);
+
   VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
@@ -47,6 +47,9 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
   // The cache is used when fetching/setting specific variables
   protected Map<String, VariableInstanceEntity> usedVariablesCache = new HashMap<String, VariableInstanceEntity>();
 
+  // Names of the variables that were prefetched: if such a variable exists on this scope, it is in the usedVariablesCache
+  protected Set<String> prefetchedVariableNames;
+
   protected Map<String, VariableInstance> transientVariabes; 
 
   protected ELContext cachedElContext;
@@ -72,6 +75,30 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     }
   }
 
+  /**
+   * Registers the result of fetching the variables with the given names for this scope:
+   * the found variables are put in the usedVariablesCache, the others are known not to exist on this scope.
+   */
+  protected void addPrefetchedVariables(Collection<String> variableNames, Collection<VariableInstanceEntity> variables) {
+    if (prefetchedVariableNames == null) {
+      prefetchedVariableNames = new HashSet<String>();
+    }
+    for (VariableInstanceEntity variable : variables) {
+      if (!usedVariablesCache.containsKey(variable.getName())) {
+        usedVariablesCache.put(variable.getName(), variable);
+      }
+    }
+    prefetchedVariableNames.addAll(variableNames);
+  }
+
+  /**
+   * Whether it's known if the variable exists on this scope without fetching all variables.
+   * Once all variables are fetched, these are used instead.
+   */
+  protected boolean isVariablePrefetched(String variableName) {
+    return variableInstances == null && prefetchedVariableNames != null && prefetchedVariableNames.contains(variableName);
+  }
+
   public Map<String, Object> getVariables() {
     return collectVariables(new HashMap<String, Object>());
   }
@@ -269,10 +296,14 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     }
     
     if (fetchAllVariables == true) {
-      ensureVariableInstancesInitialized();
-      VariableInstanceEntity variableInstance = variableInstances.get(variableName);
-      if (variableInstance != null) {
-        return variableInstance;
+      
+      // A prefetched variable that isn't in the used variables cache doesn't exist on this scope
+      if (!isVariablePrefetched(variableName)) {
+        ensureVariableInstancesInitialized();
+        VariableInstanceEntity variableInstance = variableInstances.get(variableName);
+        if (variableInstance != null) {
+          return variableInstance;
+        }
       }
 
       // Go up the hierarchy
@@ -289,10 +320,12 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
         return variableInstances.get(variableName);
       }
 
-      VariableInstanceEntity variable = getSpecificVariable(variableName);
-      if (variable != null) {
-        usedVariablesCache.put(variableName, variable);
-        return variable;
+      if (!isVariablePrefetched(variableName)) {
+        VariableInstanceEntity variable = getSpecificVariable(variableName);
+        if (variable != null) {
+          usedVariablesCache.put(variableName, variable);
+          return variable;
+        }
       }
 
       // Go up the hierarchy
@@ -403,6 +436,9 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     if (transientVariabes != null && transientVariabes.containsKey(variableName)) {
       return true;
     }
+    if (isVariablePrefetched(variableName)) {
+      return usedVariablesCache.containsKey(variableName);
+    }
     ensureVariableInstancesInitialized();
     return variableInstances.containsKey(variableName);
   }
@@ -876,6 +912,8 @@ public abstract class VariableScopeImpl extends AbstractEntity implements Serial
     
     if (variableInstances != null) {
       variableInstances.put(variableName, variableInstance);
+    } else if (prefetchedVariableNames != null) {
+      prefetchedVariableNames.remove(variableName);
     }
 
     // Record historic variable
@@ -24,6 +24,7 @@ import org.activiti.engine.impl.persistence.AbstractManager;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
 import org.activiti.engine.impl.persistence.cache.CachedEntity;
+import org.activiti.engine.impl.persistence.cache.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.cache.EntityCache;
 import org.activiti.engine.impl.persistence.entity.Entity;
 
@@ -115,15 +116,25 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
    * @param entityMatcher The matcher used to determine which entities from the cache needs to be retained
    * @param checkCache If false, no cache check will be done, and the returned list will simply be the list from the database.
    */
-  @SuppressWarnings("unchecked")
   protected List<EntityImpl> getList(String dbQueryName, Object parameter, 
       CachedEntityMatcher<EntityImpl> cachedEntityMatcher, boolean checkCache) {
+    return getList(dbQueryName, parameter, cachedEntityMatcher, checkCache, null, null);
+  }
+  
+  /**
+   * Same as {@link #getList(String, Object, CachedEntityMatcher, boolean)}, but only the cached entities
+   * that are found through the given {@link CachedEntityIndex} with the given value are passed to the {@link CachedEntityMatcher}.
+   * The index value must be a value every entity retained by the matcher has.  
+   */
+  @SuppressWarnings("unchecked")
+  protected List<EntityImpl> getList(String dbQueryName, Object parameter, CachedEntityMatcher<EntityImpl> cachedEntityMatcher, 
+      boolean checkCache, CachedEntityIndex<EntityImpl> cachedEntityIndex, String indexValue) {
 
     Collection<EntityImpl> result = getDbSqlSession().selectList(dbQueryName, parameter);
     
     if (checkCache) {
       
-      Collection<CachedEntity> cachedObjects = getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass());
+      Collection<CachedEntity> cachedObjects = findCachedObjects(cachedEntityIndex, indexValue);
       
       if ( (cachedObjects != null && cachedObjects.size() > 0) || getManagedEntitySubClasses() != null) {
         
@@ -178,11 +189,20 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
   }
   
   protected List<EntityImpl> getListFromCache(CachedEntityMatcher<EntityImpl> entityMatcher, Object parameter) {
-    Collection<CachedEntity> cachedObjects = getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass());
+    return getListFromCache(entityMatcher, parameter, null, null);
+  }
+  
+  /**
+   * Same as {@link #getListFromCache(CachedEntityMatcher, Object)}, but only the cached entities
+   * that are found through the given {@link CachedEntityIndex} with the given value are passed to the {@link CachedEntityMatcher}. 
+   */
+  protected List<EntityImpl> getListFromCache(CachedEntityMatcher<EntityImpl> entityMatcher, Object parameter, 
+      CachedEntityIndex<EntityImpl> cachedEntityIndex, String indexValue) {
+    Collection<CachedEntity> cachedObjects = findCachedObjects(cachedEntityIndex, indexValue);
     
     DbSqlSession dbSqlSession = getDbSqlSession();
     
-    List<EntityImpl> result = new ArrayList<EntityImpl>(cachedObjects.size());
+    List<EntityImpl> result = new ArrayList<EntityImpl>(cachedObjects != null ? cachedObjects.size() : 0);
     if (cachedObjects != null && entityMatcher != null) {
       for (CachedEntity cachedObject : cachedObjects) {
         EntityImpl cachedEntity = (EntityImpl) cachedObject.getEntity();
@@ -208,6 +228,12 @@ public abstract class AbstractDataManager<EntityImpl extends Entity> extends Abs
     
     return result;
   }
-
+  
+  protected Collection<CachedEntity> findCachedObjects(CachedEntityIndex<EntityImpl> cachedEntityIndex, String indexValue) {
+    if (cachedEntityIndex != null) {
+      return getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass(), cachedEntityIndex, indexValue);
+    }
+    return getEntityCache().findInCacheAsCachedObjects(getManagedEntityClass());
+  }
 
 }
@@ -24,5 +24,7 @@ public interface AttachmentDataManager extends DataManager<AttachmentEntity> {
   List<AttachmentEntity> findAttachmentsByProcessInstanceId(String processInstanceId);
   
   List<AttachmentEntity> findAttachmentsByTaskId(String taskId);
-  
+
+  void deleteAttachmentsByProcessInstanceIds(List<String> processInstanceIds);
+
 }
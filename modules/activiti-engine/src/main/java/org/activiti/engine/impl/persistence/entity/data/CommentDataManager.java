@@ -44,5 +44,7 @@ public interface CommentDataManager extends DataManager<CommentEntity> {
   Comment findComment(String commentId);
 
   Event findEvent(String commentId);
-  
+
+  void deleteCommentsByProcessInstanceIds(List<String> processInstanceIds);
+
 }
@@ -43,6 +43,8 @@ public interface ExecutionDataManager extends DataManager<ExecutionEntity> {
   
   long findProcessInstanceCountByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
 
+  Map<String, Long> findProcessInstanceCountsByProcessDefinition();
+
   List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery);
   
   List<ExecutionEntity> findExecutionsByRootProcessInstanceId(String rootProcessInstanceId);
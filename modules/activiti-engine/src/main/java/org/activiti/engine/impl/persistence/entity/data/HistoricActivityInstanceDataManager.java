@@ -38,5 +38,7 @@ public interface HistoricActivityInstanceDataManager extends DataManager<Histori
   List<HistoricActivityInstance> findHistoricActivityInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricActivityInstanceCountByNativeQuery(Map<String, Object> parameterMap);
-  
+
+  void deleteHistoricActivityInstancesByProcessInstanceIds(List<String> processInstanceIds);
+
 }
@@ -48,5 +48,7 @@ public interface HistoricDetailDataManager extends DataManager<HistoricDetailEnt
   List<HistoricDetail> findHistoricDetailsByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricDetailCountByNativeQuery(Map<String, Object> parameterMap);
-  
+
+  void deleteHistoricDetailsByProcessInstanceIds(List<String> processInstanceIds);
+
 }
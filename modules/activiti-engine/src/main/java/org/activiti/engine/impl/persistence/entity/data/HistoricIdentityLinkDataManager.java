@@ -24,5 +24,7 @@ public interface HistoricIdentityLinkDataManager extends DataManager<HistoricIde
   List<HistoricIdentityLinkEntity> findHistoricIdentityLinksByTaskId(String taskId);
 
   List<HistoricIdentityLinkEntity> findHistoricIdentityLinksByProcessInstanceId(String processInstanceId);
-  
+
+  void deleteHistoricIdentityLinksByProcessInstanceIds(List<String> processInstanceIds);
+
 }
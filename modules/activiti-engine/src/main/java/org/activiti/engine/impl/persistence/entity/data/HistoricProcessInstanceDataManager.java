@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +34,8 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
  
   long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
 
+  Map<String, Long> findFinishedHistoricProcessInstanceCountsByProcessDefinition();
+
   List<HistoricProcessInstance> findHistoricProcessInstancesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
   
   List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery);
@@ -40,5 +43,11 @@ public interface HistoricProcessInstanceDataManager extends DataManager<Historic
   List<HistoricProcessInstance> findHistoricProcessInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap);
+
+  List<String> findFinishedHistoricProcessInstanceIds(Date finishedBefore, String processDefinitionKey, String tenantId, int maxResults);
+
+  List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds);
+
+  void deleteHistoricProcessInstancesByIds(List<String> historicProcessInstanceIds);
   
 }
@@ -41,5 +41,7 @@ public interface HistoricTaskInstanceDataManager extends DataManager<HistoricTas
   List<HistoricTaskInstance> findHistoricTaskInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricTaskInstanceCountByNativeQuery(Map<String, Object> parameterMap);
-  
+
+  void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds);
+
 }
@@ -38,5 +38,7 @@ public interface HistoricVariableInstanceDataManager extends DataManager<Histori
   List<HistoricVariableInstance> findHistoricVariableInstancesByNativeQuery(Map<String, Object> parameterMap, int firstResult, int maxResults);
 
   long findHistoricVariableInstanceCountByNativeQuery(Map<String, Object> parameterMap);
-  
+
+  void deleteHistoricVariableInstancesByProcessInstanceIds(List<String> processInstanceIds);
+
 }
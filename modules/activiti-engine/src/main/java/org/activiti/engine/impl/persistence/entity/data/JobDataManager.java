@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data;
 
+import java.util.Date;
 import java.util.List;
 
 import org.activiti.engine.impl.JobQueryImpl;
@@ -26,6 +27,8 @@ public interface JobDataManager extends DataManager<JobEntity> {
 
   List<JobEntity> findJobsToExecute(Page page);
 
+  List<JobEntity> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime);
+
   List<JobEntity> findJobsByExecutionId(final String executionId);
 
   List<JobEntity> findJobsByProcessDefinitionId(final String processDefinitionId);
@@ -35,6 +35,8 @@ public interface VariableInstanceDataManager extends DataManager<VariableInstanc
 
   List<VariableInstanceEntity> findVariableInstancesByExecutionAndNames(String executionId, Collection<String> names);
 
+  List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names);
+
   VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String variableName);
 
   List<VariableInstanceEntity> findVariableInstancesByTaskAndNames(String taskId, Collection<String> names);
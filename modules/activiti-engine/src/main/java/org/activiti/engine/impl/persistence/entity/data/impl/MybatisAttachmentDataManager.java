@@ -52,4 +52,10 @@ public class MybatisAttachmentDataManager extends AbstractDataManager<Attachment
     return getDbSqlSession().selectList("selectAttachmentsByTaskId", taskId);
   }
 
+  @Override
+  public void deleteAttachmentsByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteAttachmentContentByProcessInstanceIds", processInstanceIds, AttachmentEntityImpl.class);
+    getDbSqlSession().delete("bulkDeleteAttachmentsByProcessInstanceIds", processInstanceIds, AttachmentEntityImpl.class);
+  }
+
 }
@@ -110,5 +110,10 @@ public class MybatisCommentDataManager extends AbstractDataManager<CommentEntity
   public Event findEvent(String commentId) {
     return findById(commentId);
   }
-  
+
+  @Override
+  public void deleteCommentsByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteCommentsByProcessInstanceIds", processInstanceIds, CommentEntityImpl.class);
+  }
+
 }
@@ -27,6 +27,7 @@ import org.activiti.engine.impl.cfg.PerformanceSettings;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
 import org.activiti.engine.impl.persistence.SingleCachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
@@ -35,6 +36,7 @@ import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.Execut
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByParentExecutionIdAndActivityIdEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByParentExecutionIdEntityMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByProcessInstanceIdEntityMatcher;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByProcessInstanceIdIndex;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByRootProcessInstanceMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsWithSameRootProcessInstanceIdMatcher;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.InactiveExecutionsByProcInstMatcher;
@@ -84,6 +86,9 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
   
   protected CachedEntityMatcher<ExecutionEntity> processInstancesByProcessDefinitionMatcher
     = new ProcessInstancesByProcessDefinitionMatcher();
+  
+  protected CachedEntityIndex<ExecutionEntity> executionsByProcessInstanceIdIndex
+    = new ExecutionsByProcessInstanceIdIndex();
 
   public MybatisExecutionDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
@@ -155,9 +160,10 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
   public List<ExecutionEntity> findChildExecutionsByProcessInstanceId(final String processInstanceId) {
     if (performanceSettings.isEnableEagerExecutionTreeFetching()) {
       findByIdAndFetchExecutionTree(processInstanceId);
-      return getListFromCache(executionsByProcessInstanceIdMatcher, processInstanceId);
+      return getListFromCache(executionsByProcessInstanceIdMatcher, processInstanceId, executionsByProcessInstanceIdIndex, processInstanceId);
     } else {
-      return getList("selectChildExecutionsByProcessInstanceId", processInstanceId, executionsByProcessInstanceIdMatcher, true);
+      return getList("selectChildExecutionsByProcessInstanceId", processInstanceId, executionsByProcessInstanceIdMatcher, true, 
+          executionsByProcessInstanceIdIndex, processInstanceId);
     }
   }
 
@@ -189,9 +195,10 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
   public List<ExecutionEntity> findExecutionsByProcessInstanceId(final String processInstanceId) {
     if (performanceSettings.isEnableEagerExecutionTreeFetching()) {
       findByIdAndFetchExecutionTree(processInstanceId);
-      return getListFromCache(executionByProcessInstanceMatcher, processInstanceId);
+      return getListFromCache(executionByProcessInstanceMatcher, processInstanceId, executionsByProcessInstanceIdIndex, processInstanceId);
     } else {
-      return getList("selectExecutionsByProcessInstanceId", processInstanceId, executionByProcessInstanceMatcher, true);
+      return getList("selectExecutionsByProcessInstanceId", processInstanceId, executionByProcessInstanceMatcher, true, 
+          executionsByProcessInstanceIdIndex, processInstanceId);
     }
   }
   
@@ -203,9 +210,10 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     
     if (performanceSettings.isEnableEagerExecutionTreeFetching()) {
       findByIdAndFetchExecutionTree(processInstanceId);
-      return getListFromCache(inactiveExecutionsByProcInstMatcher, params);
+      return getListFromCache(inactiveExecutionsByProcInstMatcher, params, executionsByProcessInstanceIdIndex, processInstanceId);
     } else {
-      return getList("selectInactiveExecutionsForProcessInstance", params, inactiveExecutionsByProcInstMatcher, true);
+      return getList("selectInactiveExecutionsForProcessInstance", params, inactiveExecutionsByProcInstMatcher, true, 
+          executionsByProcessInstanceIdIndex, processInstanceId);
     }
   }
   
@@ -218,9 +226,10 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     
     if (performanceSettings.isEnableEagerExecutionTreeFetching()) {
       findByIdAndFetchExecutionTree(processInstanceId);
-      return getListFromCache(inactiveExecutionsInActivityAndProcInstMatcher, params);
+      return getListFromCache(inactiveExecutionsInActivityAndProcInstMatcher, params, executionsByProcessInstanceIdIndex, processInstanceId);
     } else {
-      return getList("selectInactiveExecutionsInActivityAndProcessInstance", params, inactiveExecutionsInActivityAndProcInstMatcher, true);
+      return getList("selectInactiveExecutionsInActivityAndProcessInstance", params, inactiveExecutionsInActivityAndProcInstMatcher, true, 
+          executionsByProcessInstanceIdIndex, processInstanceId);
     }
   }
   
@@ -246,6 +255,17 @@ public class MybatisExecutionDataManager extends AbstractDataManager<ExecutionEn
     return (Long) getDbSqlSession().selectOne("selectProcessInstanceCountByQueryCriteria", executionQuery);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public Map<String, Long> findProcessInstanceCountsByProcessDefinition() {
+    List<Map<String, Object>> rows = getDbSqlSession().selectList("selectProcessInstanceCountsByProcessDefinition", null, false);
+    Map<String, Long> counts = new HashMap<String, Long>(rows.size());
+    for (Map<String, Object> row : rows) {
+      counts.put((String) row.get("processDefinitionId"), (Long) row.get("count"));
+    }
+    return counts;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<ProcessInstance> findProcessInstanceByQueryCriteria(ProcessInstanceQueryImpl executionQuery) {
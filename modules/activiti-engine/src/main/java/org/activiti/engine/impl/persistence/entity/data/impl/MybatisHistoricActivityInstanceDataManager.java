@@ -90,5 +90,9 @@ public class MybatisHistoricActivityInstanceDataManager extends AbstractDataMana
     return (Long) getDbSqlSession().selectOne("selectHistoricActivityInstanceCountByNativeQuery", parameterMap);
   }
 
-  
+  @Override
+  public void deleteHistoricActivityInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteHistoricActivityInstancesByProcessInstanceIds", processInstanceIds, HistoricActivityInstanceEntityImpl.class);
+  }
+
 }
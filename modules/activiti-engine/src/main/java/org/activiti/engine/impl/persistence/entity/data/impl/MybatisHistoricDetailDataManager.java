@@ -105,5 +105,11 @@ public class MybatisHistoricDetailDataManager extends AbstractDataManager<Histor
   public long findHistoricDetailCountByNativeQuery(Map<String, Object> parameterMap) {
     return (Long) getDbSqlSession().selectOne("selectHistoricDetailCountByNativeQuery", parameterMap);
   }
-  
+
+  @Override
+  public void deleteHistoricDetailsByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteHistoricDetailByteArraysByProcessInstanceIds", processInstanceIds, HistoricDetailEntityImpl.class);
+    getDbSqlSession().delete("bulkDeleteHistoricDetailsByProcessInstanceIds", processInstanceIds, HistoricDetailEntityImpl.class);
+  }
+
 }
@@ -53,5 +53,10 @@ public class MybatisHistoricIdentityLinkDataManager extends AbstractDataManager<
   public List<HistoricIdentityLinkEntity> findHistoricIdentityLinksByProcessInstanceId(final String processInstanceId) {
     return getList("selectHistoricIdentityLinksByProcessInstance", processInstanceId, historicIdentityLinksByProcInstMatcher, true);
   }
-  
+
+  @Override
+  public void deleteHistoricIdentityLinksByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteHistoricIdentityLinksByProcessInstanceIds", processInstanceIds, HistoricIdentityLinkEntityImpl.class);
+  }
+
 }
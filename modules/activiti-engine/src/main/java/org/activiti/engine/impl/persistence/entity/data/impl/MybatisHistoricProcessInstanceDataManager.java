@@ -13,12 +13,15 @@
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.activiti.engine.history.HistoricProcessInstance;
 import org.activiti.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.db.ListQueryParameterObject;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.HistoricProcessInstanceEntityImpl;
@@ -72,6 +75,17 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
     return getDbSqlSession().selectList("selectHistoricProcessInstancesByQueryCriteria", historicProcessInstanceQuery);
   }
   
+  @Override
+  @SuppressWarnings("unchecked")
+  public Map<String, Long> findFinishedHistoricProcessInstanceCountsByProcessDefinition() {
+    List<Map<String, Object>> rows = getDbSqlSession().selectList("selectFinishedHistoricProcessInstanceCountsByProcessDefinition", null, false);
+    Map<String, Long> counts = new HashMap<String, Long>(rows.size());
+    for (Map<String, Object> row : rows) {
+      counts.put((String) row.get("processDefinitionId"), (Long) row.get("count"));
+    }
+    return counts;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public List<HistoricProcessInstance> findHistoricProcessInstancesAndVariablesByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
@@ -122,5 +136,30 @@ public class MybatisHistoricProcessInstanceDataManager extends AbstractDataManag
   public long findHistoricProcessInstanceCountByNativeQuery(Map<String, Object> parameterMap) {
     return (Long) getDbSqlSession().selectOne("selectHistoricProcessInstanceCountByNativeQuery", parameterMap);
   }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findFinishedHistoricProcessInstanceIds(Date finishedBefore, String processDefinitionKey, String tenantId, int maxResults) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("finishedBefore", finishedBefore);
+    params.put("processDefinitionKey", processDefinitionKey);
+    params.put("tenantId", tenantId);
+    
+    // Paging needs a deterministic order, the ROW_NUMBER() based paging of some databases is built from it
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject(params, 0, maxResults);
+    parameterObject.setOrderBy("RES.END_TIME_ asc, RES.ID_ asc");
+    return getDbSqlSession().selectList("selectFinishedHistoricProcessInstanceIds", parameterObject, false);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<String> findHistoricProcessInstanceIdsBySuperProcessInstanceIds(List<String> superProcessInstanceIds) {
+    return getDbSqlSession().selectList("selectHistoricProcessInstanceIdsBySuperProcessInstanceIds", superProcessInstanceIds, false);
+  }
+
+  @Override
+  public void deleteHistoricProcessInstancesByIds(List<String> historicProcessInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteHistoricProcessInstancesByIds", historicProcessInstanceIds, HistoricProcessInstanceEntityImpl.class);
+  }
   
 }
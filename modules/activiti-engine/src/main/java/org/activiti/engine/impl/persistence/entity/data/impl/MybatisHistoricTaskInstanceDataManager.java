@@ -123,5 +123,10 @@ public class MybatisHistoricTaskInstanceDataManager extends AbstractDataManager<
   public long findHistoricTaskInstanceCountByNativeQuery(Map<String, Object> parameterMap) {
     return (Long) getDbSqlSession().selectOne("selectHistoricTaskInstanceCountByNativeQuery", parameterMap);
   }
-  
+
+  @Override
+  public void deleteHistoricTaskInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteHistoricTaskInstancesByProcessInstanceIds", processInstanceIds, HistoricTaskInstanceEntityImpl.class);
+  }
+
 }
@@ -91,5 +91,11 @@ public class MybatisHistoricVariableInstanceDataManager extends AbstractDataMana
   public long findHistoricVariableInstanceCountByNativeQuery(Map<String, Object> parameterMap) {
     return (Long) getDbSqlSession().selectOne("selectHistoricVariableInstanceCountByNativeQuery", parameterMap);
   }
-  
+
+  @Override
+  public void deleteHistoricVariableInstancesByProcessInstanceIds(List<String> processInstanceIds) {
+    getDbSqlSession().delete("bulkDeleteHistoricVariableInstanceByteArraysByProcessInstanceIds", processInstanceIds, HistoricVariableInstanceEntityImpl.class);
+    getDbSqlSession().delete("bulkDeleteHistoricVariableInstancesByProcessInstanceIds", processInstanceIds, HistoricVariableInstanceEntityImpl.class);
+  }
+
 }
@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -56,6 +57,26 @@ public class MybatisJobDataManager extends AbstractDataManager<JobEntity> implem
     return getDbSqlSession().selectList("selectJobsToExecute", null, page);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findAndLockJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+    List<String> jobIds = getDbSqlSession().selectList("selectJobIdsToExecute", null, page);
+    if (jobIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("ids", jobIds);
+    params.put("lockOwner", lockOwner);
+    params.put("lockExpirationTime", lockExpirationTime);
+    int lockedJobs = getDbSqlSession().update("bulkLockJobs", params);
+    if (lockedJobs == 0) {
+      return Collections.emptyList();
+    }
+
+    return getDbSqlSession().selectList("selectJobsByIdsAndLockOwner", params);
+  }
+
   @Override
   public List<JobEntity> findJobsByExecutionId(final String executionId) {
     return getList("selectJobsByExecutionId", executionId, jobsByExecutionIdMatcher, true);
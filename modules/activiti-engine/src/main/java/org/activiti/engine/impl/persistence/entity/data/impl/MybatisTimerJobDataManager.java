@@ -12,6 +12,7 @@
  */
 package org.activiti.engine.impl.persistence.entity.data.impl;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -68,6 +69,27 @@ public class MybatisTimerJobDataManager extends AbstractDataManager<TimerJobEnti
     Date now = getClock().getCurrentTime();
     return getDbSqlSession().selectList("selectTimerJobsToExecute", now, page);
   }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<TimerJobEntity> findAndLockTimerJobsToExecute(Page page, String lockOwner, Date lockExpirationTime) {
+    Date now = getClock().getCurrentTime();
+    List<String> jobIds = getDbSqlSession().selectList("selectTimerJobIdsToExecute", now, page);
+    if (jobIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("ids", jobIds);
+    params.put("lockOwner", lockOwner);
+    params.put("lockExpirationTime", lockExpirationTime);
+    int lockedJobs = getDbSqlSession().update("bulkLockTimerJobs", params);
+    if (lockedJobs == 0) {
+      return Collections.emptyList();
+    }
+
+    return getDbSqlSession().selectList("selectTimerJobsByIdsAndLockOwner", params);
+  }
   
   @Override
   @SuppressWarnings("unchecked")
@@ -20,11 +20,14 @@ import java.util.Set;
 
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.persistence.CachedEntityMatcher;
+import org.activiti.engine.impl.persistence.cache.CachedEntityIndex;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.activiti.engine.impl.persistence.entity.VariableInstanceEntityImpl;
 import org.activiti.engine.impl.persistence.entity.data.AbstractDataManager;
 import org.activiti.engine.impl.persistence.entity.data.VariableInstanceDataManager;
 import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariableByExecutionIdMatcher;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariablesByExecutionIdIndex;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.VariablesByExecutionIdsAndNamesMatcher;
 
 /**
  * @author Joram Barrez
@@ -32,6 +35,10 @@ import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.Variab
 public class MybatisVariableInstanceDataManager extends AbstractDataManager<VariableInstanceEntity> implements VariableInstanceDataManager {
   
   protected CachedEntityMatcher<VariableInstanceEntity> variableInstanceEntity = new VariableByExecutionIdMatcher();
+  
+  protected CachedEntityIndex<VariableInstanceEntity> variablesByExecutionIdIndex = new VariablesByExecutionIdIndex();
+  
+  protected CachedEntityMatcher<VariableInstanceEntity> variablesByExecutionIdsAndNamesMatcher = new VariablesByExecutionIdsAndNamesMatcher();
 
   public MybatisVariableInstanceDataManager(ProcessEngineConfigurationImpl processEngineConfiguration) {
     super(processEngineConfiguration);
@@ -63,7 +70,7 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
   
   @Override
   public List<VariableInstanceEntity> findVariableInstancesByExecutionId(final String executionId) {
-    return getList("selectVariablesByExecutionId", executionId, variableInstanceEntity, true);
+    return getList("selectVariablesByExecutionId", executionId, variableInstanceEntity, true, variablesByExecutionIdIndex, executionId);
   }
   
   @Override
@@ -89,6 +96,14 @@ public class MybatisVariableInstanceDataManager extends AbstractDataManager<Vari
     return getDbSqlSession().selectList("selectVariableInstancesByExecutionAndNames", params);
   }
 
+  @Override
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdsAndNames(Collection<String> executionIds, Collection<String> names) {
+    Map<String, Object> params = new HashMap<String, Object>(2);
+    params.put("executionIds", executionIds);
+    params.put("names", names);
+    return getList("selectVariableInstancesByExecutionIdsAndNames", params, variablesByExecutionIdsAndNamesMatcher, true);
+  }
+
   @Override
   public VariableInstanceEntity findVariableInstanceByTaskAndName(String taskId, String variableName) {
     Map<String, String> params = new HashMap<String, String>(2);
@@ -0,0 +1,34 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.persistence.entity.data.impl.cachematcher;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.activiti.engine.impl.persistence.CachedEntityMatcherAdapter;
+import org.activiti.engine.impl.persistence.entity.VariableInstanceEntity;
+
+public class VariablesByExecutionIdsAndNamesMatcher extends CachedEntityMatcherAdapter<VariableInstanceEntity> {
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean isRetained(VariableInstanceEntity variableInstanceEntity, Object parameter) {
+    if (variableInstanceEntity.getExecutionId() == null || variableInstanceEntity.getTaskId() != null) {
+      return false;
+    }
+    Map<String, Object> parameterMap = (Map<String, Object>) parameter;
+    return ((Collection<String>) parameterMap.get("executionIds")).contains(variableInstanceEntity.getExecutionId())
+        && ((Collection<String>) parameterMap.get("names")).contains(variableInstanceEntity.getName());
+  }
+
+}
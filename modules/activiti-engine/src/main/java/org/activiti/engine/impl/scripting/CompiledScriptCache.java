@@ -0,0 +1,184 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.scripting;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.script.CompiledScript;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of {@link CompiledScript} instances, grouped by process definition and keyed by script language and source.
+ * 
+ * Every process definition keeps at most 'limit' compiled scripts, the least recently used one is evicted first.
+ * At most 'processDefinitionLimit' process definitions are kept, the scripts of the least recently used process definition
+ * are evicted first. Scripts that are evaluated outside of a process definition are grouped together.
+ */
+public class CompiledScriptCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(CompiledScriptCache.class);
+
+  protected static final String NO_PROCESS_DEFINITION = "";
+  protected static final int DEFAULT_PROCESS_DEFINITION_LIMIT = 100;
+
+  protected final int limit;
+  protected final int processDefinitionLimit;
+  protected Map<String, Map<ScriptKey, CompiledScript>> cache;
+
+  protected AtomicLong hitCount = new AtomicLong();
+  protected AtomicLong missCount = new AtomicLong();
+
+  public CompiledScriptCache(int limit) {
+    this(limit, DEFAULT_PROCESS_DEFINITION_LIMIT);
+  }
+
+  public CompiledScriptCache(int limit, final int processDefinitionLimit) {
+    this.limit = limit;
+    this.processDefinitionLimit = processDefinitionLimit;
+    this.cache = Collections.synchronizedMap(new LinkedHashMap<String, Map<ScriptKey, CompiledScript>>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, Map<ScriptKey, CompiledScript>> eldest) {
+        boolean removeEldest = size() > processDefinitionLimit;
+        if (removeEldest && logger.isTraceEnabled()) {
+          logger.trace("Compiled script cache process definition limit is reached, scripts of process definition '{}' will be evicted", eldest.getKey());
+        }
+        return removeEldest;
+      }
+    });
+  }
+
+  public CompiledScript get(String processDefinitionId, String language, String script) {
+    Map<ScriptKey, CompiledScript> processDefinitionCache = cache.get(getCacheKey(processDefinitionId));
+    CompiledScript compiledScript = null;
+    if (processDefinitionCache != null) {
+      compiledScript = processDefinitionCache.get(new ScriptKey(language, script));
+    }
+
+    if (compiledScript != null) {
+      hitCount.incrementAndGet();
+    } else {
+      missCount.incrementAndGet();
+    }
+    return compiledScript;
+  }
+
+  public void add(String processDefinitionId, String language, String script, CompiledScript compiledScript) {
+    String cacheKey = getCacheKey(processDefinitionId);
+    Map<ScriptKey, CompiledScript> processDefinitionCache = null;
+    synchronized (cache) {
+      processDefinitionCache = cache.get(cacheKey);
+      if (processDefinitionCache == null) {
+        processDefinitionCache = createProcessDefinitionCache(cacheKey);
+        cache.put(cacheKey, processDefinitionCache);
+      }
+    }
+    processDefinitionCache.put(new ScriptKey(language, script), compiledScript);
+  }
+
+  /**
+   * Removes all compiled scripts of the process definition, called when its deployment is removed or the process definition is cached again.
+   */
+  public void removeProcessDefinition(String processDefinitionId) {
+    cache.remove(getCacheKey(processDefinitionId));
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  protected Map<ScriptKey, CompiledScript> createProcessDefinitionCache(final String cacheKey) {
+    return Collections.synchronizedMap(new LinkedHashMap<ScriptKey, CompiledScript>(16, 0.75f, true) {
+
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<ScriptKey, CompiledScript> eldest) {
+        boolean removeEldest = size() > limit;
+        if (removeEldest && logger.isTraceEnabled()) {
+          logger.trace("Compiled script cache limit is reached for process definition '{}', script will be evicted", cacheKey);
+        }
+        return removeEldest;
+      }
+    });
+  }
+
+  protected String getCacheKey(String processDefinitionId) {
+    return processDefinitionId != null ? processDefinitionId : NO_PROCESS_DEFINITION;
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getProcessDefinitionLimit() {
+    return processDefinitionLimit;
+  }
+
+  // For testing purposes only
+  public int size() {
+    int size = 0;
+    synchronized (cache) {
+      for (Map<ScriptKey, CompiledScript> processDefinitionCache : cache.values()) {
+        size += processDefinitionCache.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Cache key based on the hash of the script source. The full source is compared on a hash collision.
+   */
+  protected static class ScriptKey {
+
+    protected final String language;
+    protected final String script;
+    protected final int hash;
+
+    public ScriptKey(String language, String script) {
+      this.language = language;
+      this.script = script;
+      this.hash = 31 * language.hashCode() + script.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ScriptKey)) {
+        return false;
+      }
+      ScriptKey other = (ScriptKey) obj;
+      return hash == other.hash && language.equals(other.language) && script.equals(other.script);
+    }
+  }
+}
@@ -0,0 +1,33 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.scripting;
+
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheEvictionListener;
+import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
+
+/**
+ * Removes the compiled scripts of a process definition when it is evicted from the process definition cache.
+ */
+public class CompiledScriptCacheEvictionListener implements DeploymentCacheEvictionListener<ProcessDefinitionCacheEntry> {
+
+  protected CompiledScriptCache compiledScriptCache;
+
+  public CompiledScriptCacheEvictionListener(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+  }
+
+  public void evicted(String processDefinitionId, ProcessDefinitionCacheEntry cacheEntry) {
+    compiledScriptCache.removeProcessDefinition(processDefinitionId);
+  }
+
+}
@@ -17,6 +17,8 @@ import java.util.List;
 import java.util.Map;
 
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -24,6 +26,8 @@ import javax.script.ScriptEngineManager;
 import javax.script.ScriptException;
 
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.delegate.DelegateExecution;
+import org.activiti.engine.delegate.DelegateTask;
 import org.activiti.engine.delegate.VariableScope;
 
 /**
@@ -41,6 +45,7 @@ public class ScriptingEngines {
 
   protected boolean cacheScriptingEngines = true;
   protected Map<String, ScriptEngine> cachedEngines;
+  protected CompiledScriptCache compiledScriptCache;
 
   public ScriptingEngines(ScriptBindingsFactory scriptBindingsFactory) {
     this(new ScriptEngineManager());
@@ -66,11 +71,11 @@ public class ScriptingEngines {
   }
 
   public Object evaluate(String script, String language, VariableScope variableScope) {
-    return evaluate(script, language, createBindings(variableScope));
+    return evaluate(script, language, createBindings(variableScope), getProcessDefinitionId(variableScope));
   }
 
   public Object evaluate(String script, String language, VariableScope variableScope, boolean storeScriptVariables) {
-    return evaluate(script, language, createBindings(variableScope, storeScriptVariables));
+    return evaluate(script, language, createBindings(variableScope, storeScriptVariables), getProcessDefinitionId(variableScope));
   }
 
   public void setCacheScriptingEngines(boolean cacheScriptingEngines) {
@@ -82,14 +87,52 @@ public class ScriptingEngines {
   }
 
   protected Object evaluate(String script, String language, Bindings bindings) {
+    return evaluate(script, language, bindings, null);
+  }
+
+  protected Object evaluate(String script, String language, Bindings bindings, String processDefinitionId) {
     ScriptEngine scriptEngine = getEngineByName(language);
     try {
+      CompiledScript compiledScript = getCompiledScript(scriptEngine, script, language, processDefinitionId);
+      if (compiledScript != null) {
+        return compiledScript.eval(bindings);
+      }
       return scriptEngine.eval(script, bindings);
     } catch (ScriptException e) {
       throw new ActivitiException("problem evaluating script: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Returns the compiled script from the {@link CompiledScriptCache}, compiling it when needed.
+   * Returns null when the script should be evaluated directly: no cache is configured, the script isn't
+   * evaluated for a process definition, the engine can't compile scripts or the engine isn't cached 
+   * (and therefore not safe for multi-threaded access).
+   */
+  protected CompiledScript getCompiledScript(ScriptEngine scriptEngine, String script, String language, String processDefinitionId) throws ScriptException {
+    // JUEL resolves variables while parsing, so its scripts can't be compiled without the bindings
+    if (compiledScriptCache == null || processDefinitionId == null || !(scriptEngine instanceof Compilable) 
+        || DEFAULT_SCRIPTING_LANGUAGE.equals(language) || cachedEngines.get(language) != scriptEngine) {
+      return null;
+    }
+
+    CompiledScript compiledScript = compiledScriptCache.get(processDefinitionId, language, script);
+    if (compiledScript == null) {
+      compiledScript = ((Compilable) scriptEngine).compile(script);
+      compiledScriptCache.add(processDefinitionId, language, script, compiledScript);
+    }
+    return compiledScript;
+  }
+
+  protected String getProcessDefinitionId(VariableScope variableScope) {
+    if (variableScope instanceof DelegateExecution) {
+      return ((DelegateExecution) variableScope).getProcessDefinitionId();
+    } else if (variableScope instanceof DelegateTask) {
+      return ((DelegateTask) variableScope).getProcessDefinitionId();
+    }
+    return null;
+  }
+
   protected ScriptEngine getEngineByName(String language) {
     ScriptEngine scriptEngine = null;
 
@@ -139,6 +182,14 @@ public class ScriptingEngines {
     return scriptBindingsFactory.createBindings(variableScope, storeScriptVariables);
   }
 
+  public CompiledScriptCache getCompiledScriptCache() {
+    return compiledScriptCache;
+  }
+
+  public void setCompiledScriptCache(CompiledScriptCache compiledScriptCache) {
+    this.compiledScriptCache = compiledScriptCache;
+  }
+
   public ScriptBindingsFactory getScriptBindingsFactory() {
     return scriptBindingsFactory;
   }
@@ -26,7 +26,10 @@ import org.activiti.bpmn.model.Process;
 import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.bpmn.model.SubProcess;
 import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.repository.ProcessDefinition;
 
 public class ExecutionGraphUtil {
 
@@ -68,6 +71,13 @@ public class ExecutionGraphUtil {
    * Verifies if the element with the given source identifier can reach the element with the target identifier through following sequence flow.
    */
   public static boolean isReachable(String processDefinitionId, String sourceElementId, String targetElementId) {
+    if (Context.getProcessEngineConfiguration() != null) {
+      Boolean reachable = getReachabilityIndex(processDefinitionId).isReachable(sourceElementId, targetElementId);
+      if (reachable != null) {
+        return reachable;
+      }
+      // Unknown element ids: fall through to get the same exception as before
+    }
 
     // Fetch source and target elements
     Process process = ProcessDefinitionUtil.getProcess(processDefinitionId);
@@ -99,6 +109,15 @@ public class ExecutionGraphUtil {
     return isReachable(process, sourceElement, targetElement, visitedElements);
   }
 
+  /**
+   * Returns the reachability index of the process definition, which answers {@link #isReachable(String, String, String)} without walking the process.
+   */
+  public static FlowNodeReachabilityIndex getReachabilityIndex(String processDefinitionId) {
+    DeploymentManager deploymentManager = Context.getProcessEngineConfiguration().getDeploymentManager();
+    ProcessDefinition processDefinition = deploymentManager.findDeployedProcessDefinitionById(processDefinitionId);
+    return deploymentManager.resolveProcessDefinition(processDefinition).getReachabilityIndex();
+  }
+
   public static boolean isReachable(Process process, FlowNode sourceElement, FlowNode targetElement, Set<String> visitedElements) {
 
     // No outgoing seq flow: could be the end of eg . the process or an embedded subprocess
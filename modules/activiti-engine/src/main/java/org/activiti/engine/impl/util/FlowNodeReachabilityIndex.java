@@ -0,0 +1,152 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.impl.util;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.bpmn.model.FlowElement;
+import org.activiti.bpmn.model.FlowElementsContainer;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.SubProcess;
+
+/**
+ * The transitive closure of the sequence flow graph of a {@link Process}, so checking whether one flow node
+ * can reach another doesn't need to walk the graph.
+ * 
+ * Reachability follows the same rules as {@link ExecutionGraphUtil#isReachable(Process, FlowNode, FlowNode, java.util.Set)}:
+ * sequence flow is followed to its target, and a flow node without outgoing sequence flow continues with the outgoing sequence flow
+ * of the sub process it is part of. Sequence flow ids are resolved to their target flow node.
+ * 
+ * The index is created once per process definition and cached with it, see {@link org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry}.
+ */
+public class FlowNodeReachabilityIndex implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected final Map<String, Integer> flowNodeIndexes = new HashMap<String, Integer>();
+  protected final Map<String, Integer> sequenceFlowTargetIndexes = new HashMap<String, Integer>();
+  protected final BitSet[] reachableFlowNodes;
+
+  public FlowNodeReachabilityIndex(Process process) {
+    List<FlowNode> flowNodes = new ArrayList<FlowNode>();
+    List<SequenceFlow> sequenceFlows = new ArrayList<SequenceFlow>();
+    Map<String, FlowElementsContainer> parents = new HashMap<String, FlowElementsContainer>();
+    collectFlowElements(process, flowNodes, sequenceFlows, parents);
+
+    for (int i = 0; i < flowNodes.size(); i++) {
+      flowNodeIndexes.put(flowNodes.get(i).getId(), i);
+    }
+    for (SequenceFlow sequenceFlow : sequenceFlows) {
+      Integer targetIndex = flowNodeIndexes.get(sequenceFlow.getTargetRef());
+      if (targetIndex != null) {
+        sequenceFlowTargetIndexes.put(sequenceFlow.getId(), targetIndex);
+      }
+    }
+
+    // A flow node without outgoing sequence flow continues with the outgoing sequence flow of its parent sub process,
+    // which is the node that is compared with the target in that case
+    int[] continuingFlowNodes = new int[flowNodes.size()];
+    for (int i = 0; i < flowNodes.size(); i++) {
+      FlowNode flowNode = flowNodes.get(i);
+      continuingFlowNodes[i] = i;
+      if (flowNode.getOutgoingFlows().isEmpty()) {
+        FlowElementsContainer parent = parents.get(flowNode.getId());
+        continuingFlowNodes[i] = parent instanceof SubProcess ? flowNodeIndexes.get(((SubProcess) parent).getId()) : -1;
+      }
+    }
+
+    List<List<Integer>> successors = new ArrayList<List<Integer>>(flowNodes.size());
+    for (int i = 0; i < flowNodes.size(); i++) {
+      List<Integer> flowNodeSuccessors = new ArrayList<Integer>();
+      if (continuingFlowNodes[i] >= 0) {
+        for (SequenceFlow sequenceFlow : flowNodes.get(continuingFlowNodes[i]).getOutgoingFlows()) {
+          Integer targetIndex = flowNodeIndexes.get(sequenceFlow.getTargetRef());
+          if (targetIndex != null) {
+            flowNodeSuccessors.add(targetIndex);
+          }
+        }
+      }
+      successors.add(flowNodeSuccessors);
+    }
+
+    reachableFlowNodes = new BitSet[flowNodes.size()];
+    for (int i = 0; i < flowNodes.size(); i++) {
+      reachableFlowNodes[i] = determineReachableFlowNodes(i, continuingFlowNodes, successors);
+    }
+  }
+
+  protected void collectFlowElements(FlowElementsContainer container, List<FlowNode> flowNodes, List<SequenceFlow> sequenceFlows,
+      Map<String, FlowElementsContainer> parents) {
+    for (FlowElement flowElement : container.getFlowElements()) {
+      if (flowElement instanceof FlowNode) {
+        flowNodes.add((FlowNode) flowElement);
+        parents.put(flowElement.getId(), container);
+      } else if (flowElement instanceof SequenceFlow) {
+        sequenceFlows.add((SequenceFlow) flowElement);
+      }
+      if (flowElement instanceof FlowElementsContainer) {
+        collectFlowElements((FlowElementsContainer) flowElement, flowNodes, sequenceFlows, parents);
+      }
+    }
+  }
+
+  protected BitSet determineReachableFlowNodes(int sourceIndex, int[] continuingFlowNodes, List<List<Integer>> successors) {
+    BitSet reachable = new BitSet(continuingFlowNodes.length);
+    BitSet visited = new BitSet(continuingFlowNodes.length);
+    List<Integer> stack = new ArrayList<Integer>();
+    stack.add(sourceIndex);
+    visited.set(sourceIndex);
+    while (!stack.isEmpty()) {
+      int index = stack.remove(stack.size() - 1);
+      if (continuingFlowNodes[index] >= 0) {
+        reachable.set(continuingFlowNodes[index]);
+      }
+      for (Integer successor : successors.get(index)) {
+        if (!visited.get(successor)) {
+          visited.set(successor);
+          stack.add(successor);
+        }
+      }
+    }
+    return reachable;
+  }
+
+  /**
+   * Returns whether the flow node (or sequence flow) with the given source id can reach the flow node (or sequence flow target) with the target id,
+   * or null when one of the ids is not part of the process.
+   */
+  public Boolean isReachable(String sourceElementId, String targetElementId) {
+    Integer sourceIndex = getFlowNodeIndex(sourceElementId);
+    Integer targetIndex = getFlowNodeIndex(targetElementId);
+    if (sourceIndex == null || targetIndex == null) {
+      return null;
+    }
+    return reachableFlowNodes[sourceIndex].get(targetIndex);
+  }
+
+  protected Integer getFlowNodeIndex(String elementId) {
+    Integer index = flowNodeIndexes.get(elementId);
+    if (index == null) {
+      index = sequenceFlowTargetIndexes.get(elementId);
+    }
+    return index;
+  }
+
+}
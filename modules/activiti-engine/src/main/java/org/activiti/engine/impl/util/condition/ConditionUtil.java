@@ -1,12 +1,18 @@
 package org.activiti.engine.impl.util.condition;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.activiti.bpmn.model.SequenceFlow;
 import org.activiti.engine.DynamicBpmnConstants;
 import org.activiti.engine.delegate.DelegateExecution;
 import org.activiti.engine.delegate.Expression;
 import org.activiti.engine.impl.Condition;
 import org.activiti.engine.impl.context.Context;
+import org.activiti.engine.impl.el.ExpressionVariableNames;
 import org.activiti.engine.impl.el.UelExpressionCondition;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
 import org.apache.commons.lang3.StringUtils;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -19,13 +25,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 public class ConditionUtil {
 
   public static boolean hasTrueCondition(SequenceFlow sequenceFlow, DelegateExecution execution) {
-    String conditionExpression = null;
-    if (Context.getProcessEngineConfiguration().isEnableProcessDefinitionInfoCache()) {
-      ObjectNode elementProperties = Context.getBpmnOverrideElementProperties(sequenceFlow.getId(), execution.getProcessDefinitionId());
-      conditionExpression = getActiveValue(sequenceFlow.getConditionExpression(), DynamicBpmnConstants.SEQUENCE_FLOW_CONDITION, elementProperties);
-    } else {
-      conditionExpression = sequenceFlow.getConditionExpression();
-    }
+    String conditionExpression = getConditionExpression(sequenceFlow, execution);
     
     if (StringUtils.isNotEmpty(conditionExpression)) {
 
@@ -42,6 +42,38 @@ public class ConditionUtil {
     }
 
   }
+  
+  /**
+   * Fetches the variables used in the conditions of the given sequence flows in one go,
+   * when condition variable prefetching is enabled in the {@link org.activiti.engine.impl.cfg.PerformanceSettings}.
+   */
+  public static void prefetchConditionVariables(Collection<SequenceFlow> sequenceFlows, DelegateExecution execution) {
+    if (!Context.getProcessEngineConfiguration().getPerformanceSettings().isEnableConditionVariablePrefetching()
+        || !(execution instanceof ExecutionEntity)) {
+      return;
+    }
+    
+    Set<String> variableNames = new HashSet<String>();
+    for (SequenceFlow sequenceFlow : sequenceFlows) {
+      String conditionExpression = getConditionExpression(sequenceFlow, execution);
+      if (StringUtils.isNotEmpty(conditionExpression)) {
+        variableNames.addAll(ExpressionVariableNames.getVariableNames(conditionExpression));
+      }
+    }
+    
+    if (!variableNames.isEmpty()) {
+      ((ExecutionEntity) execution).prefetchVariables(variableNames);
+    }
+  }
+  
+  protected static String getConditionExpression(SequenceFlow sequenceFlow, DelegateExecution execution) {
+    if (Context.getProcessEngineConfiguration().isEnableProcessDefinitionInfoCache()) {
+      ObjectNode elementProperties = Context.getBpmnOverrideElementProperties(sequenceFlow.getId(), execution.getProcessDefinitionId());
+      return getActiveValue(sequenceFlow.getConditionExpression(), DynamicBpmnConstants.SEQUENCE_FLOW_CONDITION, elementProperties);
+    } else {
+      return sequenceFlow.getConditionExpression();
+    }
+  }
     
   protected static String getActiveValue(String originalValue, String propertyName, ObjectNode elementProperties) {
     String activeValue = originalValue;
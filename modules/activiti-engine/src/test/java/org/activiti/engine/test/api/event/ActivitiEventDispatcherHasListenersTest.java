@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.event;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.delegate.event.ActivitiEventDispatcher;
+import org.activiti.engine.delegate.event.ActivitiEventType;
+import org.activiti.engine.delegate.event.impl.ActivitiEventBuilder;
+import org.activiti.engine.delegate.event.impl.ActivitiEventDispatcherImpl;
+
+public class ActivitiEventDispatcherHasListenersTest extends TestCase {
+
+  public void testNoListeners() {
+    ActivitiEventDispatcherImpl dispatcher = new ActivitiEventDispatcherImpl();
+    for (ActivitiEventType type : ActivitiEventType.values()) {
+      assertFalse(dispatcher.hasListeners(type, null));
+    }
+  }
+  
+  public void testTypedListener() {
+    ActivitiEventDispatcherImpl dispatcher = new ActivitiEventDispatcherImpl();
+    TestActivitiEventListener listener = new TestActivitiEventListener();
+    dispatcher.addEventListener(listener, ActivitiEventType.ENTITY_CREATED, ActivitiEventType.TASK_ASSIGNED);
+    
+    assertTrue(dispatcher.hasListeners(ActivitiEventType.ENTITY_CREATED, null));
+    assertTrue(dispatcher.hasListeners(ActivitiEventType.TASK_ASSIGNED, null));
+    assertFalse(dispatcher.hasListeners(ActivitiEventType.ENTITY_DELETED, null));
+    
+    dispatcher.removeEventListener(listener);
+    assertFalse(dispatcher.hasListeners(ActivitiEventType.ENTITY_CREATED, null));
+    assertFalse(dispatcher.hasListeners(ActivitiEventType.TASK_ASSIGNED, null));
+  }
+  
+  public void testGlobalListener() {
+    ActivitiEventDispatcherImpl dispatcher = new ActivitiEventDispatcherImpl();
+    TestActivitiEventListener listener = new TestActivitiEventListener();
+    dispatcher.addEventListener(listener);
+    for (ActivitiEventType type : ActivitiEventType.values()) {
+      assertTrue(dispatcher.hasListeners(type, null));
+    }
+    
+    // A disabled dispatcher doesn't dispatch to its listeners
+    dispatcher.setEnabled(false);
+    assertFalse(dispatcher.hasListeners(ActivitiEventType.ENTITY_CREATED, null));
+  }
+  
+  public void testCustomDispatcher() {
+    ActivitiEventDispatcherImpl dispatcher = new ActivitiEventDispatcherImpl();
+    assertFalse(ActivitiEventBuilder.hasListeners(dispatcher, ActivitiEventType.ENTITY_CREATED, null));
+    
+    // Events are always created for dispatchers that can't tell whether they have listeners
+    ActivitiEventDispatcher customDispatcher = (ActivitiEventDispatcher) Proxy.newProxyInstance(getClass().getClassLoader(), 
+        new Class<?>[] { ActivitiEventDispatcher.class }, new InvocationHandler() {
+          public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return null;
+          }
+        });
+    for (ActivitiEventType type : ActivitiEventType.values()) {
+      assertTrue(ActivitiEventBuilder.hasListeners(customDispatcher, type, null));
+    }
+  }
+
+}
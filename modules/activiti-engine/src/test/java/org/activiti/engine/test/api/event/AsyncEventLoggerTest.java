@@ -0,0 +1,193 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.event;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.activiti.engine.event.EventLogEntry;
+import org.activiti.engine.impl.event.logger.AsyncEventLogWriter;
+import org.activiti.engine.impl.event.logger.EventLogOverflowPolicy;
+import org.activiti.engine.impl.event.logger.EventLogger;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntity;
+import org.activiti.engine.impl.persistence.entity.EventLogEntryEntityImpl;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.impl.util.IoUtil;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+public class AsyncEventLoggerTest extends PluggableActivitiTestCase {
+
+  protected AsyncEventLogWriter asyncEventLogWriter;
+  protected EventLogger eventLogger;
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+
+    asyncEventLogWriter = new AsyncEventLogWriter(processEngineConfiguration.getCommandExecutor(), processEngineConfiguration.getObjectMapper());
+    eventLogger = new EventLogger(processEngineConfiguration.getClock(), processEngineConfiguration.getObjectMapper());
+    eventLogger.setAsyncEventLogWriter(asyncEventLogWriter);
+    runtimeService.addEventListener(eventLogger);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    runtimeService.removeEventListener(eventLogger);
+    asyncEventLogWriter.shutdown();
+
+    for (EventLogEntry eventLogEntry : managementService.getEventLogEntries(null, null)) {
+      managementService.deleteEventLogEntry(eventLogEntry.getLogNumber());
+    }
+
+    super.tearDown();
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/event/DatabaseEventLoggerProcess.bpmn20.xml" })
+  public void testEntriesWrittenByWriter() {
+    asyncEventLogWriter.start();
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("DatabaseEventLoggerProcess", 
+        CollectionUtil.singletonMap("testVar", "helloWorld"));
+
+    // Writing all buffered entries is part of the shutdown
+    asyncEventLogWriter.shutdown();
+    assertEquals(0, asyncEventLogWriter.getBufferedCount());
+    assertEquals(0, asyncEventLogWriter.getDroppedCount());
+
+    List<EventLogEntry> eventLogEntries = managementService.getEventLogEntries(null, null);
+    assertEquals(eventLogEntries.size(), asyncEventLogWriter.getWrittenCount());
+
+    Iterator<EventLogEntry> iterator = eventLogEntries.iterator();
+    while (iterator.hasNext()) {
+      EventLogEntry entry = iterator.next();
+      if (entry.getProcessDefinitionId() != null && !entry.getProcessDefinitionId().equals(processInstance.getProcessDefinitionId())) {
+        iterator.remove();
+      }
+    }
+
+    // Same entries as written by the database event flusher
+    assertEquals(15, eventLogEntries.size());
+  }
+
+  public void testNoEntriesForFailedCommand() {
+    asyncEventLogWriter.start();
+    try {
+      runtimeService.startProcessInstanceByKey("unexisting");
+      fail();
+    } catch (Exception e) {
+      // expected
+    }
+    asyncEventLogWriter.shutdown();
+    assertEquals(0L, asyncEventLogWriter.getWrittenCount());
+  }
+
+  public void testDropWhenBufferFull() {
+    asyncEventLogWriter.setBufferSize(2);
+    asyncEventLogWriter.setOverflowPolicy(EventLogOverflowPolicy.DROP);
+
+    // The writer isn't started, so nothing is taken from the buffer
+    assertTrue(asyncEventLogWriter.addEventLogEntry(createEventLogEntry()));
+    assertTrue(asyncEventLogWriter.addEventLogEntry(createEventLogEntry()));
+    assertFalse(asyncEventLogWriter.addEventLogEntry(createEventLogEntry()));
+
+    assertEquals(2, asyncEventLogWriter.getBufferedCount());
+    assertEquals(1L, asyncEventLogWriter.getDroppedCount());
+  }
+
+  public void testSpillWhenBufferFull() throws Exception {
+    File spillFile = File.createTempFile("activiti-event-log", ".json");
+    try {
+      asyncEventLogWriter.setBufferSize(1);
+      asyncEventLogWriter.setOverflowPolicy(EventLogOverflowPolicy.SPILL);
+      asyncEventLogWriter.setSpillFile(spillFile);
+
+      assertTrue(asyncEventLogWriter.addEventLogEntry(createEventLogEntry()));
+      assertFalse(asyncEventLogWriter.addEventLogEntry(createEventLogEntry()));
+      assertFalse(asyncEventLogWriter.addEventLogEntry(createEventLogEntry()));
+
+      assertEquals(2L, asyncEventLogWriter.getSpilledCount());
+      InputStream inputStream = new FileInputStream(spillFile);
+      String[] lines = null;
+      try {
+        lines = new String(IoUtil.readInputStream(inputStream, spillFile.getName()), "UTF-8").trim().split("\n");
+      } finally {
+        IoUtil.closeSilently(inputStream);
+      }
+      assertEquals(2, lines.length);
+      assertTrue(lines[0].contains("\"type\":\"TEST\""));
+
+      // The buffered entry is written on shutdown
+      asyncEventLogWriter.start();
+      asyncEventLogWriter.shutdown();
+      assertEquals(1L, asyncEventLogWriter.getWrittenCount());
+      assertEquals(1, managementService.getEventLogEntries(null, null).size());
+
+    } finally {
+      spillFile.delete();
+    }
+  }
+
+  public void testSpillFailedBatchDuringShutdown() throws Exception {
+    File spillFile = File.createTempFile("activiti-event-log", ".json");
+    try {
+      final CountDownLatch writingBatch = new CountDownLatch(1);
+      final AsyncEventLogWriter failingWriter = new AsyncEventLogWriter(processEngineConfiguration.getCommandExecutor(), processEngineConfiguration.getObjectMapper()) {
+        @Override
+        protected void writeBatch(List<EventLogEntryEntity> batch) {
+          writingBatch.countDown();
+          while (active) {
+            Thread.yield();
+          }
+          // The batch fails while shutdown() waits for the writer thread
+          failedCount.addAndGet(batch.size());
+          spill(batch);
+        }
+      };
+      failingWriter.setOverflowPolicy(EventLogOverflowPolicy.SPILL);
+      failingWriter.setSpillFile(spillFile);
+      failingWriter.addEventLogEntry(createEventLogEntry());
+      failingWriter.start();
+      assertTrue(writingBatch.await(10, TimeUnit.SECONDS));
+
+      Thread shutdownThread = new Thread(new Runnable() {
+        public void run() {
+          failingWriter.shutdown();
+        }
+      });
+      shutdownThread.start();
+      shutdownThread.join(10000L);
+      assertFalse(shutdownThread.isAlive());
+
+      assertEquals(1L, failingWriter.getFailedCount());
+      assertEquals(1L, failingWriter.getSpilledCount());
+
+    } finally {
+      spillFile.delete();
+    }
+  }
+
+  protected EventLogEntryEntity createEventLogEntry() {
+    EventLogEntryEntity eventLogEntry = new EventLogEntryEntityImpl();
+    eventLogEntry.setType("TEST");
+    eventLogEntry.setTimeStamp(processEngineConfiguration.getClock().getCurrentTime());
+    return eventLogEntry;
+  }
+
+}
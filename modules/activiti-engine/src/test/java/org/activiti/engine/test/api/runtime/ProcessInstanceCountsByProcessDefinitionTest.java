@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.runtime;
+
+import java.util.Map;
+
+import org.activiti.engine.impl.cmd.GetFinishedHistoricProcessInstanceCountsByProcessDefinitionCmd;
+import org.activiti.engine.impl.cmd.GetProcessInstanceCountsByProcessDefinitionCmd;
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class ProcessInstanceCountsByProcessDefinitionTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testCountsByProcessDefinition() {
+    String processDefinitionId = repositoryService.createProcessDefinitionQuery().processDefinitionKey("oneTaskProcess").singleResult().getId();
+
+    for (int i = 0; i < 3; i++) {
+      runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    }
+    Task task = taskService.createTaskQuery().listPage(0, 1).get(0);
+    taskService.complete(task.getId());
+
+    Map<String, Long> runningCounts = managementService.executeCommand(new GetProcessInstanceCountsByProcessDefinitionCmd());
+    assertEquals(1, runningCounts.size());
+    assertEquals(Long.valueOf(2L), runningCounts.get(processDefinitionId));
+    assertEquals(runtimeService.createProcessInstanceQuery().processDefinitionId(processDefinitionId).count(), runningCounts.get(processDefinitionId).longValue());
+
+    if (processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      Map<String, Long> completedCounts = managementService.executeCommand(new GetFinishedHistoricProcessInstanceCountsByProcessDefinitionCmd());
+      assertEquals(1, completedCounts.size());
+      assertEquals(Long.valueOf(1L), completedCounts.get(processDefinitionId));
+    }
+  }
+
+  public void testNoProcessInstances() {
+    assertTrue(managementService.executeCommand(new GetProcessInstanceCountsByProcessDefinitionCmd()).isEmpty());
+    assertTrue(managementService.executeCommand(new GetFinishedHistoricProcessInstanceCountsByProcessDefinitionCmd()).isEmpty());
+  }
+
+}
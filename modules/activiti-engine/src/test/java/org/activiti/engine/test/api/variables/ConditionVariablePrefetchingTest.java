@@ -0,0 +1,90 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.api.variables;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Runs the conditions of an exclusive gateway with condition variable prefetching enabled.
+ */
+public class ConditionVariablePrefetchingTest extends PluggableActivitiTestCase {
+
+  @Override
+  protected void setUp() throws Exception {
+    super.setUp();
+    processEngineConfiguration.getPerformanceSettings().setEnableConditionVariablePrefetching(true);
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.getPerformanceSettings().setEnableConditionVariablePrefetching(false);
+    super.tearDown();
+  }
+
+  @Deployment
+  public void testExclusiveGateway() {
+    assertEquals("Approve", completeReview(100, true, null));
+    assertEquals("Escalate", completeReview(1000, true, null));
+    assertEquals("Reject", completeReview(100, false, null));
+
+    // A variable set when completing the task shadows the prefetched one
+    Map<String, Object> taskVariables = new HashMap<String, Object>();
+    taskVariables.put("amount", 1000);
+    assertEquals("Escalate", completeReview(100, true, taskVariables));
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/api/variables/ConditionVariablePrefetchingTest.testExclusiveGateway.bpmn20.xml")
+  public void testMissingVariable() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", 100);
+    variables.put("approved", true);
+    runtimeService.startProcessInstanceByKey("conditionVariablePrefetching", variables);
+
+    Task task = taskService.createTaskQuery().singleResult();
+    try {
+      taskService.complete(task.getId());
+      fail("Exception expected");
+    } catch (ActivitiException e) {
+      assertTextPresent("Unknown property used in expression", e.getMessage());
+    }
+  }
+
+  protected String completeReview(int amount, boolean approved, Map<String, Object> taskVariables) {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("amount", amount);
+    variables.put("limit", 500);
+    variables.put("approved", approved);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("conditionVariablePrefetching", variables);
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    assertEquals("Review", task.getName());
+    if (taskVariables != null) {
+      taskService.complete(task.getId(), taskVariables);
+    } else {
+      taskService.complete(task.getId());
+    }
+
+    task = taskService.createTaskQuery().processInstanceId(processInstance.getId()).singleResult();
+    String taskName = task.getName();
+    runtimeService.deleteProcessInstance(processInstance.getId(), null);
+    return taskName;
+  }
+
+}
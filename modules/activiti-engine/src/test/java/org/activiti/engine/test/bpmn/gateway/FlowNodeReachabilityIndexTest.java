@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.bpmn.gateway;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.impl.util.ExecutionGraphUtil;
+import org.activiti.engine.impl.util.FlowNodeReachabilityIndex;
+import org.activiti.engine.repository.ProcessDefinition;
+import org.activiti.engine.test.Deployment;
+
+/**
+ * Verifies the {@link FlowNodeReachabilityIndex} gives the same answers as walking the process.
+ */
+public class FlowNodeReachabilityIndexTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = { 
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testJoinAfterSubprocesses.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testWithSignalBoundaryEvent.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testLoop.bpmn20.xml" })
+  public void testSameResultAsGraphWalk() {
+    List<ProcessDefinition> processDefinitions = repositoryService.createProcessDefinitionQuery().list();
+    assertEquals(3, processDefinitions.size());
+
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      Process process = repositoryService.getBpmnModel(processDefinition.getId()).getMainProcess();
+      FlowNodeReachabilityIndex reachabilityIndex = new FlowNodeReachabilityIndex(process);
+
+      List<FlowNode> flowNodes = process.findFlowElementsOfType(FlowNode.class);
+      for (FlowNode source : flowNodes) {
+        for (FlowNode target : flowNodes) {
+          boolean expected = ExecutionGraphUtil.isReachable(process, source, target, new HashSet<String>());
+          assertEquals(source.getId() + " -> " + target.getId(), Boolean.valueOf(expected), reachabilityIndex.isReachable(source.getId(), target.getId()));
+        }
+      }
+
+      for (SequenceFlow sequenceFlow : process.findFlowElementsOfType(SequenceFlow.class)) {
+        for (FlowNode target : flowNodes) {
+          boolean expected = ExecutionGraphUtil.isReachable(process, (FlowNode) process.getFlowElement(sequenceFlow.getTargetRef(), true), target, new HashSet<String>());
+          assertEquals(Boolean.valueOf(expected), reachabilityIndex.isReachable(sequenceFlow.getId(), target.getId()));
+        }
+      }
+    }
+  }
+
+  @Deployment(resources = "org/activiti/engine/test/bpmn/gateway/InclusiveGatewayTest.testLoop.bpmn20.xml")
+  public void testUnknownElement() {
+    ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery().singleResult();
+    FlowNodeReachabilityIndex reachabilityIndex = new FlowNodeReachabilityIndex(repositoryService.getBpmnModel(processDefinition.getId()).getMainProcess());
+    assertNull(reachabilityIndex.isReachable("unknown", "unknown"));
+  }
+
+}
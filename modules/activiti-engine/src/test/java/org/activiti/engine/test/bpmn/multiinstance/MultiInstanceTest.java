@@ -309,6 +309,161 @@ public class MultiInstanceTest extends PluggableActivitiTestCase {
     assertProcessEnded(procId);
   }
 
+  @Deployment
+  public void testParallelUserTasksWithMaxConcurrentInstances() {
+    List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie", "bubba");
+    String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksWithMaxConcurrentInstances", CollectionUtil.singletonMap("assigneeList", assigneeList)).getId();
+
+    // Only the first two instances are started
+    List<Task> tasks = taskService.createTaskQuery().orderByTaskAssignee().asc().list();
+    assertEquals(2, tasks.size());
+    assertEquals("gonzo", tasks.get(0).getAssignee());
+    assertEquals("kermit", tasks.get(1).getAssignee());
+
+    Execution miRootExecution = retrieveOuterExecution(procId);
+    assertEquals(5, runtimeService.getVariable(miRootExecution.getId(), NR_OF_INSTANCES_KEY));
+    assertEquals(2, runtimeService.getVariable(miRootExecution.getId(), NR_OF_ACTIVE_INSTANCES_KEY));
+
+    // Completing an instance starts the next one asynchronously
+    taskService.complete(tasks.get(1).getId());
+    assertEquals(1, taskService.createTaskQuery().count());
+    Job job = managementService.createJobQuery().singleResult();
+    assertNotNull(job);
+    managementService.executeJob(job.getId());
+
+    tasks = taskService.createTaskQuery().orderByTaskAssignee().asc().list();
+    assertEquals(2, tasks.size());
+    assertEquals("gonzo", tasks.get(0).getAssignee());
+    assertEquals("mispiggy", tasks.get(1).getAssignee());
+    assertEquals(1, runtimeService.getVariable(miRootExecution.getId(), NR_OF_COMPLETED_INSTANCES_KEY));
+    assertEquals(2, runtimeService.getVariable(miRootExecution.getId(), NR_OF_ACTIVE_INSTANCES_KEY));
+
+    List<String> completedAssignees = new ArrayList<String>();
+    completedAssignees.add("kermit");
+    while (!tasks.isEmpty()) {
+      for (Task task : tasks) {
+        completedAssignees.add(task.getAssignee());
+        taskService.complete(task.getId());
+      }
+      for (Job asyncJob : managementService.createJobQuery().list()) {
+        managementService.executeJob(asyncJob.getId());
+      }
+
+      // Never more than two instances at the same time
+      tasks = taskService.createTaskQuery().list();
+      assertTrue(tasks.size() <= 2);
+    }
+
+    Collections.sort(completedAssignees);
+    assertEquals(Arrays.asList("bubba", "fozzie", "gonzo", "kermit", "mispiggy"), completedAssignees);
+    assertEquals(0, managementService.createJobQuery().count());
+    assertProcessEnded(procId);
+  }
+
+  @Deployment
+  public void testParallelUserTasksWithMaxConcurrentInstancesAndCompletionCondition() {
+    Map<String, Object> vars = new HashMap<String, Object>();
+    vars.put("assigneeList", Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie", "bubba"));
+    vars.put("maxConcurrentInstances", 2);
+    String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksWithMaxConcurrentInstancesAndCompletionCondition", vars).getId();
+
+    taskService.complete(taskService.createTaskQuery().taskAssignee("kermit").singleResult().getId());
+    taskService.complete(taskService.createTaskQuery().taskAssignee("gonzo").singleResult().getId());
+    assertEquals(0, taskService.createTaskQuery().count());
+
+    // Start the third instance only, the fourth one is still waiting
+    List<Job> jobs = managementService.createJobQuery().list();
+    assertEquals(2, jobs.size());
+    managementService.executeJob(jobs.get(0).getId());
+    assertEquals(1, managementService.createJobQuery().count());
+    Task task = taskService.createTaskQuery().singleResult();
+    assertNotNull(task);
+
+    // Completing 3 instances will trigger the completion condition, the pending instance is removed
+    taskService.complete(task.getId());
+    assertEquals(0, taskService.createTaskQuery().count());
+    assertEquals(0, managementService.createJobQuery().count());
+    assertProcessEnded(procId);
+  }
+
+  @Deployment
+  public void testParallelSubProcessWithMaxConcurrentInstances() {
+    List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie");
+    String procId = runtimeService.startProcessInstanceByKey("miParallelSubProcessWithMaxConcurrentInstances", CollectionUtil.singletonMap("assigneeList", assigneeList)).getId();
+
+    List<Task> tasks = taskService.createTaskQuery().orderByTaskAssignee().asc().list();
+    assertEquals(2, tasks.size());
+    assertEquals("gonzo", tasks.get(0).getAssignee());
+    assertEquals("kermit", tasks.get(1).getAssignee());
+
+    // The next subprocess instance is started under the same multi instance root
+    taskService.complete(tasks.get(1).getId());
+    managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+
+    Task task = taskService.createTaskQuery().taskAssignee("mispiggy").singleResult();
+    assertNotNull(task);
+    assertEquals("My Task 2", task.getName());
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, countMultiInstanceRootExecutions(procId));
+
+    List<String> completedAssignees = new ArrayList<String>();
+    completedAssignees.add("kermit");
+    tasks = taskService.createTaskQuery().list();
+    while (!tasks.isEmpty()) {
+      for (Task openTask : tasks) {
+        completedAssignees.add(openTask.getAssignee());
+        taskService.complete(openTask.getId());
+      }
+      for (Job asyncJob : managementService.createJobQuery().list()) {
+        managementService.executeJob(asyncJob.getId());
+      }
+
+      tasks = taskService.createTaskQuery().list();
+      assertTrue(tasks.size() <= 2);
+    }
+
+    Collections.sort(completedAssignees);
+    assertEquals(Arrays.asList("fozzie", "gonzo", "kermit", "mispiggy"), completedAssignees);
+    assertProcessEnded(procId);
+  }
+
+  @Deployment
+  public void testParallelUserTasksWithMaxConcurrentInstancesAndBoundaryTimer() {
+    List<String> assigneeList = Arrays.asList("kermit", "gonzo", "mispiggy", "fozzie");
+    String procId = runtimeService.startProcessInstanceByKey("miParallelUserTasksWithMaxConcurrentInstancesAndBoundaryTimer", CollectionUtil.singletonMap("assigneeList", assigneeList)).getId();
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, managementService.createTimerJobQuery().count());
+
+    // Starting the next instance doesn't create the boundary event again
+    taskService.complete(taskService.createTaskQuery().taskAssignee("kermit").singleResult().getId());
+    managementService.executeJob(managementService.createJobQuery().singleResult().getId());
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(1, managementService.createTimerJobQuery().count());
+    assertEquals(1, runtimeService.createExecutionQuery().activityId("timer").count());
+
+    // Fire timer
+    Job timer = managementService.createTimerJobQuery().singleResult();
+    managementService.moveTimerToExecutableJob(timer.getId());
+    managementService.executeJob(timer.getId());
+
+    Task taskAfterTimer = taskService.createTaskQuery().singleResult();
+    assertEquals("taskAfterTimer", taskAfterTimer.getTaskDefinitionKey());
+    assertEquals(0, managementService.createJobQuery().count());
+    taskService.complete(taskAfterTimer.getId());
+
+    assertProcessEnded(procId);
+  }
+
+  protected int countMultiInstanceRootExecutions(String processInstanceId) {
+    int count = 0;
+    for (Execution execution : runtimeService.createExecutionQuery().processInstanceId(processInstanceId).list()) {
+      if (runtimeService.hasVariableLocal(execution.getId(), NR_OF_INSTANCES_KEY)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   @Deployment
   public void testParallelUserTasksCustomExtensions() {
     checkParallelUserTasksCustomExtensions("miParallelUserTasks");
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.cache;
+
+import javax.script.CompiledScript;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.scripting.CompiledScriptCache;
+
+public class CompiledScriptCacheTest extends TestCase {
+
+  public void testScriptLimit() {
+    CompiledScriptCache cache = new CompiledScriptCache(2, 10);
+    cache.add("proc:1", "groovy", "a", new TestCompiledScript());
+    cache.add("proc:1", "groovy", "b", new TestCompiledScript());
+    assertNotNull(cache.get("proc:1", "groovy", "a"));
+
+    cache.add("proc:1", "groovy", "c", new TestCompiledScript());
+    assertEquals(2, cache.size());
+
+    // 'b' was the least recently used
+    assertNull(cache.get("proc:1", "groovy", "b"));
+    assertNotNull(cache.get("proc:1", "groovy", "a"));
+    assertNotNull(cache.get("proc:1", "groovy", "c"));
+  }
+
+  public void testProcessDefinitionLimit() {
+    CompiledScriptCache cache = new CompiledScriptCache(10, 2);
+    cache.add("proc:1", "groovy", "a", new TestCompiledScript());
+    cache.add("proc:2", "groovy", "a", new TestCompiledScript());
+    assertNotNull(cache.get("proc:1", "groovy", "a"));
+
+    cache.add("proc:3", "groovy", "a", new TestCompiledScript());
+    assertEquals(2, cache.size());
+
+    // the scripts of 'proc:2' were the least recently used
+    assertNull(cache.get("proc:2", "groovy", "a"));
+    assertNotNull(cache.get("proc:1", "groovy", "a"));
+    assertNotNull(cache.get("proc:3", "groovy", "a"));
+  }
+
+  public void testRemoveProcessDefinition() {
+    CompiledScriptCache cache = new CompiledScriptCache(10, 10);
+    cache.add("proc:1", "groovy", "a", new TestCompiledScript());
+    cache.add(null, "groovy", "a", new TestCompiledScript());
+    assertEquals(2, cache.size());
+
+    cache.removeProcessDefinition("proc:1");
+    assertEquals(1, cache.size());
+    assertNull(cache.get("proc:1", "groovy", "a"));
+    assertNotNull(cache.get(null, "groovy", "a"));
+  }
+
+  protected static class TestCompiledScript extends CompiledScript {
+
+    public Object eval(ScriptContext context) {
+      return null;
+    }
+
+    public ScriptEngine getEngine() {
+      return null;
+    }
+  }
+
+}
@@ -0,0 +1,104 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.activiti.engine.test.cache;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.persistence.deploy.ConcurrentDeploymentCache;
+import org.activiti.engine.impl.persistence.deploy.DeploymentCacheWeigher;
+
+public class ConcurrentDeploymentCacheTest extends TestCase {
+
+  public void testLimit() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(2);
+    cache.add("1", "one");
+    cache.add("2", "two");
+    assertEquals("one", cache.get("1"));
+
+    cache.add("3", "three");
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+
+    // '2' was the least recently used
+    assertNull(cache.get("2"));
+    assertEquals("one", cache.get("1"));
+    assertEquals("three", cache.get("3"));
+    assertEquals(3, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  public void testFrequentlyReadObjectIsKept() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(100);
+    cache.add("hot", "hot");
+    for (int i = 0; i < 1000; i++) {
+      cache.add(String.valueOf(i), "value" + i);
+      assertEquals("hot", cache.get("hot"));
+    }
+    assertEquals(100, cache.size());
+    assertEquals(100, cache.getTotalWeight());
+    assertEquals(901, cache.getEvictionCount());
+
+    // the most recently added objects are kept
+    assertEquals("value999", cache.get("999"));
+    assertNull(cache.get("0"));
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getTotalWeight());
+
+    for (int i = 0; i < 200; i++) {
+      cache.add(String.valueOf(i), "value" + i);
+    }
+    assertEquals(100, cache.size());
+    assertEquals("value199", cache.get("199"));
+  }
+
+  public void testWeight() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>(10, new DeploymentCacheWeigher<String>() {
+      public int weigh(String object) {
+        return object.length();
+      }
+    });
+
+    cache.add("1", "aaaa");
+    cache.add("2", "bbbb");
+    assertEquals(8, cache.getTotalWeight());
+
+    // replacing an object only counts the new weight
+    cache.add("2", "bb");
+    assertEquals(6, cache.getTotalWeight());
+
+    // an object heavier than the whole cache is still kept, the others are evicted
+    cache.add("3", "cccccccccccc");
+    assertEquals(1, cache.size());
+    assertEquals("cccccccccccc", cache.get("3"));
+
+    cache.remove("3");
+    assertEquals(0, cache.getTotalWeight());
+  }
+
+  public void testNoLimit() {
+    ConcurrentDeploymentCache<String> cache = new ConcurrentDeploymentCache<String>();
+    for (int i = 0; i < 1000; i++) {
+      cache.add(String.valueOf(i), "value" + i);
+    }
+    assertEquals(1000, cache.size());
+    assertEquals(0, cache.getEvictionCount());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getTotalWeight());
+  }
+
+}
@@ -0,0 +1,106 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.cache;
+
+import java.util.Collection;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.persistence.cache.CachedEntity;
+import org.activiti.engine.impl.persistence.cache.EntityCacheImpl;
+import org.activiti.engine.impl.persistence.entity.EventSubscriptionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.MessageEventSubscriptionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.SignalEventSubscriptionEntityImpl;
+import org.activiti.engine.impl.persistence.entity.data.impl.cachematcher.ExecutionsByProcessInstanceIdIndex;
+
+public class EntityCacheImplTest extends TestCase {
+
+  public void testFindByInterface() {
+    EntityCacheImpl entityCache = new EntityCacheImpl();
+    assertNull(entityCache.findInCache(ExecutionEntity.class, "1"));
+    
+    ExecutionEntityImpl execution = createExecution("1", "1");
+    entityCache.put(execution, false);
+    assertSame(execution, entityCache.findInCache(ExecutionEntity.class, "1"));
+    assertSame(execution, entityCache.findInCache(ExecutionEntityImpl.class, "1"));
+    assertEquals(1, entityCache.findInCache(ExecutionEntity.class).size());
+  }
+  
+  public void testFindByAbstractClassWithSeveralCachedSubclasses() {
+    EntityCacheImpl entityCache = new EntityCacheImpl();
+    MessageEventSubscriptionEntityImpl messageEventSubscription = new MessageEventSubscriptionEntityImpl();
+    messageEventSubscription.setId("1");
+    entityCache.put(messageEventSubscription, false);
+    assertSame(messageEventSubscription, entityCache.findInCache(EventSubscriptionEntityImpl.class, "1"));
+    
+    // Cached after the abstract class was resolved to the message subscriptions
+    SignalEventSubscriptionEntityImpl signalEventSubscription = new SignalEventSubscriptionEntityImpl();
+    signalEventSubscription.setId("2");
+    entityCache.put(signalEventSubscription, false);
+    assertSame(signalEventSubscription, entityCache.findInCache(EventSubscriptionEntityImpl.class, "2"));
+    assertSame(messageEventSubscription, entityCache.findInCache(EventSubscriptionEntityImpl.class, "1"));
+    assertEquals(2, entityCache.findInCache(EventSubscriptionEntityImpl.class).size());
+    
+    // Resolved classes aren't shared with other caches
+    EntityCacheImpl otherEntityCache = new EntityCacheImpl();
+    otherEntityCache.put(signalEventSubscription, false);
+    assertSame(signalEventSubscription, otherEntityCache.findInCache(EventSubscriptionEntityImpl.class, "2"));
+    assertNull(otherEntityCache.findInCache(EventSubscriptionEntityImpl.class, "1"));
+  }
+  
+  public void testFindByIndex() {
+    ExecutionsByProcessInstanceIdIndex index = new ExecutionsByProcessInstanceIdIndex();
+    EntityCacheImpl entityCache = new EntityCacheImpl();
+    assertTrue(entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "1").isEmpty());
+    
+    entityCache.put(createExecution("1", "1"), false);
+    entityCache.put(createExecution("2", "1"), false);
+    entityCache.put(createExecution("3", "3"), false);
+    assertEquals(2, entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "1").size());
+    assertEquals(1, entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "3").size());
+    
+    // Added after the index was built
+    entityCache.put(createExecution("4", "1"), false);
+    assertEquals(3, entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "1").size());
+    
+    // Process instance id set after the execution was put in the cache
+    ExecutionEntityImpl processInstance = createExecution("5", null);
+    entityCache.put(processInstance, false);
+    assertTrue(entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "5").isEmpty());
+    processInstance.setProcessInstanceId("5");
+    Collection<CachedEntity> cachedEntities = entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "5");
+    assertEquals(1, cachedEntities.size());
+    assertSame(processInstance, cachedEntities.iterator().next().getEntity());
+    
+    // Removed and replaced entities
+    entityCache.cacheRemove(ExecutionEntityImpl.class, "1");
+    ExecutionEntityImpl replacement = createExecution("2", "1");
+    entityCache.put(replacement, false);
+    cachedEntities = entityCache.findInCacheAsCachedObjects(ExecutionEntityImpl.class, index, "1");
+    assertEquals(2, cachedEntities.size());
+    for (CachedEntity cachedEntity : cachedEntities) {
+      assertFalse("1".equals(cachedEntity.getEntity().getId()));
+      assertSame(entityCache.findInCache(ExecutionEntity.class, cachedEntity.getEntity().getId()), cachedEntity.getEntity());
+    }
+  }
+  
+  protected ExecutionEntityImpl createExecution(String id, String processInstanceId) {
+    ExecutionEntityImpl execution = new ExecutionEntityImpl();
+    execution.setId(id);
+    execution.setProcessInstanceId(processInstanceId);
+    return execution;
+  }
+
+}
@@ -0,0 +1,118 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.db;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.cmd.GetNextIdBlockCmd;
+import org.activiti.engine.impl.db.DbIdGenerator;
+import org.activiti.engine.impl.db.IdBlock;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandConfig;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+
+public class DbIdGeneratorTest extends TestCase {
+
+  public void testUniqueIdsWithConcurrentThreads() throws Exception {
+    IdBlockCommandExecutor commandExecutor = new IdBlockCommandExecutor();
+    final DbIdGenerator idGenerator = createIdGenerator(commandExecutor, 100);
+    
+    final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    final int idsPerThread = 5000;
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 10; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < idsPerThread; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    
+    assertEquals(10 * idsPerThread, ids.size());
+    // At most one block was prefetched that isn't used yet 
+    assertTrue(commandExecutor.blockCount.get() <= (10 * idsPerThread / 100) + 2);
+  }
+  
+  public void testIdsInOrderWithOneThread() {
+    IdBlockCommandExecutor commandExecutor = new IdBlockCommandExecutor();
+    DbIdGenerator idGenerator = createIdGenerator(commandExecutor, 10);
+    for (int i = 1; i <= 100; i++) {
+      assertEquals(Integer.toString(i), idGenerator.getNextId());
+    }
+  }
+  
+  public void testAdaptiveBlockSize() {
+    IdBlockCommandExecutor commandExecutor = new IdBlockCommandExecutor();
+    DbIdGenerator idGenerator = createIdGenerator(commandExecutor, 10);
+    idGenerator.setMaxIdBlockSize(80);
+    idGenerator.setTargetIdBlockDurationInMillis(60000L);
+    
+    for (int i = 0; i < 1000; i++) {
+      idGenerator.getNextId();
+    }
+    assertEquals(80, idGenerator.getCurrentIdBlockSize());
+    assertEquals(80, commandExecutor.lastBlockSize);
+  }
+  
+  protected DbIdGenerator createIdGenerator(CommandExecutor commandExecutor, int idBlockSize) {
+    DbIdGenerator idGenerator = new DbIdGenerator();
+    idGenerator.setIdBlockSize(idBlockSize);
+    idGenerator.setCommandExecutor(commandExecutor);
+    idGenerator.setCommandConfig(new CommandConfig().transactionRequiresNew());
+    return idGenerator;
+  }
+  
+  /**
+   * Hands out id blocks like the next.dbid property would.
+   */
+  protected static class IdBlockCommandExecutor implements CommandExecutor {
+    
+    protected long nextId = 1;
+    protected volatile int lastBlockSize;
+    protected AtomicInteger blockCount = new AtomicInteger();
+
+    public CommandConfig getDefaultConfig() {
+      return new CommandConfig();
+    }
+
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T execute(CommandConfig config, Command<T> command) {
+      int idBlockSize = ((GetNextIdBlockCmd) command).getIdBlockSize();
+      IdBlock idBlock = new IdBlock(nextId, nextId + idBlockSize - 1);
+      nextId += idBlockSize;
+      lastBlockSize = idBlockSize;
+      blockCount.incrementAndGet();
+      return (T) idBlock;
+    }
+
+    public <T> T execute(Command<T> command) {
+      return execute(getDefaultConfig(), command);
+    }
+    
+  }
+
+}
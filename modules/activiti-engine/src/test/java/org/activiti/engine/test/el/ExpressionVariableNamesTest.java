@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.el;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.el.ExpressionVariableNames;
+
+public class ExpressionVariableNamesTest extends TestCase {
+
+  public void testTopLevelIdentifiers() {
+    assertEquals(new HashSet<String>(Arrays.asList("order", "limit")), ExpressionVariableNames.getVariableNames("${order.amount > limit}"));
+    assertEquals(new HashSet<String>(Arrays.asList("myBean", "input")), ExpressionVariableNames.getVariableNames("#{myBean.check(input, 'text')}"));
+  }
+
+  public void testResolverKeysAreExcluded() {
+    assertEquals(new HashSet<String>(Arrays.asList("input")), ExpressionVariableNames.getVariableNames("${execution.getVariable('other') == input}"));
+    assertTrue(ExpressionVariableNames.getVariableNames("${authenticatedUserId == task.assignee}").isEmpty());
+  }
+
+  public void testInvalidExpression() {
+    assertTrue(ExpressionVariableNames.getVariableNames("${input ==").isEmpty());
+  }
+
+}
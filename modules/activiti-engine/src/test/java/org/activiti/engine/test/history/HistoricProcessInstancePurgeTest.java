@@ -0,0 +1,151 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.history;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.activiti.engine.impl.history.HistoryLevel;
+import org.activiti.engine.impl.jobexecutor.HistoricProcessInstancePurgeJobHandler;
+import org.activiti.engine.impl.persistence.entity.ByteArrayEntity;
+import org.activiti.engine.impl.test.PluggableActivitiTestCase;
+import org.activiti.engine.runtime.Job;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+
+public class HistoricProcessInstancePurgeTest extends PluggableActivitiTestCase {
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesFinishedBefore() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      return;
+    }
+
+    Date now = new Date();
+    processEngineConfiguration.getClock().setCurrentTime(new Date(now.getTime() - 60000L));
+    long byteArrayCountBefore = getByteArrayCount();
+    List<String> oldProcessInstanceIds = new ArrayList<String>();
+    for (int i = 0; i < 5; i++) {
+      oldProcessInstanceIds.add(startAndCompleteProcessInstance());
+    }
+    assertTrue(getByteArrayCount() > byteArrayCountBefore);
+
+    processEngineConfiguration.getClock().setCurrentTime(now);
+    String recentProcessInstanceId = startAndCompleteProcessInstance();
+    String runningProcessInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess").getId();
+    long byteArrayCountAfterOldInstances = getByteArrayCount();
+
+    Date cutoff = new Date(now.getTime() - 30000L);
+    assertEquals(0, historyService.deleteHistoricProcessInstancesFinishedBefore(cutoff, "unknownKey", null, 2));
+    assertEquals(0, historyService.deleteHistoricProcessInstancesFinishedBefore(cutoff, null, "unknownTenant", 2));
+    assertEquals(5, historyService.deleteHistoricProcessInstancesFinishedBefore(cutoff, "oneTaskProcess", null, 2));
+
+    for (String processInstanceId : oldProcessInstanceIds) {
+      assertNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult());
+      assertEquals(0, historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.createHistoricActivityInstanceQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.createHistoricVariableInstanceQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.createHistoricDetailQuery().processInstanceId(processInstanceId).count());
+      assertEquals(0, historyService.getHistoricIdentityLinksForProcessInstance(processInstanceId).size());
+      assertEquals(0, taskService.getProcessInstanceComments(processInstanceId).size());
+      assertEquals(0, taskService.getProcessInstanceAttachments(processInstanceId).size());
+    }
+    assertEquals(byteArrayCountBefore + (byteArrayCountAfterOldInstances - byteArrayCountBefore) / 6, getByteArrayCount());
+
+    assertNotNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(recentProcessInstanceId).singleResult());
+    assertEquals(1, historyService.createHistoricVariableInstanceQuery().processInstanceId(recentProcessInstanceId).variableName("bytes").count());
+    assertEquals(1, taskService.getProcessInstanceAttachments(recentProcessInstanceId).size());
+    assertNotNull(historyService.createHistoricProcessInstanceQuery().processInstanceId(runningProcessInstanceId).singleResult());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/bpmn/callactivity/CallActivity.testCallSimpleSubProcess.bpmn20.xml",
+      "org/activiti/engine/test/bpmn/callactivity/simpleSubProcess.bpmn20.xml" })
+  public void testDeleteHistoricProcessInstancesIncludesSubProcesses() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.ACTIVITY)) {
+      return;
+    }
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("callSimpleSubProcess").getId();
+    for (int i = 0; i < 3; i++) {
+      Task task = taskService.createTaskQuery().singleResult();
+      taskService.complete(task.getId());
+    }
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(2, historyService.createHistoricProcessInstanceQuery().finished().count());
+
+    Date cutoff = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 1000L);
+    assertEquals(2, historyService.deleteHistoricProcessInstancesFinishedBefore(cutoff, null, null, 10));
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().processInstanceId(processInstanceId).count());
+  }
+
+  @Deployment(resources = { "org/activiti/engine/test/api/oneTaskProcess.bpmn20.xml" })
+  public void testScheduledPurge() {
+    if (!processEngineConfiguration.getHistoryLevel().isAtLeast(HistoryLevel.AUDIT)) {
+      return;
+    }
+
+    for (int i = 0; i < 5; i++) {
+      startAndCompleteProcessInstance();
+    }
+    Date cutoff = new Date(processEngineConfiguration.getClock().getCurrentTime().getTime() + 1000L);
+
+    String jobId = historyService.scheduleHistoricProcessInstancePurge(cutoff, "oneTaskProcess", null, 2, 60000L);
+    Job timer = managementService.createTimerJobQuery().jobId(jobId).singleResult();
+    assertEquals(HistoricProcessInstancePurgeJobHandler.TYPE, timer.getJobHandlerType());
+
+    // Batches of 2, 2 and 1 process instances, the fourth run finds nothing left and doesn't reschedule
+    long[] expectedDeletedCounts = { 2, 4, 5 };
+    for (long expectedDeletedCount : expectedDeletedCounts) {
+      executeTimer(timer);
+      timer = managementService.createTimerJobQuery().singleResult();
+      assertNotNull(timer);
+      assertTrue(timer.getDuedate().getTime() > processEngineConfiguration.getClock().getCurrentTime().getTime() + 30000L);
+      assertEquals(expectedDeletedCount, HistoricProcessInstancePurgeJobHandler.getDeletedCount(timer.getJobHandlerConfiguration()));
+      assertEquals(5 - expectedDeletedCount, historyService.createHistoricProcessInstanceQuery().count());
+    }
+
+    executeTimer(timer);
+    assertEquals(0, managementService.createTimerJobQuery().count());
+    assertEquals(0, managementService.createJobQuery().count());
+  }
+
+  protected String startAndCompleteProcessInstance() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("bytes", "some bytes".getBytes());
+    variables.put("name", "value");
+    String processInstanceId = runtimeService.startProcessInstanceByKey("oneTaskProcess", variables).getId();
+
+    Task task = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult();
+    taskService.addCandidateUser(task.getId(), "kermit");
+    taskService.addComment(task.getId(), processInstanceId, "a comment");
+    taskService.createAttachment("text", task.getId(), processInstanceId, "attachment", null, new ByteArrayInputStream("content".getBytes()));
+    taskService.complete(task.getId());
+    return processInstanceId;
+  }
+
+  protected void executeTimer(Job timer) {
+    Job job = managementService.moveTimerToExecutableJob(timer.getId());
+    managementService.executeJob(job.getId());
+  }
+
+  protected long getByteArrayCount() {
+    return managementService.getTableCount().get(managementService.getTableName(ByteArrayEntity.class));
+  }
+
+}
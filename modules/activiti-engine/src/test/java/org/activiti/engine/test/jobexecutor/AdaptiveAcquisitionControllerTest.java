@@ -0,0 +1,65 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.engine.test.jobexecutor;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.asyncexecutor.AdaptiveAcquisitionController;
+
+public class AdaptiveAcquisitionControllerTest extends TestCase {
+
+  public void testBatchSizeFromQueueCapacity() {
+    AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100, 10000);
+    assertEquals(50, controller.determineBatchSize(50));
+    assertEquals(3, controller.determineBatchSize(3));
+    assertEquals(0, controller.determineBatchSize(0));
+    assertEquals(0, controller.getCurrentBatchSize());
+  }
+
+  public void testBatchSizeLimitedByMaxBatchSize() {
+    AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100, 10000, 10);
+    assertEquals(10, controller.determineBatchSize(50));
+    assertEquals(3, controller.determineBatchSize(3));
+    assertEquals(0, controller.determineBatchSize(0));
+    assertEquals(10, controller.getMaxBatchSize());
+  }
+
+  public void testBackOff() {
+    AdaptiveAcquisitionController controller = new AdaptiveAcquisitionController(100, 1000);
+
+    // Backlog: acquire again immediately
+    assertEquals(0, controller.jobsAcquired(10, 10, 0));
+
+    // Nothing found: exponential back-off up to the maximum
+    assertEquals(100, controller.jobsAcquired(10, 0, 0));
+    assertEquals(200, controller.jobsAcquired(10, 0, 0));
+    assertEquals(400, controller.acquisitionFailed());
+    assertEquals(800, controller.queueFull());
+    assertEquals(1000, controller.jobsAcquired(10, 0, 0));
+    assertEquals(1000, controller.jobsAcquired(10, 0, 0));
+
+    // Some jobs found: back to the minimum wait time
+    assertEquals(100, controller.jobsAcquired(10, 5, 0));
+
+    // Rejected jobs: back off
+    assertEquals(200, controller.jobsAcquired(10, 10, 2));
+
+    assertEquals(7, controller.getAcquisitionCount());
+    assertEquals(4, controller.getEmptyAcquisitionCount());
+    assertEquals(1, controller.getFailedAcquisitionCount());
+    assertEquals(1, controller.getQueueFullCount());
+    assertEquals(25, controller.getAcquiredJobCount());
+    assertEquals(2, controller.getRejectedJobCount());
+  }
+
+}
@@ -18,10 +18,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.activiti.engine.ActivitiException;
 import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.impl.asyncexecutor.AdaptiveAcquisitionController;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
 import org.activiti.engine.impl.asyncexecutor.DefaultAsyncJobExecutor;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.activiti.engine.impl.context.Context;
 import org.activiti.engine.impl.test.JobTestHelper;
 import org.activiti.engine.runtime.Job;
 import org.activiti.engine.runtime.ProcessInstance;
@@ -256,6 +258,106 @@ public class AsyncExecutorTest {
     }
   }
 
+  @Test
+  public void testAdaptiveAcquisition() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      // The executor is only started once the jobs exist, so they are acquired instead of handed over when created
+      CountingAsyncExecutor countingAsyncExecutor = new CountingAsyncExecutor();
+      countingAsyncExecutor.setAdaptiveAcquisitionEnabled(true);
+      countingAsyncExecutor.setMaxAsyncJobsDuePerAcquisition(2);
+      countingAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(50);
+      countingAsyncExecutor.setDefaultTimerJobAcquireWaitTimeInMillis(50);
+      processEngine = createProcessEngine(countingAsyncExecutor, false);
+      deploy(processEngine, "AsyncExecutorTest.testAsyncScriptExecution.bpmn20.xml");
+
+      for (int i = 0; i < 5; i++) {
+        processEngine.getRuntimeService().startProcessInstanceByKey("asyncScript");
+      }
+      Assert.assertEquals(5, processEngine.getManagementService().createJobQuery().count());
+
+      waitForAllJobsBeingExecuted(processEngine);
+      Assert.assertEquals(5, processEngine.getTaskService().createTaskQuery().taskName("Task after script").count());
+      Assert.assertEquals(5, getAsyncExecutorJobCount(processEngine));
+
+      // Without a maximum batch size, the max async jobs per acquisition bounds the batches
+      AdaptiveAcquisitionController acquisitionController = countingAsyncExecutor.getAsyncJobAcquisitionController();
+      Assert.assertEquals(2, acquisitionController.getMaxBatchSize());
+      Assert.assertEquals(5, acquisitionController.getAcquiredJobCount());
+      Assert.assertTrue(acquisitionController.getAcquisitionCount() >= 3);
+      Assert.assertEquals(0, acquisitionController.getRejectedJobCount());
+
+    } finally {
+
+      // Clean up
+      if (processEngine != null) {
+        cleanup(processEngine);
+      }
+    }
+  }
+
+  @Test
+  public void testAsyncJobsOfOneTransaction() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      processEngine = createProcessEngine(true);
+      deploy(processEngine, "AsyncExecutorTest.testAsyncJobsOfOneTransaction.bpmn20.xml");
+
+      // The three async jobs are created in one transaction and handed over together after the commit
+      processEngine.getRuntimeService().startProcessInstanceByKey("asyncJobs");
+      waitForAllJobsBeingExecuted(processEngine);
+
+      Assert.assertEquals(3, processEngine.getTaskService().createTaskQuery().taskName("Async task").count());
+      Assert.assertEquals(0, processEngine.getManagementService().createJobQuery().count());
+      Assert.assertEquals(3, getAsyncExecutorJobCount(processEngine));
+
+    } finally {
+
+      // Clean up
+      if (processEngine != null) {
+        cleanup(processEngine);
+      }
+    }
+  }
+
+  @Test
+  public void testAsyncJobsOfOneTransactionWithFullQueue() {
+
+    ProcessEngine processEngine = null;
+
+    try {
+      // The acquisition thread shouldn't pick up the unacquired jobs during the test
+      FullQueueAsyncExecutor fullQueueAsyncExecutor = new FullQueueAsyncExecutor();
+      fullQueueAsyncExecutor.setDefaultAsyncJobAcquireWaitTimeInMillis(60000);
+      processEngine = createProcessEngine(fullQueueAsyncExecutor, true);
+      deploy(processEngine, "AsyncExecutorTest.testAsyncJobsOfOneTransaction.bpmn20.xml");
+
+      processEngine.getRuntimeService().startProcessInstanceByKey("asyncJobs");
+
+      // Only the first job is offered, the other jobs are unacquired without offering them
+      Assert.assertEquals(1, fullQueueAsyncExecutor.getCounter().get());
+      Assert.assertEquals(3, processEngine.getManagementService().createJobQuery().count());
+      Assert.assertEquals(3, processEngine.getManagementService().createJobQuery().unlocked().count());
+      Assert.assertEquals(0, processEngine.getTaskService().createTaskQuery().taskName("Async task").count());
+
+      for (Job job : processEngine.getManagementService().createJobQuery().list()) {
+        processEngine.getManagementService().executeJob(job.getId());
+      }
+      Assert.assertEquals(3, processEngine.getTaskService().createTaskQuery().taskName("Async task").count());
+
+    } finally {
+
+      // Clean up
+      if (processEngine != null) {
+        cleanup(processEngine);
+      }
+    }
+  }
+
   // Helpers ////////////////////////////////////////////////////////
 
   private ProcessEngine createProcessEngine(boolean enableAsyncExecutor) {
@@ -285,6 +387,15 @@ public class AsyncExecutorTest {
     return processEngine;
   }
 
+  private ProcessEngine createProcessEngine(AsyncExecutor asyncExecutor, boolean enableAsyncExecutor) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneInMemProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl("jdbc:h2:mem:activiti-AsyncExecutorTest;DB_CLOSE_DELAY=1000");
+    processEngineConfiguration.setDatabaseSchemaUpdate("true");
+    processEngineConfiguration.setAsyncExecutorActivate(enableAsyncExecutor);
+    processEngineConfiguration.setAsyncExecutor(asyncExecutor);
+    return processEngineConfiguration.buildProcessEngine();
+  }
+
   private Date setClockToCurrentTime(ProcessEngine processEngine) {
     Date date = new Date();
     processEngine.getProcessEngineConfiguration().getClock().setCurrentTime(date);
@@ -348,4 +459,24 @@ public class AsyncExecutorTest {
 
   }
 
+  /**
+   * Behaves like an async executor of which the queue is full, which unacquires the jobs it's offered.
+   */
+  static class FullQueueAsyncExecutor extends DefaultAsyncJobExecutor {
+
+    private AtomicInteger counter = new AtomicInteger(0);
+
+    @Override
+    public boolean executeAsyncJob(Job job) {
+      counter.incrementAndGet();
+      Context.getCommandContext().getJobManager().unacquire(job);
+      return false;
+    }
+
+    public AtomicInteger getCounter() {
+      return counter;
+    }
+
+  }
+
 }
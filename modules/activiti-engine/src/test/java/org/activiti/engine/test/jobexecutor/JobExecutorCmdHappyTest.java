@@ -13,9 +13,12 @@
 package org.activiti.engine.test.jobexecutor;
 
 import java.util.Date;
+import java.util.List;
 
+import org.activiti.engine.impl.asyncexecutor.AcquiredJobEntities;
 import org.activiti.engine.impl.asyncexecutor.AcquiredTimerJobEntities;
 import org.activiti.engine.impl.asyncexecutor.AsyncExecutor;
+import org.activiti.engine.impl.cmd.AcquireJobsCmd;
 import org.activiti.engine.impl.cmd.AcquireTimerJobsCmd;
 import org.activiti.engine.impl.cmd.ExecuteAsyncJobCmd;
 import org.activiti.engine.impl.interceptor.Command;
@@ -93,4 +96,56 @@ public class JobExecutorCmdHappyTest extends JobExecutorTestCase {
     assertEquals("i'm coding a test", tweetHandler.getMessages().get(0));
     assertEquals(1, tweetHandler.getMessages().size());
   }
-}
\ No newline at end of file
+
+  public void testBulkJobLocking() {
+    AsyncExecutor asyncExecutor = processEngineConfiguration.getAsyncExecutor();
+    CommandExecutor commandExecutor = processEngineConfiguration.getCommandExecutor();
+
+    boolean originalBulkJobLocking = asyncExecutor.isBulkJobLockingEnabled();
+    int originalMaxAsyncJobsDuePerAcquisition = asyncExecutor.getMaxAsyncJobsDuePerAcquisition();
+    asyncExecutor.setBulkJobLockingEnabled(true);
+    asyncExecutor.setMaxAsyncJobsDuePerAcquisition(2);
+
+    try {
+      commandExecutor.execute(new Command<Void>() {
+
+        public Void execute(CommandContext commandContext) {
+          for (int i = 0; i < 3; i++) {
+            commandContext.getJobManager().scheduleAsyncJob(createTweetMessage("message " + i));
+          }
+          return null;
+        }
+      });
+
+      AcquiredJobEntities acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+      assertEquals(2, acquiredJobs.size());
+      for (JobEntity job : acquiredJobs.getJobs()) {
+        assertEquals(asyncExecutor.getLockOwner(), job.getLockOwner());
+        assertNotNull(job.getLockExpirationTime());
+      }
+
+      // locked jobs are not acquired again
+      acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+      assertEquals(1, acquiredJobs.size());
+
+      acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(asyncExecutor));
+      assertEquals(0, acquiredJobs.size());
+
+    } finally {
+      asyncExecutor.setBulkJobLockingEnabled(originalBulkJobLocking);
+      asyncExecutor.setMaxAsyncJobsDuePerAcquisition(originalMaxAsyncJobsDuePerAcquisition);
+
+      // the jobs are locked, so they can't be deleted through the management service
+      final List<Job> jobs = managementService.createJobQuery().list();
+      commandExecutor.execute(new Command<Void>() {
+
+        public Void execute(CommandContext commandContext) {
+          for (Job job : jobs) {
+            commandContext.getJobEntityManager().delete(job.getId());
+          }
+          return null;
+        }
+      });
+    }
+  }
+}
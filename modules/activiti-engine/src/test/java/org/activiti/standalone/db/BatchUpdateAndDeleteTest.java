@@ -0,0 +1,186 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.db;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.impl.db.DbSqlSession;
+import org.activiti.engine.impl.db.DbSqlSessionFactory;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.cache.EntityCache;
+import org.activiti.engine.impl.persistence.entity.TaskEntity;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.task.Task;
+import org.activiti.engine.test.Deployment;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.SqlSession;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class BatchUpdateAndDeleteTest extends ResourceActivitiTestCase {
+
+  public BatchUpdateAndDeleteTest() {
+    super("org/activiti/standalone/db/batch-update-and-delete.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testParallelTasks() {
+    assertTrue(processEngineConfiguration.isBatchUpdateAndDeleteEnabled());
+
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelTasks");
+    List<Task> tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+    assertEquals(3, tasks.size());
+
+    final List<String> taskIds = extractIds(tasks);
+    managementService.executeCommand(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (String taskId : taskIds) {
+          TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+          task.setName(task.getName() + " (updated)");
+        }
+        return null;
+      }
+    });
+
+    tasks = taskService.createTaskQuery().processInstanceId(processInstance.getId()).orderByTaskName().asc().list();
+    assertEquals("Task 1 (updated)", tasks.get(0).getName());
+    assertEquals("Task 2 (updated)", tasks.get(1).getName());
+    assertEquals("Task 3 (updated)", tasks.get(2).getName());
+
+    for (Task task : tasks) {
+      taskService.complete(task.getId());
+    }
+    assertProcessEnded(processInstance.getId());
+    assertEquals(0, taskService.createTaskQuery().count());
+  }
+
+  @Deployment(resources = "org/activiti/standalone/db/BatchUpdateAndDeleteTest.testParallelTasks.bpmn20.xml")
+  public void testOptimisticLocking() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelTasks");
+    final List<String> taskIds = extractIds(taskService.createTaskQuery().processInstanceId(processInstance.getId()).list());
+
+    try {
+      managementService.executeCommand(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          for (String taskId : taskIds) {
+            TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+            task.setName("changed");
+          }
+          
+          // Simulates a concurrent update of the last task
+          TaskEntity task = commandContext.getTaskEntityManager().findById(taskIds.get(2));
+          task.setRevision(task.getRevision() + 1);
+          return null;
+        }
+      });
+      fail("expected optimistic locking exception");
+    } catch (ActivitiOptimisticLockingException e) {
+      // expected
+    }
+
+    // Nothing of the failed batch is committed
+    assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskName("changed").count());
+  }
+
+  @Deployment(resources = "org/activiti/standalone/db/BatchUpdateAndDeleteTest.testParallelTasks.bpmn20.xml")
+  public void testDriverWithoutUpdateCounts() {
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("parallelTasks");
+    final List<String> taskIds = extractIds(taskService.createTaskQuery().processInstanceId(processInstance.getId()).list());
+    final DbSqlSessionFactory dbSqlSessionFactory = processEngineConfiguration.getDbSqlSessionFactory();
+
+    try {
+      try {
+        managementService.executeCommand(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            commandContext.getSessions().put(DbSqlSession.class, new NoUpdateCountsDbSqlSession(dbSqlSessionFactory, commandContext.getEntityCache()));
+            for (String taskId : taskIds) {
+              TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+              task.setName("changed");
+            }
+            return null;
+          }
+        });
+        fail("expected activiti exception");
+      } catch (ActivitiOptimisticLockingException e) {
+        fail("unknown update counts are no optimistic locking failure");
+      } catch (ActivitiException e) {
+        assertTextPresent("the JDBC driver doesn't return the number of affected rows of batched statements", e.getMessage());
+      }
+
+      // Nothing of the unchecked batch is committed, and the next updates aren't batched anymore
+      assertEquals(0, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskName("changed").count());
+      assertFalse(dbSqlSessionFactory.isBatchUpdateAndDeleteEnabled());
+
+      managementService.executeCommand(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          commandContext.getSessions().put(DbSqlSession.class, new NoUpdateCountsDbSqlSession(dbSqlSessionFactory, commandContext.getEntityCache()));
+          for (String taskId : taskIds) {
+            TaskEntity task = commandContext.getTaskEntityManager().findById(taskId);
+            task.setName("changed");
+          }
+          return null;
+        }
+      });
+      assertEquals(3, taskService.createTaskQuery().processInstanceId(processInstance.getId()).taskName("changed").count());
+
+    } finally {
+      dbSqlSessionFactory.setBatchUpdateAndDeleteEnabled(true, processEngineConfiguration.getDatabaseType());
+    }
+  }
+
+  protected List<String> extractIds(List<Task> tasks) {
+    List<String> ids = new ArrayList<String>();
+    for (Task task : tasks) {
+      ids.add(task.getId());
+    }
+    return ids;
+  }
+
+  /**
+   * Behaves as if the JDBC driver returns {@link Statement#SUCCESS_NO_INFO} for every batched statement.
+   */
+  static class NoUpdateCountsDbSqlSession extends DbSqlSession {
+
+    public NoUpdateCountsDbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, EntityCache entityCache) {
+      super(dbSqlSessionFactory, entityCache);
+    }
+
+    @Override
+    protected SqlSession getBatchSqlSession() {
+      SqlSession batchSqlSession = spy(super.getBatchSqlSession());
+      doAnswer(new Answer<List<BatchResult>>() {
+        @SuppressWarnings("unchecked")
+        public List<BatchResult> answer(InvocationOnMock invocation) throws Throwable {
+          List<BatchResult> batchResults = (List<BatchResult>) invocation.callRealMethod();
+          for (BatchResult batchResult : batchResults) {
+            Arrays.fill(batchResult.getUpdateCounts(), Statement.SUCCESS_NO_INFO);
+          }
+          return batchResults;
+        }
+      }).when(batchSqlSession).flushStatements();
+      return batchSqlSession;
+    }
+
+  }
+
+}
@@ -59,6 +59,11 @@ public class CustomDeploymentCache implements DeploymentCache<ProcessDefinitionC
     return id.equals(this.id);
   }
 
+  @Override
+  public int size() {
+    return entry == null ? 0 : 1;
+  }
+
   // For testing purposes only
   public ProcessDefinition getCachedProcessDefinition() {
     if (entry == null) {
@@ -0,0 +1,79 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.idgenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.impl.persistence.TimeOrderedUuidGenerator;
+
+public class TimeOrderedUuidGeneratorTest extends TestCase {
+
+  public void testIdsAreOrdered() {
+    TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+    String previousId = idGenerator.getNextId();
+    for (int i = 0; i < 10000; i++) {
+      String id = idGenerator.getNextId();
+      assertTrue(previousId + " should be before " + id, previousId.compareTo(id) < 0);
+      previousId = id;
+    }
+  }
+  
+  public void testVersionAndVariant() {
+    UUID uuid = UUID.fromString(new TimeOrderedUuidGenerator().getNextId());
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+  }
+  
+  public void testIdsAreOrderedWhenClockGoesBack() {
+    TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator() {
+      protected long currentTimeMillis() {
+        return 0L;
+      }
+    };
+    String previousId = idGenerator.getNextId();
+    for (int i = 0; i < 10000; i++) {
+      String id = idGenerator.getNextId();
+      assertTrue(previousId.compareTo(id) < 0);
+      previousId = id;
+    }
+  }
+  
+  public void testUniqueIdsWithConcurrentThreads() throws Exception {
+    final TimeOrderedUuidGenerator idGenerator = new TimeOrderedUuidGenerator();
+    final Set<String> ids = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 10; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(100000, ids.size());
+  }
+
+}
@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.standalone.scripting;
+
+import org.activiti.engine.impl.scripting.CompiledScriptCache;
+import org.activiti.engine.impl.test.ResourceActivitiTestCase;
+import org.activiti.engine.impl.util.CollectionUtil;
+import org.activiti.engine.runtime.ProcessInstance;
+import org.activiti.engine.test.Deployment;
+
+public class CompiledScriptCacheEnabledTest extends ResourceActivitiTestCase {
+
+  public CompiledScriptCacheEnabledTest() {
+    super("org/activiti/standalone/scripting/compiled.script.cache.activiti.cfg.xml");
+  }
+
+  @Deployment
+  public void testCompiledScriptCache() {
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getScriptingEngines().getCompiledScriptCache();
+    assertNotNull(compiledScriptCache);
+    long hitCount = compiledScriptCache.getHitCount();
+    long missCount = compiledScriptCache.getMissCount();
+
+    for (int i = 0; i < 3; i++) {
+      ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("testCompiledScriptCache", CollectionUtil.map("a", 20, "b", i));
+      assertEquals(20 + i, ((Number) runtimeService.getVariable(processInstance.getId(), "sum")).intValue());
+    }
+
+    // the script is compiled once and reused for the other process instances
+    assertEquals(missCount + 1, compiledScriptCache.getMissCount());
+    assertEquals(hitCount + 2, compiledScriptCache.getHitCount());
+  }
+
+  @Deployment(resources = "org/activiti/standalone/scripting/CompiledScriptCacheEnabledTest.testCompiledScriptCache.bpmn20.xml")
+  public void testCompiledScriptsEvictedWithProcessDefinition() {
+    CompiledScriptCache compiledScriptCache = processEngineConfiguration.getScriptingEngines().getCompiledScriptCache();
+    runtimeService.startProcessInstanceByKey("testCompiledScriptCache", CollectionUtil.map("a", 20, "b", 22));
+    assertEquals(1, compiledScriptCache.size());
+
+    // The process definition cache holds one process definition, so deploying another one evicts the scripted one
+    String deploymentId = repositoryService.createDeployment()
+        .addClasspathResource("org/activiti/standalone/scripting/ScriptBeanAccessTest.testConfigurationBeanAccess.bpmn20.xml")
+        .deploy()
+        .getId();
+    try {
+      assertEquals(0, compiledScriptCache.size());
+    } finally {
+      repositoryService.deleteDeployment(deploymentId, true);
+    }
+  }
+
+}
@@ -14,11 +14,12 @@ package org.activiti.form.engine.impl.cmd;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.api.SubmittedForm;
 import org.activiti.form.api.SubmittedFormQuery;
 import org.activiti.form.engine.ActivitiFormException;
@@ -30,6 +31,8 @@ import org.activiti.form.engine.impl.interceptor.CommandContext;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.engine.impl.util.FormUtil;
+import org.activiti.form.engine.impl.util.SubmittedFormValuesUtil;
 import org.activiti.form.model.CompletedFormDefinition;
 import org.activiti.form.model.ExpressionFormField;
 import org.activiti.form.model.FormDefinition;
@@ -86,7 +89,7 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
     FormCacheEntry formCacheEntry = resolveForm(commandContext);
     SubmittedForm submittedForm = resolveSubmittedForm(commandContext);
     CompletedFormDefinition formDefinition = resolveRuntimeFormDefinition(formCacheEntry, submittedForm, commandContext);
-    fillFormFieldValues(submittedForm, formDefinition, commandContext);
+    fillFormFieldValues(formCacheEntry, submittedForm, formDefinition, commandContext);
     return formDefinition;
   }
   
@@ -106,20 +109,20 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
     }
   }
 
-  protected void fillFormFieldValues(SubmittedForm submittedForm, CompletedFormDefinition formDefinition, CommandContext commandContext) {
+  protected void fillFormFieldValues(FormCacheEntry formCacheEntry, SubmittedForm submittedForm, CompletedFormDefinition formDefinition, CommandContext commandContext) {
 
     FormEngineConfiguration formEngineConfiguration = commandContext.getFormEngineConfiguration();
     List<FormField> allFields = formDefinition.listAllFields();
     if (allFields != null) {
 
-      Map<String, JsonNode> submittedFormFieldMap = fillPreviousFormValues(submittedForm, formEngineConfiguration);
+      Map<String, JsonNode> submittedFormFieldMap = fillPreviousFormValues(submittedForm, allFields, formEngineConfiguration);
       fillSubmittedFormValues(formDefinition, submittedForm, submittedFormFieldMap, formEngineConfiguration.getObjectMapper());
       fillVariablesWithFormValues(submittedFormFieldMap, allFields);
       
       for (FormField field : allFields) {
         if (field instanceof ExpressionFormField) {
           ExpressionFormField expressionField = (ExpressionFormField) field;
-          FormExpression formExpression = formEngineConfiguration.getExpressionManager().createExpression(expressionField.getExpression());
+          FormExpression formExpression = FormUtil.getFormExpression(formCacheEntry, expressionField.getExpression(), formEngineConfiguration);
           try {
             field.setValue(formExpression.getValue(variables));
           } catch (Exception e) {
@@ -225,9 +228,10 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
     return submittedForm;
   }
   
-  protected Map<String, JsonNode> fillPreviousFormValues(SubmittedForm submittedForm, FormEngineConfiguration formEngineConfiguration) {
+  protected Map<String, JsonNode> fillPreviousFormValues(SubmittedForm submittedForm, List<FormField> allFields, FormEngineConfiguration formEngineConfiguration) {
     Map<String, JsonNode> submittedFormMap = new HashMap<String, JsonNode>();
-    if (taskId != null && processInstanceId != null) {
+    Set<String> fieldIds = getPreviousFormValueFieldIds(allFields);
+    if (taskId != null && processInstanceId != null && !fieldIds.isEmpty()) {
       List<SubmittedForm> submittedForms = formEngineConfiguration.getFormService().createSubmittedFormQuery()
         .processInstanceId(processInstanceId)
         .submittedDateBefore(submittedForm.getSubmittedDate())
@@ -241,24 +245,12 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
         }
         
         try {
-          JsonNode submittedNode = formEngineConfiguration.getObjectMapper().readTree(submittedForm.getFormValueBytes());
-          if (submittedNode == null || submittedNode.get("values") != null) {
-            continue;
-          }
-         
-          JsonNode valuesNode = submittedNode.get("values");
-          Iterator<String> fieldIdIterator = valuesNode.fieldNames();
-          while (fieldIdIterator.hasNext()) {
-            String fieldId = fieldIdIterator.next();
-            if (submittedFormMap.containsKey(fieldId) == false) {
-  
-              JsonNode valueNode = valuesNode.get(fieldId);
-              submittedFormMap.put(fieldId, valueNode);
-            }
+          if (SubmittedFormValuesUtil.collectFieldValues(otherForm.getFormValueBytes(), fieldIds, submittedFormMap, formEngineConfiguration.getObjectMapper())) {
+            break;
           }
 
         } catch (Exception e) {
-          throw new ActivitiFormException("Error parsing submitted form " + submittedForm.getId());
+          throw new ActivitiFormException("Error parsing submitted form " + otherForm.getId(), e);
         }
       }
     }
@@ -297,6 +289,20 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
     }
   }
   
+  /**
+   * Only the values of the fields of this form are read from previously submitted forms, starting from the latest one.
+   * Fields for which a variable is passed in keep the value of that variable.
+   */
+  protected Set<String> getPreviousFormValueFieldIds(List<FormField> allFields) {
+    Set<String> fieldIds = new HashSet<String>();
+    for (FormField field : allFields) {
+      if (!variables.containsKey(field.getId())) {
+        fieldIds.add(field.getId());
+      }
+    }
+    return fieldIds;
+  }
+  
   public void fillVariablesWithFormValues(Map<String, JsonNode> submittedFormFieldMap, List<FormField> allFields) {
     for (FormField field : allFields) {
       
@@ -329,8 +335,7 @@ public class GetCompletedFormDefinitionCmd implements Command<CompletedFormDefin
       SubmittedForm submittedForm, CommandContext commandContext) {
     
     FormEntity formEntity = formCacheEntry.getFormEntity();
-    FormJsonConverter formJsonConverter = commandContext.getFormEngineConfiguration().getFormJsonConverter();
-    FormDefinition formDefinition = formJsonConverter.convertToForm(formCacheEntry.getFormJson(), formEntity.getId(), formEntity.getVersion());
+    FormDefinition formDefinition = FormUtil.createFormDefinition(formCacheEntry, commandContext.getFormEngineConfiguration());
     CompletedFormDefinition runtimeFormDefinition = new CompletedFormDefinition(formDefinition);
     runtimeFormDefinition.setId(formEntity.getId());
     runtimeFormDefinition.setName(formEntity.getName());
@@ -14,7 +14,6 @@ package org.activiti.form.engine.impl.cmd;
 
 import java.io.Serializable;
 
-import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.engine.ActivitiFormObjectNotFoundException;
 import org.activiti.form.engine.FormEngineConfiguration;
 import org.activiti.form.engine.impl.interceptor.Command;
@@ -22,6 +21,7 @@ import org.activiti.form.engine.impl.interceptor.CommandContext;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.engine.impl.util.FormUtil;
 import org.activiti.form.model.FormDefinition;
 
 /**
@@ -98,7 +98,6 @@ public class GetFormDefinitionCmd implements Command<FormDefinition>, Serializab
     }
     
     FormCacheEntry formCacheEntry = deploymentManager.resolveForm(formEntity);
-    FormJsonConverter formJsonConverter = commandContext.getFormEngineConfiguration().getFormJsonConverter();
-    return formJsonConverter.convertToForm(formCacheEntry.getFormJson(), formEntity.getId(), formEntity.getVersion());
+    return FormUtil.createFormDefinition(formCacheEntry, commandContext.getFormEngineConfiguration());
   }
 }
\ No newline at end of file
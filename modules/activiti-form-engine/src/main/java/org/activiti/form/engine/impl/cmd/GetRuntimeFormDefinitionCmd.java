@@ -14,11 +14,11 @@ package org.activiti.form.engine.impl.cmd;
 
 import java.io.Serializable;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.api.SubmittedForm;
 import org.activiti.form.engine.ActivitiFormException;
 import org.activiti.form.engine.ActivitiFormObjectNotFoundException;
@@ -29,6 +29,8 @@ import org.activiti.form.engine.impl.interceptor.CommandContext;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.engine.impl.util.FormUtil;
+import org.activiti.form.engine.impl.util.SubmittedFormValuesUtil;
 import org.activiti.form.model.ExpressionFormField;
 import org.activiti.form.model.FormDefinition;
 import org.activiti.form.model.FormField;
@@ -77,7 +79,7 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
   public FormDefinition execute(CommandContext commandContext) {
     FormCacheEntry formCacheEntry = resolveForm(commandContext);
     FormDefinition formDefinition = resolveFormDefinition(formCacheEntry, commandContext);
-    fillFormFieldValues(formDefinition, commandContext);
+    fillFormFieldValues(formCacheEntry, formDefinition, commandContext);
     return formDefinition;
   }
   
@@ -92,19 +94,19 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
     }
   }
 
-  protected void fillFormFieldValues(FormDefinition formDefinition, CommandContext commandContext) {
+  protected void fillFormFieldValues(FormCacheEntry formCacheEntry, FormDefinition formDefinition, CommandContext commandContext) {
 
     FormEngineConfiguration formEngineConfiguration = commandContext.getFormEngineConfiguration();
     List<FormField> allFields = formDefinition.listAllFields();
     if (allFields != null) {
 
-      Map<String, JsonNode> submittedFormFieldMap = fillPreviousFormValues(formEngineConfiguration);
+      Map<String, JsonNode> submittedFormFieldMap = fillPreviousFormValues(allFields, formEngineConfiguration);
       fillVariablesWithFormValues(submittedFormFieldMap, allFields);
       
       for (FormField field : allFields) {
         if (field instanceof ExpressionFormField) {
           ExpressionFormField expressionField = (ExpressionFormField) field;
-          FormExpression formExpression = formEngineConfiguration.getExpressionManager().createExpression(expressionField.getExpression());
+          FormExpression formExpression = FormUtil.getFormExpression(formCacheEntry, expressionField.getExpression(), formEngineConfiguration);
           try {
             field.setValue(formExpression.getValue(variables));
           } catch (Exception e) {
@@ -169,9 +171,10 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
     return formCacheEntry;
   }
   
-  protected Map<String, JsonNode> fillPreviousFormValues(FormEngineConfiguration formEngineConfiguration) {
+  protected Map<String, JsonNode> fillPreviousFormValues(List<FormField> allFields, FormEngineConfiguration formEngineConfiguration) {
     Map<String, JsonNode> submittedFormMap = new HashMap<String, JsonNode>();
-    if (processInstanceId != null) {
+    Set<String> fieldIds = getPreviousFormValueFieldIds(allFields);
+    if (processInstanceId != null && !fieldIds.isEmpty()) {
       List<SubmittedForm> submittedForms = formEngineConfiguration.getFormService().createSubmittedFormQuery()
         .processInstanceId(processInstanceId)
         .orderBySubmittedDate()
@@ -180,24 +183,12 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
 
       for (SubmittedForm otherForm : submittedForms) {
         try {
-          JsonNode submittedNode = formEngineConfiguration.getObjectMapper().readTree(otherForm.getFormValueBytes());
-          if (submittedNode == null || submittedNode.get("values") != null) {
-            continue;
-          }
-         
-          JsonNode valuesNode = submittedNode.get("values");
-          Iterator<String> fieldIdIterator = valuesNode.fieldNames();
-          while (fieldIdIterator.hasNext()) {
-            String fieldId = fieldIdIterator.next();
-            if (submittedFormMap.containsKey(fieldId) == false) {
-  
-              JsonNode valueNode = valuesNode.get(fieldId);
-              submittedFormMap.put(fieldId, valueNode);
-            }
+          if (SubmittedFormValuesUtil.collectFieldValues(otherForm.getFormValueBytes(), fieldIds, submittedFormMap, formEngineConfiguration.getObjectMapper())) {
+            break;
           }
 
         } catch (Exception e) {
-          throw new ActivitiFormException("Error parsing submitted form " + otherForm.getId());
+          throw new ActivitiFormException("Error parsing submitted form " + otherForm.getId(), e);
         }
       }
     }
@@ -205,6 +196,20 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
     return submittedFormMap;
   }
   
+  /**
+   * Only the values of the fields of this form are read from previously submitted forms, starting from the latest one.
+   * Fields for which a variable is passed in keep the value of that variable.
+   */
+  protected Set<String> getPreviousFormValueFieldIds(List<FormField> allFields) {
+    Set<String> fieldIds = new HashSet<String>();
+    for (FormField field : allFields) {
+      if (!variables.containsKey(field.getId())) {
+        fieldIds.add(field.getId());
+      }
+    }
+    return fieldIds;
+  }
+  
   public void fillVariablesWithFormValues(Map<String, JsonNode> submittedFormFieldMap, List<FormField> allFields) {
     for (FormField field : allFields) {
       
@@ -235,8 +240,7 @@ public class GetRuntimeFormDefinitionCmd implements Command<FormDefinition>, Ser
   
   protected FormDefinition resolveFormDefinition(FormCacheEntry formCacheEntry, CommandContext commandContext) {
     FormEntity formEntity = formCacheEntry.getFormEntity();
-    FormJsonConverter formJsonConverter = commandContext.getFormEngineConfiguration().getFormJsonConverter();
-    FormDefinition formDefinition = formJsonConverter.convertToForm(formCacheEntry.getFormJson(), formEntity.getId(), formEntity.getVersion());
+    FormDefinition formDefinition = FormUtil.createFormDefinition(formCacheEntry, commandContext.getFormEngineConfiguration());
     formDefinition.setId(formEntity.getId());
     formDefinition.setName(formEntity.getName());
     formDefinition.setKey(formEntity.getKey());
@@ -12,19 +12,31 @@
  */
 package org.activiti.form.engine.impl.deployer;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.activiti.editor.form.converter.FormJsonConverter;
 import org.activiti.form.engine.FormEngineConfiguration;
+import org.activiti.form.engine.FormExpression;
 import org.activiti.form.engine.impl.context.Context;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
 import org.activiti.form.engine.impl.persistence.entity.FormDeploymentEntity;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.engine.impl.el.ExpressionManager;
+import org.activiti.form.model.ExpressionFormField;
 import org.activiti.form.model.FormDefinition;
+import org.activiti.form.model.FormField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Updates caches and artifacts for a deployment and its forms
  */
 public class CachingAndArtifactsManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(CachingAndArtifactsManager.class);
   
   protected FormJsonConverter formJsonConverter = new FormJsonConverter();
   
@@ -40,12 +52,37 @@ public class CachingAndArtifactsManager {
     for (FormEntity form : parsedDeployment.getAllForms()) {
       FormDefinition formDefinition = parsedDeployment.getFormDefinitionForForm(form);
       formDefinition.setId(form.getId());
-      FormCacheEntry cacheEntry = new FormCacheEntry(form, formJsonConverter.convertToJson(formDefinition));
+      String formJson = formJsonConverter.convertToJson(formDefinition);
+      
+      // The parsed form definition and its compiled expressions are kept with the json,
+      // so they don't have to be created again every time the form is requested
+      FormDefinition cachedFormDefinition = formJsonConverter.convertToForm(formJson, form.getId(), form.getVersion());
+      Map<String, FormExpression> formExpressions = createFormExpressions(cachedFormDefinition, formEngineConfiguration.getExpressionManager());
+      
+      FormCacheEntry cacheEntry = new FormCacheEntry(form, formJson, cachedFormDefinition, formExpressions);
       formCache.add(form.getId(), cacheEntry);
     
       // Add to deployment for further usage
       deployment.addDeployedArtifact(form);
     }
   }
+  
+  protected Map<String, FormExpression> createFormExpressions(FormDefinition formDefinition, ExpressionManager expressionManager) {
+    Map<String, FormExpression> formExpressions = new HashMap<String, FormExpression>();
+    List<FormField> allFields = formDefinition.listAllFields();
+    for (FormField field : allFields) {
+      if (field instanceof ExpressionFormField) {
+        String expressionText = ((ExpressionFormField) field).getExpression();
+        if (expressionText != null && !formExpressions.containsKey(expressionText)) {
+          try {
+            formExpressions.put(expressionText, expressionManager.createExpression(expressionText));
+          } catch (Exception e) {
+            // Invalid expressions are reported when the form is requested
+            logger.debug("Could not compile expression {} of form {}", expressionText, formDefinition.getKey(), e);
+          }
+        }
+      }
+    }
+    return formExpressions;
+  }
 }
-
@@ -13,8 +13,12 @@
 package org.activiti.form.engine.impl.persistence.deploy;
 
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 
+import org.activiti.form.engine.FormExpression;
 import org.activiti.form.engine.impl.persistence.entity.FormEntity;
+import org.activiti.form.model.FormDefinition;
 
 /**
  * @author Tijs Rademakers
@@ -25,12 +29,22 @@ public class FormCacheEntry implements Serializable {
 
   protected FormEntity formEntity;
   protected String formJson;
+  protected FormDefinition formDefinition;
+  protected Map<String, FormExpression> formExpressions = new HashMap<String, FormExpression>();
 
   public FormCacheEntry(FormEntity formEntity, String formJson) {
     this.formEntity = formEntity;
     this.formJson = formJson;
   }
 
+  public FormCacheEntry(FormEntity formEntity, String formJson, FormDefinition formDefinition, Map<String, FormExpression> formExpressions) {
+    this(formEntity, formJson);
+    this.formDefinition = formDefinition;
+    if (formExpressions != null) {
+      this.formExpressions = formExpressions;
+    }
+  }
+
   public FormEntity getFormEntity() {
     return formEntity;
   }
@@ -46,4 +60,31 @@ public class FormCacheEntry implements Serializable {
   public void setFormJson(String formJson) {
     this.formJson = formJson;
   }
+
+  /**
+   * Returns the parsed form definition, which is shared by all users of this cache entry and should not be changed.
+   * Use {@link FormDefinition#clone()} to get a form definition to fill in.
+   */
+  public FormDefinition getFormDefinition() {
+    return formDefinition;
+  }
+
+  public void setFormDefinition(FormDefinition formDefinition) {
+    this.formDefinition = formDefinition;
+  }
+
+  /**
+   * Returns the compiled expression of the expression fields of the form, by expression text.
+   */
+  public FormExpression getFormExpression(String expressionText) {
+    return formExpressions.get(expressionText);
+  }
+
+  public Map<String, FormExpression> getFormExpressions() {
+    return formExpressions;
+  }
+
+  public void setFormExpressions(Map<String, FormExpression> formExpressions) {
+    this.formExpressions = formExpressions;
+  }
 }
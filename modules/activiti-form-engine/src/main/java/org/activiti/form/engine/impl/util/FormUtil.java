@@ -14,6 +14,7 @@ package org.activiti.form.engine.impl.util;
 
 import org.activiti.form.engine.ActivitiFormException;
 import org.activiti.form.engine.FormEngineConfiguration;
+import org.activiti.form.engine.FormExpression;
 import org.activiti.form.engine.impl.context.Context;
 import org.activiti.form.engine.impl.persistence.deploy.DeploymentManager;
 import org.activiti.form.engine.impl.persistence.deploy.FormCacheEntry;
@@ -54,20 +55,40 @@ public class FormUtil {
     // This will check the cache in the findDeployedProcessDefinitionById and resolveProcessDefinition method
     FormEntity formEntity = deploymentManager.findDeployedFormById(formId);
     FormCacheEntry cacheEntry = deploymentManager.resolveForm(formEntity);
-    return formEngineConfiguration.getFormJsonConverter().convertToForm(cacheEntry.getFormJson(), 
-        cacheEntry.getFormEntity().getId(), cacheEntry.getFormEntity().getVersion());
+    return createFormDefinition(cacheEntry, formEngineConfiguration);
   }
   
   public static FormDefinition getFormDefinitionFromCache(String formId) {
     FormEngineConfiguration formEngineConfiguration = Context.getFormEngineConfiguration();
     FormCacheEntry cacheEntry = formEngineConfiguration.getFormCache().get(formId);
     if (cacheEntry != null) {
-      return formEngineConfiguration.getFormJsonConverter().convertToForm(cacheEntry.getFormJson(), 
-          cacheEntry.getFormEntity().getId(), cacheEntry.getFormEntity().getVersion());
+      return createFormDefinition(cacheEntry, formEngineConfiguration);
     }
     return null;
   }
   
+  /**
+   * Returns a new form definition for the cached form, which can be changed by the caller.
+   * It's copied from the parsed form definition of the cache entry, the form json is only parsed
+   * when the cache entry doesn't have a parsed form definition.
+   */
+  public static FormDefinition createFormDefinition(FormCacheEntry cacheEntry, FormEngineConfiguration formEngineConfiguration) {
+    if (cacheEntry.getFormDefinition() != null) {
+      return cacheEntry.getFormDefinition().clone();
+    }
+    
+    return formEngineConfiguration.getFormJsonConverter().convertToForm(cacheEntry.getFormJson(), 
+        cacheEntry.getFormEntity().getId(), cacheEntry.getFormEntity().getVersion());
+  }
+  
+  public static FormExpression getFormExpression(FormCacheEntry cacheEntry, String expressionText, FormEngineConfiguration formEngineConfiguration) {
+    FormExpression formExpression = cacheEntry.getFormExpression(expressionText);
+    if (formExpression == null) {
+      formExpression = formEngineConfiguration.getExpressionManager().createExpression(expressionText);
+    }
+    return formExpression;
+  }
+  
   public static FormEntity getFormDefinitionFromDatabase(String formId) {
     FormEntityManager formEntityManager = Context.getFormEngineConfiguration().getFormEntityManager();
     FormEntity form = formEntityManager.findById(formId);
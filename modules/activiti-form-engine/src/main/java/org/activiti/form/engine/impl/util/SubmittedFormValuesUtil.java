@@ -0,0 +1,95 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.form.engine.impl.util;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads field values from the json of submitted forms.
+ * 
+ * The json is streamed: only the values object is read, only the values of the requested fields are turned into json nodes,
+ * and parsing stops as soon as the values object has been read or all requested fields have a value.
+ */
+public class SubmittedFormValuesUtil {
+
+  public static final String VALUES = "values";
+
+  /**
+   * Adds the values of the given fields from the submitted form json to the field value map.
+   * Fields that already have a value in the map are skipped, so when the submitted forms are processed from the most recent
+   * to the oldest one, the map ends up with the latest submitted value of every field.
+   * 
+   * @param fieldIds the field ids to read the values of, or null to read the values of all fields
+   * @return true when all given fields have a value in the map
+   */
+  public static boolean collectFieldValues(byte[] formValueBytes, Set<String> fieldIds, Map<String, JsonNode> fieldValueMap, 
+      ObjectMapper objectMapper) throws IOException {
+    
+    if (hasAllFieldValues(fieldIds, fieldValueMap)) {
+      return true;
+    }
+    
+    if (formValueBytes == null || formValueBytes.length == 0) {
+      return false;
+    }
+    
+    JsonParser parser = objectMapper.getFactory().createParser(formValueBytes);
+    try {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        return false;
+      }
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.getCurrentName();
+        JsonToken valueToken = parser.nextToken();
+        if (VALUES.equals(name) && valueToken == JsonToken.START_OBJECT) {
+          return collectValues(parser, fieldIds, fieldValueMap);
+        }
+        parser.skipChildren();
+      }
+      return false;
+      
+    } finally {
+      parser.close();
+    }
+  }
+  
+  public static boolean hasAllFieldValues(Set<String> fieldIds, Map<String, JsonNode> fieldValueMap) {
+    return fieldIds != null && fieldValueMap.keySet().containsAll(fieldIds);
+  }
+
+  protected static boolean collectValues(JsonParser parser, Set<String> fieldIds, Map<String, JsonNode> fieldValueMap) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String fieldId = parser.getCurrentName();
+      parser.nextToken();
+      if ((fieldIds == null || fieldIds.contains(fieldId)) && !fieldValueMap.containsKey(fieldId)) {
+        JsonNode valueNode = parser.readValueAsTree();
+        fieldValueMap.put(fieldId, valueNode);
+        if (hasAllFieldValues(fieldIds, fieldValueMap)) {
+          return true;
+        }
+        
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return hasAllFieldValues(fieldIds, fieldValueMap);
+  }
+}
@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.dmn.engine.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.activiti.form.engine.test.FormDeploymentAnnotation;
+import org.activiti.form.model.FormDefinition;
+import org.activiti.form.model.FormField;
+import org.joda.time.LocalDate;
+import org.junit.Test;
+
+public class RuntimeFormDefinitionTest extends AbstractActivitiFormTest {
+
+  @Test
+  @FormDeploymentAnnotation(resources = "org/activiti/form/engine/test/deployment/form_with_expression.form")
+  public void getRuntimeFormDefinitionWithExpression() {
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("input1", "kermit");
+    FormDefinition formDefinition = formService.getTaskFormDefinitionByKey("expressionform", null, variables);
+    Map<String, FormField> fields = formDefinition.allFieldsAsMap();
+    assertEquals("kermit", fields.get("input1").getValue());
+    assertEquals("Hello kermit", fields.get("expression1").getValue());
+
+    variables.put("input1", "gonzo");
+    FormDefinition otherFormDefinition = formService.getTaskFormDefinitionByKey("expressionform", null, variables);
+    assertNotSame(formDefinition, otherFormDefinition);
+    Map<String, FormField> otherFields = otherFormDefinition.allFieldsAsMap();
+    assertEquals("gonzo", otherFields.get("input1").getValue());
+    assertEquals("Hello gonzo", otherFields.get("expression1").getValue());
+
+    // The values filled in for one request don't end up in the cached form definition
+    assertEquals("kermit", fields.get("input1").getValue());
+    FormDefinition deployedFormDefinition = repositoryService.getFormDefinitionByKey("expressionform");
+    assertNull(deployedFormDefinition.allFieldsAsMap().get("input1").getValue());
+    assertNull(deployedFormDefinition.allFieldsAsMap().get("expression1").getValue());
+  }
+
+  @Test
+  @FormDeploymentAnnotation(resources = { "org/activiti/form/engine/test/deployment/simple.form",
+      "org/activiti/form/engine/test/deployment/form_with_dates.form" })
+  public void getRuntimeFormDefinitionWithPreviousSubmittedValues() {
+    FormDefinition simpleForm = repositoryService.getFormDefinitionByKey("form1");
+    Map<String, Object> simpleFormValues = new HashMap<String, Object>();
+    simpleFormValues.put("input1", "kermit");
+    formService.storeSubmittedForm(simpleFormValues, simpleForm, null, "runtimeFormProcessInstance");
+
+    FormDefinition dateForm = repositoryService.getFormDefinitionByKey("dateform");
+    Map<String, Object> dateFormValues = new HashMap<String, Object>();
+    dateFormValues.put("date1", new LocalDate(2016, 1, 1));
+    formService.storeSubmittedForm(dateFormValues, dateForm, null, "runtimeFormProcessInstance");
+
+    // The field values are taken from all submitted forms of the process instance
+    FormDefinition formDefinition = formService.getTaskFormDefinitionByKey("dateform", "runtimeFormProcessInstance", new HashMap<String, Object>());
+    Map<String, FormField> fields = formDefinition.allFieldsAsMap();
+    assertEquals("kermit", fields.get("input1").getValue());
+    assertEquals(new LocalDate(2016, 1, 1), fields.get("date1").getValue());
+    assertNull(fields.get("date2").getValue());
+
+    // Variables passed in win over the values of previously submitted forms
+    Map<String, Object> variables = new HashMap<String, Object>();
+    variables.put("input1", "gonzo");
+    formDefinition = formService.getTaskFormDefinitionByKey("dateform", "runtimeFormProcessInstance", variables);
+    fields = formDefinition.allFieldsAsMap();
+    assertEquals("gonzo", fields.get("input1").getValue());
+    assertEquals(new LocalDate(2016, 1, 1), fields.get("date1").getValue());
+
+    formDefinition = formService.getTaskFormDefinitionByKey("dateform", "otherProcessInstance", new HashMap<String, Object>());
+    assertNull(formDefinition.allFieldsAsMap().get("input1").getValue());
+  }
+}
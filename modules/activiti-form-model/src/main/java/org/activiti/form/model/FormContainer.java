@@ -15,6 +15,8 @@ package org.activiti.form.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * @author Erik Winlof
  *
@@ -32,4 +34,26 @@ public class FormContainer extends FormField {
   public void setFields(List<List<FormField>> fields) {
     this.fields = fields;
   }
-}
\ No newline at end of file
+
+  @Override
+  public FormContainer clone() {
+    FormContainer clone = new FormContainer();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @JsonIgnore
+  public void setValues(FormContainer otherField) {
+    super.setValues(otherField);
+
+    if (otherField.getFields() != null) {
+      List<List<FormField>> fieldsCopy = new ArrayList<List<FormField>>();
+      for (List<FormField> subFields : otherField.getFields()) {
+        fieldsCopy.add(FormDefinition.cloneFields(subFields));
+      }
+      setFields(fieldsCopy);
+    } else {
+      setFields(null);
+    }
+  }
+}
@@ -18,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 
@@ -109,6 +110,33 @@ public class FormDefinition implements Serializable {
     this.outcomeVariableName = outcomeVariableName;
   }
 
+  /**
+   * Returns a copy of this form definition with copies of all its fields, so field values can be set
+   * on the copy without changing this form definition.
+   */
+  public FormDefinition clone() {
+    FormDefinition clone = new FormDefinition();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @JsonIgnore
+  public void setValues(FormDefinition otherDefinition) {
+    setId(otherDefinition.getId());
+    setName(otherDefinition.getName());
+    setDescription(otherDefinition.getDescription());
+    setKey(otherDefinition.getKey());
+    setVersion(otherDefinition.getVersion());
+    setOutcomeVariableName(otherDefinition.getOutcomeVariableName());
+    setFields(cloneFields(otherDefinition.getFields()));
+
+    if (otherDefinition.getOutcomes() != null) {
+      setOutcomes(new ArrayList<FormOutcome>(otherDefinition.getOutcomes()));
+    } else {
+      setOutcomes(null);
+    }
+  }
+
   /*
    * Helper methods
    */
@@ -132,6 +160,18 @@ public class FormDefinition implements Serializable {
     return listOfAllFields;
   }
 
+  public static List<FormField> cloneFields(List<FormField> fields) {
+    if (fields == null) {
+      return null;
+    }
+
+    List<FormField> clonedFields = new ArrayList<FormField>(fields.size());
+    for (FormField field : fields) {
+      clonedFields.add(field != null ? field.clone() : null);
+    }
+    return clonedFields;
+  }
+
   protected void collectSubFields(List<FormField> fields, List<FormField> listOfAllFields) {
     if (fields != null && fields.size() > 0) {
       for (FormField field : fields) {
@@ -13,6 +13,7 @@
 package org.activiti.form.model;
 
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -153,4 +154,31 @@ public class FormField implements Serializable {
     }
     return null;
   }
+
+  public FormField clone() {
+    FormField clone = new FormField();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @JsonIgnore
+  public void setValues(FormField otherField) {
+    setId(otherField.getId());
+    setName(otherField.getName());
+    setType(otherField.getType());
+    setValue(otherField.getValue());
+    setRequired(otherField.isRequired());
+    setReadOnly(otherField.isReadOnly());
+    setOverrideId(otherField.isOverrideId());
+    setPlaceholder(otherField.getPlaceholder());
+    setLayout(otherField.getLayout());
+    setSizeX(otherField.getSizeX());
+    setSizeY(otherField.getSizeY());
+
+    if (otherField.getParams() != null) {
+      setParams(new HashMap<String, Object>(otherField.getParams()));
+    } else {
+      setParams(null);
+    }
+  }
 }
@@ -12,8 +12,11 @@
  */
 package org.activiti.form.model;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * @author Tijs Rademakers
  */
@@ -48,4 +51,24 @@ public class OptionFormField extends FormField {
   public void setOptions(List<Option> options) {
     this.options = options;
   }
+
+  @Override
+  public OptionFormField clone() {
+    OptionFormField clone = new OptionFormField();
+    clone.setValues(this);
+    return clone;
+  }
+
+  @JsonIgnore
+  public void setValues(OptionFormField otherField) {
+    super.setValues(otherField);
+    setOptionType(otherField.getOptionType());
+    setHasEmptyValue(otherField.getHasEmptyValue());
+
+    if (otherField.getOptions() != null) {
+      setOptions(new ArrayList<Option>(otherField.getOptions()));
+    } else {
+      setOptions(null);
+    }
+  }
 }
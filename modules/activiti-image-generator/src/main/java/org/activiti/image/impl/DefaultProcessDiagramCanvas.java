@@ -44,9 +44,14 @@ import java.io.InputStream;
 import java.text.AttributedCharacterIterator;
 import java.text.AttributedString;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 
 import org.activiti.bpmn.model.AssociationDirection;
 import org.activiti.bpmn.model.GraphicInfo;
@@ -110,26 +115,32 @@ public class DefaultProcessDiagramCanvas {
 
   // icons
   protected static int ICON_PADDING = 5;
-  protected static BufferedImage USERTASK_IMAGE;
-  protected static BufferedImage SCRIPTTASK_IMAGE;
-  protected static BufferedImage SERVICETASK_IMAGE;
-  protected static BufferedImage RECEIVETASK_IMAGE;
-  protected static BufferedImage SENDTASK_IMAGE;
-  protected static BufferedImage MANUALTASK_IMAGE;
-  protected static BufferedImage BUSINESS_RULE_TASK_IMAGE;
-  protected static BufferedImage SHELL_TASK_IMAGE;
-  protected static BufferedImage MULE_TASK_IMAGE;
-  protected static BufferedImage CAMEL_TASK_IMAGE;
+  protected BufferedImage USERTASK_IMAGE;
+  protected BufferedImage SCRIPTTASK_IMAGE;
+  protected BufferedImage SERVICETASK_IMAGE;
+  protected BufferedImage RECEIVETASK_IMAGE;
+  protected BufferedImage SENDTASK_IMAGE;
+  protected BufferedImage MANUALTASK_IMAGE;
+  protected BufferedImage BUSINESS_RULE_TASK_IMAGE;
+  protected BufferedImage SHELL_TASK_IMAGE;
+  protected BufferedImage MULE_TASK_IMAGE;
+  protected BufferedImage CAMEL_TASK_IMAGE;
   
-  protected static BufferedImage TIMER_IMAGE;
-  protected static BufferedImage COMPENSATE_THROW_IMAGE;
-  protected static BufferedImage COMPENSATE_CATCH_IMAGE;
-  protected static BufferedImage ERROR_THROW_IMAGE;
-  protected static BufferedImage ERROR_CATCH_IMAGE;
-  protected static BufferedImage MESSAGE_THROW_IMAGE;
-  protected static BufferedImage MESSAGE_CATCH_IMAGE;
-  protected static BufferedImage SIGNAL_CATCH_IMAGE;
-  protected static BufferedImage SIGNAL_THROW_IMAGE;
+  protected BufferedImage TIMER_IMAGE;
+  protected BufferedImage COMPENSATE_THROW_IMAGE;
+  protected BufferedImage COMPENSATE_CATCH_IMAGE;
+  protected BufferedImage ERROR_THROW_IMAGE;
+  protected BufferedImage ERROR_CATCH_IMAGE;
+  protected BufferedImage MESSAGE_THROW_IMAGE;
+  protected BufferedImage MESSAGE_CATCH_IMAGE;
+  protected BufferedImage SIGNAL_CATCH_IMAGE;
+  protected BufferedImage SIGNAL_THROW_IMAGE;
+  
+  // icon images per class loader, read once for every class loader
+  protected static final Map<ClassLoader, Map<String, BufferedImage>> ICONS = new WeakHashMap<ClassLoader, Map<String, BufferedImage>>();
+  protected static final String[] ICON_NAMES = { "userTask.png", "scriptTask.png", "serviceTask.png", "receiveTask.png", "sendTask.png", 
+      "manualTask.png", "businessRuleTask.png", "shellTask.png", "camelTask.png", "muleTask.png", "timer.png", "compensate-throw.png", 
+      "compensate.png", "error-throw.png", "error.png", "message-throw.png", "message.png", "signal-throw.png", "signal.png" };
 
   protected int canvasWidth = -1;
   protected int canvasHeight = -1;
@@ -196,6 +207,17 @@ public class DefaultProcessDiagramCanvas {
     
     initialize(imageType);
   }
+
+  /**
+   * Creates a canvas that starts from a copy of the given image, for example a diagram without highlights 
+   * to which only the highlights are added. The given image itself is not changed.
+   */
+  public DefaultProcessDiagramCanvas(BufferedImage baseImage, int minX, int minY, String imageType, 
+      String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader) {
+    
+    this(baseImage.getWidth(), baseImage.getHeight(), minX, minY, imageType, activityFontName, labelFontName, annotationFontName, customClassLoader);
+    baseImage.copyData(processDiagram.getRaster());
+  }
   
   public void initialize(String imageType) {
     if ("png".equalsIgnoreCase(imageType)) {
@@ -220,29 +242,52 @@ public class DefaultProcessDiagramCanvas {
     LABEL_FONT = new Font(labelFontName, Font.ITALIC, 10);
     ANNOTATION_FONT = new Font(annotationFontName, Font.PLAIN, FONT_SIZE);
     
-    try {
-      USERTASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/userTask.png", customClassLoader));
-      SCRIPTTASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/scriptTask.png", customClassLoader));
-      SERVICETASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/serviceTask.png", customClassLoader));
-      RECEIVETASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/receiveTask.png", customClassLoader));
-      SENDTASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/sendTask.png", customClassLoader));
-      MANUALTASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/manualTask.png", customClassLoader));
-      BUSINESS_RULE_TASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/businessRuleTask.png", customClassLoader));
-      SHELL_TASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/shellTask.png", customClassLoader));
-      CAMEL_TASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/camelTask.png", customClassLoader));
-      MULE_TASK_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/muleTask.png", customClassLoader));
-      
-      TIMER_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/timer.png", customClassLoader));
-      COMPENSATE_THROW_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/compensate-throw.png", customClassLoader));
-      COMPENSATE_CATCH_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/compensate.png", customClassLoader));
-      ERROR_THROW_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/error-throw.png", customClassLoader));
-      ERROR_CATCH_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/error.png", customClassLoader));
-      MESSAGE_THROW_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/message-throw.png", customClassLoader));
-      MESSAGE_CATCH_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/message.png", customClassLoader));
-      SIGNAL_THROW_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/signal-throw.png", customClassLoader));
-      SIGNAL_CATCH_IMAGE = ImageIO.read(ReflectUtil.getResource("org/activiti/icons/signal.png", customClassLoader));
-    } catch (IOException e) {
-      LOGGER.warn("Could not load image for process diagram creation: {}", e.getMessage());
+    loadIcons(customClassLoader);
+  }
+
+  protected void loadIcons(ClassLoader customClassLoader) {
+    Map<String, BufferedImage> icons = getIcons(customClassLoader);
+    USERTASK_IMAGE = icons.get("userTask.png");
+    SCRIPTTASK_IMAGE = icons.get("scriptTask.png");
+    SERVICETASK_IMAGE = icons.get("serviceTask.png");
+    RECEIVETASK_IMAGE = icons.get("receiveTask.png");
+    SENDTASK_IMAGE = icons.get("sendTask.png");
+    MANUALTASK_IMAGE = icons.get("manualTask.png");
+    BUSINESS_RULE_TASK_IMAGE = icons.get("businessRuleTask.png");
+    SHELL_TASK_IMAGE = icons.get("shellTask.png");
+    CAMEL_TASK_IMAGE = icons.get("camelTask.png");
+    MULE_TASK_IMAGE = icons.get("muleTask.png");
+    
+    TIMER_IMAGE = icons.get("timer.png");
+    COMPENSATE_THROW_IMAGE = icons.get("compensate-throw.png");
+    COMPENSATE_CATCH_IMAGE = icons.get("compensate.png");
+    ERROR_THROW_IMAGE = icons.get("error-throw.png");
+    ERROR_CATCH_IMAGE = icons.get("error.png");
+    MESSAGE_THROW_IMAGE = icons.get("message-throw.png");
+    MESSAGE_CATCH_IMAGE = icons.get("message.png");
+    SIGNAL_THROW_IMAGE = icons.get("signal-throw.png");
+    SIGNAL_CATCH_IMAGE = icons.get("signal.png");
+  }
+
+  /**
+   * Returns the icon images by name, as read with the given class loader. The images are read once for every class loader,
+   * which is only weakly referenced, and are never drawn on.
+   */
+  protected static Map<String, BufferedImage> getIcons(ClassLoader customClassLoader) {
+    synchronized (ICONS) {
+      Map<String, BufferedImage> icons = ICONS.get(customClassLoader);
+      if (icons == null) {
+        icons = new HashMap<String, BufferedImage>();
+        try {
+          for (String iconName : ICON_NAMES) {
+            icons.put(iconName, ImageIO.read(ReflectUtil.getResource("org/activiti/icons/" + iconName, customClassLoader)));
+          }
+          ICONS.put(customClassLoader, icons);
+        } catch (IOException e) {
+          LOGGER.warn("Could not load image for process diagram creation: {}", e.getMessage());
+        }
+      }
+      return icons;
     }
   }
 
@@ -253,26 +298,39 @@ public class DefaultProcessDiagramCanvas {
    * called.
    */
   public InputStream generateImage(String imageType) {
+    return new ByteArrayInputStream(generateImageBytes(imageType, 32 * 1024));
+  }
+
+  /**
+   * Encodes what currently is drawn on the canvas, in memory and starting with a buffer of the given size.
+   * 
+   * Throws an {@link ActivitiException} when {@link #close()} is already
+   * called.
+   */
+  public byte[] generateImageBytes(String imageType, int initialBufferSize) {
     if (closed) {
       throw new ActivitiImageException("ProcessDiagramGenerator already closed");
     }
 
-    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(initialBufferSize, 1024));
+    ImageOutputStream imageOut = null;
     try {
-      ImageIO.write(processDiagram, imageType, out);
+      // Encoding to a memory cached stream avoids ImageIO's temporary file cache
+      imageOut = new MemoryCacheImageOutputStream(out);
+      ImageIO.write(processDiagram, imageType, imageOut);
       
     } catch (IOException e) {
       throw new ActivitiImageException("Error while generating process image", e);
     } finally {
       try {
-        if (out != null) {
-          out.close();
+        if (imageOut != null) {
+          imageOut.close();
         }
       } catch(IOException ignore) {
         // Exception is silently ignored
       }
     }
-    return new ByteArrayInputStream(out.toByteArray());
+    return out.toByteArray();
   }
   
   /**
@@ -305,6 +363,21 @@ public class DefaultProcessDiagramCanvas {
     closed = true;
   }
 
+  /**
+   * The image that is drawn on.
+   */
+  public BufferedImage getProcessDiagram() {
+    return processDiagram;
+  }
+
+  public int getMinX() {
+    return minX;
+  }
+
+  public int getMinY() {
+    return minY;
+  }
+
   public void drawNoneStartEvent(GraphicInfo graphicInfo) {
     drawStartEvent(graphicInfo, null, 1.0);
   }
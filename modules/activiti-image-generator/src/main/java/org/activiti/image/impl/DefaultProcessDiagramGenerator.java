@@ -14,6 +14,7 @@
 package org.activiti.image.impl;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -79,6 +80,9 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
   protected Map<Class<? extends BaseElement>, ActivityDrawInstruction> activityDrawInstructions = new HashMap<Class<? extends BaseElement>, ActivityDrawInstruction>();
   protected Map<Class<? extends BaseElement>, ArtifactDrawInstruction> artifactDrawInstructions = new HashMap<Class<? extends BaseElement>, ArtifactDrawInstruction>();
   
+  // Diagrams without highlights, see setDiagramCache
+  protected ProcessDiagramCache diagramCache;
+  
   public DefaultProcessDiagramGenerator() {
     this(1.0);
   }
@@ -400,10 +404,56 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
   public InputStream generateDiagram(BpmnModel bpmnModel, String imageType, List<String> highLightedActivities, List<String> highLightedFlows,
       String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
     
+    if (diagramCache != null) {
+      return generateDiagramFromCache(bpmnModel, imageType, highLightedActivities, highLightedFlows, 
+          activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+    }
+    
     return generateProcessDiagram(bpmnModel, imageType, highLightedActivities, highLightedFlows, 
         activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor).generateImage(imageType);
   }
   
+  /**
+   * Draws the highlights on a copy of the cached diagram without highlights, rendering and caching that diagram first when needed.
+   */
+  protected InputStream generateDiagramFromCache(BpmnModel bpmnModel, String imageType, List<String> highLightedActivities, List<String> highLightedFlows,
+      String activityFontName, String labelFontName, String annotationFontName, ClassLoader customClassLoader, double scaleFactor) {
+    
+    String variant = imageType.toLowerCase() + "|" + activityFontName + "|" + labelFontName + "|" + annotationFontName + "|" + scaleFactor;
+    
+    ProcessDiagramCache.CachedDiagram cachedDiagram = diagramCache.get(bpmnModel, customClassLoader, variant);
+    if (cachedDiagram == null) {
+      DefaultProcessDiagramCanvas baseCanvas = generateProcessDiagram(bpmnModel, imageType, Collections.<String>emptyList(), Collections.<String>emptyList(), 
+          activityFontName, labelFontName, annotationFontName, customClassLoader, scaleFactor);
+      baseCanvas.close();
+      cachedDiagram = new ProcessDiagramCache.CachedDiagram(baseCanvas.getProcessDiagram(), baseCanvas.getMinX(), baseCanvas.getMinY());
+      diagramCache.add(bpmnModel, customClassLoader, variant, cachedDiagram);
+    }
+    
+    boolean noHighLights = (highLightedActivities == null || highLightedActivities.isEmpty()) 
+        && (highLightedFlows == null || highLightedFlows.isEmpty());
+    if (noHighLights) {
+      byte[] encodedImage = cachedDiagram.getEncodedImage();
+      if (encodedImage == null) {
+        DefaultProcessDiagramCanvas canvas = new DefaultProcessDiagramCanvas(cachedDiagram.getImage(), cachedDiagram.getMinX(), cachedDiagram.getMinY(), 
+            imageType, activityFontName, labelFontName, annotationFontName, customClassLoader);
+        encodedImage = canvas.generateImageBytes(imageType, cachedDiagram.getEncodedSize());
+        canvas.close();
+        cachedDiagram.setEncodedImage(encodedImage);
+      }
+      return new ByteArrayInputStream(encodedImage);
+    }
+    
+    prepareBpmnModel(bpmnModel);
+    DefaultProcessDiagramCanvas canvas = new DefaultProcessDiagramCanvas(cachedDiagram.getImage(), cachedDiagram.getMinX(), cachedDiagram.getMinY(), 
+        imageType, activityFontName, labelFontName, annotationFontName, customClassLoader);
+    drawHighLights(canvas, bpmnModel, highLightedActivities, highLightedFlows, scaleFactor);
+    byte[] encodedImage = canvas.generateImageBytes(imageType, cachedDiagram.getEncodedSize());
+    canvas.close();
+    cachedDiagram.setEncodedSize(encodedImage.length);
+    return new ByteArrayInputStream(encodedImage);
+  }
+  
   public InputStream generateDiagram(BpmnModel bpmnModel, String imageType, List<String> highLightedActivities, List<String> highLightedFlows) {
     return generateDiagram(bpmnModel, imageType, highLightedActivities, highLightedFlows, null, null, null, null, 1.0);
   }
@@ -627,50 +677,7 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     // Outgoing transitions of activity
     for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
       boolean highLighted = (highLightedFlows.contains(sequenceFlow.getId()));
-      String defaultFlow = null;
-      if (flowNode instanceof Activity) {
-        defaultFlow = ((Activity) flowNode).getDefaultFlow();
-      } else if (flowNode instanceof Gateway) {
-        defaultFlow = ((Gateway) flowNode).getDefaultFlow();
-      }
-      
-      boolean isDefault = false;
-      if (defaultFlow != null && defaultFlow.equalsIgnoreCase(sequenceFlow.getId())) {
-        isDefault = true;
-      }
-      boolean drawConditionalIndicator = sequenceFlow.getConditionExpression() != null && !(flowNode instanceof Gateway);
-      
-      String sourceRef = sequenceFlow.getSourceRef();
-      String targetRef = sequenceFlow.getTargetRef();
-      FlowElement sourceElement = bpmnModel.getFlowElement(sourceRef);
-      FlowElement targetElement = bpmnModel.getFlowElement(targetRef);
-      List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
-      if (graphicInfoList != null && graphicInfoList.size() > 0) {
-        graphicInfoList = connectionPerfectionizer(processDiagramCanvas, bpmnModel, sourceElement, targetElement, graphicInfoList);
-        int xPoints[]= new int[graphicInfoList.size()];
-        int yPoints[]= new int[graphicInfoList.size()];
-        
-        for (int i=1; i<graphicInfoList.size(); i++) {
-          GraphicInfo graphicInfo = graphicInfoList.get(i);
-          GraphicInfo previousGraphicInfo = graphicInfoList.get(i-1);
-          
-          if (i == 1) {
-            xPoints[0] = (int) previousGraphicInfo.getX();
-            yPoints[0] = (int) previousGraphicInfo.getY();
-          }
-          xPoints[i] = (int) graphicInfo.getX();
-          yPoints[i] = (int) graphicInfo.getY();
-          
-        }
-  
-        processDiagramCanvas.drawSequenceflow(xPoints, yPoints, drawConditionalIndicator, isDefault, highLighted, scaleFactor);
-  
-        // Draw sequenceflow label
-        GraphicInfo labelGraphicInfo = bpmnModel.getLabelGraphicInfo(sequenceFlow.getId());
-        if (labelGraphicInfo != null) {
-          processDiagramCanvas.drawLabel(sequenceFlow.getName(), labelGraphicInfo, false);
-        }
-      }
+      drawSequenceFlow(processDiagramCanvas, bpmnModel, flowNode, sequenceFlow, highLighted, true, scaleFactor);
     }
 
     // Nested elements
@@ -684,6 +691,79 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     }
   }
   
+  protected void drawSequenceFlow(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel, 
+      FlowNode flowNode, SequenceFlow sequenceFlow, boolean highLighted, boolean drawLabel, double scaleFactor) {
+    
+    String defaultFlow = null;
+    if (flowNode instanceof Activity) {
+      defaultFlow = ((Activity) flowNode).getDefaultFlow();
+    } else if (flowNode instanceof Gateway) {
+      defaultFlow = ((Gateway) flowNode).getDefaultFlow();
+    }
+    
+    boolean isDefault = false;
+    if (defaultFlow != null && defaultFlow.equalsIgnoreCase(sequenceFlow.getId())) {
+      isDefault = true;
+    }
+    boolean drawConditionalIndicator = sequenceFlow.getConditionExpression() != null && !(flowNode instanceof Gateway);
+    
+    String sourceRef = sequenceFlow.getSourceRef();
+    String targetRef = sequenceFlow.getTargetRef();
+    FlowElement sourceElement = bpmnModel.getFlowElement(sourceRef);
+    FlowElement targetElement = bpmnModel.getFlowElement(targetRef);
+    List<GraphicInfo> graphicInfoList = bpmnModel.getFlowLocationGraphicInfo(sequenceFlow.getId());
+    if (graphicInfoList != null && graphicInfoList.size() > 0) {
+      graphicInfoList = connectionPerfectionizer(processDiagramCanvas, bpmnModel, sourceElement, targetElement, graphicInfoList);
+      int xPoints[]= new int[graphicInfoList.size()];
+      int yPoints[]= new int[graphicInfoList.size()];
+      
+      for (int i=1; i<graphicInfoList.size(); i++) {
+        GraphicInfo graphicInfo = graphicInfoList.get(i);
+        GraphicInfo previousGraphicInfo = graphicInfoList.get(i-1);
+        
+        if (i == 1) {
+          xPoints[0] = (int) previousGraphicInfo.getX();
+          yPoints[0] = (int) previousGraphicInfo.getY();
+        }
+        xPoints[i] = (int) graphicInfo.getX();
+        yPoints[i] = (int) graphicInfo.getY();
+        
+      }
+
+      processDiagramCanvas.drawSequenceflow(xPoints, yPoints, drawConditionalIndicator, isDefault, highLighted, scaleFactor);
+
+      // Draw sequenceflow label
+      GraphicInfo labelGraphicInfo = bpmnModel.getLabelGraphicInfo(sequenceFlow.getId());
+      if (drawLabel && labelGraphicInfo != null) {
+        processDiagramCanvas.drawLabel(sequenceFlow.getName(), labelGraphicInfo, false);
+      }
+    }
+  }
+  
+  /**
+   * Draws only the highlights of the given activities and flows, on top of a diagram that was drawn without highlights.
+   */
+  protected void drawHighLights(DefaultProcessDiagramCanvas processDiagramCanvas, BpmnModel bpmnModel, 
+      List<String> highLightedActivities, List<String> highLightedFlows, double scaleFactor) {
+    
+    for (Process process : bpmnModel.getProcesses()) {
+      for (FlowNode flowNode : process.findFlowElementsOfType(FlowNode.class)) {
+        if (highLightedActivities != null && highLightedActivities.contains(flowNode.getId()) 
+            && activityDrawInstructions.containsKey(flowNode.getClass())) {
+          drawHighLight(processDiagramCanvas, bpmnModel.getGraphicInfo(flowNode.getId()));
+        }
+        
+        if (highLightedFlows != null) {
+          for (SequenceFlow sequenceFlow : flowNode.getOutgoingFlows()) {
+            if (highLightedFlows.contains(sequenceFlow.getId())) {
+              drawSequenceFlow(processDiagramCanvas, bpmnModel, flowNode, sequenceFlow, true, false, scaleFactor);
+            }
+          }
+        }
+      }
+    }
+  }
+  
   /**
    * This method makes coordinates of connection flow better.
    * @param processDiagramCanvas
@@ -958,6 +1038,18 @@ public class DefaultProcessDiagramGenerator implements ProcessDiagramGenerator {
     return flowNodes;
   }
   
+  public ProcessDiagramCache getDiagramCache() {
+    return diagramCache;
+  }
+
+  /**
+   * Sets the cache for diagrams without highlights. When set, a diagram is drawn once per {@link BpmnModel} instance 
+   * and only the highlights are drawn on a copy of it for every request. Not set by default.
+   */
+  public void setDiagramCache(ProcessDiagramCache diagramCache) {
+    this.diagramCache = diagramCache;
+  }
+
   public Map<Class<? extends BaseElement>, ActivityDrawInstruction> getActivityDrawInstructions() {
 		return activityDrawInstructions;
 	}
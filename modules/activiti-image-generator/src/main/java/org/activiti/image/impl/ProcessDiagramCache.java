@@ -0,0 +1,216 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.image.impl;
+
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.activiti.bpmn.model.BpmnModel;
+
+/**
+ * Caches the diagram of a {@link BpmnModel} without any highlights, so the {@link DefaultProcessDiagramGenerator}
+ * only needs to draw the highlighted activities and flows on top of a copy of it.
+ * 
+ * Diagrams are cached per {@link BpmnModel} instance, class loader of the icon images and rendering variant (image type, fonts and scale factor).
+ * The engine keeps one {@link BpmnModel} instance per cached process definition, so a process definition that is deployed
+ * again (or removed from the process definition cache) gets a new diagram, while the diagram of the previous instance is removed
+ * once that instance is garbage collected. As a consequence, a {@link BpmnModel} must not be changed after its diagram is cached.
+ * 
+ * The cache is bounded by the memory of the cached images: when the total exceeds the maximum, the least recently used diagrams are removed.
+ */
+public class ProcessDiagramCache {
+
+  public static final long DEFAULT_MAX_SIZE_IN_BYTES = 64L * 1024L * 1024L;
+
+  protected final long maxSizeInBytes;
+  protected long sizeInBytes;
+
+  protected final ReferenceQueue<BpmnModel> collectedBpmnModels = new ReferenceQueue<BpmnModel>();
+  protected final Map<CacheKey, CachedDiagram> diagrams = new LinkedHashMap<CacheKey, CachedDiagram>(16, 0.75f, true);
+
+  public ProcessDiagramCache() {
+    this(DEFAULT_MAX_SIZE_IN_BYTES);
+  }
+
+  public ProcessDiagramCache(long maxSizeInBytes) {
+    this.maxSizeInBytes = maxSizeInBytes;
+  }
+
+  public synchronized CachedDiagram get(BpmnModel bpmnModel, ClassLoader classLoader, String variant) {
+    removeCollectedDiagrams();
+    return diagrams.get(new CacheKey(bpmnModel, classLoader, variant, null));
+  }
+
+  public synchronized void add(BpmnModel bpmnModel, ClassLoader classLoader, String variant, CachedDiagram cachedDiagram) {
+    removeCollectedDiagrams();
+    if (cachedDiagram.getSizeInBytes() > maxSizeInBytes) {
+      return;
+    }
+
+    CachedDiagram previousDiagram = diagrams.put(new CacheKey(bpmnModel, classLoader, variant, collectedBpmnModels), cachedDiagram);
+    if (previousDiagram != null) {
+      sizeInBytes -= previousDiagram.getSizeInBytes();
+    }
+    sizeInBytes += cachedDiagram.getSizeInBytes();
+
+    Iterator<CachedDiagram> leastRecentlyUsed = diagrams.values().iterator();
+    while (sizeInBytes > maxSizeInBytes && leastRecentlyUsed.hasNext()) {
+      sizeInBytes -= leastRecentlyUsed.next().getSizeInBytes();
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  public synchronized void clear() {
+    diagrams.clear();
+    sizeInBytes = 0;
+  }
+
+  public synchronized int size() {
+    removeCollectedDiagrams();
+    return diagrams.size();
+  }
+
+  public synchronized long getSizeInBytes() {
+    return sizeInBytes;
+  }
+
+  public long getMaxSizeInBytes() {
+    return maxSizeInBytes;
+  }
+
+  protected void removeCollectedDiagrams() {
+    Reference<? extends BpmnModel> collectedKey = collectedBpmnModels.poll();
+    while (collectedKey != null) {
+      CachedDiagram removedDiagram = diagrams.remove(collectedKey);
+      if (removedDiagram != null) {
+        sizeInBytes -= removedDiagram.getSizeInBytes();
+      }
+      collectedKey = collectedBpmnModels.poll();
+    }
+  }
+
+  // Helper classes ////////////////////////////////////
+
+  /**
+   * Identifies a diagram by the identity of its {@link BpmnModel} and class loader, and the rendering variant,
+   * without keeping the {@link BpmnModel} or the class loader from being garbage collected.
+   */
+  static class CacheKey extends WeakReference<BpmnModel> {
+
+    protected final WeakReference<ClassLoader> classLoaderReference;
+    protected final String variant;
+    protected final int hashCode;
+
+    public CacheKey(BpmnModel bpmnModel, ClassLoader classLoader, String variant, ReferenceQueue<BpmnModel> referenceQueue) {
+      super(bpmnModel, referenceQueue);
+      this.classLoaderReference = classLoader != null ? new WeakReference<ClassLoader>(classLoader) : null;
+      this.variant = variant;
+      this.hashCode = 31 * (31 * System.identityHashCode(bpmnModel) + System.identityHashCode(classLoader)) + variant.hashCode();
+    }
+
+    public ClassLoader getClassLoader() {
+      return classLoaderReference != null ? classLoaderReference.get() : null;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (!(object instanceof CacheKey)) {
+        return false;
+      }
+      CacheKey other = (CacheKey) object;
+      BpmnModel bpmnModel = get();
+      if (bpmnModel == null || bpmnModel != other.get() || !variant.equals(other.variant)) {
+        return false;
+      }
+      if (classLoaderReference == null || other.classLoaderReference == null) {
+        return classLoaderReference == other.classLoaderReference;
+      }
+      ClassLoader classLoader = getClassLoader();
+      return classLoader != null && classLoader == other.getClassLoader();
+    }
+
+  }
+
+  /**
+   * A rendered diagram without highlights. The image must not be drawn on, copies are highlighted instead.
+   */
+  public static class CachedDiagram {
+
+    protected final BufferedImage image;
+    protected final int minX;
+    protected final int minY;
+    protected volatile byte[] encodedImage;
+    protected volatile int encodedSize;
+
+    public CachedDiagram(BufferedImage image, int minX, int minY) {
+      this.image = image;
+      this.minX = minX;
+      this.minY = minY;
+    }
+
+    public BufferedImage getImage() {
+      return image;
+    }
+
+    public int getMinX() {
+      return minX;
+    }
+
+    public int getMinY() {
+      return minY;
+    }
+
+    /**
+     * The encoded image without highlights, which is returned as is when there's nothing to highlight.
+     */
+    public byte[] getEncodedImage() {
+      return encodedImage;
+    }
+
+    public void setEncodedImage(byte[] encodedImage) {
+      this.encodedImage = encodedImage;
+      this.encodedSize = encodedImage.length;
+    }
+
+    /**
+     * The size of the last encoded image of this diagram, used as initial buffer size when encoding a highlighted copy.
+     */
+    public int getEncodedSize() {
+      return encodedSize;
+    }
+
+    public void setEncodedSize(int encodedSize) {
+      this.encodedSize = encodedSize;
+    }
+
+    public long getSizeInBytes() {
+      // 4 bytes per pixel for the image types used by the canvas
+      return 4L * image.getWidth() * image.getHeight();
+    }
+
+  }
+
+}
@@ -0,0 +1,266 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.image.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+import junit.framework.TestCase;
+
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.bpmn.model.EndEvent;
+import org.activiti.bpmn.model.FlowNode;
+import org.activiti.bpmn.model.GraphicInfo;
+import org.activiti.bpmn.model.Process;
+import org.activiti.bpmn.model.SequenceFlow;
+import org.activiti.bpmn.model.StartEvent;
+import org.activiti.bpmn.model.UserTask;
+
+public class ProcessDiagramCacheTest extends TestCase {
+
+  public void testCacheHitAndMiss() {
+    ProcessDiagramCache cache = new ProcessDiagramCache();
+    BpmnModel bpmnModel = new BpmnModel();
+    ClassLoader classLoader = getClass().getClassLoader();
+
+    assertNull(cache.get(bpmnModel, classLoader, "png"));
+
+    ProcessDiagramCache.CachedDiagram cachedDiagram = createCachedDiagram(10, 10);
+    cache.add(bpmnModel, classLoader, "png", cachedDiagram);
+    assertSame(cachedDiagram, cache.get(bpmnModel, classLoader, "png"));
+    assertEquals(1, cache.size());
+    assertEquals(400L, cache.getSizeInBytes());
+
+    // Other model instances, variants and class loaders have their own diagrams
+    assertNull(cache.get(new BpmnModel(), classLoader, "png"));
+    assertNull(cache.get(bpmnModel, classLoader, "jpg"));
+    assertNull(cache.get(bpmnModel, null, "png"));
+    assertNull(cache.get(bpmnModel, new URLClassLoader(new URL[0], classLoader), "png"));
+
+    // Adding a diagram for the same key replaces the previous one
+    ProcessDiagramCache.CachedDiagram otherCachedDiagram = createCachedDiagram(20, 10);
+    cache.add(bpmnModel, classLoader, "png", otherCachedDiagram);
+    assertSame(otherCachedDiagram, cache.get(bpmnModel, classLoader, "png"));
+    assertEquals(1, cache.size());
+    assertEquals(800L, cache.getSizeInBytes());
+
+    cache.clear();
+    assertNull(cache.get(bpmnModel, classLoader, "png"));
+    assertEquals(0L, cache.getSizeInBytes());
+  }
+
+  public void testEvictionBySize() {
+    // Room for two diagrams of 10x10 pixels
+    ProcessDiagramCache cache = new ProcessDiagramCache(800L);
+    BpmnModel firstModel = new BpmnModel();
+    BpmnModel secondModel = new BpmnModel();
+    BpmnModel thirdModel = new BpmnModel();
+
+    cache.add(firstModel, null, "png", createCachedDiagram(10, 10));
+    cache.add(secondModel, null, "png", createCachedDiagram(10, 10));
+    assertEquals(2, cache.size());
+    assertEquals(800L, cache.getSizeInBytes());
+
+    // Using the first diagram makes the second one the least recently used
+    assertNotNull(cache.get(firstModel, null, "png"));
+    cache.add(thirdModel, null, "png", createCachedDiagram(10, 10));
+    assertEquals(2, cache.size());
+    assertEquals(800L, cache.getSizeInBytes());
+    assertNotNull(cache.get(firstModel, null, "png"));
+    assertNull(cache.get(secondModel, null, "png"));
+    assertNotNull(cache.get(thirdModel, null, "png"));
+
+    // A diagram that doesn't fit at all is not cached, and doesn't evict others
+    cache.add(secondModel, null, "png", createCachedDiagram(20, 20));
+    assertNull(cache.get(secondModel, null, "png"));
+    assertEquals(2, cache.size());
+
+    // A larger diagram evicts as many diagrams as needed
+    cache.add(secondModel, null, "png", createCachedDiagram(20, 10));
+    assertEquals(1, cache.size());
+    assertEquals(800L, cache.getSizeInBytes());
+    assertNotNull(cache.get(secondModel, null, "png"));
+  }
+
+  public void testCachedDiagramWithoutHighLights() throws Exception {
+    DefaultProcessDiagramGenerator generator = new DefaultProcessDiagramGenerator();
+    generator.setDiagramCache(new ProcessDiagramCache());
+    BpmnModel bpmnModel = createBpmnModel();
+    List<String> noHighLights = Collections.emptyList();
+
+    byte[] firstImage = readBytes(generator.generateDiagram(bpmnModel, "png", noHighLights, noHighLights));
+    assertEquals(1, generator.getDiagramCache().size());
+    byte[] secondImage = readBytes(generator.generateDiagram(bpmnModel, "png", noHighLights, noHighLights));
+    assertEquals(1, generator.getDiagramCache().size());
+    assertTrue(Arrays.equals(firstImage, secondImage));
+
+    // Same as drawn without the cache
+    byte[] uncachedImage = readBytes(new DefaultProcessDiagramGenerator().generateDiagram(bpmnModel, "png", noHighLights, noHighLights));
+    assertSameImage(ImageIO.read(new ByteArrayInputStream(uncachedImage)), ImageIO.read(new ByteArrayInputStream(firstImage)));
+
+    // Another image type is another diagram
+    generator.generateDiagram(bpmnModel, "jpg", noHighLights, noHighLights);
+    assertEquals(2, generator.getDiagramCache().size());
+  }
+
+  public void testCachedDiagramWithHighLights() throws Exception {
+    DefaultProcessDiagramGenerator generator = new DefaultProcessDiagramGenerator();
+    generator.setDiagramCache(new ProcessDiagramCache());
+    BpmnModel bpmnModel = createBpmnModel();
+    List<String> highLightedActivities = Collections.singletonList("task");
+    List<String> highLightedFlows = Collections.singletonList("flow1");
+
+    BufferedImage uncachedImage = ImageIO.read(new DefaultProcessDiagramGenerator().generateDiagram(bpmnModel, "png", highLightedActivities, highLightedFlows));
+    BufferedImage cachedImage = ImageIO.read(generator.generateDiagram(bpmnModel, "png", highLightedActivities, highLightedFlows));
+    assertEquals(1, generator.getDiagramCache().size());
+    assertSameHighLightedImage(uncachedImage, cachedImage);
+
+    // The highlights are not drawn on the cached diagram
+    BufferedImage otherCachedImage = ImageIO.read(generator.generateDiagram(bpmnModel, "png", 
+        Collections.singletonList("start"), Collections.singletonList("flow2")));
+    BufferedImage otherUncachedImage = ImageIO.read(new DefaultProcessDiagramGenerator().generateDiagram(bpmnModel, "png", 
+        Collections.singletonList("start"), Collections.singletonList("flow2")));
+    assertEquals(1, generator.getDiagramCache().size());
+    assertSameHighLightedImage(otherUncachedImage, otherCachedImage);
+  }
+
+  public void testIconsPerClassLoader() {
+    ClassLoader classLoader = getClass().getClassLoader();
+    ClassLoader otherClassLoader = new URLClassLoader(new URL[0], classLoader);
+
+    DefaultProcessDiagramCanvas canvas = new DefaultProcessDiagramCanvas(10, 10, 0, 0, "png", null, null, null, classLoader);
+    DefaultProcessDiagramCanvas sameClassLoaderCanvas = new DefaultProcessDiagramCanvas(10, 10, 0, 0, "png", null, null, null, classLoader);
+    DefaultProcessDiagramCanvas otherClassLoaderCanvas = new DefaultProcessDiagramCanvas(10, 10, 0, 0, "png", null, null, null, otherClassLoader);
+
+    // Icons are read once per class loader, and a canvas keeps using the icons of its own class loader
+    assertNotNull(canvas.USERTASK_IMAGE);
+    assertSame(canvas.USERTASK_IMAGE, sameClassLoaderCanvas.USERTASK_IMAGE);
+    assertNotNull(otherClassLoaderCanvas.USERTASK_IMAGE);
+    assertNotSame(canvas.USERTASK_IMAGE, otherClassLoaderCanvas.USERTASK_IMAGE);
+    assertSame(DefaultProcessDiagramCanvas.getIcons(classLoader).get("userTask.png"), canvas.USERTASK_IMAGE);
+  }
+
+  // Helpers ////////////////////////////////////////////////////////
+
+  protected static final int HIGHLIGHT_RGB = 0xffff0000;
+
+  protected ProcessDiagramCache.CachedDiagram createCachedDiagram(int width, int height) {
+    return new ProcessDiagramCache.CachedDiagram(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), 0, 0);
+  }
+
+  protected BpmnModel createBpmnModel() {
+    Process process = new Process();
+    process.setId("process");
+
+    StartEvent startEvent = new StartEvent();
+    startEvent.setId("start");
+    UserTask userTask = new UserTask();
+    userTask.setId("task");
+    userTask.setName("Task");
+    EndEvent endEvent = new EndEvent();
+    endEvent.setId("end");
+    SequenceFlow firstFlow = createSequenceFlow("flow1", startEvent, userTask);
+    SequenceFlow secondFlow = createSequenceFlow("flow2", userTask, endEvent);
+
+    process.addFlowElement(startEvent);
+    process.addFlowElement(userTask);
+    process.addFlowElement(endEvent);
+    process.addFlowElement(firstFlow);
+    process.addFlowElement(secondFlow);
+
+    BpmnModel bpmnModel = new BpmnModel();
+    bpmnModel.addProcess(process);
+    bpmnModel.addGraphicInfo("start", createGraphicInfo(100, 100, 30, 30));
+    bpmnModel.addGraphicInfo("task", createGraphicInfo(200, 75, 100, 80));
+    bpmnModel.addGraphicInfo("end", createGraphicInfo(370, 101, 28, 28));
+    bpmnModel.addFlowGraphicInfoList("flow1", Arrays.asList(createGraphicInfo(130, 115, 0, 0), createGraphicInfo(200, 115, 0, 0)));
+    bpmnModel.addFlowGraphicInfoList("flow2", Arrays.asList(createGraphicInfo(300, 115, 0, 0), createGraphicInfo(370, 115, 0, 0)));
+    return bpmnModel;
+  }
+
+  protected SequenceFlow createSequenceFlow(String id, FlowNode source, FlowNode target) {
+    SequenceFlow sequenceFlow = new SequenceFlow(source.getId(), target.getId());
+    sequenceFlow.setId(id);
+    sequenceFlow.setSourceFlowElement(source);
+    sequenceFlow.setTargetFlowElement(target);
+    source.getOutgoingFlows().add(sequenceFlow);
+    target.getIncomingFlows().add(sequenceFlow);
+    return sequenceFlow;
+  }
+
+  protected GraphicInfo createGraphicInfo(double x, double y, double width, double height) {
+    GraphicInfo graphicInfo = new GraphicInfo();
+    graphicInfo.setX(x);
+    graphicInfo.setY(y);
+    graphicInfo.setWidth(width);
+    graphicInfo.setHeight(height);
+    return graphicInfo;
+  }
+
+  protected byte[] readBytes(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int read = inputStream.read(buffer);
+    while (read != -1) {
+      out.write(buffer, 0, read);
+      read = inputStream.read(buffer);
+    }
+    return out.toByteArray();
+  }
+
+  protected void assertSameImage(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        assertEquals("pixel " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+
+  /**
+   * Highlights drawn on top of the cached diagram cover the anti-aliased edges of what's below them, 
+   * while a diagram drawn in one go draws some edges on top of the highlights. Besides those few pixels
+   * the images are the same, and the highlights always have the same color.
+   */
+  protected void assertSameHighLightedImage(BufferedImage expected, BufferedImage actual) {
+    assertEquals(expected.getWidth(), actual.getWidth());
+    assertEquals(expected.getHeight(), actual.getHeight());
+    int highLightPixels = 0;
+    int differentPixels = 0;
+    for (int x = 0; x < expected.getWidth(); x++) {
+      for (int y = 0; y < expected.getHeight(); y++) {
+        if (expected.getRGB(x, y) == HIGHLIGHT_RGB) {
+          assertEquals("pixel " + x + "," + y, HIGHLIGHT_RGB & 0xffffff, actual.getRGB(x, y) & 0xffffff);
+          highLightPixels++;
+        } else if (expected.getRGB(x, y) != actual.getRGB(x, y)) {
+          differentPixels++;
+        }
+      }
+    }
+    assertTrue(highLightPixels > 0);
+    assertTrue(differentPixels < expected.getWidth() * expected.getHeight() / 100);
+  }
+
+}
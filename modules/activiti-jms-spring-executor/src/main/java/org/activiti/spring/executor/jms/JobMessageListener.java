@@ -12,15 +12,31 @@
  */
 package org.activiti.spring.executor.jms;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.jms.Message;
 import javax.jms.TextMessage;
 
 import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 /**
+ * Executes the jobs of the messages sent by the {@link MessageBasedJobManager}.
+ * 
+ * The jobs of a batch message are executed one after the other, or concurrently on the executor service when one is set.
+ * The number of threads of the executor service bounds the number of jobs executed at the same time, for all messages together.
+ * The message is only handled when all of its jobs are executed.
+ * 
  * @author Joram Barrez
  */
 public class JobMessageListener implements javax.jms.MessageListener {
@@ -28,21 +44,91 @@ public class JobMessageListener implements javax.jms.MessageListener {
   private static final Logger logger = LoggerFactory.getLogger(JobMessageListener.class);
   
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ExecutorService executorService;
 
   public void onMessage(final Message message) {
     try {
       if (message instanceof TextMessage) {
         TextMessage textMessage = (TextMessage) message;
-        String jobId = textMessage.getText();
         
-        ExecuteAsyncRunnable executeAsyncRunnable = new ExecuteAsyncRunnable(jobId, processEngineConfiguration);
-        executeAsyncRunnable.run();
+        if (textMessage.propertyExists(MessageBasedJobManager.BATCH_MESSAGE_PROPERTY) 
+            && textMessage.getBooleanProperty(MessageBasedJobManager.BATCH_MESSAGE_PROPERTY)) {
+          
+          executeJobs(createRunnables(textMessage.getText()));
+          
+        } else {
+          String jobId = textMessage.getText();
+          
+          ExecuteAsyncRunnable executeAsyncRunnable = new ExecuteAsyncRunnable(jobId, processEngineConfiguration);
+          executeAsyncRunnable.run();
+        }
         
       }
     } catch (Exception e) {
       logger.error("Exception when handling message from job queue", e);
     }
   }
+  
+  protected List<ExecuteAsyncRunnable> createRunnables(String messageText) throws Exception {
+    JsonNode jobsNode = processEngineConfiguration.getObjectMapper().readTree(messageText);
+    List<ExecuteAsyncRunnable> runnables = new ArrayList<ExecuteAsyncRunnable>(jobsNode.size());
+    for (JsonNode jobNode : jobsNode) {
+      JobEntity job = createJobSnapshot(jobNode);
+      if (job != null) {
+        runnables.add(new ExecuteAsyncRunnable(job, processEngineConfiguration));
+      } else {
+        runnables.add(new ExecuteAsyncRunnable(jobNode.path(MessageBasedJobManager.JOB_ID).asText(), processEngineConfiguration));
+      }
+    }
+    return runnables;
+  }
+  
+  /**
+   * Returns the job described by the message, or null when the message doesn't contain a complete snapshot of the job,
+   * in which case the job is fetched from the database before executing it.
+   * The snapshot is only used to lock the job, the job itself is always fetched again in the transaction that executes it.
+   */
+  protected JobEntity createJobSnapshot(JsonNode jobNode) {
+    if (!jobNode.hasNonNull(MessageBasedJobManager.JOB_ID) || !jobNode.hasNonNull(MessageBasedJobManager.JOB_REVISION)) {
+      return null;
+    }
+    
+    JobEntity job = processEngineConfiguration.getJobEntityManager().create();
+    job.setId(jobNode.get(MessageBasedJobManager.JOB_ID).asText());
+    job.setRevision(jobNode.get(MessageBasedJobManager.JOB_REVISION).asInt());
+    job.setExclusive(jobNode.path(MessageBasedJobManager.JOB_EXCLUSIVE).asBoolean());
+    job.setExecutionId(getText(jobNode, MessageBasedJobManager.JOB_EXECUTION_ID));
+    job.setProcessInstanceId(getText(jobNode, MessageBasedJobManager.JOB_PROCESS_INSTANCE_ID));
+    job.setProcessDefinitionId(getText(jobNode, MessageBasedJobManager.JOB_PROCESS_DEFINITION_ID));
+    job.setJobHandlerType(getText(jobNode, MessageBasedJobManager.JOB_HANDLER_TYPE));
+    job.setTenantId(getText(jobNode, MessageBasedJobManager.JOB_TENANT_ID));
+    return job;
+  }
+  
+  protected String getText(JsonNode jobNode, String fieldName) {
+    JsonNode fieldNode = jobNode.get(fieldName);
+    if (fieldNode == null || fieldNode.isNull()) {
+      return null;
+    }
+    return fieldNode.asText();
+  }
+  
+  protected void executeJobs(List<ExecuteAsyncRunnable> runnables) throws Exception {
+    if (executorService == null || runnables.size() == 1) {
+      for (ExecuteAsyncRunnable runnable : runnables) {
+        runnable.run();
+      }
+      return;
+    }
+    
+    List<Callable<Object>> callables = new ArrayList<Callable<Object>>(runnables.size());
+    for (ExecuteAsyncRunnable runnable : runnables) {
+      callables.add(Executors.callable(runnable));
+    }
+    for (Future<Object> future : executorService.invokeAll(callables)) {
+      future.get();
+    }
+  }
 
   public ProcessEngineConfigurationImpl getProcessEngineConfiguration() {
     return processEngineConfiguration;
@@ -51,5 +137,13 @@ public class JobMessageListener implements javax.jms.MessageListener {
   public void setProcessEngineConfiguration(ProcessEngineConfigurationImpl processEngineConfiguration) {
     this.processEngineConfiguration = processEngineConfiguration;
   }
+
+  public ExecutorService getExecutorService() {
+    return executorService;
+  }
+
+  public void setExecutorService(ExecutorService executorService) {
+    this.executorService = executorService;
+  }
   
 }
@@ -12,12 +12,16 @@
  */
 package org.activiti.spring.executor.jms;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.jms.JMSException;
 import javax.jms.Message;
 import javax.jms.Session;
+import javax.jms.TextMessage;
 
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.impl.asyncexecutor.DefaultJobManager;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.activiti.engine.impl.cfg.TransactionListener;
@@ -29,12 +33,37 @@ import org.activiti.engine.runtime.Job;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.core.MessageCreator;
 
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 /**
+ * By default, one message containing the job id is sent for every job, after the transaction that created it committed.
+ * 
+ * When batching is enabled, the jobs of a transaction are sent together after the commit, in messages of at most
+ * maxJobsPerMessage jobs. These messages contain a snapshot of every job (see {@link #BATCH_MESSAGE_PROPERTY}),
+ * so the {@link JobMessageListener} doesn't need to fetch the jobs before executing them.
+ * 
  * @author Joram Barrez
  */
 public class MessageBasedJobManager extends DefaultJobManager {
   
+  /** Boolean message property marking a message with a json array of job snapshots, instead of a single job id. */
+  public static final String BATCH_MESSAGE_PROPERTY = "activitiJobBatch";
+  
+  public static final String JOB_ID = "id";
+  public static final String JOB_REVISION = "revision";
+  public static final String JOB_EXCLUSIVE = "exclusive";
+  public static final String JOB_EXECUTION_ID = "executionId";
+  public static final String JOB_PROCESS_INSTANCE_ID = "processInstanceId";
+  public static final String JOB_PROCESS_DEFINITION_ID = "processDefinitionId";
+  public static final String JOB_HANDLER_TYPE = "jobHandlerType";
+  public static final String JOB_TENANT_ID = "tenantId";
+  
+  protected static final String BATCHED_JOBS_ATTRIBUTE = MessageBasedJobManager.class.getName() + ".batchedJobs";
+  
   protected JmsTemplate jmsTemplate;
+  protected boolean batchMessages;
+  protected int maxJobsPerMessage = 100;
   
   public MessageBasedJobManager() {
     super(null);
@@ -64,6 +93,11 @@ public class MessageBasedJobManager extends DefaultJobManager {
   }
   
   protected void sendMessage(final Job jobEntity) {
+    if (batchMessages) {
+      addToBatch(jobEntity);
+      return;
+    }
+    
     Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
       public void execute(CommandContext commandContext) {
         jmsTemplate.send(new MessageCreator() {
@@ -75,6 +109,67 @@ public class MessageBasedJobManager extends DefaultJobManager {
     });
   }
   
+  /**
+   * Collects the job in the batch of the current command context. The first job of a batch registers the transaction
+   * listener that sends the whole batch after the commit.
+   */
+  @SuppressWarnings("unchecked")
+  protected void addToBatch(Job job) {
+    CommandContext commandContext = Context.getCommandContext();
+    List<Job> batchedJobs = (List<Job>) commandContext.getAttribute(BATCHED_JOBS_ATTRIBUTE);
+    if (batchedJobs == null) {
+      final List<Job> jobs = new ArrayList<Job>();
+      commandContext.addAttribute(BATCHED_JOBS_ATTRIBUTE, jobs);
+      Context.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          sendBatchMessages(jobs);
+        }
+      });
+      batchedJobs = jobs;
+    }
+    batchedJobs.add(job);
+  }
+  
+  protected void sendBatchMessages(List<Job> jobs) {
+    for (int i = 0; i < jobs.size(); i += maxJobsPerMessage) {
+      final String messageText = createBatchMessageText(jobs.subList(i, Math.min(i + maxJobsPerMessage, jobs.size())));
+      jmsTemplate.send(new MessageCreator() {
+        public Message createMessage(Session session) throws JMSException {
+          TextMessage message = session.createTextMessage(messageText);
+          message.setBooleanProperty(BATCH_MESSAGE_PROPERTY, true);
+          return message;
+        }
+      });
+    }
+  }
+  
+  /**
+   * Creates a json array with a snapshot of the given jobs. The transaction has committed at this point,
+   * so the revision of the snapshot is the revision of the job in the database.
+   */
+  protected String createBatchMessageText(List<Job> jobs) {
+    ArrayNode jobsNode = processEngineConfiguration.getObjectMapper().createArrayNode();
+    for (Job job : jobs) {
+      ObjectNode jobNode = jobsNode.addObject();
+      jobNode.put(JOB_ID, job.getId());
+      if (job instanceof JobEntity) {
+        jobNode.put(JOB_REVISION, ((JobEntity) job).getRevision());
+      }
+      jobNode.put(JOB_EXCLUSIVE, job.isExclusive());
+      jobNode.put(JOB_EXECUTION_ID, job.getExecutionId());
+      jobNode.put(JOB_PROCESS_INSTANCE_ID, job.getProcessInstanceId());
+      jobNode.put(JOB_PROCESS_DEFINITION_ID, job.getProcessDefinitionId());
+      jobNode.put(JOB_HANDLER_TYPE, job.getJobHandlerType());
+      jobNode.put(JOB_TENANT_ID, job.getTenantId());
+    }
+    
+    try {
+      return processEngineConfiguration.getObjectMapper().writeValueAsString(jobsNode);
+    } catch (Exception e) {
+      throw new ActivitiException("Could not create job message", e);
+    }
+  }
+  
   public JmsTemplate getJmsTemplate() {
     return jmsTemplate;
   }
@@ -83,4 +178,20 @@ public class MessageBasedJobManager extends DefaultJobManager {
     this.jmsTemplate = jmsTemplate;
   }
 
+  public boolean isBatchMessages() {
+    return batchMessages;
+  }
+
+  public void setBatchMessages(boolean batchMessages) {
+    this.batchMessages = batchMessages;
+  }
+
+  public int getMaxJobsPerMessage() {
+    return maxJobsPerMessage;
+  }
+
+  public void setMaxJobsPerMessage(int maxJobsPerMessage) {
+    this.maxJobsPerMessage = maxJobsPerMessage;
+  }
+
 }
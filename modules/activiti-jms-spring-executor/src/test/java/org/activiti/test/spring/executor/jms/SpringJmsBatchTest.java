@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.test.spring.executor.jms;
+
+import org.activiti.spring.executor.jms.JobMessageListener;
+import org.activiti.test.spring.executor.jms.config.SpringJmsBatchConfig;
+import org.activiti.test.spring.executor.jms.config.SpringJmsBatchConfig.CountingJobMessageListener;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+
+/**
+ * Runs the tests of {@link SpringJmsTest} with batched job messages.
+ */
+@ContextConfiguration(classes = SpringJmsBatchConfig.class, inheritLocations = false)
+public class SpringJmsBatchTest extends SpringJmsTest {
+
+  @Autowired
+  private JobMessageListener jobMessageListener;
+
+  @Test
+  @Override
+  public void testMessageQueueAsyncExecutor() {
+    super.testMessageQueueAsyncExecutor();
+
+    CountingJobMessageListener listener = (CountingJobMessageListener) jobMessageListener;
+
+    // Every job was sent in a batch message and executed from its snapshot
+    Assert.assertTrue(listener.getBatchMessageCount() > 0);
+    Assert.assertEquals(listener.getMessageCount(), listener.getBatchMessageCount());
+    Assert.assertTrue(listener.getBatchedJobCount() >= listener.getBatchMessageCount());
+    Assert.assertEquals(listener.getBatchedJobCount(), listener.getJobSnapshotCount());
+  }
+
+}
@@ -0,0 +1,144 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.test.spring.executor.jms.config;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.jms.Message;
+import javax.sql.DataSource;
+
+import org.activiti.engine.impl.asyncexecutor.ExecuteAsyncRunnable;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.spring.executor.jms.JobMessageListener;
+import org.activiti.spring.executor.jms.MessageBasedJobManager;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.listener.MessageListenerContainer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Same setup as {@link SpringJmsConfig}, but the jobs of a transaction are sent in batch messages
+ * and executed concurrently by the listener.
+ */
+@Configuration
+public class SpringJmsBatchConfig extends SpringJmsConfig {
+
+  @Bean
+  @Override
+  public DataSource dataSource() {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl("jdbc:h2:mem:activiti-spring-jms-batch-test;DB_CLOSE_DELAY=1000");
+    dataSource.setDriverClassName("org.h2.Driver");
+    dataSource.setUsername("sa");
+    dataSource.setPassword("");
+    return dataSource;
+  }
+
+  @Bean
+  @Override
+  public MessageBasedJobManager jobManager() {
+    MessageBasedJobManager jobManager = new MessageBasedJobManager();
+    jobManager.setJmsTemplate(jmsTemplate());
+    jobManager.setBatchMessages(true);
+    jobManager.setMaxJobsPerMessage(2);
+    return jobManager;
+  }
+
+  @Bean
+  @Override
+  public JmsTemplate jmsTemplate() {
+    JmsTemplate jmsTemplate = new JmsTemplate();
+    jmsTemplate.setDefaultDestination(new ActiveMQQueue("activiti-job-batches"));
+    jmsTemplate.setConnectionFactory(connectionFactory());
+    return jmsTemplate;
+  }
+
+  @Bean
+  @Override
+  public MessageListenerContainer messageListenerContainer() {
+    DefaultMessageListenerContainer messageListenerContainer = new DefaultMessageListenerContainer();
+    messageListenerContainer.setConnectionFactory(connectionFactory());
+    messageListenerContainer.setDestinationName("activiti-job-batches");
+    messageListenerContainer.setMessageListener(jobMessageListener());
+    messageListenerContainer.setConcurrentConsumers(2);
+    messageListenerContainer.start();
+    return messageListenerContainer;
+  }
+
+  @Bean
+  @Override
+  public JobMessageListener jobMessageListener() {
+    JobMessageListener jobMessageListener = new CountingJobMessageListener();
+    jobMessageListener.setProcessEngineConfiguration(processEngineConfiguration());
+    jobMessageListener.setExecutorService(Executors.newFixedThreadPool(4));
+    return jobMessageListener;
+  }
+
+  /**
+   * Counts the messages and jobs handled, so tests can check the batch messages and job snapshots are used.
+   */
+  public static class CountingJobMessageListener extends JobMessageListener {
+
+    protected AtomicInteger messageCount = new AtomicInteger();
+    protected AtomicInteger batchMessageCount = new AtomicInteger();
+    protected AtomicInteger batchedJobCount = new AtomicInteger();
+    protected AtomicInteger jobSnapshotCount = new AtomicInteger();
+
+    @Override
+    public void onMessage(Message message) {
+      messageCount.incrementAndGet();
+      super.onMessage(message);
+    }
+
+    @Override
+    protected List<ExecuteAsyncRunnable> createRunnables(String messageText) throws Exception {
+      List<ExecuteAsyncRunnable> runnables = super.createRunnables(messageText);
+      batchMessageCount.incrementAndGet();
+      batchedJobCount.addAndGet(runnables.size());
+      return runnables;
+    }
+
+    @Override
+    protected JobEntity createJobSnapshot(JsonNode jobNode) {
+      JobEntity job = super.createJobSnapshot(jobNode);
+      if (job != null) {
+        jobSnapshotCount.incrementAndGet();
+      }
+      return job;
+    }
+
+    public int getMessageCount() {
+      return messageCount.get();
+    }
+
+    public int getBatchMessageCount() {
+      return batchMessageCount.get();
+    }
+
+    public int getBatchedJobCount() {
+      return batchedJobCount.get();
+    }
+
+    public int getJobSnapshotCount() {
+      return jobSnapshotCount.get();
+    }
+  }
+
+}
@@ -19,6 +19,8 @@ import java.util.Map;
 import javax.naming.directory.InitialDirContext;
 import javax.naming.spi.InitialContextFactory;
 
+import org.activiti.engine.ProcessEngine;
+import org.activiti.engine.ProcessEngineLifecycleListener;
 import org.activiti.engine.cfg.AbstractProcessEngineConfigurator;
 import org.activiti.engine.cfg.ProcessEngineConfigurator;
 import org.activiti.engine.identity.Group;
@@ -80,12 +82,24 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
   // Cache listener (experimental)
   protected LDAPGroupCacheListener groupCacheListener;
 
+  // Connection pooling
+  protected int connectionPoolSize = -1;
+  protected long connectionPoolMaxIdleTime = 300000L; // default: five minutes
+  protected LDAPContextPool ldapContextPool;
+
   public void beforeInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
     // Nothing to do
   }
 
   public void configure(ProcessEngineConfigurationImpl processEngineConfiguration) {
     
+    // Connections
+    if (getConnectionPoolSize() > 0 && ldapContextPool == null) {
+      ldapContextPool = new LDAPContextPool(this, getConnectionPoolSize(), getConnectionPoolMaxIdleTime());
+      processEngineConfiguration.setProcessEngineLifecycleListener(
+          new LDAPContextPoolClosingListener(ldapContextPool, processEngineConfiguration.getProcessEngineLifecycleListener()));
+    }
+    
     // User 
     processEngineConfiguration.setUserEntityManager(new LDAPUserManager(processEngineConfiguration, this));
     
@@ -444,5 +458,74 @@ public class LDAPConfigurator extends AbstractProcessEngineConfigurator {
   public void setGroupCacheListener(LDAPGroupCacheListener groupCacheListener) {
     this.groupCacheListener = groupCacheListener;
   }
+
+  public int getConnectionPoolSize() {
+    return connectionPoolSize;
+  }
+
+  /**
+   * Allows to set the maximum number of connections in the {@link LDAPContextPool}. When set, connections (bound with the configured user) are reused for the ldap calls instead of opening a new
+   * connection for every call. When all connections are in use, an ldap call waits until one becomes available.
+   * 
+   * The pool will not be instantiated if the value is less then zero. By default set to -1, so every call opens a new connection.
+   */
+  public void setConnectionPoolSize(int connectionPoolSize) {
+    this.connectionPoolSize = connectionPoolSize;
+  }
+
+  public long getConnectionPoolMaxIdleTime() {
+    return connectionPoolMaxIdleTime;
+  }
+
+  /**
+   * Sets the time in milliseconds a pooled connection can be unused before it is closed instead of reused, see {@link #setConnectionPoolSize(int)}. Set this lower than the idle timeout of the LDAP
+   * system.
+   * 
+   * By default set to five minutes.
+   */
+  public void setConnectionPoolMaxIdleTime(long connectionPoolMaxIdleTime) {
+    this.connectionPoolMaxIdleTime = connectionPoolMaxIdleTime;
+  }
+
+  public LDAPContextPool getLdapContextPool() {
+    return ldapContextPool;
+  }
+
+  public void setLdapContextPool(LDAPContextPool ldapContextPool) {
+    this.ldapContextPool = ldapContextPool;
+  }
+
+  // Helper classes ////////////////////////////////////
+
+  /**
+   * Closes the connections of the pool when the process engine is closed, and passes the events to the listener that was configured before.
+   */
+  static class LDAPContextPoolClosingListener implements ProcessEngineLifecycleListener {
+
+    protected LDAPContextPool ldapContextPool;
+    protected ProcessEngineLifecycleListener processEngineLifecycleListener;
+
+    public LDAPContextPoolClosingListener(LDAPContextPool ldapContextPool, ProcessEngineLifecycleListener processEngineLifecycleListener) {
+      this.ldapContextPool = ldapContextPool;
+      this.processEngineLifecycleListener = processEngineLifecycleListener;
+    }
+
+    public void onProcessEngineBuilt(ProcessEngine processEngine) {
+      if (processEngineLifecycleListener != null) {
+        processEngineLifecycleListener.onProcessEngineBuilt(processEngine);
+      }
+    }
+
+    public void onProcessEngineClosed(ProcessEngine processEngine) {
+      try {
+        if (processEngineLifecycleListener != null) {
+          processEngineLifecycleListener.onProcessEngineClosed(processEngine);
+        }
+      } finally {
+        ldapContextPool.close();
+      }
+    }
+
+  }
   
 }
@@ -0,0 +1,183 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.ldap;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+import javax.naming.directory.InitialDirContext;
+
+import org.activiti.engine.ActivitiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded pool of directory contexts bound with the user configured on the {@link LDAPConfigurator},
+ * so an ldap call doesn't need to open a connection and bind every time. Used by the {@link LDAPTemplate}.
+ * 
+ * At most maxSize contexts are in use at the same time: when all are in use, {@link #borrowContext()} waits until one is returned.
+ * Contexts that were idle longer than maxIdleTime are closed instead of reused, as the LDAP server might have closed the connection.
+ * A context that was used by a call that failed is closed as well, including calls that handled the error themselves
+ * and marked the context with {@link #invalidateContext(InitialDirContext)}.
+ */
+public class LDAPContextPool {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LDAPContextPool.class);
+
+  protected LDAPConfigurator ldapConfigurator;
+  protected int maxSize;
+  protected long maxIdleTime;
+
+  protected final Semaphore availableContexts;
+  protected final LinkedBlockingDeque<PooledContext> idleContexts = new LinkedBlockingDeque<PooledContext>();
+  protected final Set<InitialDirContext> invalidContexts = Collections.newSetFromMap(new IdentityHashMap<InitialDirContext, Boolean>());
+  protected volatile boolean closed;
+
+  public LDAPContextPool(LDAPConfigurator ldapConfigurator, int maxSize, long maxIdleTime) {
+    this.ldapConfigurator = ldapConfigurator;
+    this.maxSize = maxSize;
+    this.maxIdleTime = maxIdleTime;
+    this.availableContexts = new Semaphore(maxSize, true);
+  }
+
+  public InitialDirContext borrowContext() {
+    if (closed) {
+      throw new ActivitiException("LDAP context pool is closed");
+    }
+
+    try {
+      availableContexts.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ActivitiException("Interrupted while waiting for an LDAP connection", e);
+    }
+
+    try {
+      PooledContext pooledContext = idleContexts.pollFirst();
+      while (pooledContext != null) {
+        if (System.currentTimeMillis() - pooledContext.getReturnTime() < maxIdleTime) {
+          return pooledContext.getContext();
+        }
+        LDAPConnectionUtil.closeDirectoryContext(pooledContext.getContext());
+        pooledContext = idleContexts.pollFirst();
+      }
+      return LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
+
+    } catch (RuntimeException e) {
+      availableContexts.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a context obtained through {@link #borrowContext()}. A context is not reused when it is invalid, for example when an error occured while using it.
+   */
+  public void returnContext(InitialDirContext context, boolean valid) {
+    try {
+      synchronized (invalidContexts) {
+        if (invalidContexts.remove(context)) {
+          valid = false;
+        }
+      }
+      if (valid && !closed) {
+        // Most recently used first, so contexts that aren't needed become idle and get closed
+        idleContexts.offerFirst(new PooledContext(context, System.currentTimeMillis()));
+        closeExpiredContexts();
+        if (closed) {
+          closeIdleContexts();
+        }
+      } else {
+        LDAPConnectionUtil.closeDirectoryContext(context);
+      }
+    } finally {
+      availableContexts.release();
+    }
+  }
+
+  /**
+   * Marks a borrowed context as broken, for example when an ldap call failed with a {@link javax.naming.NamingException}
+   * that was handled by the caller. The context is closed instead of reused when it is returned.
+   */
+  public void invalidateContext(InitialDirContext context) {
+    if (context != null) {
+      synchronized (invalidContexts) {
+        invalidContexts.add(context);
+      }
+    }
+  }
+
+  /**
+   * Closes all idle contexts. Contexts that are in use are closed when they are returned.
+   */
+  public void close() {
+    closed = true;
+    closeIdleContexts();
+  }
+
+  protected void closeExpiredContexts() {
+    PooledContext pooledContext = idleContexts.peekLast();
+    while (pooledContext != null && System.currentTimeMillis() - pooledContext.getReturnTime() >= maxIdleTime) {
+      if (idleContexts.removeLastOccurrence(pooledContext)) {
+        LDAPConnectionUtil.closeDirectoryContext(pooledContext.getContext());
+      }
+      pooledContext = idleContexts.peekLast();
+    }
+  }
+
+  protected void closeIdleContexts() {
+    PooledContext pooledContext = idleContexts.pollFirst();
+    while (pooledContext != null) {
+      LDAPConnectionUtil.closeDirectoryContext(pooledContext.getContext());
+      pooledContext = idleContexts.pollFirst();
+    }
+    LOGGER.debug("Closed idle LDAP connections");
+  }
+
+  public int getIdleCount() {
+    return idleContexts.size();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public long getMaxIdleTime() {
+    return maxIdleTime;
+  }
+
+  // Helper classes ////////////////////////////////////
+
+  static class PooledContext {
+
+    protected InitialDirContext context;
+    protected long returnTime;
+
+    public PooledContext(InitialDirContext context, long returnTime) {
+      this.context = context;
+      this.returnTime = returnTime;
+    }
+
+    public InitialDirContext getContext() {
+      return context;
+    }
+
+    public long getReturnTime() {
+      return returnTime;
+    }
+
+  }
+
+}
@@ -13,10 +13,16 @@
 package org.activiti.ldap;
 
 import java.util.Date;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.activiti.engine.ActivitiException;
 import org.activiti.engine.identity.Group;
 import org.activiti.engine.runtime.ClockReader;
 
@@ -26,6 +32,9 @@ import org.activiti.engine.runtime.ClockReader;
  * 
  * Cached entries have an expiration time. For example when set to one hour, changes to the ldap system around the groups of a user will be visible after that hour.
  * 
+ * The cache is safe to use from multiple threads: lookups don't lock, and when the cache is full the least recently used entry is evicted.
+ * When groups are fetched through {@link #get(String, Callable)}, concurrent misses for the same user wait for one fetch instead of each doing their own.
+ * 
  * Experimental: can have a listener for cache events, and instance of {@link LDAPGroupCacheListener}.
  * 
  * @author Joram Barrez
@@ -33,42 +42,38 @@ import org.activiti.engine.runtime.ClockReader;
 public class LDAPGroupCache {
 
   private final ClockReader clockReader;
-  protected Map<String, LDAPGroupCacheEntry> groupCache;
+  protected final int cacheSize;
+  protected ConcurrentMap<String, LDAPGroupCacheEntry> groupCache;
   protected long expirationTime;
 
+  protected final ConcurrentMap<String, FutureTask<List<Group>>> loadingGroups = new ConcurrentHashMap<String, FutureTask<List<Group>>>();
+  protected final AtomicLong accessCounter = new AtomicLong();
+  protected final Object evictionLock = new Object();
+
   protected LDAPGroupCacheListener ldapCacheListener;
 
   public LDAPGroupCache(final int cacheSize, final long expirationTime, final ClockReader clockReader) {
     this.clockReader = clockReader;
-
-    // From
-    // http://stackoverflow.com/questions/224868/easy-simple-to-use-lru-cache-in-java
-    this.groupCache = new LinkedHashMap<String, LDAPGroupCache.LDAPGroupCacheEntry>(cacheSize + 1, 0.75f, true) {
-
-      private static final long serialVersionUID = 5207574193173514579L;
-
-      protected boolean removeEldestEntry(Map.Entry<String, LDAPGroupCacheEntry> eldest) {
-        boolean removeEldest = size() > cacheSize;
-
-        if (removeEldest && ldapCacheListener != null) {
-          ldapCacheListener.cacheEviction(eldest.getKey());
-        }
-
-        return removeEldest;
-      }
-
-    };
+    this.cacheSize = cacheSize;
+    this.groupCache = new ConcurrentHashMap<String, LDAPGroupCacheEntry>(cacheSize + 1);
     this.expirationTime = expirationTime;
   }
 
   public void add(String userId, List<Group> groups) {
-    this.groupCache.put(userId, new LDAPGroupCacheEntry(clockReader.getCurrentTime(), groups));
+    LDAPGroupCacheEntry cacheEntry = new LDAPGroupCacheEntry(clockReader.getCurrentTime(), groups);
+    cacheEntry.setLastAccess(accessCounter.incrementAndGet());
+    this.groupCache.put(userId, cacheEntry);
+
+    if (groupCache.size() > cacheSize) {
+      evictLeastRecentlyUsed();
+    }
   }
 
   public List<Group> get(String userId) {
     LDAPGroupCacheEntry cacheEntry = groupCache.get(userId);
     if (cacheEntry != null) {
       if ((clockReader.getCurrentTime().getTime() - cacheEntry.getTimestamp().getTime()) < expirationTime) {
+        cacheEntry.setLastAccess(accessCounter.incrementAndGet());
 
         if (ldapCacheListener != null) {
           ldapCacheListener.cacheHit(userId);
@@ -78,9 +83,9 @@ public class LDAPGroupCache {
 
       } else {
 
-        this.groupCache.remove(userId);
+        boolean removed = this.groupCache.remove(userId, cacheEntry);
 
-        if (ldapCacheListener != null) {
+        if (removed && ldapCacheListener != null) {
           ldapCacheListener.cacheExpired(userId);
           ldapCacheListener.cacheEviction(userId);
         }
@@ -95,6 +100,71 @@ public class LDAPGroupCache {
     return null;
   }
 
+  /**
+   * Returns the cached groups of the user, or fetches them with the given loader and caches them when they are not cached.
+   * When other threads are already fetching the groups of the same user, the groups they fetch are returned instead.
+   */
+  public List<Group> get(final String userId, final Callable<List<Group>> groupsLoader) {
+    List<Group> groups = get(userId);
+    if (groups != null) {
+      return groups;
+    }
+
+    FutureTask<List<Group>> loadingTask = new FutureTask<List<Group>>(new Callable<List<Group>>() {
+
+      public List<Group> call() throws Exception {
+        List<Group> loadedGroups = groupsLoader.call();
+        add(userId, loadedGroups);
+        return loadedGroups;
+      }
+
+    });
+
+    FutureTask<List<Group>> existingLoadingTask = loadingGroups.putIfAbsent(userId, loadingTask);
+    if (existingLoadingTask == null) {
+      try {
+        loadingTask.run();
+      } finally {
+        loadingGroups.remove(userId, loadingTask);
+      }
+      existingLoadingTask = loadingTask;
+    }
+
+    try {
+      return existingLoadingTask.get();
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ActivitiException("Interrupted while waiting for the groups of user " + userId, e);
+
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ActivitiException("Could not find groups for user " + userId, cause);
+    }
+  }
+
+  protected void evictLeastRecentlyUsed() {
+    synchronized (evictionLock) {
+      while (groupCache.size() > cacheSize) {
+        Map.Entry<String, LDAPGroupCacheEntry> eldest = null;
+        for (Map.Entry<String, LDAPGroupCacheEntry> entry : groupCache.entrySet()) {
+          if (eldest == null || entry.getValue().getLastAccess() < eldest.getValue().getLastAccess()) {
+            eldest = entry;
+          }
+        }
+
+        if (eldest != null && groupCache.remove(eldest.getKey(), eldest.getValue()) && ldapCacheListener != null) {
+          ldapCacheListener.cacheEviction(eldest.getKey());
+        }
+      }
+    }
+  }
+
   public void clear() {
     groupCache.clear();
   }
@@ -104,7 +174,15 @@ public class LDAPGroupCache {
   }
 
   public void setGroupCache(Map<String, LDAPGroupCacheEntry> groupCache) {
-    this.groupCache = groupCache;
+    if (groupCache instanceof ConcurrentMap) {
+      this.groupCache = (ConcurrentMap<String, LDAPGroupCacheEntry>) groupCache;
+    } else {
+      this.groupCache = new ConcurrentHashMap<String, LDAPGroupCacheEntry>(groupCache);
+    }
+  }
+
+  public int getCacheSize() {
+    return cacheSize;
   }
 
   public long getExpirationTime() {
@@ -129,6 +207,7 @@ public class LDAPGroupCache {
 
     protected Date timestamp;
     protected List<Group> groups;
+    protected volatile long lastAccess;
 
     public LDAPGroupCacheEntry() {
 
@@ -155,6 +234,14 @@ public class LDAPGroupCache {
       this.groups = groups;
     }
 
+    public long getLastAccess() {
+      return lastAccess;
+    }
+
+    public void setLastAccess(long lastAccess) {
+      this.lastAccess = lastAccess;
+    }
+
   }
 
   // Cache listeners. Currently not yet exposed (only programmatically for the
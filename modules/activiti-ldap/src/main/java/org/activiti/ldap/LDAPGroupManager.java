@@ -15,6 +15,7 @@ package org.activiti.ldap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
@@ -106,14 +107,21 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
   @Override
   public List<Group> findGroupsByUser(final String userId) {
 
-    // First try the cache (if one is defined)
+    // First try the cache (if one is defined), which fetches the groups once for concurrent misses
     if (ldapGroupCache != null) {
-      List<Group> groups = ldapGroupCache.get(userId);
-      if (groups != null) {
-        return groups;
-      }
+      return ldapGroupCache.get(userId, new Callable<List<Group>>() {
+
+        public List<Group> call() {
+          return findGroupsByUserFromLdap(userId);
+        }
+
+      });
     }
 
+    return findGroupsByUserFromLdap(userId);
+  }
+
+  protected List<Group> findGroupsByUserFromLdap(final String userId) {
     // Do the search against Ldap
     LDAPTemplate ldapTemplate = new LDAPTemplate(ldapConfigurator);
     return ldapTemplate.execute(new LDAPCallBack<List<Group>>() {
@@ -144,11 +152,6 @@ public class LDAPGroupManager extends AbstractManager implements GroupEntityMana
 
           namingEnum.close();
 
-          // Cache results for later
-          if (ldapGroupCache != null) {
-            ldapGroupCache.add(userId, groups);
-          }
-
           return groups;
 
         } catch (NamingException e) {
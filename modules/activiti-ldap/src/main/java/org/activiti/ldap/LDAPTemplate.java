@@ -33,6 +33,11 @@ public class LDAPTemplate {
   }
 
   public <T> T execute(LDAPCallBack<T> ldapCallBack) {
+    LDAPContextPool ldapContextPool = ldapConfigurator.getLdapContextPool();
+    if (ldapContextPool != null) {
+      return execute(ldapCallBack, ldapContextPool);
+    }
+
     InitialDirContext initialDirContext = null;
     try {
       initialDirContext = LDAPConnectionUtil.creatDirectoryContext(ldapConfigurator);
@@ -44,6 +49,26 @@ public class LDAPTemplate {
     return result;
   }
 
+  protected <T> T execute(LDAPCallBack<T> ldapCallBack, LDAPContextPool ldapContextPool) {
+    InitialDirContext initialDirContext = null;
+    try {
+      initialDirContext = ldapContextPool.borrowContext();
+    } catch (Exception e) {
+      LOGGER.info("Could not create LDAP connection : " + e.getMessage(), e);
+    }
+
+    boolean valid = false;
+    try {
+      T result = ldapCallBack.executeInContext(initialDirContext);
+      valid = true;
+      return result;
+    } finally {
+      if (initialDirContext != null) {
+        ldapContextPool.returnContext(initialDirContext, valid);
+      }
+    }
+  }
+
   public LDAPConfigurator getLdapConfigurator() {
     return ldapConfigurator;
   }
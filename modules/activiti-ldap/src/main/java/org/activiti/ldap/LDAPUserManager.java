@@ -111,6 +111,7 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
 
         } catch (NamingException ne) {
           logger.debug("Could not find user " + userId + " : " + ne.getMessage(), ne);
+          invalidateContext(initialDirContext);
           return null;
         }
       }
@@ -156,6 +157,7 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
 
           } catch (NamingException ne) {
             logger.debug("Could not execute LDAP query: " + ne.getMessage(), ne);
+            invalidateContext(initialDirContext);
             return null;
           }
           return result;
@@ -268,6 +270,7 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
 
           } catch (NamingException ne) {
             logger.info("Could not authenticate user " + userId + " : " + ne.getMessage(), ne);
+            invalidateContext(initialDirContext);
             return false;
           }
 
@@ -301,6 +304,16 @@ public class LDAPUserManager extends AbstractManager implements UserEntityManage
     }
   }
 
+  /**
+   * The ldap call failed but the error is not rethrown, so the {@link LDAPTemplate} can't see the context is possibly broken.
+   */
+  protected void invalidateContext(InitialDirContext initialDirContext) {
+    LDAPContextPool ldapContextPool = ldapConfigurator.getLdapContextPool();
+    if (ldapContextPool != null) {
+      ldapContextPool.invalidateContext(initialDirContext);
+    }
+  }
+
   protected SearchControls createSearchControls() {
     SearchControls searchControls = new SearchControls();
     searchControls.setSearchScope(SearchControls.SUBTREE_SCOPE);
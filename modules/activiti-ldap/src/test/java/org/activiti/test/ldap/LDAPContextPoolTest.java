@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.test.ldap;
+
+import javax.naming.NamingException;
+import javax.naming.directory.InitialDirContext;
+
+import junit.framework.TestCase;
+
+import org.activiti.ldap.LDAPConfigurator;
+import org.activiti.ldap.LDAPContextPool;
+
+public class LDAPContextPoolTest extends TestCase {
+
+  public void testInvalidatedContextIsNotReused() throws Exception {
+    LDAPContextPool pool = new LDAPContextPool(new LDAPConfigurator(), 2, 60000L);
+
+    TestDirContext validContext = new TestDirContext();
+    pool.returnContext(validContext, true);
+    assertEquals(1, pool.getIdleCount());
+    assertFalse(validContext.closed);
+
+    // A call that handled a NamingException itself still returns the context as valid
+    TestDirContext brokenContext = new TestDirContext();
+    pool.invalidateContext(brokenContext);
+    pool.returnContext(brokenContext, true);
+    assertEquals(1, pool.getIdleCount());
+    assertTrue(brokenContext.closed);
+
+    // The idle context is handed out, not the broken one
+    assertSame(validContext, pool.borrowContext());
+  }
+
+  protected static class TestDirContext extends InitialDirContext {
+
+    protected boolean closed;
+
+    public TestDirContext() throws NamingException {
+      super(true);
+    }
+
+    @Override
+    public void close() throws NamingException {
+      closed = true;
+    }
+  }
+
+}
@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.test.ldap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.activiti.engine.identity.Group;
+import org.activiti.engine.impl.persistence.entity.GroupEntityImpl;
+import org.activiti.engine.impl.util.DefaultClockImpl;
+import org.activiti.ldap.LDAPGroupCache;
+
+public class LdapGroupCacheConcurrencyTest extends TestCase {
+
+  public void testConcurrentMissesLoadOnce() throws Exception {
+    final LDAPGroupCache ldapGroupCache = new LDAPGroupCache(10, 60000L, new DefaultClockImpl());
+    final AtomicInteger loadCount = new AtomicInteger();
+    final CountDownLatch loaderStarted = new CountDownLatch(1);
+    final CountDownLatch finishLoading = new CountDownLatch(1);
+
+    final Callable<List<Group>> groupsLoader = new Callable<List<Group>>() {
+
+      public List<Group> call() throws Exception {
+        loadCount.incrementAndGet();
+        loaderStarted.countDown();
+        finishLoading.await(10, TimeUnit.SECONDS);
+
+        GroupEntityImpl group = new GroupEntityImpl();
+        group.setId("management");
+        return Collections.<Group> singletonList(group);
+      }
+
+    };
+
+    final List<List<Group>> results = Collections.synchronizedList(new ArrayList<List<Group>>());
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 5; i++) {
+      Thread thread = new Thread(new Runnable() {
+
+        public void run() {
+          results.add(ldapGroupCache.get("kermit", groupsLoader));
+        }
+
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    assertTrue(loaderStarted.await(10, TimeUnit.SECONDS));
+    Thread.sleep(100L); // give the other threads the time to find the ongoing load
+    finishLoading.countDown();
+    for (Thread thread : threads) {
+      thread.join(10000L);
+    }
+
+    assertEquals(5, results.size());
+    for (List<Group> groups : results) {
+      assertEquals("management", groups.get(0).getId());
+    }
+    assertEquals(1, loadCount.get());
+    assertNotNull(ldapGroupCache.get("kermit"));
+  }
+
+  public void testLeastRecentlyUsedIsEvicted() {
+    LDAPGroupCache ldapGroupCache = new LDAPGroupCache(2, 60000L, new DefaultClockImpl());
+    ldapGroupCache.add("kermit", new ArrayList<Group>());
+    ldapGroupCache.add("pepe", new ArrayList<Group>());
+    assertNotNull(ldapGroupCache.get("kermit"));
+
+    ldapGroupCache.add("fozzie", new ArrayList<Group>());
+    assertEquals(2, ldapGroupCache.getGroupCache().size());
+    assertNull(ldapGroupCache.get("pepe"));
+    assertNotNull(ldapGroupCache.get("kermit"));
+    assertNotNull(ldapGroupCache.get("fozzie"));
+  }
+
+}
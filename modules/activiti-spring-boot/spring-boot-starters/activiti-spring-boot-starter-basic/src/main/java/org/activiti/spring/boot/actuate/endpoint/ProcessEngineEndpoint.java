@@ -12,9 +12,11 @@
  */
 package org.activiti.spring.boot.actuate.endpoint;
 
+import org.activiti.engine.ManagementService;
 import org.activiti.engine.ProcessEngine;
 import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
-import org.activiti.engine.impl.persistence.deploy.DefaultDeploymentCache;
+import org.activiti.engine.impl.cmd.GetFinishedHistoricProcessInstanceCountsByProcessDefinitionCmd;
+import org.activiti.engine.impl.cmd.GetProcessInstanceCountsByProcessDefinitionCmd;
 import org.activiti.engine.impl.persistence.deploy.DeploymentCache;
 import org.activiti.engine.impl.persistence.deploy.ProcessDefinitionCacheEntry;
 import org.activiti.engine.impl.persistence.entity.ProcessDefinitionEntity;
@@ -35,6 +37,15 @@ public class ProcessEngineEndpoint extends AbstractEndpoint<Map<String, Object>>
 
     private final ProcessEngine processEngine;
 
+    /**
+     * How long (in milliseconds) the collected metrics are reused before they're queried again,
+     * so frequent scrapes don't hit the database every time. Zero or less disables the caching.
+     */
+    private long cacheTimeToLive = 5000L;
+
+    private volatile Map<String, Object> cachedMetrics;
+    private volatile long cachedMetricsTime;
+
     public ProcessEngineEndpoint(ProcessEngine processEngine) {
         super("activiti");
         this.processEngine = processEngine;
@@ -42,32 +53,56 @@ public class ProcessEngineEndpoint extends AbstractEndpoint<Map<String, Object>>
 
     @Override
     public Map<String, Object> invoke() {
+        if (cacheTimeToLive <= 0) {
+            return collectMetrics();
+        }
 
-        Map<String, Object> metrics = new HashMap<String, Object>();
+        Map<String, Object> metrics = cachedMetrics;
+        if (metrics == null || isExpired()) {
+            synchronized (this) {
+                // Another scrape might have refreshed the metrics in the meantime
+                metrics = cachedMetrics;
+                if (metrics == null || isExpired()) {
+                    metrics = Collections.unmodifiableMap(collectMetrics());
+                    cachedMetrics = metrics;
+                    cachedMetricsTime = System.currentTimeMillis();
+                }
+            }
+        }
+        return metrics;
+    }
+
+    private boolean isExpired() {
+        return System.currentTimeMillis() - cachedMetricsTime >= cacheTimeToLive;
+    }
 
-        // Process definitions
-        metrics.put("processDefinitionCount", processEngine.getRepositoryService().createProcessDefinitionQuery().count());
+    protected Map<String, Object> collectMetrics() {
+
+        Map<String, Object> metrics = new HashMap<String, Object>();
 
         // List of all process definitions
         List<ProcessDefinition> processDefinitions = processEngine.getRepositoryService().createProcessDefinitionQuery().orderByProcessDefinitionKey().asc().list();
+        metrics.put("processDefinitionCount", (long) processDefinitions.size());
+
         List<String> processDefinitionKeys = new ArrayList<String>();
         for (ProcessDefinition processDefinition : processDefinitions) {
             processDefinitionKeys.add(processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")");
         }
         metrics.put("deployedProcessDefinitions", processDefinitionKeys);
 
-        // Process instances
+        // Process instances, counted per process definition with one grouped query each
+        ManagementService managementService = processEngine.getManagementService();
+        Map<String, Long> runningCounts = managementService.executeCommand(new GetProcessInstanceCountsByProcessDefinitionCmd());
+        Map<String, Long> completedCounts = managementService.executeCommand(new GetFinishedHistoricProcessInstanceCountsByProcessDefinitionCmd());
+
         Map<String, Object> processInstanceCountMap = new HashMap<String, Object>();
         metrics.put("runningProcessInstanceCount", processInstanceCountMap);
-        for (ProcessDefinition processDefinition : processDefinitions) {
-            processInstanceCountMap.put(processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")",
-                    processEngine.getRuntimeService().createProcessInstanceQuery().processDefinitionId(processDefinition.getId()).count());
-        }
         Map<String, Object> completedProcessInstanceCountMap = new HashMap<String, Object>();
         metrics.put("completedProcessInstanceCount", completedProcessInstanceCountMap);
         for (ProcessDefinition processDefinition : processDefinitions) {
-            completedProcessInstanceCountMap.put(processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")",
-                    processEngine.getHistoryService().createHistoricProcessInstanceQuery().finished().processDefinitionId(processDefinition.getId()).count());
+            String processDefinitionKey = processDefinition.getKey() + " (v" + processDefinition.getVersion() + ")";
+            processInstanceCountMap.put(processDefinitionKey, getCount(runningCounts, processDefinition.getId()));
+            completedProcessInstanceCountMap.put(processDefinitionKey, getCount(completedCounts, processDefinition.getId()));
         }
 
         // Open tasks
@@ -84,15 +119,26 @@ public class ProcessEngineEndpoint extends AbstractEndpoint<Map<String, Object>>
 
         // Process definition cache
         DeploymentCache<ProcessDefinitionCacheEntry> deploymentCache = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getProcessDefinitionCache();
-        if (deploymentCache instanceof DefaultDeploymentCache) {
-            metrics.put("cachedProcessDefinitionCount", ((DefaultDeploymentCache) deploymentCache).size());
-        }
+        metrics.put("cachedProcessDefinitionCount", deploymentCache.size());
         return metrics;
     }
 
+    private long getCount(Map<String, Long> counts, String processDefinitionId) {
+        Long count = counts.get(processDefinitionId);
+        return count != null ? count : 0L;
+    }
+
     private long secondsForDays(int days) {
         int hour = 60 * 60 * 1000;
         int day = 24 * hour;
         return days * day;
     }
+
+    public long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
+    public void setCacheTimeToLive(long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
 }
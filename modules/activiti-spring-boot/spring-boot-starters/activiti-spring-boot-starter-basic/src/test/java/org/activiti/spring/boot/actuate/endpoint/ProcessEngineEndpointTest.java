@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.spring.boot.actuate.endpoint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ProcessEngineEndpointTest {
+
+    @Test
+    public void metricsAreReusedWithinTimeToLive() {
+        CountingProcessEngineEndpoint endpoint = new CountingProcessEngineEndpoint();
+        endpoint.setCacheTimeToLive(60000L);
+
+        Map<String, Object> metrics = endpoint.invoke();
+        assertEquals(1, metrics.get("collectCount"));
+        assertSame(metrics, endpoint.invoke());
+        assertSame(metrics, endpoint.invoke());
+        assertEquals(1, endpoint.collectCount);
+    }
+
+    @Test
+    public void metricsAreRefreshedAfterTimeToLive() throws Exception {
+        CountingProcessEngineEndpoint endpoint = new CountingProcessEngineEndpoint();
+        endpoint.setCacheTimeToLive(50L);
+
+        Map<String, Object> metrics = endpoint.invoke();
+        assertEquals(1, endpoint.collectCount);
+
+        Thread.sleep(100L);
+
+        Map<String, Object> refreshedMetrics = endpoint.invoke();
+        assertNotSame(metrics, refreshedMetrics);
+        assertEquals(2, refreshedMetrics.get("collectCount"));
+        assertEquals(2, endpoint.collectCount);
+    }
+
+    @Test
+    public void metricsAreNotCachedWithoutTimeToLive() {
+        CountingProcessEngineEndpoint endpoint = new CountingProcessEngineEndpoint();
+        endpoint.setCacheTimeToLive(0L);
+
+        assertEquals(1, endpoint.invoke().get("collectCount"));
+        assertEquals(2, endpoint.invoke().get("collectCount"));
+
+        endpoint.setCacheTimeToLive(-1L);
+        assertEquals(3, endpoint.invoke().get("collectCount"));
+        assertEquals(4, endpoint.invoke().get("collectCount"));
+    }
+
+    /**
+     * Replaces the queries against the process engine with a counter of how often the metrics were collected.
+     */
+    protected static class CountingProcessEngineEndpoint extends ProcessEngineEndpoint {
+
+        protected int collectCount;
+
+        public CountingProcessEngineEndpoint() {
+            super(null);
+        }
+
+        @Override
+        protected Map<String, Object> collectMetrics() {
+            collectCount++;
+            Map<String, Object> metrics = new HashMap<String, Object>();
+            metrics.put("collectCount", collectCount);
+            return metrics;
+        }
+    }
+}
@@ -54,6 +54,11 @@ public class CustomDeploymentCache implements DeploymentCache<ProcessDefinitionC
     this.processDefinition = null;
   }
   
+  @Override
+  public int size() {
+    return processDefinition == null ? 0 : 1;
+  }
+
   // For testing purposes only
   public ProcessDefinitionCacheEntry getCachedProcessDefinition() {
     return processDefinition;